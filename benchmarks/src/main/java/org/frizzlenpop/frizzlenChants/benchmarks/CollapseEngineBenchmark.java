@@ -0,0 +1,161 @@
+package org.frizzlenpop.frizzlenChants.benchmarks;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeServer;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeWorld;
+import org.frizzlenpop.frizzlenChants.effect.OrbitalCollapseEngine;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.joml.Matrix4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one tick of the Gravitational Collapse engine, with the kernel step and the
+ * render state written to every block display, against displays of a {@link FakeWorld}.
+ * Collapses play out in full: they orbit, hold, launch their blocks and end, and a new wave
+ * is started as soon as the last one is over, so the numbers are an average over every
+ * phase, with the spawning of each wave spread over its ticks.
+ * <p>
+ * The fake displays are dynamic proxies, and every call into them allocates an argument
+ * array that a real server does not. {@code displayCalls} makes the calls the engine makes
+ * for every block on every tick, an {@code isValid}, a {@code teleport} and a
+ * {@code setTransformationMatrix}, on as many displays; subtract its {@code -prof gc}
+ * allocation from {@code tick}'s to get what the engine itself allocates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollapseEngineBenchmark {
+
+    private static final int BLOCKS_PER_COLLAPSE = 12;
+
+    @Param({"1", "10", "100"})
+    public int collapses;
+
+    private FakeWorld fakeWorld;
+    private Random worldRandom;
+    private Player owner;
+    private OrbitalCollapseEngine engine;
+    private List<BlockDisplay> displays;
+    private Location scratch;
+    private Matrix4f matrix;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        FakeServer.install();
+        fakeWorld = new FakeWorld("world", 256);
+        worldRandom = new Random(42);
+        owner = fakeWorld.spawnPlayer("Owner", 0, 0);
+        engine = new OrbitalCollapseEngine(new Handler(), new SplittableRandom(42),
+            new EnchantProfiler().timer("GravitationalCollapse", ProfilePhase.GAMEPLAY));
+
+        displays = new ArrayList<>();
+        for (int i = 0; i < collapses * BLOCKS_PER_COLLAPSE; i++) {
+            displays.add(fakeWorld.spawnBlockDisplay(new Location(fakeWorld.getWorld(), i, FakeWorld.GROUND_Y + 8, 0)));
+        }
+        scratch = new Location(fakeWorld.getWorld(), 0, 0, 0);
+        matrix = new Matrix4f();
+        startWave();
+    }
+
+    @Benchmark
+    public int tick() {
+        if (!engine.tick()) {
+            startWave();
+        }
+        return engine.getBlockCount();
+    }
+
+    @Benchmark
+    public int displayCalls() {
+        int valid = 0;
+        for (int i = 0; i < displays.size(); i++) {
+            BlockDisplay display = displays.get(i);
+            if (display.isValid()) {
+                valid++;
+            }
+            scratch.setX(i);
+            display.teleport(scratch);
+            display.setTransformationMatrix(matrix);
+        }
+        return valid;
+    }
+
+    /**
+     * Starts a new wave of collapses, spread out over the world, on freshly spawned displays.
+     */
+    private void startWave() {
+        fakeWorld.step(worldRandom);
+        World world = fakeWorld.getWorld();
+
+        for (int c = 0; c < collapses; c++) {
+            Location center = new Location(world, (c % 10) * 32, FakeWorld.GROUND_Y + 8, (c / 10) * 32);
+            List<BlockDisplay> blocks = new ArrayList<>(BLOCKS_PER_COLLAPSE);
+            for (int b = 0; b < BLOCKS_PER_COLLAPSE; b++) {
+                blocks.add(fakeWorld.spawnBlockDisplay(center));
+            }
+            engine.start(owner, center, 2, blocks, 0.02, 0.8, 6.0, () -> { });
+        }
+    }
+
+    /**
+     * Callbacks without effects; blocks are launched in random directions.
+     */
+    private static final class Handler implements OrbitalCollapseEngine.Handler {
+
+        @Override
+        public List<Entity> findTargets(Location center, Player owner, int level) {
+            return List.of();
+        }
+
+        @Override
+        public void onHold(Location center, int level, int tick) {
+        }
+
+        @Override
+        public void onLaunch(Location center, int level) {
+        }
+
+        @Override
+        public void onOrbit(World world, double x, double y, double z, int tick) {
+        }
+
+        @Override
+        public void onFlight(World world, double x, double y, double z,
+                             double directionX, double directionY, double directionZ, int tick) {
+        }
+
+        @Override
+        public void onBlockImpact(World world, double x, double y, double z, int level) {
+        }
+
+        @Override
+        public void onTargetHit(Entity target, Player owner, double directionX, double directionY, double directionZ,
+                                double damage, int level) {
+        }
+    }
+}
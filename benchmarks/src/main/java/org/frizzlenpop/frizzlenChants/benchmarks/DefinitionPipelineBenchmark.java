@@ -0,0 +1,303 @@
+package org.frizzlenpop.frizzlenChants.benchmarks;
+
+import org.bukkit.Color;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.potion.PotionEffectType;
+import org.frizzlenpop.frizzlenChants.definition.DefinedEnchant;
+import org.frizzlenpop.frizzlenChants.definition.DefinitionCompiler;
+import org.frizzlenpop.frizzlenChants.definition.EffectApplier;
+import org.frizzlenpop.frizzlenChants.definition.EffectTarget;
+import org.frizzlenpop.frizzlenChants.definition.TriggerContext;
+import org.frizzlenpop.frizzlenChants.random.RandomService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compiled pipelines of the example definitions with the hand-written
+ * enchantments they rebuild. Both sides report their effects to the same counting applier,
+ * so each invocation measures only what differs between them: conditions, cooldowns, the
+ * proc roll, per-level values and step dispatch for one hit. The world calls behind each
+ * effect are the same on both sides and need a running server, so they are left out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefinitionPipelineBenchmark {
+
+    private static final int HITS = 1024;
+    private static final int VICTIMS = 64;
+    private static final long COOLDOWN_MILLIS = 5000;
+
+    @Param({"SpectralChains", "Eclipse"})
+    public String enchant;
+
+    private DefinedEnchant defined;
+    private boolean spectral;
+    private CountingApplier applier;
+    private TriggerContext context;
+
+    private UUID holder;
+    private UUID[] victims;
+    private int[] levels;
+    private boolean[] critical;
+    private long now;
+    private int hit;
+
+    private Map<UUID, Long> cooldowns;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        spectral = enchant.equals("SpectralChains");
+        String definition = spectral ? "SpectralShackles" : "Umbra";
+
+        YamlConfiguration yaml;
+        try (Reader reader = new InputStreamReader(
+                DefinedEnchant.class.getClassLoader().getResourceAsStream("enchants/examples.yml"),
+                StandardCharsets.UTF_8)) {
+            yaml = YamlConfiguration.loadConfiguration(reader);
+        }
+        defined = new OfflineCompiler().compile(definition, yaml.getConfigurationSection(definition));
+
+        applier = new CountingApplier();
+        context = new TriggerContext();
+        cooldowns = new HashMap<>();
+        random = new Random(42);
+
+        Random inputs = new Random(42);
+        UUID[] pool = new UUID[VICTIMS];
+        for (int i = 0; i < VICTIMS; i++) {
+            pool[i] = new UUID(inputs.nextLong(), inputs.nextLong());
+        }
+
+        holder = new UUID(inputs.nextLong(), inputs.nextLong());
+        victims = new UUID[HITS];
+        levels = new int[HITS];
+        critical = new boolean[HITS];
+        for (int i = 0; i < HITS; i++) {
+            victims[i] = pool[inputs.nextInt(VICTIMS)];
+            levels[i] = 1 + inputs.nextInt(3);
+            critical[i] = inputs.nextBoolean();
+        }
+    }
+
+    @Benchmark
+    public long definition() {
+        int i = next();
+        context.set(null, holder, null, victims[i], now)
+            .selfState(critical[i], false)
+            .otherIsPlayer(false);
+        defined.fire(context, levels[i], applier);
+        return applier.checksum;
+    }
+
+    @Benchmark
+    public long handWritten() {
+        int i = next();
+        if (spectral) {
+            spectralChains(victims[i], levels[i]);
+        } else if (critical[i]) {
+            eclipse(levels[i]);
+        }
+        return applier.checksum;
+    }
+
+    private int next() {
+        // One hit per tick, so cooldowns expire as they would in a fight
+        now += 50;
+        int i = hit;
+        hit = (hit + 1) & (HITS - 1);
+        return i;
+    }
+
+    /**
+     * The decision logic and effect values of SpectralChainsEnchant.
+     */
+    private void spectralChains(UUID targetId, int level) {
+        Long lastApplied = cooldowns.get(targetId);
+        if (lastApplied != null && now - lastApplied < COOLDOWN_MILLIS) {
+            return;
+        }
+
+        int procChance = 20 + (level * 10);
+        if (random.nextInt(100) >= procChance) {
+            return;
+        }
+
+        int durationTicks = 40 + (level * 20);
+        applier.potion(context, EffectTarget.OTHER, null, durationTicks, level - 1, 0);
+        if (level >= 2) {
+            applier.potion(context, EffectTarget.OTHER, null, durationTicks, level - 2, 0);
+        }
+        applier.freeze(context, EffectTarget.OTHER, 5 + (level * 2));
+
+        Color chainColor;
+        switch (level) {
+            case 1:
+                chainColor = Color.fromRGB(180, 180, 235);
+                break;
+            case 2:
+                chainColor = Color.fromRGB(120, 140, 210);
+                break;
+            default:
+                chainColor = Color.fromRGB(80, 100, 200);
+                break;
+        }
+        applier.particleLine(context, Particle.DUST, chainColor, 0.8f, 2);
+        applier.particleRing(context, EffectTarget.OTHER, Particle.DUST, chainColor, 0.7f, 1.0, 10 + level * 5);
+        applier.sound(context, EffectTarget.OTHER, null, 1.0f, 0.5f);
+        applier.message(context, EffectTarget.SELF, "Spectral Chains bound your enemy!");
+        applier.message(context, EffectTarget.OTHER, "Spectral Chains are slowing you down!");
+
+        cooldowns.put(targetId, now);
+        if (random.nextInt(10) == 0) {
+            cooldowns.values().removeIf(time -> now - time > COOLDOWN_MILLIS);
+        }
+    }
+
+    /**
+     * The effect values of EclipseEnchant, without the sleeps between its rings.
+     */
+    private void eclipse(int level) {
+        double radius = 3.0 + level;
+        int blindnessDuration = 40 + (level * 20);
+        int slownessDuration = 60 + (level * 40);
+
+        Color darkColor;
+        switch (level) {
+            case 1:
+                darkColor = Color.fromRGB(50, 0, 70);
+                break;
+            case 2:
+                darkColor = Color.fromRGB(30, 0, 50);
+                break;
+            default:
+                darkColor = Color.fromRGB(10, 0, 30);
+                break;
+        }
+        applier.particleRing(context, EffectTarget.OTHER, Particle.DUST, darkColor, 1.5f, radius,
+            Math.max(20, (int) (radius * 10)));
+        applier.particle(context, EffectTarget.OTHER, Particle.CAMPFIRE_COSY_SMOKE, null, 1.0f, 50 * level,
+            radius / 2, 0.01);
+        if (level >= 2) {
+            applier.particle(context, EffectTarget.OTHER, Particle.END_ROD, null, 1.0f, 20 * level, radius, 0.02);
+        }
+        if (level == 3) {
+            applier.particle(context, EffectTarget.OTHER, Particle.EXPLOSION_EMITTER, null, 1.0f, 3, 0, 0);
+        }
+        applier.sound(context, EffectTarget.OTHER, null, 1.0f, 0.5f);
+        applier.message(context, EffectTarget.SELF, "Eclipse triggered!");
+        applier.potion(context, EffectTarget.AREA, null, blindnessDuration, 0, radius);
+        applier.potion(context, EffectTarget.AREA, null, slownessDuration, level - 1, radius);
+    }
+
+    /**
+     * Compiles definitions without a server. Potion types and sounds are registry entries
+     * that only exist once a server has started, so they compile to null here.
+     */
+    private static final class OfflineCompiler extends DefinitionCompiler {
+        OfflineCompiler() {
+            super(new RandomService(1));
+        }
+
+        @Override
+        protected PotionEffectType resolvePotion(String name) {
+            return null;
+        }
+
+        @Override
+        protected Sound resolveSound(String name) {
+            return null;
+        }
+    }
+
+    /**
+     * An applier that only folds its arguments into a checksum, so no effect is optimized away.
+     */
+    private static final class CountingApplier implements EffectApplier {
+        private long checksum;
+
+        @Override
+        public void potion(TriggerContext context, EffectTarget target, PotionEffectType type, int duration,
+                           int amplifier, double radius) {
+            checksum += duration * 31L + amplifier + (long) radius;
+        }
+
+        @Override
+        public void damage(TriggerContext context, EffectTarget target, double amount, double radius) {
+            checksum += (long) (amount + radius);
+        }
+
+        @Override
+        public void heal(TriggerContext context, EffectTarget target, double amount) {
+            checksum += (long) amount;
+        }
+
+        @Override
+        public void ignite(TriggerContext context, EffectTarget target, int ticks) {
+            checksum += ticks;
+        }
+
+        @Override
+        public void freeze(TriggerContext context, EffectTarget target, int ticks) {
+            checksum += ticks;
+        }
+
+        @Override
+        public void knockback(TriggerContext context, double strength, double lift) {
+            checksum += (long) (strength + lift);
+        }
+
+        @Override
+        public void sound(TriggerContext context, EffectTarget at, Sound sound, float volume, float pitch) {
+            checksum += (long) (volume * 10 + pitch * 10);
+        }
+
+        @Override
+        public void particle(TriggerContext context, EffectTarget at, Particle particle, Color color, float size,
+                             int count, double spread, double speed) {
+            checksum += count + (color != null ? color.asRGB() : 0);
+        }
+
+        @Override
+        public void particleRing(TriggerContext context, EffectTarget at, Particle particle, Color color, float size,
+                                 double radius, int points) {
+            checksum += points + (color != null ? color.asRGB() : 0);
+        }
+
+        @Override
+        public void particleLine(TriggerContext context, Particle particle, Color color, float size, double density) {
+            checksum += (long) density + (color != null ? color.asRGB() : 0);
+        }
+
+        @Override
+        public void message(TriggerContext context, EffectTarget to, String text) {
+            checksum += text.length();
+        }
+    }
+}
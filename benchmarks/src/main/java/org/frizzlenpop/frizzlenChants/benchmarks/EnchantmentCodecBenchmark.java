@@ -0,0 +1,135 @@
+package org.frizzlenpop.frizzlenChants.benchmarks;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeEnchant;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeItem;
+import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentRegistry;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how enchantments are written to and read from item lore, across the shapes of
+ * item the plugin meets: items without meta, items with lore from vanilla or other plugins
+ * and items carrying 1, 5 or 20 custom enchantments. Items are {@link FakeItem}s, so the
+ * numbers are the plugin's own cost without the server's meta conversion. Run it with
+ * {@code -prof gc} to see the allocation per operation next to the throughput; this is the
+ * baseline every change to the storage format is held against.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnchantmentCodecBenchmark {
+
+    private static final int REGISTERED = 24;
+    private static final Material TYPE = Material.DIAMOND_SWORD;
+
+    /**
+     * The item shapes measured.
+     */
+    public enum Shape {
+        /** An item that has never had meta */
+        NO_META,
+        /** Two lines of plain lore and no enchantments */
+        VANILLA_LORE,
+        /** One custom enchantment */
+        CUSTOM_1,
+        /** Five custom enchantments */
+        CUSTOM_5,
+        /** Twenty custom enchantments */
+        CUSTOM_20,
+        /** Thirty lines of lore written by other plugins, with one custom enchantment among them */
+        FOREIGN_LORE
+    }
+
+    @Param
+    public Shape shape;
+
+    private EnchantmentRegistry registry;
+    private ItemStack item;
+    private CustomEnchant present;
+    private CustomEnchant absent;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        registry = FakeEnchant.newRegistry();
+        FakeEnchant[] enchants = FakeEnchant.register(registry, REGISTERED, TYPE);
+
+        List<String> lore = new ArrayList<>();
+        switch (shape) {
+            case NO_META:
+                lore = null;
+                break;
+            case VANILLA_LORE:
+                lore.add("§5Forged in the depths of the Nether");
+                lore.add("§9+2 Attack Damage");
+                break;
+            case CUSTOM_1:
+                addEnchants(lore, enchants, 1);
+                break;
+            case CUSTOM_5:
+                addEnchants(lore, enchants, 5);
+                break;
+            case CUSTOM_20:
+                addEnchants(lore, enchants, 20);
+                break;
+            case FOREIGN_LORE:
+                addEnchants(lore, enchants, 1);
+                for (int i = 0; i < 30; i++) {
+                    lore.add("§8[§6Quest§8] §7Objective " + (i + 1) + ": slay " + (i * 7 + 3) + " zombies in the Ashlands");
+                }
+                break;
+        }
+        item = new FakeItem(TYPE, lore);
+
+        // The first enchantment is on every item with custom enchantments; the last one never is
+        present = enchants[0];
+        absent = enchants[REGISTERED - 1];
+    }
+
+    private static void addEnchants(List<String> lore, FakeEnchant[] enchants, int count) {
+        for (int i = 0; i < count; i++) {
+            lore.add(enchants[i].getDisplayName(i % 5 + 1));
+        }
+    }
+
+    @Benchmark
+    public ItemStack applyEnchantment() {
+        return EnchantmentUtils.applyEnchantment(item, absent, 3, registry);
+    }
+
+    @Benchmark
+    public Map<CustomEnchant, Integer> getEnchantments() {
+        return EnchantmentUtils.getEnchantments(item, registry);
+    }
+
+    @Benchmark
+    public int getEnchantmentLevel() {
+        return EnchantmentUtils.getEnchantmentLevel(item, present, registry);
+    }
+
+    @Benchmark
+    public ItemStack removeEnchantment() {
+        return EnchantmentUtils.removeEnchantment(item, present);
+    }
+}
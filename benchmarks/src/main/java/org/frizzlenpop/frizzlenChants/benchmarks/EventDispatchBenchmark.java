@@ -0,0 +1,189 @@
+package org.frizzlenpop.frizzlenChants.benchmarks;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityShootBowEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.EventDispatcher;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeEnchant;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeEntities;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeItem;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeServer;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentRegistry;
+import org.frizzlenpop.frizzlenChants.listeners.EnchantmentListener;
+import org.frizzlenpop.frizzlenChants.listeners.ProjectileLaunchListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full event path of combat at scale on the fake server: the plugin's
+ * {@link EnchantmentListener} and {@link ProjectileLaunchListener} plus the handlers of
+ * every registered enchantment, bound through real handler lists and event executors.
+ * Every registered enchantment is a {@link FakeEnchant}, whose handlers gate like the
+ * built-in ones, so the cost of one event grows with the number of registered enchantments
+ * the way it does on a server: 1, about the size of the built-in set, and a large pack.
+ * <p>
+ * Each invocation dispatches a batch of synthetic events from 64 players, half of them
+ * holding enchanted items. The score is nanoseconds per event; events per second are
+ * 10<sup>9</sup> divided by the score, or run with {@code -bm thrpt -tu s} to have JMH
+ * report them directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+    private static final int BATCH = 1024;
+    private static final int PLAYERS = 64;
+
+    @Param({"1", "17", "200"})
+    public int enchants;
+
+    private Event[] damage;
+    private Event[] shoot;
+    private Event[] interact;
+    private Event[] move;
+    private Event[] combat;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        EnchantmentRegistry registry = FakeEnchant.newRegistry();
+        FakeEnchant[] registered = FakeEnchant.register(registry, enchants,
+            Material.DIAMOND_SWORD, Material.BOW, Material.DIAMOND_BOOTS);
+
+        Plugin plugin = FakeServer.plugin("FrizzlenChants");
+        EventDispatcher.register(new EnchantmentListener(registry), plugin);
+        EventDispatcher.register(new ProjectileLaunchListener(plugin, registry), plugin);
+
+        World world = FakeEntities.world("world");
+        Zombie zombie = FakeEntities.zombie(world);
+        Player[] players = new Player[PLAYERS];
+        ItemStack[] bows = new ItemStack[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            // Even players carry enchanted gear, odd players carry plain gear
+            boolean enchanted = i % 2 == 0;
+            ItemStack sword = item(Material.DIAMOND_SWORD, enchanted, registered, 3);
+            ItemStack boots = item(Material.DIAMOND_BOOTS, enchanted, registered, 1);
+            bows[i] = item(Material.BOW, enchanted, registered, 2);
+            players[i] = FakeEntities.player(world, "Player" + i, sword, new ItemStack[] {boots, null, null, null});
+        }
+
+        Random random = new Random(42);
+        damage = new Event[BATCH];
+        shoot = new Event[BATCH];
+        interact = new Event[BATCH];
+        move = new Event[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            Player player = players[i % PLAYERS];
+            damage[i] = new EntityDamageByEntityEvent(player, zombie, EntityDamageEvent.DamageCause.ENTITY_ATTACK,
+                FakeEntities.meleeSource(player), 6.0);
+            shoot[i] = new EntityShootBowEvent(player, bows[i % PLAYERS], null, FakeEntities.arrow(player),
+                EquipmentSlot.HAND, 1.0f, true);
+            interact[i] = new PlayerInteractEvent(player, i % 3 == 0 ? Action.LEFT_CLICK_AIR : Action.RIGHT_CLICK_AIR,
+                player.getInventory().getItemInMainHand(), null, BlockFace.SELF);
+
+            // Half of the moves cross into the next block, the rest stay inside one
+            double x = random.nextInt(1000) + 0.2;
+            Location from = new Location(world, x, 64, 0);
+            Location to = new Location(world, x + (i % 2 == 0 ? 1 : 0.3), 64, 0);
+            move[i] = new PlayerMoveEvent(player, from, to);
+        }
+
+        // A fight is mostly movement: per 20 events, 12 moves, 4 swings, 3 hits and 1 shot
+        List<Event> mixed = new ArrayList<>();
+        for (int i = 0; mixed.size() < BATCH; i++) {
+            int slot = i % 20;
+            Event[] source = slot < 12 ? move : slot < 16 ? interact : slot < 19 ? damage : shoot;
+            mixed.add(source[i % BATCH]);
+        }
+        combat = mixed.toArray(new Event[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        HandlerList.unregisterAll();
+    }
+
+    private static ItemStack item(Material type, boolean enchanted, FakeEnchant[] registered, int count) {
+        if (!enchanted) {
+            return new FakeItem(type, null);
+        }
+
+        List<String> lore = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, registered.length); i++) {
+            lore.add(registered[i].getDisplayName(i + 1));
+        }
+        return new FakeItem(type, lore);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void damage() {
+        dispatch(damage);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void shootBow() {
+        dispatch(shoot);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void interact() {
+        dispatch(interact);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void move() {
+        dispatch(move);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void combat() {
+        dispatch(combat);
+    }
+
+    private static void dispatch(Event[] events) {
+        for (Event event : events) {
+            // Every event is in a new tick, so the launch stage never reuses a decoded bow
+            FakeServer.tick();
+            EventDispatcher.call(event);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.frizzlenpop.frizzlenChants.benchmarks;
+
+import org.frizzlenpop.frizzlenChants.effect.GuidanceKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one guidance tick of the homing kernel used by Seeker Strike.
+ * Each invocation refreshes every projectile's motion and target, then steps the kernel,
+ * which mirrors the gather and step phases of a server tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuidanceKernelBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int projectiles;
+
+    private GuidanceKernel kernel;
+    private double[] positions;
+    private double[] targets;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        kernel = new GuidanceKernel(projectiles);
+        positions = new double[projectiles * 6];
+        targets = new double[projectiles * 3];
+
+        for (int i = 0; i < projectiles; i++) {
+            // Long tracking window and no arming delay so every projectile is steered
+            kernel.add(0, 0.2, Integer.MAX_VALUE);
+
+            positions[i * 6] = random.nextDouble() * 64;
+            positions[i * 6 + 1] = 70 + random.nextDouble() * 8;
+            positions[i * 6 + 2] = random.nextDouble() * 64;
+            positions[i * 6 + 3] = random.nextDouble() - 0.5;
+            positions[i * 6 + 4] = random.nextDouble() * 0.5;
+            positions[i * 6 + 5] = random.nextDouble() - 0.5;
+
+            targets[i * 3] = random.nextDouble() * 64;
+            targets[i * 3 + 1] = 64;
+            targets[i * 3 + 2] = random.nextDouble() * 64;
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        for (int i = 0; i < projectiles; i++) {
+            int p = i * 6;
+            kernel.setMotion(i, positions[p], positions[p + 1], positions[p + 2],
+                positions[p + 3], positions[p + 4], positions[p + 5]);
+
+            // Targets drift a little each tick so the intercept path sees moving targets
+            int t = i * 3;
+            targets[t] += 0.05;
+            kernel.setTarget(i, i, targets[t], targets[t + 1], targets[t + 2]);
+        }
+
+        kernel.step();
+
+        int steered = 0;
+        for (int i = 0; i < projectiles; i++) {
+            steered += kernel.getEvents(i) & GuidanceKernel.EVENT_STEERED;
+        }
+        return steered;
+    }
+}
@@ -0,0 +1,85 @@
+package org.frizzlenpop.frizzlenChants.benchmarks;
+
+import org.frizzlenpop.frizzlenChants.effect.OrbitalKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one tick of the Gravitational Collapse block kernel, for orbiting and for launched
+ * blocks. Run with {@code -prof gc}: {@code gc.alloc.rate.norm} should stay near 0 B/op,
+ * since a step only touches primitive arrays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrbitalKernelBenchmark {
+
+    private static final int BLOCKS_PER_COLLAPSE = 12;
+
+    @Param({"1", "10", "100"})
+    public int collapses;
+
+    private OrbitalKernel orbiting;
+    private OrbitalKernel flying;
+    private double targetX;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        int blocks = collapses * BLOCKS_PER_COLLAPSE;
+        orbiting = new OrbitalKernel(blocks);
+        flying = new OrbitalKernel(blocks);
+
+        for (int c = 0; c < collapses; c++) {
+            double centerX = random.nextDouble() * 256;
+            double centerZ = random.nextDouble() * 256;
+
+            for (int b = 0; b < BLOCKS_PER_COLLAPSE; b++) {
+                double theta = random.nextDouble() * Math.PI * 2;
+                double phi = random.nextDouble() * Math.PI;
+                double spinSpeed = 0.05 + random.nextDouble() * 0.1;
+
+                // Orbit forever with no inward fall so every invocation does the same work
+                orbiting.add(centerX, 66, centerZ, theta, phi, 4.0, spinSpeed, 0.0, Integer.MAX_VALUE);
+
+                int slot = flying.add(centerX, 66, centerZ, theta, phi, 4.0, spinSpeed, 0.0, 1);
+                double angle = random.nextDouble() * Math.PI * 2;
+                flying.launch(slot, Math.cos(angle), 0, Math.sin(angle), 0.5, Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    @Benchmark
+    public int orbit() {
+        orbiting.step();
+        return orbiting.getEvents(0);
+    }
+
+    @Benchmark
+    public int flight() {
+        // Targets drift a little each tick so the homing path sees moving targets
+        targetX += 0.05;
+        for (int i = 0; i < flying.size(); i++) {
+            flying.setTarget(i, targetX, 64, 0, 0.9);
+        }
+
+        flying.step();
+        return flying.getEvents(0);
+    }
+}
@@ -0,0 +1,63 @@
+package org.frizzlenpop.frizzlenChants.benchmarks;
+
+import org.bukkit.Material;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Roman numeral conversions behind enchantment lore: writing a level as part
+ * of an enchantment's display name, and parsing it back when an item is decoded. Each
+ * invocation converts the next of the levels 1 to 10, so the branches of both conversions
+ * are all taken. Run it with {@code -prof gc} to see the allocation per conversion.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RomanNumeralBenchmark {
+
+    private static final String[] NUMERALS = {"I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX", "X"};
+
+    // The parser is private to EnchantmentUtils; a constant handle to it inlines like a direct call
+    private static final MethodHandle ROMAN_TO_INT = romanToInt();
+
+    private final FakeEnchant enchant = new FakeEnchant("Fake001", NUMERALS.length, null, Material.DIAMOND_SWORD);
+    private int next;
+
+    @Benchmark
+    public String toRoman() {
+        next = next == NUMERALS.length ? 1 : next + 1;
+        return enchant.getDisplayName(next);
+    }
+
+    @Benchmark
+    public int fromRoman() throws Throwable {
+        next = next == NUMERALS.length - 1 ? 0 : next + 1;
+        return (int) ROMAN_TO_INT.invokeExact(NUMERALS[next]);
+    }
+
+    private static MethodHandle romanToInt() {
+        try {
+            return MethodHandles.privateLookupIn(EnchantmentUtils.class, MethodHandles.lookup())
+                .findStatic(EnchantmentUtils.class, "romanToInt", MethodType.methodType(int.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.frizzlenpop.frizzlenChants.benchmarks;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeServer;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the server-thread time of one spark cloud, the effect Voltaic Burst draws on a
+ * hit: with a new {@link Location} cloned for every particle, as the enchantment used to
+ * draw it, against the coordinates worked out as doubles and written into one reused
+ * location, as it draws it now. The cloud of a full hit has 80 points; the larger size
+ * stands in for the longer chains and arcs of Spectral Chains.
+ * <p>
+ * Only spark particles are drawn, since colored dust goes through the packet layer the fake
+ * server lacks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SparkCloudBenchmark {
+
+    private static final int BATCH = 64;
+    private static final double RADIUS = 3.0;
+
+    @Param({"80", "800"})
+    public int points;
+
+    private Location anchor;
+    private Location scratch;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        FakeServer.install();
+        World world = new FakeWorld("world", 32).getWorld();
+        anchor = new Location(world, 0, FakeWorld.GROUND_Y + 1, 0);
+        scratch = new Location(world, 0, 0, 0);
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void cloned() {
+        World world = anchor.getWorld();
+        for (int i = 0; i < BATCH; i++) {
+            for (int p = 0; p < points; p++) {
+                double x = (random.nextDouble() * 2 - 1) * RADIUS;
+                double y = random.nextDouble() * 2 * RADIUS;
+                double z = (random.nextDouble() * 2 - 1) * RADIUS;
+                world.spawnParticle(Particle.ELECTRIC_SPARK, anchor.clone().add(x, y, z), 1, 0, 0, 0, 0.05);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void reused() {
+        World world = anchor.getWorld();
+        double cx = anchor.getX();
+        double cy = anchor.getY();
+        double cz = anchor.getZ();
+        for (int i = 0; i < BATCH; i++) {
+            for (int p = 0; p < points; p++) {
+                scratch.setX(cx + (random.nextDouble() * 2 - 1) * RADIUS);
+                scratch.setY(cy + random.nextDouble() * 2 * RADIUS);
+                scratch.setZ(cz + (random.nextDouble() * 2 - 1) * RADIUS);
+                world.spawnParticle(Particle.ELECTRIC_SPARK, scratch, 1, 0, 0, 0, 0.05);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.frizzlenpop.frizzlenChants.benchmarks.fake;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Registers listeners and calls events the way the server's plugin manager does: every
+ * {@link EventHandler} method is bound through {@link EventExecutor#create} into the
+ * event's own {@link HandlerList}, and an event is passed to the baked handler list in
+ * priority order. The fake server's plugin manager delegates here, so plugin code that
+ * registers listeners ends up in the same handler lists a benchmark calls. Unlike the
+ * server, a handler that throws fails the call instead of being logged.
+ */
+public final class EventDispatcher {
+
+    private EventDispatcher() {
+    }
+
+    /**
+     * Binds every event handler of a listener.
+     *
+     * @param listener The listener
+     * @param plugin The plugin that owns the listener
+     */
+    public static void register(Listener listener, Plugin plugin) {
+        Set<Method> methods = new HashSet<>();
+        for (Method method : listener.getClass().getMethods()) {
+            methods.add(method);
+        }
+        for (Method method : listener.getClass().getDeclaredMethods()) {
+            methods.add(method);
+        }
+
+        for (Method method : methods) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            if (handler == null || method.isBridge() || method.isSynthetic() || method.getParameterCount() != 1 ||
+                    !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
+            }
+
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            method.setAccessible(true);
+            register(eventClass, listener, handler.priority(), EventExecutor.create(method, eventClass), plugin,
+                handler.ignoreCancelled());
+        }
+    }
+
+    /**
+     * Binds one executor of a listener, as the plugin manager's {@code registerEvent} does.
+     *
+     * @param eventClass The event the executor handles
+     * @param listener The listener
+     * @param priority The priority
+     * @param executor The executor
+     * @param plugin The plugin that owns the listener
+     * @param ignoreCancelled Whether cancelled events are skipped
+     */
+    public static void register(Class<? extends Event> eventClass, Listener listener, EventPriority priority,
+                                EventExecutor executor, Plugin plugin, boolean ignoreCancelled) {
+        handlerList(eventClass).register(new RegisteredListener(listener, executor, priority, plugin, ignoreCancelled));
+    }
+
+    /**
+     * Calls an event on every handler registered for it.
+     *
+     * @param event The event
+     * @throws IllegalStateException If a handler throws
+     */
+    public static void call(Event event) {
+        for (RegisteredListener registration : event.getHandlers().getRegisteredListeners()) {
+            try {
+                registration.callEvent(event);
+            } catch (EventException e) {
+                throw new IllegalStateException("Could not pass " + event.getEventName() + " to " +
+                    registration.getListener().getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Returns the handler list of an event class, declared on the class or one of its superclasses.
+     *
+     * @param eventClass The event class
+     * @return The handler list
+     */
+    private static HandlerList handlerList(Class<? extends Event> eventClass) {
+        for (Class<?> type = eventClass; type != null && Event.class.isAssignableFrom(type); type = type.getSuperclass()) {
+            try {
+                Method method = type.getDeclaredMethod("getHandlerList");
+                method.setAccessible(true);
+                return (HandlerList) method.invoke(null);
+            } catch (NoSuchMethodException e) {
+                // Declared further up
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not read the handler list of " + type.getName(), e);
+            }
+        }
+        throw new IllegalArgumentException(eventClass.getName() + " has no static getHandlerList method");
+    }
+}
@@ -0,0 +1,119 @@
+package org.frizzlenpop.frizzlenChants.benchmarks.fake;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.inventory.ItemStack;
+import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentRegistry;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+
+/**
+ * An enchantment without effects, used to fill a registry with as many enchantments as a
+ * benchmark needs. Its event handlers do what the built-in enchantments do before their
+ * effect: check the event, decode the item involved and return unless it carries this
+ * enchantment. Instead of an effect, each activation is counted.
+ */
+public final class FakeEnchant extends CustomEnchant {
+
+    private final EnchantmentRegistry registry;
+    private long activations;
+
+    /**
+     * Creates an enchantment.
+     *
+     * @param name The enchantment name
+     * @param maxLevel The maximum level
+     * @param registry The registry its handlers decode items with, or null if they are never called
+     * @param items The items the enchantment applies to
+     */
+    public FakeEnchant(String name, int maxLevel, EnchantmentRegistry registry, Material... items) {
+        super(name, maxLevel, items);
+        this.registry = registry;
+    }
+
+    /**
+     * Returns how often this enchantment would have applied its effect.
+     *
+     * @return The number of activations
+     */
+    public long getActivations() {
+        return activations;
+    }
+
+    @Override
+    public void applyEffect(Player player, ItemStack item, int level) {
+        activations++;
+    }
+
+    @Override
+    public void onLaunch(Player shooter, Projectile projectile, ItemStack source, int level) {
+        activations++;
+    }
+
+    @EventHandler
+    public void onEntityDamage(EntityDamageByEntityEvent event) {
+        if (event.getDamager() instanceof Player) {
+            activate(((Player) event.getDamager()).getInventory().getItemInMainHand());
+        }
+    }
+
+    @EventHandler
+    public void onPlayerInteract(PlayerInteractEvent event) {
+        activate(event.getItem());
+    }
+
+    @EventHandler
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY() &&
+                from.getBlockZ() == to.getBlockZ()) {
+            return;
+        }
+
+        for (ItemStack armor : event.getPlayer().getInventory().getArmorContents()) {
+            activate(armor);
+        }
+    }
+
+    private void activate(ItemStack item) {
+        if (item != null && item.hasItemMeta() && EnchantmentUtils.getEnchantmentLevel(item, this, registry) > 0) {
+            activations++;
+        }
+    }
+
+    /**
+     * Registers the given number of enchantments, named {@code Fake001}, {@code Fake002}
+     * and so on, each with a maximum level of 5.
+     *
+     * @param registry The registry to register them in
+     * @param count The number of enchantments
+     * @param items The items the enchantments apply to
+     * @return The enchantments, in name order
+     */
+    public static FakeEnchant[] register(EnchantmentRegistry registry, int count, Material... items) {
+        FakeEnchant[] enchants = new FakeEnchant[count];
+        for (int i = 0; i < count; i++) {
+            enchants[i] = new FakeEnchant(String.format("Fake%03d", i + 1), 5, registry, items);
+            registry.register(enchants[i]);
+        }
+        return enchants;
+    }
+
+    /**
+     * Creates a registry on the fake server, installing the server if needed.
+     *
+     * @return An empty registry
+     */
+    public static EnchantmentRegistry newRegistry() {
+        FakeServer.install();
+        return new EnchantmentRegistry(FakeServer.plugin("FrizzlenChants"), new EnchantProfiler());
+    }
+}
@@ -0,0 +1,104 @@
+package org.frizzlenpop.frizzlenChants.benchmarks.fake;
+
+import org.bukkit.World;
+import org.bukkit.damage.DamageSource;
+import org.bukkit.entity.Arrow;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Creates the worlds and entities that synthetic events refer to. Each is a proxy from
+ * {@link FakeServer} that answers identity, type and inventory; everything else returns
+ * null, zero, false or an empty collection.
+ */
+public final class FakeEntities {
+
+    private FakeEntities() {
+    }
+
+    /**
+     * Creates a world.
+     *
+     * @param name The world name
+     * @return The world
+     */
+    public static World world(String name) {
+        return FakeServer.proxy(World.class, Map.of(
+            "getName", name,
+            "getUID", UUID.nameUUIDFromBytes(name.getBytes())));
+    }
+
+    /**
+     * Creates a player holding an item and wearing armor.
+     *
+     * @param world The world the player is in
+     * @param name The player name
+     * @param mainHand The item in the main hand
+     * @param armor The armor, from boots to helmet; entries may be null
+     * @return The player
+     */
+    public static Player player(World world, String name, ItemStack mainHand, ItemStack[] armor) {
+        PlayerInventory inventory = FakeServer.proxy(PlayerInventory.class, Map.of(
+            "getItemInMainHand", mainHand,
+            "getArmorContents", (FakeServer.Answer) args -> armor.clone()));
+        return FakeServer.proxy(Player.class, Map.of(
+            "getName", name,
+            "getUniqueId", UUID.nameUUIDFromBytes(name.getBytes()),
+            "getType", EntityType.PLAYER,
+            "getWorld", world,
+            "getInventory", inventory,
+            "getHealth", 20.0,
+            "isOnline", true,
+            "isValid", true));
+    }
+
+    /**
+     * Creates a zombie.
+     *
+     * @param world The world the zombie is in
+     * @return The zombie
+     */
+    public static Zombie zombie(World world) {
+        return FakeServer.proxy(Zombie.class, Map.of(
+            "getUniqueId", UUID.randomUUID(),
+            "getType", EntityType.ZOMBIE,
+            "getWorld", world,
+            "getHealth", 20.0,
+            "isValid", true));
+    }
+
+    /**
+     * Creates the damage source of a melee hit.
+     *
+     * @param attacker The attacking entity
+     * @return The damage source
+     */
+    public static DamageSource meleeSource(Entity attacker) {
+        return FakeServer.proxy(DamageSource.class, Map.of(
+            "getCausingEntity", attacker,
+            "getDirectEntity", attacker,
+            "isIndirect", false));
+    }
+
+    /**
+     * Creates an arrow.
+     *
+     * @param shooter The entity that shot the arrow
+     * @return The arrow
+     */
+    public static Arrow arrow(Player shooter) {
+        return FakeServer.proxy(Arrow.class, Map.of(
+            "getUniqueId", UUID.randomUUID(),
+            "getType", EntityType.ARROW,
+            "getWorld", shooter.getWorld(),
+            "getShooter", shooter,
+            "isValid", true));
+    }
+}
@@ -0,0 +1,116 @@
+package org.frizzlenpop.frizzlenChants.benchmarks.fake;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An item that keeps its own meta instead of asking the server's item factory for it.
+ * The meta only supports lore, which is all the enchantment encoding reads and writes.
+ * Like the server's items, the meta is copied on every read and every write, so a
+ * benchmark sees the same copies the plugin makes, while the cost of the server's own
+ * meta conversion is left out.
+ */
+public final class FakeItem extends ItemStack {
+
+    private final Material type;
+    private ItemMeta meta;
+
+    /**
+     * Creates an item.
+     *
+     * @param type The item type
+     * @param lore The lore of the item, or null for an item without meta
+     */
+    public FakeItem(Material type, List<String> lore) {
+        this.type = type;
+        this.meta = lore == null ? null : LoreMeta.create(lore);
+    }
+
+    private FakeItem(Material type, ItemMeta meta) {
+        this.type = type;
+        this.meta = meta;
+    }
+
+    @Override
+    public Material getType() {
+        return type;
+    }
+
+    @Override
+    public int getAmount() {
+        return 1;
+    }
+
+    @Override
+    public boolean hasItemMeta() {
+        return meta != null;
+    }
+
+    @Override
+    public ItemMeta getItemMeta() {
+        return meta == null ? LoreMeta.create(null) : meta.clone();
+    }
+
+    @Override
+    public boolean setItemMeta(ItemMeta itemMeta) {
+        this.meta = itemMeta == null ? null : itemMeta.clone();
+        return true;
+    }
+
+    @Override
+    public FakeItem clone() {
+        return new FakeItem(type, meta == null ? null : meta.clone());
+    }
+
+    /**
+     * Item meta that only holds lore.
+     */
+    private static final class LoreMeta implements InvocationHandler {
+
+        private List<String> lore;
+
+        private LoreMeta(List<String> lore) {
+            setLore(lore);
+        }
+
+        static ItemMeta create(List<String> lore) {
+            return (ItemMeta) Proxy.newProxyInstance(ItemMeta.class.getClassLoader(),
+                new Class<?>[] {ItemMeta.class}, new LoreMeta(lore));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "hasLore":
+                    return lore != null;
+                case "getLore":
+                    return lore == null ? null : new ArrayList<>(lore);
+                case "setLore":
+                    setLore((List<String>) args[0]);
+                    return null;
+                case "clone":
+                    return create(lore);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "LoreMeta" + lore;
+                default:
+                    return FakeServer.defaultValue(method.getReturnType());
+            }
+        }
+
+        private void setLore(List<String> lore) {
+            this.lore = lore == null || lore.isEmpty() ? null : new ArrayList<>(lore);
+        }
+    }
+}
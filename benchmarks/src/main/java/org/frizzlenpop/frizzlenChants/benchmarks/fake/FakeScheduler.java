@@ -0,0 +1,184 @@
+package org.frizzlenpop.frizzlenChants.benchmarks.fake;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Main-thread scheduler of the fake server. Tasks run when {@link FakeServer#tick()} reaches
+ * the tick they are due on, in the order they were scheduled, so plugin code that drives its
+ * effects from repeating tasks advances one step per simulated tick. Like the server, a task
+ * scheduled while tasks are running runs on a later tick at the earliest. Asynchronous
+ * methods are not answered.
+ */
+final class FakeScheduler {
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<Task> scheduled = new ArrayList<>();
+    private final BukkitScheduler scheduler;
+    private int currentTick;
+    private int nextTaskId = 1;
+
+    FakeScheduler() {
+        FakeServer.Answer runTask = args -> schedule(args, 0, -1);
+        FakeServer.Answer runTaskLater = args -> schedule(args, (Long) args[2], -1);
+        FakeServer.Answer runTaskTimer = args -> schedule(args, (Long) args[2], (Long) args[3]);
+
+        this.scheduler = FakeServer.proxy(BukkitScheduler.class, Map.of(
+            "runTask", runTask,
+            "runTaskLater", runTaskLater,
+            "runTaskTimer", runTaskTimer,
+            "cancelTask", (FakeServer.Answer) args -> {
+                cancel((Integer) args[0]);
+                return null;
+            },
+            "cancelTasks", (FakeServer.Answer) args -> {
+                cancelAll((Plugin) args[0]);
+                return null;
+            },
+            "isQueued", (FakeServer.Answer) args -> isQueued((Integer) args[0])));
+    }
+
+    /**
+     * Returns the scheduler the fake server hands out.
+     *
+     * @return The scheduler
+     */
+    BukkitScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Returns the number of tasks that have not finished or been cancelled.
+     *
+     * @return The number of queued tasks
+     */
+    int getTaskCount() {
+        return tasks.size() + scheduled.size();
+    }
+
+    /**
+     * Runs every task due on a tick.
+     *
+     * @param tick The tick that starts
+     */
+    void heartbeat(int tick) {
+        currentTick = tick;
+        tasks.addAll(scheduled);
+        scheduled.clear();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (!task.cancelled && task.nextRun <= tick) {
+                try {
+                    task.action.run();
+                } catch (RuntimeException e) {
+                    throw new IllegalStateException("Task " + task.id + " of " + task.plugin.getName() + " failed", e);
+                }
+
+                if (task.period > 0) {
+                    task.nextRun = tick + task.period;
+                } else {
+                    task.cancelled = true;
+                }
+            }
+        }
+
+        tasks.removeIf(task -> task.cancelled);
+    }
+
+    /**
+     * Schedules a task from the arguments of a {@code runTask} method. The task is either a
+     * {@link Runnable}, in which case its {@link BukkitTask} is returned, or a
+     * {@link Consumer} that receives it.
+     *
+     * @param args The plugin, the task and the timing of the call
+     * @param delay Ticks before the first run
+     * @param period Ticks between runs, or a negative value to run once
+     * @return The task handle, or null for consumer tasks
+     */
+    @SuppressWarnings("unchecked")
+    private BukkitTask schedule(Object[] args, long delay, long period) {
+        Task task = new Task(nextTaskId++, (Plugin) args[0], currentTick + Math.max(1, delay), period);
+
+        BukkitTask handle = FakeServer.proxy(BukkitTask.class, Map.of(
+            "getTaskId", task.id,
+            "getOwner", task.plugin,
+            "isSync", true,
+            "isCancelled", (FakeServer.Answer) ignored -> task.cancelled,
+            "cancel", (FakeServer.Answer) ignored -> {
+                task.cancelled = true;
+                return null;
+            }));
+
+        if (args[1] instanceof Runnable) {
+            task.action = (Runnable) args[1];
+        } else {
+            Consumer<BukkitTask> consumer = (Consumer<BukkitTask>) args[1];
+            task.action = () -> consumer.accept(handle);
+        }
+
+        scheduled.add(task);
+        return handle;
+    }
+
+    private void cancel(int taskId) {
+        for (Task task : tasks) {
+            if (task.id == taskId) {
+                task.cancelled = true;
+            }
+        }
+        for (Task task : scheduled) {
+            if (task.id == taskId) {
+                task.cancelled = true;
+            }
+        }
+    }
+
+    private void cancelAll(Plugin plugin) {
+        for (Task task : tasks) {
+            task.cancelled |= task.plugin == plugin;
+        }
+        for (Task task : scheduled) {
+            task.cancelled |= task.plugin == plugin;
+        }
+    }
+
+    private boolean isQueued(int taskId) {
+        for (Task task : tasks) {
+            if (task.id == taskId && !task.cancelled) {
+                return true;
+            }
+        }
+        for (Task task : scheduled) {
+            if (task.id == taskId && !task.cancelled) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One scheduled task and when it runs next.
+     */
+    private static final class Task {
+        private final int id;
+        private final Plugin plugin;
+        private final long period;
+        private long nextRun;
+        private Runnable action;
+        private boolean cancelled;
+
+        private Task(int id, Plugin plugin, long nextRun, long period) {
+            this.id = id;
+            this.plugin = plugin;
+            this.nextRun = nextRun;
+            this.period = period;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package org.frizzlenpop.frizzlenChants.benchmarks.fake;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stand-in for the Bukkit server, so plugin code that registers listeners or logs can run
+ * inside a benchmark. The server, its plugin manager and the plugins it hands out are
+ * dynamic proxies: the few methods plugin code calls outside of gameplay answer sensibly,
+ * listeners are registered with the {@link EventDispatcher}, and every other method returns
+ * null, zero, false or an empty collection. Tasks scheduled through the server's
+ * {@link FakeScheduler} run as {@link #tick()} advances the server tick.
+ */
+public final class FakeServer {
+
+    private static final Logger LOGGER = silentLogger();
+    private static final FakeScheduler SCHEDULER = new FakeScheduler();
+    private static volatile int currentTick;
+
+    private FakeServer() {
+    }
+
+    /**
+     * Installs the fake server as the Bukkit server, unless a server is already installed.
+     */
+    public static synchronized void install() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+
+        PluginManager pluginManager = proxy(PluginManager.class, Map.of(
+            "registerEvents", (Answer) args -> {
+                EventDispatcher.register((Listener) args[0], (Plugin) args[1]);
+                return null;
+            },
+            "registerEvent", (Answer) args -> {
+                EventDispatcher.register(((Class<?>) args[0]).asSubclass(Event.class), (Listener) args[1], (EventPriority) args[2],
+                    (EventExecutor) args[3], (Plugin) args[4], args.length > 5 && (Boolean) args[5]);
+                return null;
+            },
+            "callEvent", (Answer) args -> {
+                EventDispatcher.call((Event) args[0]);
+                return null;
+            }));
+        Server server = proxy(Server.class, Map.of(
+            "getLogger", LOGGER,
+            "getName", "FakeServer",
+            "getVersion", "benchmark",
+            "getBukkitVersion", "benchmark",
+            "getPluginManager", pluginManager,
+            "getScheduler", SCHEDULER.getScheduler(),
+            "getCurrentTick", (Answer) args -> currentTick,
+            "isPrimaryThread", true));
+
+        // Bukkit.setServer also prints a banner built from the server's build info, which a fake cannot provide
+        try {
+            Field field = Bukkit.class.getDeclaredField("server");
+            field.setAccessible(true);
+            field.set(null, server);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not install the fake server", e);
+        }
+    }
+
+    /**
+     * Advances the tick the fake server reports and runs the tasks due on the new tick.
+     */
+    public static void tick() {
+        currentTick++;
+        SCHEDULER.heartbeat(currentTick);
+    }
+
+    /**
+     * Returns the number of scheduled tasks that have not finished or been cancelled.
+     *
+     * @return The number of queued tasks
+     */
+    public static int getTaskCount() {
+        return SCHEDULER.getTaskCount();
+    }
+
+    /**
+     * Creates an enabled plugin with a logger that discards everything.
+     *
+     * @param name The plugin name
+     * @return The plugin
+     */
+    public static Plugin plugin(String name) {
+        return proxy(Plugin.class, Map.of(
+            "getName", name,
+            "getLogger", LOGGER,
+            "isEnabled", true));
+    }
+
+    /**
+     * Creates a proxy that answers the given methods, matched by name, with a fixed value
+     * or with the result of an {@link Answer}.
+     *
+     * @param type The interface to implement
+     * @param answers The return value or answer of each answered method
+     * @return The proxy
+     */
+    static <T> T proxy(Class<T> type, Map<String, Object> answers) {
+        InvocationHandler handler = new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Fake" + type.getSimpleName();
+                    default:
+                        Object answer = answers.get(method.getName());
+                        if (answer instanceof Answer) {
+                            return ((Answer) answer).answer(args);
+                        }
+                        return answer != null ? answer : defaultValue(method.getReturnType());
+                }
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    /**
+     * Returns the value a method that is not answered returns.
+     *
+     * @param type The return type
+     * @return Zero or false for primitives, an empty collection for collections, otherwise null
+     */
+    static Object defaultValue(Class<?> type) {
+        if (type == List.class || type == Collection.class) {
+            return List.of();
+        }
+        if (type == Set.class) {
+            return Set.of();
+        }
+        if (type == Map.class) {
+            return Map.of();
+        }
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        return type == short.class ? (Object) (short) 0 : (Object) (byte) 0;
+    }
+
+    /**
+     * Computes the return value of a proxied method from its arguments.
+     */
+    @FunctionalInterface
+    interface Answer {
+        /**
+         * Answers one call.
+         *
+         * @param args The arguments of the call, or null if it has none
+         * @return The return value
+         */
+        Object answer(Object[] args);
+    }
+
+    private static Logger silentLogger() {
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.OFF);
+        return logger;
+    }
+}
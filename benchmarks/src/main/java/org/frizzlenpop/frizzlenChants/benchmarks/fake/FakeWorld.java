@@ -0,0 +1,507 @@
+package org.frizzlenpop.frizzlenChants.benchmarks.fake;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Trident;
+import org.bukkit.entity.Zombie;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.Vector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * A flat stand-in world with live entities, for simulations that run effect engines over
+ * many ticks. Everything at or below {@link #GROUND_Y} is stone and everything above it is
+ * air. Players, zombies, block displays and tridents are proxies backed by mutable state:
+ * they move, take damage, die and can be removed, and entity lookups see them where they
+ * are. Players hold what {@link #equip} gives them. {@link #step} moves every entity by
+ * one tick.
+ * <p>
+ * The world counts what plugin code does to it: the particles it spawns and the entities
+ * that are spawned and removed. Players never die; their health stops at one.
+ */
+public final class FakeWorld {
+
+    /** Y coordinate of the top of the ground. */
+    public static final int GROUND_Y = 64;
+
+    private static final double GRAVITY = 0.05;
+    private static final double DRAG = 0.99;
+    private static final double FRICTION = 0.6;
+    private static final int RESTING_TICKS = 1200;
+    private static final ItemStack EMPTY_HAND = new FakeItem(Material.AIR, null);
+
+    private final World world;
+    private final Block ground;
+    private final Block air;
+    private final double radius;
+    private final List<Body> bodies = new ArrayList<>();
+    private int nextEntityId = 1;
+
+    // Counters since the last call to resetCounters
+    private long particles;
+    private int spawned;
+    private int removed;
+
+    /**
+     * Creates a world whose entities wander inside a square around the origin.
+     *
+     * @param name The world name
+     * @param radius Half the side of the square, in blocks
+     */
+    public FakeWorld(String name, double radius) {
+        this.radius = radius;
+
+        Map<String, Object> answers = new HashMap<>();
+        answers.put("getName", name);
+        answers.put("getUID", UUID.nameUUIDFromBytes(name.getBytes()));
+        answers.put("getMinHeight", -64);
+        answers.put("getMaxHeight", 320);
+        answers.put("getHighestBlockYAt", GROUND_Y);
+        answers.put("getBlockAt", (FakeServer.Answer) this::blockAt);
+        answers.put("getNearbyEntities", (FakeServer.Answer) this::nearbyEntities);
+        answers.put("getEntities", (FakeServer.Answer) args -> entities(entity -> true));
+        answers.put("getLivingEntities", (FakeServer.Answer) args -> entities(entity -> entity.living));
+        answers.put("getPlayers", (FakeServer.Answer) args -> entities(entity -> entity.type == EntityType.PLAYER));
+        answers.put("spawnParticle", (FakeServer.Answer) this::countParticles);
+        this.world = FakeServer.proxy(World.class, answers);
+
+        this.ground = block(Material.STONE, false);
+        this.air = block(Material.AIR, true);
+    }
+
+    /**
+     * Returns the world plugin code sees.
+     *
+     * @return The world
+     */
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * Spawns a player standing on the ground.
+     *
+     * @param name The player name
+     * @param x The X coordinate
+     * @param z The Z coordinate
+     * @return The player
+     */
+    public Player spawnPlayer(String name, double x, double z) {
+        Body body = new Body(EntityType.PLAYER, x, GROUND_Y + 1, z, 0.6, 1.8, true);
+        body.name = name;
+        body.uniqueId = UUID.nameUUIDFromBytes(name.getBytes());
+        return spawn(body, Player.class);
+    }
+
+    /**
+     * Puts items in a player's main hand and armor slots, where its inventory finds them.
+     *
+     * @param player A player spawned in this world
+     * @param mainHand The item in the main hand, or null for an empty hand
+     * @param armor The armor, from boots to helmet; entries may be null
+     */
+    public void equip(Player player, ItemStack mainHand, ItemStack[] armor) {
+        for (Body body : bodies) {
+            if (body.proxy == player) {
+                body.mainHand = mainHand != null ? mainHand : EMPTY_HAND;
+                body.armor = armor.clone();
+                return;
+            }
+        }
+        throw new IllegalArgumentException(player.getName() + " was not spawned in this world");
+    }
+
+    /**
+     * Spawns a zombie standing on the ground.
+     *
+     * @param x The X coordinate
+     * @param z The Z coordinate
+     * @return The zombie
+     */
+    public Zombie spawnZombie(double x, double z) {
+        return spawn(new Body(EntityType.ZOMBIE, x, GROUND_Y + 1, z, 0.6, 1.95, true), Zombie.class);
+    }
+
+    /**
+     * Spawns a block display. Displays only move when they are teleported.
+     *
+     * @param location Where to spawn the display
+     * @return The block display
+     */
+    public BlockDisplay spawnBlockDisplay(Location location) {
+        return spawn(new Body(EntityType.BLOCK_DISPLAY, location.getX(), location.getY(), location.getZ(), 0, 0, false),
+            BlockDisplay.class);
+    }
+
+    /**
+     * Spawns a flying trident. It falls under gravity, comes to rest on the ground and is
+     * removed a minute later.
+     *
+     * @param shooter The player who threw it
+     * @param location Where to spawn the trident
+     * @param velocity The initial velocity in blocks per tick
+     * @return The trident
+     */
+    public Trident spawnTrident(Player shooter, Location location, Vector velocity) {
+        Body body = new Body(EntityType.TRIDENT, location.getX(), location.getY(), location.getZ(), 0.5, 0.5, false);
+        body.shooter = shooter;
+        body.velocityX = velocity.getX();
+        body.velocityY = velocity.getY();
+        body.velocityZ = velocity.getZ();
+        return spawn(body, Trident.class);
+    }
+
+    /**
+     * Moves every entity by one tick: projectiles fly and fall, players and zombies wander
+     * inside the world bounds and slow down after knockback. Removed entities are dropped.
+     *
+     * @param random The random source for wandering
+     */
+    public void step(Random random) {
+        bodies.removeIf(body -> !body.valid);
+
+        for (Body body : bodies) {
+            switch (body.type) {
+                case TRIDENT:
+                    if (body.onGround) {
+                        // Stands in for the owner picking the trident back up
+                        if (++body.restingTicks >= RESTING_TICKS) {
+                            body.remove();
+                        }
+                    } else {
+                        body.x += body.velocityX;
+                        body.y += body.velocityY;
+                        body.z += body.velocityZ;
+                        body.velocityX *= DRAG;
+                        body.velocityY = body.velocityY * DRAG - GRAVITY;
+                        body.velocityZ *= DRAG;
+
+                        if (body.y <= GROUND_Y + 1) {
+                            body.y = GROUND_Y + 1;
+                            body.velocityX = body.velocityY = body.velocityZ = 0;
+                            body.onGround = true;
+                        }
+                    }
+                    break;
+                case PLAYER:
+                case ZOMBIE:
+                    double speed = body.type == EntityType.PLAYER ? 0.2 : 0.1;
+                    body.heading += (random.nextDouble() - 0.5) * 0.5;
+                    body.x += Math.cos(body.heading) * speed + body.velocityX;
+                    body.z += Math.sin(body.heading) * speed + body.velocityZ;
+                    body.velocityX *= FRICTION;
+                    body.velocityZ *= FRICTION;
+
+                    // Turn back toward the center at the edge
+                    if (Math.abs(body.x) > radius || Math.abs(body.z) > radius) {
+                        body.x = Math.max(-radius, Math.min(radius, body.x));
+                        body.z = Math.max(-radius, Math.min(radius, body.z));
+                        body.heading = Math.atan2(-body.z, -body.x);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entities in the world.
+     *
+     * @return The number of live entities
+     */
+    public int getEntityCount() {
+        int count = 0;
+        for (Body body : bodies) {
+            if (body.valid) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of live entities of one type.
+     *
+     * @param type The entity type
+     * @return The number of live entities of that type
+     */
+    public int getEntityCount(EntityType type) {
+        int count = 0;
+        for (Body body : bodies) {
+            if (body.valid && body.type == type) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of particles spawned since the counters were last reset.
+     *
+     * @return The particle count
+     */
+    public long getParticles() {
+        return particles;
+    }
+
+    /**
+     * Returns the number of entities spawned since the counters were last reset.
+     *
+     * @return The number of spawned entities
+     */
+    public int getSpawned() {
+        return spawned;
+    }
+
+    /**
+     * Returns the number of entities removed or killed since the counters were last reset.
+     *
+     * @return The number of removed entities
+     */
+    public int getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Resets the particle, spawn and removal counters.
+     */
+    public void resetCounters() {
+        particles = 0;
+        spawned = 0;
+        removed = 0;
+    }
+
+    private <T extends Entity> T spawn(Body body, Class<T> type) {
+        body.entityId = nextEntityId++;
+        if (body.uniqueId == null) {
+            body.uniqueId = new UUID(0, body.entityId);
+        }
+        body.proxy = FakeServer.proxy(type, body.answers());
+        bodies.add(body);
+        spawned++;
+        return type.cast(body.proxy);
+    }
+
+    private Block block(Material type, boolean passable) {
+        return FakeServer.proxy(Block.class, Map.of(
+            "getType", type,
+            "getWorld", world,
+            "isPassable", passable,
+            "isEmpty", passable,
+            "isSolid", !passable));
+    }
+
+    private Object blockAt(Object[] args) {
+        double y = args.length == 1 ? ((Location) args[0]).getY() : (Integer) args[1];
+        return y < GROUND_Y + 1 ? ground : air;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object nearbyEntities(Object[] args) {
+        BoundingBox area;
+        Predicate<Entity> filter = null;
+
+        if (args[0] instanceof BoundingBox) {
+            area = (BoundingBox) args[0];
+            if (args.length > 1) {
+                filter = (Predicate<Entity>) args[1];
+            }
+        } else {
+            Location center = (Location) args[0];
+            double x = (Double) args[1];
+            double y = (Double) args[2];
+            double z = (Double) args[3];
+            area = new BoundingBox(center.getX() - x, center.getY() - y, center.getZ() - z,
+                center.getX() + x, center.getY() + y, center.getZ() + z);
+            if (args.length > 4) {
+                filter = (Predicate<Entity>) args[4];
+            }
+        }
+
+        List<Entity> found = new ArrayList<>();
+        for (Body body : bodies) {
+            if (body.valid && body.overlaps(area) && (filter == null || filter.test(body.proxy))) {
+                found.add(body.proxy);
+            }
+        }
+        return found;
+    }
+
+    private List<Entity> entities(Predicate<Body> filter) {
+        List<Entity> found = new ArrayList<>();
+        for (Body body : bodies) {
+            if (body.valid && filter.test(body)) {
+                found.add(body.proxy);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Adds the count of one {@code spawnParticle} call. Every overload takes the particle
+     * count as its first {@code int} argument.
+     *
+     * @param args The arguments of the call
+     * @return Nothing, the method is void
+     */
+    private Object countParticles(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Integer) {
+                particles += (Integer) arg;
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mutable state of one entity, read and written through its proxy.
+     */
+    private final class Body {
+        private final EntityType type;
+        private final double width;
+        private final double height;
+        private final boolean living;
+        private int entityId;
+        private UUID uniqueId;
+        private String name;
+        private Entity proxy;
+        private Player shooter;
+        private ItemStack mainHand = EMPTY_HAND;
+        private ItemStack[] armor = new ItemStack[4];
+        private double x, y, z;
+        private double velocityX, velocityY, velocityZ;
+        private double heading;
+        private double health = 20;
+        private int restingTicks;
+        private boolean onGround;
+        private boolean valid = true;
+
+        private Body(EntityType type, double x, double y, double z, double width, double height, boolean living) {
+            this.type = type;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.width = width;
+            this.height = height;
+            this.living = living;
+        }
+
+        private Map<String, Object> answers() {
+            Map<String, Object> answers = new HashMap<>();
+            answers.put("getEntityId", entityId);
+            answers.put("getUniqueId", uniqueId);
+            answers.put("getType", type);
+            answers.put("getWorld", world);
+            answers.put("getName", name != null ? name : type.name());
+            answers.put("getHeight", height);
+            answers.put("getWidth", width);
+            answers.put("getShooter", (FakeServer.Answer) args -> shooter);
+            if (type == EntityType.PLAYER) {
+                answers.put("getInventory", FakeServer.proxy(PlayerInventory.class, Map.of(
+                    "getItemInMainHand", (FakeServer.Answer) args -> mainHand,
+                    "getItemInOffHand", EMPTY_HAND,
+                    "getArmorContents", (FakeServer.Answer) args -> armor.clone())));
+            }
+            answers.put("isOnline", (FakeServer.Answer) args -> valid);
+            answers.put("isValid", (FakeServer.Answer) args -> valid);
+            answers.put("isDead", (FakeServer.Answer) args -> !valid);
+            answers.put("isOnGround", (FakeServer.Answer) args -> onGround || living);
+            answers.put("getX", (FakeServer.Answer) args -> x);
+            answers.put("getY", (FakeServer.Answer) args -> y);
+            answers.put("getZ", (FakeServer.Answer) args -> z);
+            answers.put("getLocation", (FakeServer.Answer) this::location);
+            answers.put("getEyeLocation", (FakeServer.Answer) args -> new Location(world, x, y + height * 0.85, z));
+            answers.put("getBoundingBox", (FakeServer.Answer) args ->
+                new BoundingBox(x - width / 2, y, z - width / 2, x + width / 2, y + height, z + width / 2));
+            answers.put("getVelocity", (FakeServer.Answer) args -> new Vector(velocityX, velocityY, velocityZ));
+            answers.put("setVelocity", (FakeServer.Answer) args -> {
+                Vector velocity = (Vector) args[0];
+                velocityX = velocity.getX();
+                velocityY = velocity.getY();
+                velocityZ = velocity.getZ();
+                return null;
+            });
+            answers.put("teleport", (FakeServer.Answer) args -> {
+                if (!(args[0] instanceof Location)) {
+                    return false;
+                }
+                Location location = (Location) args[0];
+                x = location.getX();
+                y = location.getY();
+                z = location.getZ();
+                return true;
+            });
+            answers.put("getHealth", (FakeServer.Answer) args -> health);
+            answers.put("damage", (FakeServer.Answer) args -> {
+                damage((Double) args[0]);
+                return null;
+            });
+            answers.put("addPotionEffect", true);
+            answers.put("remove", (FakeServer.Answer) args -> {
+                remove();
+                return null;
+            });
+            return answers;
+        }
+
+        private Location location(Object[] args) {
+            if (args == null) {
+                return new Location(world, x, y, z);
+            }
+
+            Location location = (Location) args[0];
+            if (location != null) {
+                location.setWorld(world);
+                location.setX(x);
+                location.setY(y);
+                location.setZ(z);
+            }
+            return location;
+        }
+
+        private void damage(double amount) {
+            if (!valid || !living) {
+                return;
+            }
+
+            health -= amount;
+            if (health <= 0) {
+                if (type == EntityType.PLAYER) {
+                    health = 1;
+                } else {
+                    remove();
+                }
+            }
+        }
+
+        private void remove() {
+            if (valid) {
+                valid = false;
+                removed++;
+            }
+        }
+
+        private boolean overlaps(BoundingBox area) {
+            return x + width / 2 >= area.getMinX() && x - width / 2 <= area.getMaxX() &&
+                   y + height >= area.getMinY() && y <= area.getMaxY() &&
+                   z + width / 2 >= area.getMinZ() && z - width / 2 <= area.getMaxZ();
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package org.frizzlenpop.frizzlenChants.benchmarks.simulation;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeServer;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeWorld;
+import org.frizzlenpop.frizzlenChants.config.PluginSettings;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.profile.ProfileReport;
+import org.frizzlenpop.frizzlenChants.random.RandomService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Headless load simulation for the effect engines. Spawns players and zombies in a
+ * {@link FakeWorld}, has the players trigger Gravitational Collapse, Magma Impact, Sentinel
+ * Turret and Seeker Strike at configurable rates, and runs every engine for a fixed number
+ * of ticks on the fake server's scheduler. Settings are read from a config.yml like the
+ * plugin's, so caps and cooldowns can be tried out before they go live.
+ * <p>
+ * Each tick is written as one CSV row: the CPU time and bytes allocated by the main thread
+ * while the engines ran and new effects were triggered, the particles spawned, the entities
+ * spawned and removed, and how many effects were active. A summary is printed at the end.
+ * With {@code --profile true} the engines are also timed by the plugin's profiler, which
+ * both breaks the tick time down per enchantment and shows what profiling adds to it.
+ * The fakes answer through dynamic proxies, which makes every world call dearer than on a
+ * server, so the numbers are for comparing settings against each other rather than a
+ * prediction of the tick time on a live server.
+ * <p>
+ * Run it from the benchmark jar:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar \
+ *     org.frizzlenpop.frizzlenChants.benchmarks.simulation.LoadSimulation --players 40 --ticks 6000
+ * </pre>
+ */
+public final class LoadSimulation {
+
+    private static final int TICKS_PER_SECOND = 20;
+    private static final int TICKS_PER_MINUTE = 60 * TICKS_PER_SECOND;
+
+    private static final String CSV_HEADER = "tick,cpu_nanos,allocated_bytes,particles,entities_spawned," +
+        "entities_removed,entities,tasks,activations,collapse_blocks,meteors,turrets,guided_tridents";
+
+    private final int playerCount;
+    private final int mobCount;
+    private final int ticks;
+    private final int warmupTicks;
+    private final double radius;
+    private final int level;
+    private final double collapseRate;
+    private final double magmaRate;
+    private final double turretRate;
+    private final double seekerRate;
+    private final PluginSettings settings;
+    private final long seed;
+    private final Random random;
+    private final boolean profile;
+    private final EnchantProfiler profiler = new EnchantProfiler();
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.ThreadMXBean allocations;
+
+    private FakeWorld world;
+    private SimulatedEnchants enchants;
+    private final List<Player> players = new ArrayList<>();
+    private int[] collapseReadyTick;
+    private int[] magmaReadyTick;
+
+    private LoadSimulation(Map<String, String> options, PluginSettings settings) {
+        this.playerCount = positive(options, "players");
+        this.mobCount = Integer.parseInt(options.get("mobs"));
+        this.ticks = positive(options, "ticks");
+        this.warmupTicks = Integer.parseInt(options.get("warmup"));
+        this.radius = Double.parseDouble(options.get("radius"));
+        this.level = positive(options, "level");
+        this.collapseRate = Double.parseDouble(options.get("collapse-rate"));
+        this.magmaRate = Double.parseDouble(options.get("magma-rate"));
+        this.turretRate = Double.parseDouble(options.get("turret-rate"));
+        this.seekerRate = Double.parseDouble(options.get("seeker-rate"));
+        this.settings = settings;
+        this.seed = Long.parseLong(options.get("seed"));
+        this.random = new Random(seed);
+        this.profile = Boolean.parseBoolean(options.get("profile"));
+
+        this.allocations = threads instanceof com.sun.management.ThreadMXBean
+            ? (com.sun.management.ThreadMXBean) threads
+            : null;
+    }
+
+    /**
+     * Runs the simulation.
+     *
+     * @param args Options as {@code --name value} pairs; run with {@code --help} for the list
+     * @throws IOException If the settings cannot be read or the CSV cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = defaultOptions();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i].startsWith("--") ? args[i].substring(2) : null;
+            if (name == null || !options.containsKey(name) || i + 1 == args.length) {
+                if (!"--help".equals(args[i])) {
+                    System.err.println("Unknown or incomplete option: " + args[i]);
+                }
+                printUsage();
+                System.exit(2);
+            }
+            options.put(name, args[++i]);
+        }
+
+        LoadSimulation simulation;
+        try {
+            simulation = new LoadSimulation(options, readSettings(options.get("config")));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        Path out = Path.of(options.get("out"));
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(out, StandardCharsets.UTF_8))) {
+            simulation.run(csv);
+        }
+        System.out.println("Wrote " + out.toAbsolutePath());
+    }
+
+    /**
+     * Sets up the world and runs the warmup and the recorded ticks.
+     *
+     * @param csv Where to write one row per recorded tick
+     */
+    private void run(PrintWriter csv) {
+        FakeServer.install();
+        Plugin plugin = FakeServer.plugin("FrizzlenChants");
+        world = new FakeWorld("simulation", radius);
+        enchants = new SimulatedEnchants(plugin, world, settings, new RandomService(seed), profiler);
+
+        for (int i = 0; i < playerCount; i++) {
+            players.add(world.spawnPlayer("Player" + i, randomCoordinate(), randomCoordinate()));
+        }
+        collapseReadyTick = new int[playerCount];
+        magmaReadyTick = new int[playerCount];
+        respawnMobs();
+
+        for (int tick = 0; tick < warmupTicks; tick++) {
+            tick(tick);
+        }
+
+        if (profile) {
+            profiler.begin();
+        }
+
+        csv.println(CSV_HEADER);
+        long[] cpu = new long[ticks];
+        long totalAllocated = 0;
+        long totalParticles = 0;
+        long peakParticles = 0;
+        int peakEntities = 0;
+        long totalChurn = 0;
+
+        for (int t = 0; t < ticks; t++) {
+            Row row = tick(warmupTicks + t);
+            cpu[t] = row.cpuNanos;
+            totalAllocated += Math.max(0, row.allocatedBytes);
+            totalParticles += row.particles;
+            peakParticles = Math.max(peakParticles, row.particles);
+            peakEntities = Math.max(peakEntities, row.entities);
+            totalChurn += row.spawned + row.removed;
+
+            csv.println(t + "," + row.cpuNanos + "," + row.allocatedBytes + "," + row.particles + "," +
+                row.spawned + "," + row.removed + "," + row.entities + "," + row.tasks + "," +
+                row.activations + "," + enchants.getCollapseBlocks() + "," + enchants.getMeteors() + "," +
+                enchants.getTurrets() + "," + enchants.getGuidedTridents());
+        }
+
+        ProfileReport report = profile ? profiler.finish() : null;
+        enchants.shutdown();
+        printSummary(cpu, totalAllocated, totalParticles, peakParticles, peakEntities, totalChurn);
+        if (report != null) {
+            printProfile(report, ticks);
+        }
+    }
+
+    /**
+     * Runs one tick: the scheduler runs the engines, players trigger new effects, then
+     * entities move and killed zombies are replaced. Only the first two steps are timed.
+     *
+     * @param tick The simulation tick
+     * @return What happened during the tick
+     */
+    private Row tick(int tick) {
+        world.resetCounters();
+
+        // Decide who triggers what before timing, so the random draws are not counted
+        List<Runnable> activations = new ArrayList<>();
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            int index = i;
+
+            if (tick >= collapseReadyTick[i] && roll(collapseRate)) {
+                activations.add(() -> {
+                    if (enchants.triggerCollapse(player, level)) {
+                        collapseReadyTick[index] = tick +
+                            settings.gravitationalCollapse().cooldownSeconds() * TICKS_PER_SECOND;
+                    }
+                });
+            }
+            if (tick >= magmaReadyTick[i] && roll(magmaRate)) {
+                activations.add(() -> {
+                    if (enchants.triggerMagmaImpact(player, level)) {
+                        magmaReadyTick[index] = tick + (int) (settings.magmaImpact().cooldownMillis() / 50);
+                    }
+                });
+            }
+            if (roll(turretRate)) {
+                activations.add(() -> enchants.triggerSentinelTurret(player, level));
+            }
+            if (roll(seekerRate)) {
+                activations.add(() -> enchants.triggerSeekerStrike(player, level));
+            }
+        }
+
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long allocatedStart = allocatedBytes();
+
+        FakeServer.tick();
+        for (Runnable activation : activations) {
+            activation.run();
+        }
+
+        long cpuNanos = threads.getCurrentThreadCpuTime() - cpuStart;
+        long allocated = allocations != null ? allocatedBytes() - allocatedStart : -1;
+
+        world.step(random);
+        respawnMobs();
+
+        return new Row(cpuNanos, allocated, world.getParticles(), world.getSpawned(), world.getRemoved(),
+            world.getEntityCount(), FakeServer.getTaskCount(), activations.size());
+    }
+
+    /**
+     * Tops the zombies back up to the configured count.
+     */
+    private void respawnMobs() {
+        for (int i = world.getEntityCount(EntityType.ZOMBIE); i < mobCount; i++) {
+            world.spawnZombie(randomCoordinate(), randomCoordinate());
+        }
+    }
+
+    /**
+     * Checks if a player triggers an effect this tick.
+     *
+     * @param perMinute Activations per player per minute
+     * @return true if the player triggers the effect
+     */
+    private boolean roll(double perMinute) {
+        return perMinute > 0 && random.nextDouble() < perMinute / TICKS_PER_MINUTE;
+    }
+
+    private double randomCoordinate() {
+        return (random.nextDouble() * 2 - 1) * radius;
+    }
+
+    private long allocatedBytes() {
+        return allocations != null ? allocations.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private void printSummary(long[] cpu, long totalAllocated, long totalParticles, long peakParticles,
+                              int peakEntities, long totalChurn) {
+        long[] sorted = cpu.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(cpu).average().orElse(0);
+
+        System.out.printf(Locale.ROOT, "%d ticks, %d players, %d zombies, level %d%n",
+            ticks, playerCount, mobCount, level);
+        System.out.printf(Locale.ROOT, "CPU per tick: mean %.3f ms, p50 %.3f ms, p95 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+            mean / 1e6, percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.95) / 1e6,
+            percentile(sorted, 0.99) / 1e6, sorted[sorted.length - 1] / 1e6);
+        if (allocations != null) {
+            System.out.printf(Locale.ROOT, "Allocated per tick: %.1f KiB%n", totalAllocated / 1024.0 / ticks);
+        }
+        System.out.printf(Locale.ROOT, "Particles per tick: mean %.1f, max %d%n",
+            (double) totalParticles / ticks, peakParticles);
+        System.out.printf(Locale.ROOT, "Entities: peak %d, spawned or removed per tick %.2f%n",
+            peakEntities, (double) totalChurn / ticks);
+        System.out.printf(Locale.ROOT, "Turrets rejected by the caps: %d%n", enchants.getTurretsRejected());
+    }
+
+    /**
+     * Prints a profile with each section's time averaged over the recorded ticks.
+     *
+     * @param report The profile
+     * @param ticks The number of recorded ticks
+     */
+    static void printProfile(ProfileReport report, int ticks) {
+        System.out.printf(Locale.ROOT, "Profile: %d sections%n", report.sections());
+        for (ProfileReport.Entry entry : report.entries()) {
+            System.out.printf(Locale.ROOT,
+                "  %-22s %-8s %.3f ms/tick, %d calls, p50 %.1f us, p95 %.1f us, p99 %.1f us, max %.1f us%n",
+                entry.enchant(), entry.phase().getKey(), entry.totalNanos() / 1e6 / ticks, entry.calls(),
+                entry.p50Nanos() / 1e3, entry.p95Nanos() / 1e3, entry.p99Nanos() / 1e3, entry.maxNanos() / 1e3);
+        }
+    }
+
+    static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+
+    private static int positive(Map<String, String> options, String name) {
+        int value = Integer.parseInt(options.get(name));
+        if (value < 1) {
+            throw new IllegalArgumentException("--" + name + " must be at least 1");
+        }
+        return value;
+    }
+
+    /**
+     * Reads the settings from a config file, or from the plugin's bundled config.yml.
+     *
+     * @param path The config file, or an empty string for the bundled one
+     * @return The settings
+     * @throws IOException If the file cannot be read
+     */
+    static PluginSettings readSettings(String path) throws IOException {
+        if (!path.isEmpty()) {
+            try (Reader reader = Files.newBufferedReader(Path.of(path), StandardCharsets.UTF_8)) {
+                return PluginSettings.read(YamlConfiguration.loadConfiguration(reader));
+            }
+        }
+
+        try (InputStream in = PluginSettings.class.getClassLoader().getResourceAsStream("config.yml")) {
+            if (in == null) {
+                throw new IOException("The plugin's config.yml is not on the classpath; pass --config");
+            }
+            return PluginSettings.read(YamlConfiguration.loadConfiguration(
+                new InputStreamReader(in, StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static Map<String, String> defaultOptions() {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("players", "20");
+        options.put("mobs", "60");
+        options.put("ticks", "6000");
+        options.put("warmup", "200");
+        options.put("radius", "48");
+        options.put("level", "3");
+        options.put("collapse-rate", "1");
+        options.put("magma-rate", "2");
+        options.put("turret-rate", "3");
+        options.put("seeker-rate", "3");
+        options.put("seed", "1");
+        options.put("profile", "false");
+        options.put("config", "");
+        options.put("out", "load-simulation.csv");
+        return options;
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: LoadSimulation [--name value]...");
+        System.err.println("  --players N        players triggering enchantments (20)");
+        System.err.println("  --mobs N           zombies kept alive as targets (60)");
+        System.err.println("  --ticks N          recorded ticks (6000, five minutes)");
+        System.err.println("  --warmup N         ticks run before recording starts (200)");
+        System.err.println("  --radius BLOCKS    half the side of the arena (48)");
+        System.err.println("  --level N          enchantment level of every activation (3)");
+        System.err.println("  --collapse-rate R  Gravitational Collapse procs per player per minute, before cooldown (1)");
+        System.err.println("  --magma-rate R     Magma Impact procs per player per minute, before cooldown (2)");
+        System.err.println("  --turret-rate R    Sentinel Turret throws per player per minute (3)");
+        System.err.println("  --seeker-rate R    Seeker Strike throws per player per minute (3)");
+        System.err.println("  --seed N           random seed (1)");
+        System.err.println("  --profile BOOLEAN  time each engine with the plugin's profiler and print its report (false)");
+        System.err.println("  --config FILE      config.yml to read settings from (the plugin's default)");
+        System.err.println("  --out FILE         CSV output (load-simulation.csv)");
+    }
+
+    /**
+     * Measurements of one tick.
+     */
+    private record Row(long cpuNanos, long allocatedBytes, long particles, int spawned, int removed,
+                       int entities, int tasks, int activations) {
+    }
+}
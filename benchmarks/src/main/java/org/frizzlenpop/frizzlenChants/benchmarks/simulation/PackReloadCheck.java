@@ -0,0 +1,191 @@
+package org.frizzlenpop.frizzlenChants.benchmarks.simulation;
+
+import org.bukkit.plugin.Plugin;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeEnchant;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeServer;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantDescriptor;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentRegistry;
+import org.frizzlenpop.frizzlenChants.listeners.EnchantmentActivationListener;
+import org.frizzlenpop.frizzlenChants.pack.EnchantPackManager;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Checks that reloading an enchant pack does not leak its class loaders. The check builds
+ * a pack JAR with one enchantment, loads it through the real {@link EnchantPackManager} on
+ * the fake server and reloads it the given number of times, instantiating the enchantment
+ * before every reload so its event handlers are bound and unbound each time. It then unloads
+ * the pack, runs the garbage collector and fails if
+ * {@link EnchantPackManager#getUncollectedPacks()} still lists any version, which means
+ * something still references one of its classes.
+ * <p>
+ * The pack is compiled when the check runs, so it needs a JDK rather than a JRE. Run it from
+ * the benchmark jar:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar \
+ *     org.frizzlenpop.frizzlenChants.benchmarks.simulation.PackReloadCheck --reloads 50
+ * </pre>
+ * It exits with status 0 when every version was collected and 1 otherwise.
+ */
+public final class PackReloadCheck {
+
+    private static final String PACK_NAME = "leakcheck";
+    private static final String ENCHANT_NAME = "PackLeakCheck";
+    private static final String CLASS_NAME = "leakcheck.PackLeakCheckEnchant";
+    private static final int GC_ATTEMPTS = 10;
+
+    // Binds a handler, so a reload also exercises unbinding the enchantment's listeners
+    private static final String SOURCE = String.join("\n",
+        "package leakcheck;",
+        "",
+        "import org.bukkit.Material;",
+        "import org.bukkit.entity.Player;",
+        "import org.bukkit.event.EventHandler;",
+        "import org.bukkit.event.player.PlayerMoveEvent;",
+        "import org.bukkit.inventory.ItemStack;",
+        "import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;",
+        "",
+        "public class PackLeakCheckEnchant extends CustomEnchant {",
+        "    private long moves;",
+        "",
+        "    public PackLeakCheckEnchant() {",
+        "        super(\"" + ENCHANT_NAME + "\", 3, Material.DIAMOND_SWORD);",
+        "    }",
+        "",
+        "    @Override",
+        "    public void applyEffect(Player player, ItemStack item, int level) {",
+        "    }",
+        "",
+        "    @EventHandler",
+        "    public void onPlayerMove(PlayerMoveEvent event) {",
+        "        moves++;",
+        "    }",
+        "}",
+        "");
+
+    private PackReloadCheck() {
+    }
+
+    /**
+     * Runs the check.
+     *
+     * @param args {@code --reloads <count>}
+     * @throws IOException If the pack cannot be built
+     * @throws InterruptedException If interrupted while waiting for the garbage collector
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("reloads", "50");
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i].startsWith("--") ? args[i].substring(2) : null;
+            if (name == null || !options.containsKey(name) || i + 1 == args.length) {
+                if (!"--help".equals(args[i])) {
+                    System.err.println("Unknown or incomplete option: " + args[i]);
+                }
+                System.err.println("Usage: PackReloadCheck [--reloads <count>]");
+                System.exit(2);
+            }
+            options.put(name, args[++i]);
+        }
+        int reloads = Integer.parseInt(options.get("reloads"));
+
+        Path work = Files.createTempDirectory("frizzlenchants-packs");
+        try {
+            Path packs = Files.createDirectory(work.resolve("packs"));
+            buildPack(work, packs.resolve(PACK_NAME + ".jar"));
+
+            EnchantmentRegistry registry = FakeEnchant.newRegistry();
+            Plugin plugin = FakeServer.plugin("FrizzlenChants");
+            EnchantPackManager manager = new EnchantPackManager(plugin, registry,
+                new EnchantmentActivationListener(registry), packs.toFile());
+
+            if (manager.loadAll() != 1) {
+                System.err.println("The pack did not load");
+                System.exit(1);
+            }
+            for (int i = 0; i < reloads; i++) {
+                if (registry.getEnchantment(ENCHANT_NAME).isEmpty() || !manager.reload(PACK_NAME)) {
+                    System.err.println("Reload " + (i + 1) + " failed");
+                    System.exit(1);
+                }
+            }
+            registry.getEnchantment(ENCHANT_NAME);
+            manager.unload(PACK_NAME);
+
+            List<String> uncollected = manager.getUncollectedPacks();
+            for (int attempt = 0; attempt < GC_ATTEMPTS && !uncollected.isEmpty(); attempt++) {
+                System.gc();
+                Thread.sleep(100);
+                uncollected = manager.getUncollectedPacks();
+            }
+
+            int versions = reloads + 1;
+            if (uncollected.isEmpty()) {
+                System.out.println("All " + versions + " versions of the pack were collected");
+            } else {
+                System.out.println(uncollected.size() + " of " + versions + " versions of the pack were not " +
+                    "collected; take a heap dump and look for paths to their class loaders");
+                System.exit(1);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(work)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Compiles the pack enchantment against the running class path and writes it to a JAR
+     * with its enchantment index.
+     *
+     * @param work A directory for the source and classes
+     * @param jar The JAR to write
+     * @throws IOException If a file cannot be written
+     */
+    private static void buildPack(Path work, Path jar) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            System.err.println("The check compiles its pack and needs a JDK");
+            System.exit(2);
+        }
+
+        Path source = work.resolve("src/leakcheck/PackLeakCheckEnchant.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, SOURCE, StandardCharsets.UTF_8);
+        Path classes = Files.createDirectory(work.resolve("classes"));
+        int status = compiler.run(null, null, null, "-nowarn", "-d", classes.toString(),
+            "-cp", System.getProperty("java.class.path"), source.toString());
+        if (status != 0) {
+            System.err.println("Could not compile the pack enchantment");
+            System.exit(1);
+        }
+
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            String classFile = CLASS_NAME.replace('.', '/') + ".class";
+            out.putNextEntry(new JarEntry(classFile));
+            out.write(Files.readAllBytes(classes.resolve(classFile)));
+            out.closeEntry();
+
+            out.putNextEntry(new JarEntry(EnchantDescriptor.INDEX_PATH));
+            writeLine(out, CLASS_NAME + "\t" + ENCHANT_NAME + "\t3\tDIAMOND_SWORD\t");
+            out.closeEntry();
+        }
+    }
+
+    private static void writeLine(OutputStream out, String line) throws IOException {
+        out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
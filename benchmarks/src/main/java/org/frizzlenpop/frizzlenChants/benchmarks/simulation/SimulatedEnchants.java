@@ -0,0 +1,541 @@
+package org.frizzlenpop.frizzlenChants.benchmarks.simulation;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Monster;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.entity.Trident;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.util.Vector;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeWorld;
+import org.frizzlenpop.frizzlenChants.config.PluginSettings;
+import org.frizzlenpop.frizzlenChants.effect.AreaEffect;
+import org.frizzlenpop.frizzlenChants.effect.AreaEffectResolver;
+import org.frizzlenpop.frizzlenChants.effect.HomingGuidanceEngine;
+import org.frizzlenpop.frizzlenChants.effect.MeteorEngine;
+import org.frizzlenpop.frizzlenChants.effect.OrbitalCollapseEngine;
+import org.frizzlenpop.frizzlenChants.effect.TurretManager;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.random.RandomService;
+import org.frizzlenpop.frizzlenChants.random.ThreadRandom;
+import org.frizzlenpop.frizzlenChants.schedule.EffectTask;
+import org.frizzlenpop.frizzlenChants.schedule.RegionShards;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Triggers Gravitational Collapse, Magma Impact, Sentinel Turret and Seeker Strike on the
+ * plugin's real effect engines, with the parameters their enchantments derive from the
+ * settings and the level. The enchantments themselves need a running server, so their
+ * engine callbacks are stood in for here: each spawns a particle burst the size of the
+ * enchantment's and applies the same damage, while the longer-running decorations the
+ * enchantments schedule around an activation (warning rings, the black hole, formation
+ * effects) are left out.
+ */
+final class SimulatedEnchants {
+
+    private final FakeWorld fakeWorld;
+    private final World world;
+    private final PluginSettings settings;
+    private final Plugin plugin;
+
+    // One generator per enchantment, derived as the enchantments derive theirs
+    private final ThreadRandom collapseRandom;
+    private final ThreadRandom magmaRandom;
+    private final ThreadRandom turretRandom;
+    private final ThreadRandom seekerRandom;
+
+    private final RegionShards<AreaEffectResolver> resolvers;
+    private final RegionShards<OrbitalCollapseEngine> collapseEngines;
+    private final RegionShards<MeteorEngine> meteorEngines;
+    private final TurretManager turretManager;
+    private final RegionShards<HomingGuidanceEngine> guidanceEngines;
+
+    private int turretsRejected;
+
+    /**
+     * Creates the four effect engines.
+     *
+     * @param plugin The plugin the engines schedule their tasks for
+     * @param fakeWorld The world the effects run in
+     * @param settings The settings the enchantments would read
+     * @param randoms The service the generators of the enchantments are derived from
+     * @param profiler The profiler that times each engine under its enchantment's name
+     */
+    SimulatedEnchants(Plugin plugin, FakeWorld fakeWorld, PluginSettings settings, RandomService randoms,
+                      EnchantProfiler profiler) {
+        this.plugin = plugin;
+        this.fakeWorld = fakeWorld;
+        this.world = fakeWorld.getWorld();
+        this.settings = settings;
+        this.collapseRandom = randoms.forEnchant("GravitationalCollapse");
+        this.magmaRandom = randoms.forEnchant("MagmaImpact");
+        this.turretRandom = randoms.forEnchant("SentinelTurret");
+        this.seekerRandom = randoms.forEnchant("SeekerStrike");
+
+        this.resolvers = new RegionShards<>(plugin, profiler.timer("Area effects", ProfilePhase.GAMEPLAY),
+            AreaEffectResolver::new);
+
+        ProfileTimer collapseTimer = profiler.timer("GravitationalCollapse", ProfilePhase.GAMEPLAY);
+        CollapseHandler collapseHandler = new CollapseHandler();
+        this.collapseEngines = new RegionShards<>(plugin, collapseTimer,
+            () -> new OrbitalCollapseEngine(collapseHandler, collapseRandom.split(), collapseTimer));
+
+        ProfileTimer meteorTimer = profiler.timer("MagmaImpact", ProfilePhase.GAMEPLAY);
+        MeteorHandler meteorHandler = new MeteorHandler();
+        this.meteorEngines = new RegionShards<>(plugin, meteorTimer,
+            () -> new MeteorEngine(resolvers, meteorHandler, meteorTimer));
+        this.turretManager = new TurretManager(plugin, new TurretHandler(), new ThreadRandom(turretRandom.split()),
+            settings.sentinelTurret().maxPerPlayer(), settings.sentinelTurret().maxPerChunk(),
+            profiler.timer("SentinelTurret", ProfilePhase.GAMEPLAY));
+
+        ProfileTimer guidanceTimer = profiler.timer("SeekerStrike", ProfilePhase.GAMEPLAY);
+        GuidanceHandler guidanceHandler = new GuidanceHandler();
+        this.guidanceEngines = new RegionShards<>(plugin, guidanceTimer,
+            () -> new HomingGuidanceEngine(guidanceHandler, guidanceTimer));
+    }
+
+    /**
+     * Starts a gravitational collapse above the zombie closest to a player, pulling in as
+     * many blocks as the settings allow.
+     *
+     * @param player The player whose hit procced the enchantment
+     * @param level The enchantment level
+     * @return true if there was a zombie to hit
+     */
+    boolean triggerCollapse(Player player, int level) {
+        LivingEntity target = nearestMonster(player.getLocation(), 16);
+        if (target == null) {
+            return false;
+        }
+
+        PluginSettings.GravitationalCollapse collapse = settings.gravitationalCollapse();
+        Location center = target.getLocation().add(0, collapse.blackHoleOffsetY(), 0);
+        int radius = collapse.blockRadius() + level - 1;
+
+        // The flat ground always has enough blocks in range, so every collapse pulls in the maximum
+        List<BlockDisplay> displays = new ArrayList<>();
+        for (int i = 0; i < collapse.maxBlocks(); i++) {
+            Location block = new Location(world,
+                Math.floor(center.getX() + collapseRandom.nextInt(2 * radius + 1) - radius) + 0.5,
+                FakeWorld.GROUND_Y + 0.5,
+                Math.floor(center.getZ() + collapseRandom.nextInt(2 * radius + 1) - radius) + 0.5);
+            displays.add(fakeWorld.spawnBlockDisplay(block));
+        }
+
+        double inwardSpeed = 0.03 + ((level - 1) * 0.01);
+        double launchSpeed = 0.3 + (level * 0.1);
+        double damage = collapse.baseDamage() + ((level - 1) * collapse.damagePerLevel());
+        collapseEngines.at(center).start(player, center, level, displays, inwardSpeed, launchSpeed, damage, () -> { });
+        return true;
+    }
+
+    /**
+     * Starts a meteor shower on the zombie closest to a player. Meteors are summoned over the
+     * following ticks, every two to six ticks, as the enchantment does.
+     *
+     * @param player The player whose hit procced the enchantment
+     * @param level The enchantment level
+     * @return true if there was a zombie to hit
+     */
+    boolean triggerMagmaImpact(Player player, int level) {
+        LivingEntity target = nearestMonster(player.getLocation(), 16);
+        if (target == null) {
+            return false;
+        }
+
+        Location targetLoc = target.getLocation();
+        SplittableRandom shower = magmaRandom.split();
+        int meteorCount = 3 + (level * 2) + shower.nextInt(4);
+
+        new EffectTask() {
+            int meteorsSummoned = 0;
+            int tick = 0;
+
+            @Override
+            public void run() {
+                if (meteorsSummoned >= meteorCount) {
+                    this.cancel();
+                    return;
+                }
+
+                if (tick % (shower.nextInt(5) + 2) == 0) {
+                    summonMeteor(player, targetLoc, level, meteorsSummoned++, shower);
+                }
+
+                tick++;
+            }
+        }.runTimer(plugin, targetLoc, 10L, 1L);
+        return true;
+    }
+
+    /**
+     * Places a turret on a trident that landed within ten blocks of a player, unless the
+     * caps reject it.
+     *
+     * @param player The player who threw the trident
+     * @param level The enchantment level
+     * @return true if the turret was placed
+     */
+    boolean triggerSentinelTurret(Player player, int level) {
+        Location landed = player.getLocation();
+        landed.add(turretRandom.nextDouble() * 20 - 10, 0, turretRandom.nextDouble() * 20 - 10);
+        landed.setY(FakeWorld.GROUND_Y + 1);
+        Trident trident = fakeWorld.spawnTrident(player, landed, new Vector());
+
+        PluginSettings.SentinelTurret turret = settings.sentinelTurret();
+        int durationTicks = 100 + (level * 50);
+        double range = 8.0 + (level * 2.0);
+        int firingDelay = Math.max(10, 20 - (level * 5));
+        double damage = turret.baseDamage() + (level * 1.0);
+
+        if (turretManager.place(player, trident, level, range, damage, firingDelay, 5, durationTicks) == null) {
+            trident.remove();
+            turretsRejected++;
+            return false;
+        }
+
+        // Three rings of twelve, the core and the flash
+        world.spawnParticle(Particle.END_ROD, landed, 3 * 12 + 10 + 1);
+        return true;
+    }
+
+    /**
+     * Throws a guided trident from a player's eyes, up and away in a random direction.
+     *
+     * @param player The player who threw the trident
+     * @param level The enchantment level
+     */
+    void triggerSeekerStrike(Player player, int level) {
+        double angle = seekerRandom.nextDouble() * Math.PI * 2;
+        Vector velocity = new Vector(Math.cos(angle), 0.4, Math.sin(angle)).normalize().multiply(2.5);
+        Trident trident = fakeWorld.spawnTrident(player, player.getEyeLocation(), velocity);
+
+        world.spawnParticle(Particle.FLAME, trident.getLocation(), 10 + (level * 5));
+        if (level >= 2) {
+            world.spawnParticle(Particle.END_ROD, trident.getLocation(), 5 + (level * 3));
+        }
+
+        PluginSettings.SeekerStrike seeker = settings.seekerStrike();
+        double trackingRange = seeker.detectionRange() + (level * 2);
+        int turnDelay = Math.max(5, 15 - (level * 5));
+        double turnStrength = 0.1 + (level * 0.05);
+        guidanceEngines.on(trident).track(trident, player, level, trackingRange, turnDelay, turnStrength, seeker.trackingTicks());
+    }
+
+    /**
+     * Returns the number of blocks in active gravitational collapses.
+     *
+     * @return The number of collapse blocks
+     */
+    int getCollapseBlocks() {
+        return collapseEngines.sum(OrbitalCollapseEngine::getBlockCount);
+    }
+
+    /**
+     * Returns the number of meteors in the air.
+     *
+     * @return The number of meteors
+     */
+    int getMeteors() {
+        return meteorEngines.sum(MeteorEngine::size);
+    }
+
+    /**
+     * Returns the number of active turrets.
+     *
+     * @return The number of turrets
+     */
+    int getTurrets() {
+        return turretManager.getActiveCount();
+    }
+
+    /**
+     * Returns the number of guided tridents.
+     *
+     * @return The number of guided tridents
+     */
+    int getGuidedTridents() {
+        return guidanceEngines.sum(HomingGuidanceEngine::size);
+    }
+
+    /**
+     * Returns the number of turrets the per-player and per-chunk caps turned away.
+     *
+     * @return The number of rejected turrets
+     */
+    int getTurretsRejected() {
+        return turretsRejected;
+    }
+
+    /**
+     * Stops every engine.
+     */
+    void shutdown() {
+        collapseEngines.shutdown();
+        meteorEngines.shutdown();
+        turretManager.shutdown();
+        guidanceEngines.shutdown();
+        resolvers.shutdown();
+    }
+
+    /**
+     * Summons one meteor of a shower, as Magma Impact does.
+     *
+     * @param player The player who triggered the shower
+     * @param targetPos Where the meteor lands
+     * @param level The enchantment level
+     * @param meteorIndex The index of the meteor in the shower
+     * @param shower The generator of the shower
+     */
+    private void summonMeteor(Player player, Location targetPos, int level, int meteorIndex,
+                              SplittableRandom shower) {
+        double angle = shower.nextDouble() * Math.PI * 2;
+        double horizontalDistance = shower.nextDouble() * 3;
+        double height = 10 * shower.nextDouble();
+        Location spawnLoc = targetPos.clone().add(
+            Math.cos(angle) * horizontalDistance,
+            height,
+            Math.sin(angle) * horizontalDistance);
+
+        float meteorScale = Math.min(3.0f, 0.8f + (shower.nextFloat() * 0.4f) + (level * 0.2f));
+        int fallDuration = Math.max(10, 5 - meteorIndex - level);
+        Vector velocity = targetPos.clone().subtract(spawnLoc).toVector().normalize();
+        BlockDisplay meteor = fakeWorld.spawnBlockDisplay(spawnLoc);
+
+        PluginSettings.MagmaImpact magma = settings.magmaImpact();
+        double radius = 2.0 * meteorScale + (level * 0.5);
+        double damage = magma.baseDamage() * meteorScale + (level * 1.5);
+        double knockback = magma.knockbackStrength() * meteorScale;
+
+        meteorEngines.at(targetPos).launch(player, meteor, spawnLoc, velocity.multiply(2.0 / fallDuration),
+            meteorScale, level, fallDuration, radius, damage, knockback);
+    }
+
+    private LivingEntity nearestMonster(Location location, double range) {
+        LivingEntity nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+
+        for (Entity entity : world.getNearbyEntities(location, range, range, range)) {
+            if (entity instanceof Monster) {
+                double distance = entity.getLocation().distanceSquared(location);
+                if (distance < nearestDistance) {
+                    nearestDistance = distance;
+                    nearest = (LivingEntity) entity;
+                }
+            }
+        }
+
+        return nearest;
+    }
+
+    /**
+     * Gravitational Collapse callbacks.
+     */
+    private class CollapseHandler implements OrbitalCollapseEngine.Handler {
+
+        @Override
+        public List<Entity> findTargets(Location center, Player owner, int level) {
+            double radius = 10.0 + (level * 5.0);
+            List<Entity> targets = new ArrayList<>();
+            for (Entity entity : world.getNearbyEntities(center, radius, radius, radius)) {
+                if (entity instanceof LivingEntity && !(entity instanceof Player)) {
+                    targets.add(entity);
+                }
+            }
+            return targets;
+        }
+
+        @Override
+        public void onHold(Location center, int level, int tick) {
+            for (int i = 0; i < 20; i++) {
+                world.spawnParticle(Particle.SQUID_INK, center, 1);
+            }
+        }
+
+        @Override
+        public void onLaunch(Location center, int level) {
+        }
+
+        @Override
+        public void onOrbit(World world, double x, double y, double z, int tick) {
+            if (tick % 2 == 0) {
+                world.spawnParticle(Particle.END_ROD, x, y, z, 1);
+            }
+        }
+
+        @Override
+        public void onFlight(World world, double x, double y, double z,
+                             double directionX, double directionY, double directionZ, int tick) {
+            world.spawnParticle(Particle.DRAGON_BREATH, x, y, z, 3);
+            if (tick % 3 == 0) {
+                world.spawnParticle(Particle.END_ROD, x, y, z, 8);
+            }
+        }
+
+        @Override
+        public void onBlockImpact(World world, double x, double y, double z, int level) {
+            impact(world, x, y, z, level);
+        }
+
+        @Override
+        public void onTargetHit(Entity target, Player owner, double directionX, double directionY, double directionZ,
+                                double damage, int level) {
+            Location location = target.getLocation();
+            impact(world, location.getX(), location.getY(), location.getZ(), level);
+
+            if (target instanceof LivingEntity) {
+                ((LivingEntity) target).damage(damage);
+                target.setVelocity(new Vector(directionX, directionY, directionZ).multiply(0.5));
+                world.spawnParticle(Particle.DRAGON_BREATH, location, 30);
+            }
+        }
+
+        private void impact(World world, double x, double y, double z, int level) {
+            // A flash, a burst and a ring of 20 rays every half block out to the impact radius
+            double radius = 1.0 + level * 0.5;
+            world.spawnParticle(Particle.EXPLOSION, x, y, z, 1 + 20 + 20 * (int) (radius / 0.5));
+        }
+    }
+
+    /**
+     * Magma Impact callbacks.
+     */
+    private class MeteorHandler implements MeteorEngine.Handler {
+
+        @Override
+        public void onFlight(World world, double x, double y, double z, float scale, int level) {
+            int particleCount = (int) (5 * scale) + (level * 2);
+            world.spawnParticle(Particle.FLAME, x, y, z, particleCount);
+            world.spawnParticle(Particle.CAMPFIRE_COSY_SMOKE, x, y, z, particleCount / 2);
+            if (level >= 2) {
+                world.spawnParticle(Particle.LAVA, x, y, z, 1 + level);
+            }
+        }
+
+        @Override
+        public void onImpact(Location location, float scale, int level) {
+            float explosionScale = scale * (1.0f + (level * 0.2f));
+            world.spawnParticle(Particle.EXPLOSION_EMITTER, location, 1 + (int) (explosionScale * 2));
+            world.spawnParticle(Particle.FLAME, location, (int) (15 * explosionScale));
+            if (scale > 1.5f) {
+                world.spawnParticle(Particle.LAVA, location, (int) (10 * explosionScale));
+            }
+        }
+
+        @Override
+        public void onVictimHit(LivingEntity victim) {
+            world.spawnParticle(Particle.FLAME, victim.getLocation().add(0, 1, 0), 10);
+        }
+    }
+
+    /**
+     * Sentinel Turret callbacks. Shots land at once instead of flying to their target.
+     */
+    private class TurretHandler implements TurretManager.Handler {
+
+        @Override
+        public boolean isHostile(TurretManager.Turret turret, LivingEntity entity) {
+            return entity instanceof Monster || (entity instanceof Player && settings.pvpEnabled());
+        }
+
+        @Override
+        public void onAmbient(TurretManager.Turret turret, Location location) {
+            world.spawnParticle(Particle.END_ROD, location, turret.getLevel() + 1);
+            if (turretRandom.nextInt(20) == 0) {
+                world.spawnParticle(Particle.ELECTRIC_SPARK, location, 3);
+            }
+        }
+
+        @Override
+        public void onTargetAcquired(TurretManager.Turret turret, Location location, LivingEntity target) {
+            int particles = (int) location.distance(target.getLocation()) * 2;
+            world.spawnParticle(Particle.ELECTRIC_SPARK, location, particles);
+        }
+
+        @Override
+        public void onFire(TurretManager.Turret turret, Location location, LivingEntity target, double damage) {
+            int particles = (int) location.distance(target.getLocation()) * 3;
+            world.spawnParticle(Particle.SOUL_FIRE_FLAME, location, particles);
+            target.damage(damage);
+        }
+
+        @Override
+        public void onRetired(TurretManager.Turret turret, Location location, TurretManager.RetireReason reason) {
+            world.spawnParticle(Particle.SMOKE, location, 10);
+
+            // Stands in for the trident being picked up once the turret is gone
+            turret.getAnchor().remove();
+        }
+    }
+
+    /**
+     * Seeker Strike callbacks.
+     */
+    private class GuidanceHandler implements HomingGuidanceEngine.Handler {
+
+        @Override
+        public LivingEntity acquireTarget(Projectile projectile, Player owner, double range) {
+            return nearestMonster(projectile.getLocation(), range);
+        }
+
+        @Override
+        public boolean isValidTarget(LivingEntity target, Projectile projectile) {
+            double detectionRange = settings.seekerStrike().detectionRange();
+            return target.isValid() && !target.isDead() &&
+                   target.getLocation().distanceSquared(projectile.getLocation()) <=
+                       detectionRange * detectionRange * 1.5;
+        }
+
+        @Override
+        public void onFlight(Projectile projectile, LivingEntity target, int level, int tick) {
+            // Dust and flame, smoke from level 2 and an end rod every third tick from level 3
+            Location location = projectile.getLocation();
+            world.spawnParticle(Particle.FLAME, location, 3 + 1);
+            if (level >= 2) {
+                world.spawnParticle(Particle.CAMPFIRE_COSY_SMOKE, location, 1);
+            }
+            if (level >= 3 && tick % 3 == 0) {
+                world.spawnParticle(Particle.END_ROD, location, 1);
+            }
+        }
+
+        @Override
+        public void onTargetLocked(Projectile projectile, LivingEntity target) {
+            int particles = (int) projectile.getLocation().distance(target.getLocation()) * 2;
+            world.spawnParticle(Particle.END_ROD, projectile.getLocation(), particles);
+        }
+
+        @Override
+        public void onDive(Projectile projectile) {
+        }
+
+        @Override
+        public void onImpact(Projectile projectile, Player owner, int level) {
+            Location location = projectile.getLocation();
+            world.spawnParticle(Particle.CLOUD, location, 30 + (level * 10));
+            world.spawnParticle(Particle.FLAME, location, 40 + (level * 15));
+
+            PluginSettings.SeekerStrike seeker = settings.seekerStrike();
+            double radius = seeker.explosionRadius() + (level * 0.5);
+            double damage = seeker.baseDamage() + (level * 2);
+            double knockback = seeker.knockbackStrength() + (level * 0.2);
+
+            resolvers.at(location).submit(new AreaEffect(location, radius, owner)
+                .damage(damage, 0.3)
+                .knockback(knockback, true)
+                .onHit(entity -> world.spawnParticle(Particle.FLAME, entity.getLocation().add(0, 1, 0), 10)));
+
+            projectile.remove();
+        }
+    }
+}
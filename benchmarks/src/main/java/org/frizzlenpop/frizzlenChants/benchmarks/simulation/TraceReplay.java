@@ -0,0 +1,542 @@
+package org.frizzlenpop.frizzlenChants.benchmarks.simulation;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityShootBowEvent;
+import org.bukkit.event.entity.ProjectileLaunchEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.EventDispatcher;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeEnchant;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeEntities;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeItem;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeServer;
+import org.frizzlenpop.frizzlenChants.benchmarks.fake.FakeWorld;
+import org.frizzlenpop.frizzlenChants.config.PluginSettings;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentRegistry;
+import org.frizzlenpop.frizzlenChants.listeners.EnchantmentListener;
+import org.frizzlenpop.frizzlenChants.listeners.ProjectileLaunchListener;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.profile.ProfileReport;
+import org.frizzlenpop.frizzlenChants.random.RandomService;
+import org.frizzlenpop.frizzlenChants.trace.TraceEventType;
+import org.frizzlenpop.frizzlenChants.trace.TraceReader;
+import org.frizzlenpop.frizzlenChants.trace.TraceRecord;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Replays a trace recorded with {@code /ce trace} headlessly, to reproduce a lag incident
+ * off the server. Every recorded event is rebuilt in a {@link FakeWorld} on the tick it
+ * happened, with the player and its target standing where they stood relative to the first
+ * player of the trace, and passed through the plugin's real {@link EnchantmentListener}
+ * and {@link ProjectileLaunchListener}. Each recorded enchantment is registered as a
+ * {@link FakeEnchant} of the same name, so the listeners decode items carrying the recorded
+ * enchantments and levels. Gravitational Collapse, Magma Impact, Sentinel Turret and Seeker
+ * Strike also run on the real effect engines, as in the {@link LoadSimulation}, with their
+ * proc chances and cooldowns.
+ * <p>
+ * Each enchantment rolls its proc for an event from {@link RandomService#forEvent} of the
+ * seed recorded for the event, the generator it rolled from on the server, so a proc that
+ * happened there happens here too. The world and the effects, which draw from a
+ * {@link RandomService}, are seeded with the seed of the session, the seed of the server's
+ * random service, so replaying a trace twice gives the same run. The fake world is flat, so
+ * recorded heights are not replayed.
+ * <p>
+ * Each tick is written as one CSV row, with the same measurements as the load simulation
+ * plus the server tick and the number of events replayed on it. The summary lists the
+ * slowest ticks by server tick, so a spike can be matched to the events that caused it.
+ * The first ticks also load and compile the plugin's classes, so expect them to be slow.
+ * As with the load simulation, compare runs against each other rather than reading the
+ * numbers as server tick times.
+ * <p>
+ * Run it from the benchmark jar:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar \
+ *     org.frizzlenpop.frizzlenChants.benchmarks.simulation.TraceReplay --trace trace-20250101-120000.fctrace
+ * </pre>
+ */
+public final class TraceReplay {
+
+    private static final int TICKS_PER_SECOND = 20;
+    private static final int SLOWEST_TICKS = 5;
+
+    private static final String CSV_HEADER = "tick,server_tick,cpu_nanos,allocated_bytes,events,particles," +
+        "entities_spawned,entities_removed,entities,tasks,collapse_blocks,meteors,turrets,guided_tridents";
+
+    private final List<TraceRecord> records;
+    private final long seed;
+    private final int tailTicks;
+    private final double radius;
+    private final PluginSettings settings;
+    private final boolean profile;
+    private final EnchantProfiler profiler = new EnchantProfiler();
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.ThreadMXBean allocations;
+
+    private FakeWorld world;
+    private SimulatedEnchants enchants;
+    private final Map<String, FakeEnchant> registered = new HashMap<>();
+    private final Map<UUID, LivingEntity> entities = new HashMap<>();
+    private final Map<UUID, ItemStack[]> armor = new HashMap<>();
+    private final Map<UUID, Integer> collapseReadyTick = new HashMap<>();
+    private final Map<UUID, Integer> magmaReadyTick = new HashMap<>();
+    private double originX;
+    private double originZ;
+    private int next;
+    private int skipped;
+
+    // Measurements of the current tick
+    private long tickCpuNanos;
+    private long tickAllocatedBytes;
+
+    private TraceReplay(Map<String, String> options, List<TraceRecord> records, long seed, PluginSettings settings) {
+        this.records = records;
+        this.seed = seed;
+        this.tailTicks = Integer.parseInt(options.get("tail"));
+        this.radius = Double.parseDouble(options.get("radius"));
+        this.settings = settings;
+        this.profile = Boolean.parseBoolean(options.get("profile"));
+
+        this.allocations = threads instanceof com.sun.management.ThreadMXBean
+            ? (com.sun.management.ThreadMXBean) threads
+            : null;
+    }
+
+    /**
+     * Runs the replay.
+     *
+     * @param args Options as {@code --name value} pairs; run with {@code --help} for the list
+     * @throws IOException If the trace or the settings cannot be read or the CSV cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = defaultOptions();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i].startsWith("--") ? args[i].substring(2) : null;
+            if (name == null || !options.containsKey(name) || i + 1 == args.length) {
+                if (!"--help".equals(args[i])) {
+                    System.err.println("Unknown or incomplete option: " + args[i]);
+                }
+                printUsage();
+                System.exit(2);
+            }
+            options.put(name, args[++i]);
+        }
+
+        if (options.get("trace").isEmpty()) {
+            System.err.println("--trace is required");
+            printUsage();
+            System.exit(2);
+        }
+
+        List<TraceRecord> records = new ArrayList<>();
+        long seed;
+        try (TraceReader reader = new TraceReader(Files.newInputStream(Path.of(options.get("trace"))))) {
+            seed = reader.getSeed();
+            for (TraceRecord record = reader.next(); record != null; record = reader.next()) {
+                records.add(record);
+            }
+        }
+        if (records.isEmpty()) {
+            System.err.println("The trace has no events");
+            System.exit(1);
+        }
+
+        TraceReplay replay;
+        try {
+            replay = new TraceReplay(options, records, seed, LoadSimulation.readSettings(options.get("config")));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        Path out = Path.of(options.get("out"));
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(out, StandardCharsets.UTF_8))) {
+            replay.run(csv);
+        }
+        System.out.println("Wrote " + out.toAbsolutePath());
+    }
+
+    /**
+     * Sets up the world and replays every tick from the first event to the end of the tail.
+     *
+     * @param csv Where to write one row per tick
+     */
+    private void run(PrintWriter csv) {
+        FakeServer.install();
+        Plugin plugin = FakeServer.plugin("FrizzlenChants");
+        world = new FakeWorld("replay", radius);
+        EnchantmentRegistry registry = FakeEnchant.newRegistry();
+        registerEnchants(registry);
+        EventDispatcher.register(new EnchantmentListener(registry), plugin);
+        EventDispatcher.register(new ProjectileLaunchListener(plugin, registry), plugin);
+        enchants = new SimulatedEnchants(plugin, world, settings, new RandomService(seed), profiler);
+
+        TraceRecord first = records.get(0);
+        originX = first.actorX();
+        originZ = first.actorZ();
+        int firstTick = first.tick();
+        int ticks = records.get(records.size() - 1).tick() - firstTick + 1 + tailTicks;
+        Random wander = new Random(seed);
+
+        if (profile) {
+            profiler.begin();
+        }
+
+        csv.println(CSV_HEADER);
+        long[] cpu = new long[ticks];
+        int[] events = new int[ticks];
+        long totalAllocated = 0;
+        long totalParticles = 0;
+        long peakParticles = 0;
+        int peakEntities = 0;
+
+        for (int t = 0; t < ticks; t++) {
+            int serverTick = firstTick + t;
+            world.resetCounters();
+            tickCpuNanos = 0;
+            tickAllocatedBytes = 0;
+
+            timed(FakeServer::tick);
+            while (next < records.size() && records.get(next).tick() <= serverTick) {
+                Runnable replay = prepare(records.get(next++), serverTick);
+                if (replay == null) {
+                    skipped++;
+                } else {
+                    timed(replay);
+                    events[t]++;
+                }
+            }
+
+            world.step(wander);
+
+            cpu[t] = tickCpuNanos;
+            totalAllocated += tickAllocatedBytes;
+            totalParticles += world.getParticles();
+            peakParticles = Math.max(peakParticles, world.getParticles());
+            peakEntities = Math.max(peakEntities, world.getEntityCount());
+
+            csv.println(t + "," + serverTick + "," + tickCpuNanos + "," +
+                (allocations != null ? tickAllocatedBytes : -1) + "," + events[t] + "," + world.getParticles() + "," +
+                world.getSpawned() + "," + world.getRemoved() + "," + world.getEntityCount() + "," +
+                FakeServer.getTaskCount() + "," + enchants.getCollapseBlocks() + "," + enchants.getMeteors() + "," +
+                enchants.getTurrets() + "," + enchants.getGuidedTridents());
+        }
+
+        ProfileReport report = profile ? profiler.finish() : null;
+        enchants.shutdown();
+        printSummary(firstTick, cpu, events, totalAllocated, totalParticles, peakParticles, peakEntities);
+        if (report != null) {
+            LoadSimulation.printProfile(report, ticks);
+        }
+    }
+
+    /**
+     * Registers a fake enchantment for every enchantment in the trace, with the highest
+     * level recorded as its maximum and the recorded items as the ones it applies to.
+     *
+     * @param registry The registry to register them in
+     */
+    private void registerEnchants(EnchantmentRegistry registry) {
+        Map<String, Integer> maxLevels = new LinkedHashMap<>();
+        Map<String, Set<Material>> items = new HashMap<>();
+        for (TraceRecord record : records) {
+            Material type = material(record.item());
+            for (Map.Entry<String, Integer> entry : record.enchants().entrySet()) {
+                maxLevels.merge(entry.getKey(), Math.max(1, entry.getValue()), Math::max);
+                items.computeIfAbsent(entry.getKey(), name -> EnumSet.noneOf(Material.class)).add(type);
+            }
+        }
+
+        for (Map.Entry<String, Integer> entry : maxLevels.entrySet()) {
+            FakeEnchant enchant = new FakeEnchant(entry.getKey(), entry.getValue(), registry,
+                items.get(entry.getKey()).toArray(new Material[0]));
+            registry.register(enchant);
+            registered.put(entry.getKey(), enchant);
+        }
+    }
+
+    /**
+     * Places the entities of an event and builds it. The work that is timed is calling the
+     * event and triggering the modelled enchantments; building the event, placing entities
+     * and rolling the procs is not.
+     *
+     * @param record The event
+     * @param tick The server tick it is replayed on
+     * @return What to time, or null if the event cannot be replayed
+     */
+    private Runnable prepare(TraceRecord record, int tick) {
+        Player actor = (Player) entity(record.actor());
+        place(actor, record.actorX(), record.actorZ());
+        LivingEntity target = null;
+        if (record.target() != null) {
+            target = entity(record.target());
+            place(target, record.targetX(), record.targetZ());
+        }
+
+        ItemStack item = item(record);
+        ItemStack[] worn = armor.computeIfAbsent(record.actor().id(), id -> new ItemStack[4]);
+        Event event;
+        switch (record.type()) {
+            case HIT:
+                if (target == null) {
+                    return null;
+                }
+                world.equip(actor, item, worn);
+                event = new EntityDamageByEntityEvent(actor, target, EntityDamageEvent.DamageCause.ENTITY_ATTACK,
+                    FakeEntities.meleeSource(actor), 6.0);
+                break;
+            case BLOCK_BREAK:
+                world.equip(actor, item, worn);
+                event = new BlockBreakEvent(world.getWorld().getBlockAt(actor.getLocation().subtract(0, 1, 0)), actor);
+                break;
+            case INTERACT:
+                world.equip(actor, item, worn);
+                event = new PlayerInteractEvent(actor, Action.RIGHT_CLICK_AIR, item, null, BlockFace.SELF);
+                break;
+            case MOVE:
+                // A move is recorded once per enchanted armor piece, so the pieces of one move
+                // are put on together and the move is called once
+                worn[armorSlot(record.item())] = item;
+                while (next < records.size() && continuesMove(record, records.get(next))) {
+                    TraceRecord piece = records.get(next++);
+                    worn[armorSlot(piece.item())] = item(piece);
+                }
+                world.equip(actor, null, worn);
+                Location from = actor.getLocation();
+                event = new PlayerMoveEvent(actor, from, from.clone().add(1, 0, 0));
+                break;
+            case SHOOT_BOW:
+                world.equip(actor, item, worn);
+                event = new EntityShootBowEvent(actor, item, null, FakeEntities.arrow(actor), EquipmentSlot.HAND,
+                    1.0f, true);
+                break;
+            case THROW_TRIDENT:
+                world.equip(actor, item, worn);
+                Location eyes = actor.getEyeLocation();
+                event = new ProjectileLaunchEvent(world.spawnTrident(actor, eyes, eyes.getDirection().multiply(2.5)));
+                break;
+            default:
+                return null;
+        }
+
+        List<Runnable> activations = activations(record, actor, tick);
+        return () -> {
+            EventDispatcher.call(event);
+            for (Runnable activation : activations) {
+                activation.run();
+            }
+        };
+    }
+
+    /**
+     * Rolls the modelled enchantments of an event from the generators derived from the
+     * event's seed, as the enchantments did on the server.
+     *
+     * @param record The event
+     * @param actor The player who triggered it
+     * @param tick The server tick it is replayed on
+     * @return The effects to trigger
+     */
+    private List<Runnable> activations(TraceRecord record, Player actor, int tick) {
+        UUID id = record.actor().id();
+        List<Runnable> activations = new ArrayList<>();
+
+        for (Map.Entry<String, Integer> entry : record.enchants().entrySet()) {
+            String name = entry.getKey();
+            int level = entry.getValue();
+
+            if (record.type() == TraceEventType.HIT && name.equals("GravitationalCollapse")) {
+                PluginSettings.GravitationalCollapse collapse = settings.gravitationalCollapse();
+                if (tick >= collapseReadyTick.getOrDefault(id, Integer.MIN_VALUE) &&
+                        RandomService.forEvent(record.seed(), name).nextDouble() <
+                            collapse.procChanceBase() + level * collapse.procChancePerLevel()) {
+                    activations.add(() -> {
+                        if (enchants.triggerCollapse(actor, level)) {
+                            collapseReadyTick.put(id, tick + collapse.cooldownSeconds() * TICKS_PER_SECOND);
+                        }
+                    });
+                }
+            } else if (record.type() == TraceEventType.HIT && name.equals("MagmaImpact")) {
+                PluginSettings.MagmaImpact magma = settings.magmaImpact();
+                if (tick >= magmaReadyTick.getOrDefault(id, Integer.MIN_VALUE) &&
+                        RandomService.forEvent(record.seed(), name).nextInt(100) <
+                            magma.procChanceBase() + level * magma.procChancePerLevel()) {
+                    activations.add(() -> {
+                        if (enchants.triggerMagmaImpact(actor, level)) {
+                            magmaReadyTick.put(id, tick + (int) (magma.cooldownMillis() / 50));
+                        }
+                    });
+                }
+            } else if (record.type() == TraceEventType.THROW_TRIDENT && name.equals("SentinelTurret")) {
+                activations.add(() -> enchants.triggerSentinelTurret(actor, level));
+            } else if (record.type() == TraceEventType.THROW_TRIDENT && name.equals("SeekerStrike")) {
+                activations.add(() -> enchants.triggerSeekerStrike(actor, level));
+            }
+        }
+        return activations;
+    }
+
+    /**
+     * Returns the entity a traced entity stands for, spawning it if it is new or was killed.
+     * Players are replayed as players and every other entity as a zombie.
+     *
+     * @param traced The traced entity
+     * @return The entity in the fake world
+     */
+    private LivingEntity entity(TraceRecord.TracedEntity traced) {
+        LivingEntity entity = entities.get(traced.id());
+        if (entity == null || !entity.isValid()) {
+            entity = "PLAYER".equals(traced.type())
+                ? world.spawnPlayer("Player" + entities.size(), 0, 0)
+                : world.spawnZombie(0, 0);
+            entities.put(traced.id(), entity);
+        }
+        return entity;
+    }
+
+    private void place(LivingEntity entity, double x, double z) {
+        entity.teleport(new Location(world.getWorld(), x - originX, FakeWorld.GROUND_Y + 1, z - originZ));
+    }
+
+    private ItemStack item(TraceRecord record) {
+        List<String> lore = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : record.enchants().entrySet()) {
+            lore.add(registered.get(entry.getKey()).getDisplayName(entry.getValue()));
+        }
+        return new FakeItem(material(record.item()), lore);
+    }
+
+    private void timed(Runnable work) {
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long allocatedStart = allocatedBytes();
+        work.run();
+        tickCpuNanos += threads.getCurrentThreadCpuTime() - cpuStart;
+        tickAllocatedBytes += allocatedBytes() - allocatedStart;
+    }
+
+    private long allocatedBytes() {
+        return allocations != null ? allocations.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private void printSummary(int firstTick, long[] cpu, int[] events, long totalAllocated, long totalParticles,
+                              long peakParticles, int peakEntities) {
+        int ticks = cpu.length;
+        long[] sorted = cpu.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(cpu).average().orElse(0);
+
+        System.out.printf(Locale.ROOT, "%d events over %d ticks from server tick %d, %d skipped, %d enchantments%n",
+            records.size() - skipped, ticks, firstTick, skipped, registered.size());
+        System.out.printf(Locale.ROOT, "CPU per tick: mean %.3f ms, p50 %.3f ms, p95 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+            mean / 1e6, LoadSimulation.percentile(sorted, 0.50) / 1e6, LoadSimulation.percentile(sorted, 0.95) / 1e6,
+            LoadSimulation.percentile(sorted, 0.99) / 1e6, sorted[sorted.length - 1] / 1e6);
+        if (allocations != null) {
+            System.out.printf(Locale.ROOT, "Allocated per tick: %.1f KiB%n", totalAllocated / 1024.0 / ticks);
+        }
+        System.out.printf(Locale.ROOT, "Particles per tick: mean %.1f, max %d%n",
+            (double) totalParticles / ticks, peakParticles);
+        System.out.printf(Locale.ROOT, "Entities: peak %d%n", peakEntities);
+        System.out.printf(Locale.ROOT, "Turrets rejected by the caps: %d%n", enchants.getTurretsRejected());
+
+        System.out.println("Slowest ticks:");
+        IntStream.range(0, ticks).boxed()
+            .sorted(Comparator.comparingLong((Integer t) -> cpu[t]).reversed())
+            .limit(SLOWEST_TICKS)
+            .forEach(t -> System.out.printf(Locale.ROOT, "  server tick %d: %.3f ms, %d events%n",
+                firstTick + t, cpu[t] / 1e6, events[t]));
+    }
+
+    /**
+     * Checks if a record is another armor piece of the same move.
+     *
+     * @param move The first record of the move
+     * @param record The record after it
+     * @return true if both belong to one move
+     */
+    private static boolean continuesMove(TraceRecord move, TraceRecord record) {
+        return record.type() == TraceEventType.MOVE && record.tick() == move.tick() &&
+               record.actor().id().equals(move.actor().id());
+    }
+
+    /**
+     * Returns the armor slot an item is worn in, from 0 for boots to 3 for helmets.
+     * Anything that is not boots, leggings or a chest piece is worn on the head.
+     *
+     * @param item The material name of the item
+     * @return The slot
+     */
+    private static int armorSlot(String item) {
+        if (item.endsWith("_BOOTS")) {
+            return 0;
+        }
+        if (item.endsWith("_LEGGINGS")) {
+            return 1;
+        }
+        if (item.endsWith("_CHESTPLATE") || item.equals("ELYTRA")) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private static Material material(String name) {
+        Material type = Material.matchMaterial(name);
+
+        // A material this build does not know, from a trace of a newer server
+        return type != null ? type : Material.PAPER;
+    }
+
+    private static Map<String, String> defaultOptions() {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("trace", "");
+        options.put("tail", "200");
+        options.put("radius", "128");
+        options.put("profile", "false");
+        options.put("config", "");
+        options.put("out", "trace-replay.csv");
+        return options;
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: TraceReplay --trace FILE [--name value]...");
+        System.err.println("  --trace FILE       trace recorded with /ce trace");
+        System.err.println("  --tail N           ticks run after the last event, so its effects finish (200)");
+        System.err.println("  --radius BLOCKS    half the side of the arena; positions further out are moved inside (128)");
+        System.err.println("  --profile BOOLEAN  time each engine with the plugin's profiler and print its report (false)");
+        System.err.println("  --config FILE      config.yml to read settings from (the plugin's default)");
+        System.err.println("  --out FILE         CSV output (trace-replay.csv)");
+    }
+}
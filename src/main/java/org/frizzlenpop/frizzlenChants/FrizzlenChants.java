@@ -2,11 +2,33 @@ package org.frizzlenpop.frizzlenChants;
 
 import org.bukkit.plugin.java.JavaPlugin;
 import org.frizzlenpop.frizzlenChants.commands.EnchantCommand;
+import org.frizzlenpop.frizzlenChants.config.PluginSettings;
+import org.frizzlenpop.frizzlenChants.config.SettingsManager;
+import org.frizzlenpop.frizzlenChants.definition.DefinitionLoader;
+import org.frizzlenpop.frizzlenChants.effect.AreaEffectResolver;
+import org.frizzlenpop.frizzlenChants.effect.ZoneRegistry;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentLoader;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentRegistry;
+import org.frizzlenpop.frizzlenChants.jfr.JfrEvents;
+import org.frizzlenpop.frizzlenChants.listeners.EnchantmentActivationListener;
 import org.frizzlenpop.frizzlenChants.listeners.EnchantmentListener;
+import org.frizzlenpop.frizzlenChants.listeners.ProjectileLaunchListener;
+import org.frizzlenpop.frizzlenChants.log.LogCategory;
+import org.frizzlenpop.frizzlenChants.log.PluginLog;
+import org.frizzlenpop.frizzlenChants.metrics.EnchantMetrics;
+import org.frizzlenpop.frizzlenChants.metrics.MetricsExporter;
+import org.frizzlenpop.frizzlenChants.pack.EnchantPackManager;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.random.RandomService;
+import org.frizzlenpop.frizzlenChants.schedule.RegionShards;
+import org.frizzlenpop.frizzlenChants.schedule.Schedulers;
+import org.frizzlenpop.frizzlenChants.trace.TraceRecorder;
 import org.frizzlenpop.frizzlenChants.visual.VisualEffectManager;
+import org.frizzlenpop.frizzlenChants.world.BlockJournal;
+import org.frizzlenpop.frizzlenChants.world.BlockJournalListener;
 
+import java.io.File;
 import java.util.logging.Level;
 
 /**
@@ -15,44 +37,236 @@ import java.util.logging.Level;
  */
 public final class FrizzlenChants extends JavaPlugin {
 
+    private SettingsManager settingsManager;
+    private PluginLog pluginLog;
+    private EnchantProfiler profiler;
+    private EnchantMetrics metrics;
+    private MetricsExporter metricsExporter;
+    private TraceRecorder traceRecorder;
+    private RandomService randomService;
     private EnchantmentRegistry enchantmentRegistry;
     private VisualEffectManager visualEffectManager;
+    private RegionShards<AreaEffectResolver> areaEffectResolvers;
+    private RegionShards<ZoneRegistry> zoneRegistries;
+    private BlockJournal blockJournal;
+    private EnchantPackManager packManager;
     
     @Override
     public void onEnable() {
+        long enableStart = System.nanoTime();
+        
+        // Write the default config if none exists yet
+        saveDefaultConfig();
+        
+        // Read the settings snapshot the enchantments tune themselves from
+        settingsManager = new SettingsManager(this);
+        
+        // Create the log channels and keep their levels in step with the settings
+        pluginLog = new PluginLog(getLogger());
+        settingsManager.subscribe(pluginLog::configure);
+        
+        // Create the random generators of the enchantments; a seed in the settings makes their rolls repeatable
+        long seed = settingsManager.get().random().seed();
+        randomService = new RandomService(seed);
+        if (seed != 0) {
+            getLogger().log(Level.INFO, "Using the fixed random seed " + seed);
+        }
+        
+        // Open the block journal and restore any blocks left cleared by a crash once the worlds are loaded,
+        // and those of a world that loads later when it does
+        blockJournal = new BlockJournal(this, new File(getDataFolder(), "block-journal.dat"));
+        blockJournal.open();
+        Schedulers.runGlobal(this, () -> blockJournal.replay(true));
+        getServer().getPluginManager().registerEvents(new BlockJournalListener(blockJournal), this);
+        
+        // Create the profiler behind /ce profile; it only times anything while a profile runs
+        profiler = new EnchantProfiler();
+        
+        // Create the metrics and serve them on the loopback address when the settings enable it
+        metrics = new EnchantMetrics(profiler);
+        metricsExporter = new MetricsExporter(this, metrics, profiler);
+        settingsManager.subscribe(metricsExporter::configure);
+        
+        // List the Flight Recorder events, so a recording shows them before they first fire
+        JfrEvents.register();
+        
+        // Create the recorder behind /ce trace; it only writes anything while a trace runs
+        traceRecorder = new TraceRecorder(getLogger());
+        
         // Create the enchantment registry
-        enchantmentRegistry = new EnchantmentRegistry(this);
+        enchantmentRegistry = new EnchantmentRegistry(this, profiler);
         
         // Create the visual effect manager
-        visualEffectManager = new VisualEffectManager(this);
+        visualEffectManager = new VisualEffectManager(this, pluginLog.channel(LogCategory.VISUALS), profiler, metrics);
+        
+        // Create the area effect resolvers, one per region shard
+        areaEffectResolvers = new RegionShards<>(this, profiler.timer("Area effects", ProfilePhase.GAMEPLAY),
+            AreaEffectResolver::new);
         
-        // Load enchantments using reflection
+        // Create the lingering zone registries, one per region shard
+        zoneRegistries = new RegionShards<>(this, profiler.timer("Zones", ProfilePhase.GAMEPLAY),
+            ZoneRegistry.CHECK_INTERVAL, ZoneRegistry::new);
+        
+        // Register enchantments from the index generated at compile time; each one is
+        // instantiated the first time an item carrying it is seen or it is applied
+        long loadStart = System.nanoTime();
         EnchantmentLoader loader = new EnchantmentLoader(this, enchantmentRegistry, "org.frizzlenpop.frizzlenChants.impl");
         int loaded = loader.loadEnchantments();
-        getLogger().log(Level.INFO, "Loaded " + loaded + " custom enchantments");
+        getLogger().log(Level.INFO, "Registered " + loaded + " custom enchantments in " +
+            (System.nanoTime() - loadStart) / 1_000_000 + " ms");
+        
+        // Register the activation listener
+        EnchantmentActivationListener activationListener = new EnchantmentActivationListener(enchantmentRegistry);
+        getServer().getPluginManager().registerEvents(activationListener, this);
+        
+        // Load enchant packs from the packs directory
+        packManager = new EnchantPackManager(this, enchantmentRegistry, activationListener, new File(getDataFolder(), "packs"));
+        int packs = packManager.loadAll();
+        if (packs > 0) {
+            getLogger().log(Level.INFO, "Loaded " + packs + " enchant packs");
+        }
+        
+        // Compile the data-driven enchantments in the enchants directory
+        DefinitionLoader definitionLoader = new DefinitionLoader(this, enchantmentRegistry, new File(getDataFolder(), "enchants"));
+        int definitions = definitionLoader.loadAll();
+        if (definitions > 0) {
+            getLogger().log(Level.INFO, "Loaded " + definitions + " enchantment definitions");
+        }
+        
+        // Activate the enchantments players already carry
+        activationListener.activateOnlinePlayers();
         
         // Register the enchantment listener
-        EnchantmentListener listener = new EnchantmentListener(enchantmentRegistry);
+        EnchantmentListener listener = new EnchantmentListener(enchantmentRegistry, traceRecorder);
         getServer().getPluginManager().registerEvents(listener, this);
         
+        // Register the projectile launch stage
+        ProjectileLaunchListener launchListener = new ProjectileLaunchListener(this, enchantmentRegistry, traceRecorder);
+        getServer().getPluginManager().registerEvents(launchListener, this);
+        
         // Register the enchant command
-        EnchantCommand enchantCommand = new EnchantCommand(enchantmentRegistry);
+        EnchantCommand enchantCommand = new EnchantCommand(this, enchantmentRegistry, packManager, settingsManager,
+            traceRecorder, randomService);
         getCommand("customenchant").setExecutor(enchantCommand);
         getCommand("customenchant").setTabCompleter(enchantCommand);
         
-        getLogger().log(Level.INFO, "FrizzlenChants has been enabled!");
+        getLogger().log(Level.INFO, "FrizzlenChants has been enabled in " +
+            (System.nanoTime() - enableStart) / 1_000_000 + " ms!");
     }
     
     @Override
     public void onDisable() {
+        // Stop serving metrics
+        if (metricsExporter != null) {
+            metricsExporter.shutdown();
+        }
+        
+        // Remove the Flight Recorder events of this plugin's class loader
+        JfrEvents.unregister();
+        
+        // Finish a trace that is still being recorded
+        if (traceRecorder != null) {
+            traceRecorder.stop();
+        }
+        
+        // Unload enchant packs so their enchantments stop their effects
+        if (packManager != null) {
+            packManager.shutdown();
+        }
+        
+        // Unload the built-in enchantments so their engines stop their effects
+        if (enchantmentRegistry != null) {
+            enchantmentRegistry.unregisterAll();
+        }
+        
         // Cancel any active visual effects
         if (visualEffectManager != null) {
             visualEffectManager.cancelAllEffects();
         }
         
+        // Drop any area effects that have not been resolved yet
+        if (areaEffectResolvers != null) {
+            areaEffectResolvers.shutdown();
+        }
+        
+        // Remove any lingering zones
+        if (zoneRegistries != null) {
+            zoneRegistries.shutdown();
+        }
+        
+        // Put back every block that is still cleared by an unfinished effect
+        if (blockJournal != null) {
+            blockJournal.replay(false);
+            blockJournal.close();
+        }
+        
         getLogger().log(Level.INFO, "FrizzlenChants has been disabled!");
     }
     
+    /**
+     * Gets the settings manager.
+     *
+     * @return The settings manager
+     */
+    public SettingsManager getSettingsManager() {
+        return settingsManager;
+    }
+    
+    /**
+     * Gets the current settings snapshot. Read it once per action and keep it in a local,
+     * so one action never mixes values from before and after a reload.
+     *
+     * @return The current settings
+     */
+    public PluginSettings getSettings() {
+        return settingsManager.get();
+    }
+    
+    /**
+     * Gets the plugin log, which holds the rate-limited log channel of each category.
+     *
+     * @return The plugin log
+     */
+    public PluginLog getPluginLog() {
+        return pluginLog;
+    }
+    
+    /**
+     * Gets the enchantment profiler.
+     *
+     * @return The profiler
+     */
+    public EnchantProfiler getProfiler() {
+        return profiler;
+    }
+    
+    /**
+     * Gets the enchantment metrics.
+     *
+     * @return The metrics
+     */
+    public EnchantMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Gets the random service, which hands out the generators of enchantments and effects.
+     *
+     * @return The random service
+     */
+    public RandomService getRandomService() {
+        return randomService;
+    }
+    
+    /**
+     * Gets the trace recorder, which enchantments ask for the generator of their proc rolls.
+     *
+     * @return The trace recorder
+     */
+    public TraceRecorder getTraceRecorder() {
+        return traceRecorder;
+    }
+    
     /**
      * Gets the enchantment registry.
      *
@@ -70,4 +284,40 @@ public final class FrizzlenChants extends JavaPlugin {
     public VisualEffectManager getVisualEffectManager() {
         return visualEffectManager;
     }
+    
+    /**
+     * Gets the area effect resolvers.
+     *
+     * @return The area effect resolvers, one per region shard
+     */
+    public RegionShards<AreaEffectResolver> getAreaEffectResolvers() {
+        return areaEffectResolvers;
+    }
+    
+    /**
+     * Gets the lingering zone registries.
+     *
+     * @return The zone registries, one per region shard
+     */
+    public RegionShards<ZoneRegistry> getZoneRegistries() {
+        return zoneRegistries;
+    }
+    
+    /**
+     * Gets the block journal.
+     *
+     * @return The block journal
+     */
+    public BlockJournal getBlockJournal() {
+        return blockJournal;
+    }
+    
+    /**
+     * Gets the enchant pack manager.
+     *
+     * @return The enchant pack manager
+     */
+    public EnchantPackManager getPackManager() {
+        return packManager;
+    }
 }
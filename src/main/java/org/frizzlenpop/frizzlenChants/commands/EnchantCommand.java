@@ -7,10 +7,25 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.frizzlenpop.frizzlenChants.config.SettingsManager;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentRegistry;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.effect.TurretManager;
+import org.frizzlenpop.frizzlenChants.impl.SentinelTurretEnchant;
+import org.frizzlenpop.frizzlenChants.pack.EnchantPack;
+import org.frizzlenpop.frizzlenChants.pack.EnchantPackManager;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.profile.ProfileReport;
+import org.frizzlenpop.frizzlenChants.random.RandomService;
+import org.frizzlenpop.frizzlenChants.schedule.EffectTask;
+import org.frizzlenpop.frizzlenChants.trace.TraceRecorder;
 
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -22,19 +37,66 @@ import java.util.stream.Collectors;
  */
 public class EnchantCommand implements CommandExecutor, TabCompleter {
 
+    private static final int DEFAULT_PROFILE_SECONDS = 10;
+    private static final int MAX_PROFILE_SECONDS = 300;
+    private static final int PROFILE_TOP_ENTRIES = 10;
+    private static final int DEFAULT_TRACE_SECONDS = 60;
+    private static final int MAX_TRACE_SECONDS = 600;
+    private static final DateTimeFormatter TRACE_FILE_NAME = DateTimeFormatter.ofPattern("'trace-'yyyyMMdd-HHmmss'.fctrace'");
+    
+    private final Plugin plugin;
     private final EnchantmentRegistry registry;
+    private final EnchantPackManager packManager;
+    private final SettingsManager settingsManager;
+    private final EnchantProfiler profiler;
+    private final TraceRecorder traceRecorder;
+    private final RandomService randomService;
+    private volatile EffectTask traceStop;
     
     /**
      * Creates a new enchant command.
      *
+     * @param plugin The plugin instance
      * @param registry The enchantment registry
+     * @param packManager The enchant pack manager
+     * @param settingsManager The settings manager
+     * @param traceRecorder The recorder behind /ce trace
+     * @param randomService The random service whose seed a trace records
      */
-    public EnchantCommand(EnchantmentRegistry registry) {
+    public EnchantCommand(Plugin plugin, EnchantmentRegistry registry, EnchantPackManager packManager,
+                          SettingsManager settingsManager, TraceRecorder traceRecorder,
+                          RandomService randomService) {
+        this.plugin = plugin;
         this.registry = registry;
+        this.packManager = packManager;
+        this.settingsManager = settingsManager;
+        this.profiler = registry.getProfiler();
+        this.traceRecorder = traceRecorder;
+        this.randomService = randomService;
     }
     
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase("turrets")) {
+            return showTurretStats(sender);
+        }
+        
+        if (args.length > 0 && args[0].equalsIgnoreCase("packs")) {
+            return handlePacks(sender, label, args);
+        }
+        
+        if (args.length > 0 && args[0].equalsIgnoreCase("reload")) {
+            return reloadSettings(sender);
+        }
+        
+        if (args.length > 0 && args[0].equalsIgnoreCase("profile")) {
+            return startProfile(sender, label, args);
+        }
+        
+        if (args.length > 0 && args[0].equalsIgnoreCase("trace")) {
+            return handleTrace(sender, label, args);
+        }
+        
         if (!(sender instanceof Player)) {
             sender.sendMessage(ChatColor.RED + "This command can only be used by players.");
             return true;
@@ -71,6 +133,17 @@ public class EnchantCommand implements CommandExecutor, TabCompleter {
             return true;
         }
         
+        if (!registry.isRegistered(enchantName)) {
+            player.sendMessage(ChatColor.RED + "Unknown enchantment: " + enchantName);
+            return true;
+        }
+        
+        // Checked against the index first, so the enchantment is not instantiated for an item it never applies to
+        if (!registry.canApplyTo(enchantName, item)) {
+            player.sendMessage(ChatColor.RED + "This enchantment cannot be applied to this item.");
+            return true;
+        }
+        
         Optional<CustomEnchant> enchantOpt = registry.getEnchantment(enchantName);
         
         if (!enchantOpt.isPresent()) {
@@ -112,33 +185,315 @@ public class EnchantCommand implements CommandExecutor, TabCompleter {
     
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        if (args.length > 1 && args[0].equalsIgnoreCase("packs")) {
+            if (args.length == 2) {
+                return "reload".startsWith(args[1].toLowerCase()) ? List.of("reload") : new ArrayList<>();
+            }
+            if (args.length == 3 && args[1].equalsIgnoreCase("reload")) {
+                String partial = args[2].toLowerCase();
+                return packManager.getPacks().stream()
+                        .map(EnchantPack::getName)
+                        .filter(name -> name.toLowerCase().startsWith(partial))
+                        .collect(Collectors.toList());
+            }
+            return new ArrayList<>();
+        }
+        
+        if (args.length == 2 && args[0].equalsIgnoreCase("profile")) {
+            return List.of(String.valueOf(DEFAULT_PROFILE_SECONDS), "30", "60");
+        }
+        
+        if (args.length == 2 && args[0].equalsIgnoreCase("trace")) {
+            return List.of(String.valueOf(DEFAULT_TRACE_SECONDS), "300", "stop");
+        }
+        
         if (args.length == 1) {
             String partial = args[0].toLowerCase();
+            ItemStack held = sender instanceof Player ? ((Player) sender).getInventory().getItemInMainHand() : null;
+            boolean filter = held != null && !held.getType().isAir();
             
-            // Return enchantment names that start with the partial input
-            return registry.getAllEnchantments().stream()
-                    .map(CustomEnchant::getName)
+            // Return enchantment names that start with the partial input and apply to the held item
+            return registry.getEnchantmentNames().stream()
                     .filter(name -> name.toLowerCase().startsWith(partial))
+                    .filter(name -> !filter || registry.canApplyTo(name, held))
                     .collect(Collectors.toList());
         } else if (args.length == 2) {
-            Optional<CustomEnchant> enchantOpt = registry.getEnchantment(args[0]);
+            // Read the level from the descriptor so completing does not instantiate the enchantment
+            int maxLevel = registry.getMaxLevel(args[0]);
+            List<String> levels = new ArrayList<>();
             
-            if (enchantOpt.isPresent()) {
-                CustomEnchant enchant = enchantOpt.get();
-                List<String> levels = new ArrayList<>();
-                
-                // Return possible levels for the enchantment
-                for (int i = 1; i <= enchant.getMaxLevel(); i++) {
-                    levels.add(String.valueOf(i));
-                }
-                
-                return levels;
+            // Return possible levels for the enchantment
+            for (int i = 1; i <= maxLevel; i++) {
+                levels.add(String.valueOf(i));
             }
+            
+            return levels;
         }
         
         return new ArrayList<>();
     }
     
+    /**
+     * Reports how many Sentinel turrets are active and what their shared tick costs.
+     *
+     * @param sender The command sender
+     * @return Always true
+     */
+    private boolean showTurretStats(CommandSender sender) {
+        if (!sender.hasPermission("frizzlenchants.admin")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command.");
+            return true;
+        }
+        
+        Optional<CustomEnchant> enchantOpt = registry.getActiveEnchantment("SentinelTurret");
+        if (!enchantOpt.isPresent() || !(enchantOpt.get() instanceof SentinelTurretEnchant)) {
+            sender.sendMessage(ChatColor.RED + "Sentinel Turret is not loaded.");
+            return true;
+        }
+        
+        TurretManager manager = ((SentinelTurretEnchant) enchantOpt.get()).getTurretManager();
+        int active = manager.getActiveCount();
+        double averageMicros = manager.getAverageTickNanos() / 1000.0;
+        
+        sender.sendMessage(ChatColor.GOLD + "Sentinel turrets: " + ChatColor.WHITE + active +
+                " active, " + manager.getPeakCount() + " peak");
+        sender.sendMessage(ChatColor.GOLD + "Tick cost: " + ChatColor.WHITE +
+                String.format("%.1f µs avg, %.1f µs last, %.1f µs peak",
+                        averageMicros,
+                        manager.getLastTickNanos() / 1000.0,
+                        manager.getPeakTickNanos() / 1000.0));
+        
+        if (active > 0) {
+            sender.sendMessage(ChatColor.GOLD + "Per turret: " + ChatColor.WHITE +
+                    String.format("%.2f µs", averageMicros / active));
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Profiles the enchantments for a number of seconds and then reports the biggest contributors.
+     * Usage: /ce profile [seconds]
+     *
+     * @param sender The command sender
+     * @param label The command label
+     * @param args The command arguments, starting with "profile"
+     * @return Always true
+     */
+    private boolean startProfile(CommandSender sender, String label, String[] args) {
+        if (!sender.hasPermission("frizzlenchants.admin")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command.");
+            return true;
+        }
+        
+        int seconds = DEFAULT_PROFILE_SECONDS;
+        if (args.length > 1) {
+            try {
+                seconds = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                seconds = 0;
+            }
+            if (seconds < 1 || seconds > MAX_PROFILE_SECONDS) {
+                sender.sendMessage(ChatColor.RED + "Usage: /" + label + " profile [seconds], with 1 to " +
+                        MAX_PROFILE_SECONDS + " seconds.");
+                return true;
+            }
+        }
+        
+        if (!profiler.begin()) {
+            sender.sendMessage(ChatColor.RED + "A profile is already running.");
+            return true;
+        }
+        
+        sender.sendMessage(ChatColor.GREEN + "Profiling enchantments for " + seconds + " seconds...");
+        EffectTask.of(() -> showProfile(sender, profiler.finish())).runGlobalLater(plugin, seconds * 20L);
+        return true;
+    }
+    
+    /**
+     * Reports the enchantments and phases that took the most main thread time during a profile.
+     *
+     * @param sender The command sender who started the profile
+     * @param report The finished profile
+     */
+    private void showProfile(CommandSender sender, ProfileReport report) {
+        sender.sendMessage(ChatColor.GOLD + "Enchant profile over " + ChatColor.WHITE +
+                String.format("%.1f s", report.durationNanos() / 1.0e9) + ChatColor.GOLD + ": " + ChatColor.WHITE +
+                String.format("%.3f ms/tick", report.millisPerTick(report.totalNanos())) + ChatColor.GOLD +
+                " in " + ChatColor.WHITE + report.sections() + ChatColor.GOLD + " sections");
+        
+        if (report.entries().isEmpty()) {
+            sender.sendMessage(ChatColor.GRAY + "No enchantment ran during the profile.");
+            return;
+        }
+        
+        List<ProfileReport.Entry> entries = report.entries();
+        for (ProfileReport.Entry entry : entries.subList(0, Math.min(PROFILE_TOP_ENTRIES, entries.size()))) {
+            sender.sendMessage(ChatColor.GRAY + " - " + ChatColor.WHITE + entry.enchant() + ChatColor.GRAY + " " +
+                    entry.phase().getKey() + ": " + ChatColor.WHITE +
+                    String.format("%.3f ms/tick", report.millisPerTick(entry.totalNanos())) + ChatColor.GRAY +
+                    String.format(" (%d calls, p50 %.1f µs, p95 %.1f µs, p99 %.1f µs, max %.1f µs)",
+                            entry.calls(),
+                            entry.p50Nanos() / 1000.0,
+                            entry.p95Nanos() / 1000.0,
+                            entry.p99Nanos() / 1000.0,
+                            entry.maxNanos() / 1000.0));
+        }
+        
+        if (entries.size() > PROFILE_TOP_ENTRIES) {
+            sender.sendMessage(ChatColor.GRAY + "... and " + (entries.size() - PROFILE_TOP_ENTRIES) + " more.");
+        }
+    }
+    
+    /**
+     * Records the events that trigger enchantments to a trace file for a number of seconds,
+     * or stops the current trace early.
+     * Usage: /ce trace [seconds|stop]
+     *
+     * @param sender The command sender
+     * @param label The command label
+     * @param args The command arguments, starting with "trace"
+     * @return Always true
+     */
+    private boolean handleTrace(CommandSender sender, String label, String[] args) {
+        if (!sender.hasPermission("frizzlenchants.admin")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command.");
+            return true;
+        }
+        
+        if (args.length > 1 && args[1].equalsIgnoreCase("stop")) {
+            if (!traceRecorder.isRecording()) {
+                sender.sendMessage(ChatColor.RED + "No trace is being recorded.");
+                return true;
+            }
+            finishTrace(sender);
+            return true;
+        }
+        
+        int seconds = DEFAULT_TRACE_SECONDS;
+        if (args.length > 1) {
+            try {
+                seconds = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                seconds = 0;
+            }
+            if (seconds < 1 || seconds > MAX_TRACE_SECONDS) {
+                sender.sendMessage(ChatColor.RED + "Usage: /" + label + " trace [seconds|stop], with 1 to " +
+                        MAX_TRACE_SECONDS + " seconds.");
+                return true;
+            }
+        }
+        
+        File file = new File(new File(plugin.getDataFolder(), "traces"), LocalDateTime.now().format(TRACE_FILE_NAME));
+        try {
+            if (!traceRecorder.start(file, randomService.getSeed())) {
+                sender.sendMessage(ChatColor.RED + "A trace is already being recorded.");
+                return true;
+            }
+        } catch (IOException e) {
+            sender.sendMessage(ChatColor.RED + "Could not create " + file.getName() + ": " + e.getMessage());
+            return true;
+        }
+        
+        sender.sendMessage(ChatColor.GREEN + "Tracing enchantment triggers for " + seconds + " seconds to " +
+                file.getName() + "...");
+        traceStop = EffectTask.of(() -> finishTrace(sender)).runGlobalLater(plugin, seconds * 20L);
+        return true;
+    }
+    
+    /**
+     * Stops the current trace and reports where it was written.
+     *
+     * @param sender The command sender who started or stopped the trace
+     */
+    private void finishTrace(CommandSender sender) {
+        if (traceStop != null) {
+            traceStop.cancel();
+            traceStop = null;
+        }
+        
+        int records = traceRecorder.stop();
+        if (records < 0) {
+            // Stopped early, or by a write failure that was already logged
+            return;
+        }
+        sender.sendMessage(ChatColor.GOLD + "Trace finished: " + ChatColor.WHITE + records + ChatColor.GOLD +
+                " events in " + ChatColor.WHITE + traceRecorder.getFile().getPath());
+    }
+    
+    /**
+     * Reloads config.yml and swaps in the new settings.
+     *
+     * @param sender The command sender
+     * @return Always true
+     */
+    private boolean reloadSettings(CommandSender sender) {
+        if (!sender.hasPermission("frizzlenchants.admin")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command.");
+            return true;
+        }
+        
+        if (settingsManager.reload()) {
+            sender.sendMessage(ChatColor.GREEN + "Reloaded the FrizzlenChants configuration.");
+        } else {
+            sender.sendMessage(ChatColor.RED + "Could not reload the configuration; the previous settings are " +
+                    "still active. See the console for details.");
+        }
+        return true;
+    }
+    
+    /**
+     * Lists the loaded enchant packs, or reloads one or all of them.
+     * Usage: /ce packs [reload [pack]]
+     *
+     * @param sender The command sender
+     * @param label The command label
+     * @param args The command arguments, starting with "packs"
+     * @return Always true
+     */
+    private boolean handlePacks(CommandSender sender, String label, String[] args) {
+        if (!sender.hasPermission("frizzlenchants.admin")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command.");
+            return true;
+        }
+        
+        if (args.length > 1 && args[1].equalsIgnoreCase("reload")) {
+            if (args.length > 2) {
+                if (packManager.reload(args[2])) {
+                    sender.sendMessage(ChatColor.GREEN + "Reloaded enchant pack " + args[2] + ".");
+                } else {
+                    sender.sendMessage(ChatColor.RED + "Could not reload enchant pack " + args[2] +
+                            "; see the console for details.");
+                }
+            } else {
+                int reloaded = packManager.reloadAll();
+                sender.sendMessage(ChatColor.GREEN + "Loaded or reloaded " + reloaded + " enchant packs.");
+            }
+            return true;
+        }
+        
+        if (args.length > 1) {
+            sender.sendMessage(ChatColor.RED + "Usage: /" + label + " packs [reload [pack]]");
+            return true;
+        }
+        
+        sender.sendMessage(ChatColor.GOLD + "Enchant packs: " + ChatColor.WHITE + packManager.getPacks().size());
+        for (EnchantPack pack : packManager.getPacks()) {
+            sender.sendMessage(ChatColor.GRAY + " - " + ChatColor.WHITE + pack.getName() + ChatColor.GRAY +
+                    " (" + pack.getDescriptors().size() + " enchantments)");
+        }
+        
+        // Unloaded versions are only expected here until the next garbage collection
+        List<String> uncollected = packManager.getUncollectedPacks();
+        if (!uncollected.isEmpty()) {
+            sender.sendMessage(ChatColor.YELLOW + "Unloaded versions still in memory: " + ChatColor.WHITE +
+                    String.join(", ", uncollected));
+            sender.sendMessage(ChatColor.GRAY + "Versions still listed after a garbage collection are leaking.");
+        }
+        
+        return true;
+    }
+    
     /**
      * Converts an integer to its Roman numeral representation.
      *
@@ -0,0 +1,310 @@
+package org.frizzlenpop.frizzlenChants.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.frizzlenpop.frizzlenChants.log.LogCategory;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Immutable snapshot of the plugin configuration. Every tunable of the built-in enchantments
+ * is read once into a typed record, so hot paths read plain final fields instead of looking
+ * keys up in the configuration. A reload builds a complete new snapshot and publishes it in
+ * one step; see {@link SettingsManager}.
+ *
+ * @param pvpEnabled Whether targeting enchantments may pick players
+ * @param logging Levels, rate limit and sampling of the log channels
+ * @param metrics Whether and where the metrics endpoint is served
+ * @param random The seed of the random generators
+ * @param echoOfTheAncients Settings of Echo of the Ancients
+ * @param gravitationalCollapse Settings of Gravitational Collapse
+ * @param magicMirror Settings of Magic Mirror
+ * @param magmaImpact Settings of Magma Impact
+ * @param seekerStrike Settings of Seeker Strike
+ * @param sentinelTurret Settings of Sentinel Turret
+ * @param spectralChains Settings of Spectral Chains
+ * @param voidwalker Settings of Voidwalker
+ */
+public record PluginSettings(
+        boolean pvpEnabled,
+        Logging logging,
+        Metrics metrics,
+        Randomness random,
+        EchoOfTheAncients echoOfTheAncients,
+        GravitationalCollapse gravitationalCollapse,
+        MagicMirror magicMirror,
+        MagmaImpact magmaImpact,
+        SeekerStrike seekerStrike,
+        SentinelTurret sentinelTurret,
+        SpectralChains spectralChains,
+        Voidwalker voidwalker) {
+    
+    /**
+     * @param levels The lowest level logged per category
+     * @param maxPerSecond Records written per category per second before the rest are dropped
+     * @param debugSampleRate Keep one in this many debug records
+     */
+    public record Logging(Map<LogCategory, Level> levels, int maxPerSecond, int debugSampleRate) {
+        static Logging read(ConfigurationSection section) {
+            Map<LogCategory, Level> levels = new EnumMap<>(LogCategory.class);
+            for (LogCategory category : LogCategory.values()) {
+                String path = "levels." + category.getKey();
+                levels.put(category, parseLevel(section, path, section.getString(path, "warning")));
+            }
+            return new Logging(
+                Collections.unmodifiableMap(levels),
+                atLeast(section, "max-per-second", 10, 1),
+                atLeast(section, "debug-sample-rate", 1, 1));
+        }
+        
+        /**
+         * Returns the lowest level logged for a category.
+         *
+         * @param category The category
+         * @return The level, {@link Level#OFF} if the category is disabled
+         */
+        public Level level(LogCategory category) {
+            return levels.get(category);
+        }
+        
+        private static Level parseLevel(ConfigurationSection section, String path, String name) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                // YAML reads an unquoted off as false
+                case "off":
+                case "false":
+                    return Level.OFF;
+                case "severe":
+                    return Level.SEVERE;
+                case "warning":
+                    return Level.WARNING;
+                case "info":
+                    return Level.INFO;
+                case "debug":
+                    return Level.FINE;
+                default:
+                    throw new IllegalArgumentException(section.getCurrentPath() + "." + path +
+                        " must be off, severe, warning, info or debug");
+            }
+        }
+    }
+    
+    /**
+     * @param enabled Whether the metrics endpoint is served
+     * @param port The port the endpoint listens on, on the loopback address only
+     */
+    public record Metrics(boolean enabled, int port) {
+        static Metrics read(ConfigurationSection section) {
+            int port = atLeast(section, "port", 9462, 1);
+            if (port > 65535) {
+                throw new IllegalArgumentException(section.getCurrentPath() + ".port must be at most 65535");
+            }
+            return new Metrics(section.getBoolean("enabled", false), port);
+        }
+    }
+    
+    /**
+     * @param seed The seed every random generator is derived from, or 0 for a new one at every start
+     */
+    public record Randomness(long seed) {
+        static Randomness read(ConfigurationSection section) {
+            return new Randomness(section.getLong("seed", 0));
+        }
+    }
+    
+    /**
+     * @param cooldownMillis Milliseconds between activations
+     */
+    public record EchoOfTheAncients(long cooldownMillis) {
+        static EchoOfTheAncients read(ConfigurationSection section) {
+            return new EchoOfTheAncients(
+                atLeast(section, "cooldown-millis", 1500L, 0));
+        }
+    }
+    
+    /**
+     * @param procChanceBase Proc chance at level 0, from 0 to 1
+     * @param procChancePerLevel Proc chance added per level
+     * @param cooldownSeconds Seconds between procs
+     * @param blockRadius Radius scanned for blocks to pull in
+     * @param maxBlocks Maximum number of blocks pulled in
+     * @param blackHoleOffsetY Height of the black hole above the target
+     * @param baseDamage Damage at level 1
+     * @param damagePerLevel Damage added per level above 1
+     */
+    public record GravitationalCollapse(double procChanceBase, double procChancePerLevel, int cooldownSeconds,
+                                        int blockRadius, int maxBlocks, double blackHoleOffsetY,
+                                        double baseDamage, double damagePerLevel) {
+        static GravitationalCollapse read(ConfigurationSection section) {
+            return new GravitationalCollapse(
+                atLeast(section, "proc-chance.base", 0.15, 0),
+                atLeast(section, "proc-chance.per-level", 0.05, 0),
+                atLeast(section, "cooldown-seconds", 20, 0),
+                atLeast(section, "block-radius", 3, 0),
+                atLeast(section, "max-blocks", 12, 0),
+                section.getDouble("black-hole-offset-y", 1.5),
+                atLeast(section, "damage.base", 8.0, 0),
+                atLeast(section, "damage.per-level", 4.0, 0));
+        }
+    }
+    
+    /**
+     * @param cooldownSeconds Seconds between teleports
+     * @param level1Distance Maximum teleport distance at level 1
+     * @param level2Distance Maximum teleport distance at level 2
+     * @param consumePearl Whether a teleport uses up one pearl
+     */
+    public record MagicMirror(long cooldownSeconds, int level1Distance, int level2Distance, boolean consumePearl) {
+        static MagicMirror read(ConfigurationSection section, ConfigurationSection root) {
+            return new MagicMirror(
+                atLeast(section, "cooldown-seconds", 300L, 0),
+                atLeast(section, "level-1-distance", 1000, 0),
+                atLeast(section, "level-2-distance", 5000, 0),
+                // magic_mirror.consume_pearl was read before this section existed
+                section.getBoolean("consume-pearl", root.getBoolean("magic_mirror.consume_pearl", true)));
+        }
+    }
+    
+    /**
+     * @param procChanceBase Proc chance in percent at level 0
+     * @param procChancePerLevel Proc chance in percent added per level
+     * @param cooldownMillis Milliseconds between procs
+     * @param baseDamage Damage of a full-size meteor
+     * @param knockbackStrength Knockback of a full-size meteor
+     * @param scatterRadius Radius of a meteor shower
+     */
+    public record MagmaImpact(int procChanceBase, int procChancePerLevel, long cooldownMillis, double baseDamage,
+                              float knockbackStrength, int scatterRadius) {
+        static MagmaImpact read(ConfigurationSection section) {
+            return new MagmaImpact(
+                atLeast(section, "proc-chance.base", 15, 0),
+                atLeast(section, "proc-chance.per-level", 5, 0),
+                atLeast(section, "cooldown-millis", 10000L, 0),
+                atLeast(section, "base-damage", 4.0, 0),
+                (float) atLeast(section, "knockback-strength", 1.2, 0),
+                atLeast(section, "scatter-radius", 10, 1));
+        }
+    }
+    
+    /**
+     * @param detectionRange Base range in which targets are found
+     * @param baseDamage Explosion damage at level 0
+     * @param knockbackStrength Knockback at level 0
+     * @param explosionRadius Explosion radius at level 0
+     * @param trackingTicks Maximum ticks a trident is guided
+     */
+    public record SeekerStrike(double detectionRange, double baseDamage, double knockbackStrength,
+                               double explosionRadius, int trackingTicks) {
+        static SeekerStrike read(ConfigurationSection section) {
+            return new SeekerStrike(
+                atLeast(section, "detection-range", 15.0, 0),
+                atLeast(section, "base-damage", 8.0, 0),
+                atLeast(section, "knockback-strength", 1.2, 0),
+                atLeast(section, "explosion-radius", 3.0, 0),
+                atLeast(section, "tracking-ticks", 200, 0));
+        }
+    }
+    
+    /**
+     * @param maxPerPlayer Maximum active turrets a single player can own
+     * @param maxPerChunk Maximum active turrets inside a single chunk
+     * @param projectileSpeed Speed of turret projectiles
+     * @param baseDamage Damage per shot at level 0
+     */
+    public record SentinelTurret(int maxPerPlayer, int maxPerChunk, double projectileSpeed, double baseDamage) {
+        static SentinelTurret read(ConfigurationSection section) {
+            return new SentinelTurret(
+                atLeast(section, "max-per-player", 3, 0),
+                atLeast(section, "max-per-chunk", 8, 0),
+                atLeast(section, "projectile-speed", 1.5, 0),
+                atLeast(section, "base-damage", 2.0, 0));
+        }
+    }
+    
+    /**
+     * @param procChanceBase Proc chance in percent at level 0
+     * @param procChancePerLevel Proc chance in percent added per level
+     * @param cooldownMillis Milliseconds between procs on the same entity
+     * @param freezeTicks Ticks the target is held in place at level 0
+     */
+    public record SpectralChains(int procChanceBase, int procChancePerLevel, long cooldownMillis, int freezeTicks) {
+        static SpectralChains read(ConfigurationSection section) {
+            return new SpectralChains(
+                atLeast(section, "proc-chance.base", 20, 0),
+                atLeast(section, "proc-chance.per-level", 10, 0),
+                atLeast(section, "cooldown-millis", 5000L, 0),
+                atLeast(section, "freeze-ticks", 5, 0));
+        }
+    }
+    
+    /**
+     * @param procChanceBase Chance in percent at level 0 to teleport away from damage
+     * @param procChancePerLevel Chance in percent added per level
+     * @param invulnerabilityTicks Ticks of invulnerability after a teleport
+     */
+    public record Voidwalker(int procChanceBase, int procChancePerLevel, int invulnerabilityTicks) {
+        static Voidwalker read(ConfigurationSection section) {
+            return new Voidwalker(
+                atLeast(section, "proc-chance.base", 10, 0),
+                atLeast(section, "proc-chance.per-level", 5, 0),
+                atLeast(section, "invulnerability-ticks", 20, 0));
+        }
+    }
+    
+    /**
+     * Reads a settings snapshot from the plugin configuration. Missing keys take the
+     * built-in defaults.
+     *
+     * @param config The plugin configuration
+     * @return The snapshot
+     * @throws IllegalArgumentException If a value is out of range
+     */
+    public static PluginSettings read(ConfigurationSection config) {
+        return new PluginSettings(
+            config.getBoolean("pvp.enabled", false),
+            Logging.read(section(config, "logging")),
+            Metrics.read(section(config, "metrics")),
+            Randomness.read(section(config, "random")),
+            EchoOfTheAncients.read(section(config, "echo-of-the-ancients")),
+            GravitationalCollapse.read(section(config, "gravitational-collapse")),
+            MagicMirror.read(section(config, "magic-mirror"), config),
+            MagmaImpact.read(section(config, "magma-impact")),
+            SeekerStrike.read(section(config, "seeker-strike")),
+            SentinelTurret.read(section(config, "sentinel-turret")),
+            SpectralChains.read(section(config, "spectral-chains")),
+            Voidwalker.read(section(config, "voidwalker")));
+    }
+    
+    private static ConfigurationSection section(ConfigurationSection config, String path) {
+        ConfigurationSection section = config.getConfigurationSection(path);
+        // An empty detached section keeps the plugin configuration itself untouched
+        return section != null ? section : new MemoryConfiguration().createSection(path);
+    }
+    
+    private static int atLeast(ConfigurationSection section, String key, int fallback, int min) {
+        int value = section.getInt(key, fallback);
+        if (value < min) {
+            throw new IllegalArgumentException(section.getCurrentPath() + "." + key + " must be at least " + min);
+        }
+        return value;
+    }
+    
+    private static long atLeast(ConfigurationSection section, String key, long fallback, long min) {
+        long value = section.getLong(key, fallback);
+        if (value < min) {
+            throw new IllegalArgumentException(section.getCurrentPath() + "." + key + " must be at least " + min);
+        }
+        return value;
+    }
+    
+    private static double atLeast(ConfigurationSection section, String key, double fallback, double min) {
+        double value = section.getDouble(key, fallback);
+        if (value < min) {
+            throw new IllegalArgumentException(section.getCurrentPath() + "." + key + " must be at least " + min);
+        }
+        return value;
+    }
+}
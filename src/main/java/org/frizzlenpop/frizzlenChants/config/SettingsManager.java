@@ -0,0 +1,97 @@
+package org.frizzlenpop.frizzlenChants.config;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Holds the current {@link PluginSettings} snapshot and swaps it on reload. The snapshot is
+ * published through a single volatile field, so readers never lock and never see a mix of
+ * old and new values: each read returns one complete snapshot. Code that uses several values
+ * for one action should read the snapshot once and keep it in a local.
+ */
+public class SettingsManager {
+
+    private final JavaPlugin plugin;
+    private final List<Consumer<PluginSettings>> listeners = new CopyOnWriteArrayList<>();
+    private volatile PluginSettings settings;
+    
+    /**
+     * Creates a new settings manager and reads the initial snapshot. If a value is out of
+     * range, the built-in defaults are used until the configuration is fixed and reloaded.
+     *
+     * @param plugin The plugin whose configuration is read
+     */
+    public SettingsManager(JavaPlugin plugin) {
+        this.plugin = plugin;
+        try {
+            this.settings = PluginSettings.read(plugin.getConfig());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().log(Level.SEVERE, "Invalid setting in config.yml; using the defaults: " + e.getMessage());
+            this.settings = PluginSettings.read(new MemoryConfiguration());
+        }
+    }
+    
+    /**
+     * Returns the current settings snapshot.
+     *
+     * @return The current snapshot
+     */
+    public PluginSettings get() {
+        return settings;
+    }
+    
+    /**
+     * Registers a component that copies settings into its own state. The listener is called
+     * with the current snapshot right away and again with every snapshot a reload publishes.
+     *
+     * @param listener The listener
+     */
+    public void subscribe(Consumer<PluginSettings> listener) {
+        listeners.add(listener);
+        listener.accept(settings);
+    }
+    
+    /**
+     * Reads {@code config.yml} again and publishes the new snapshot. If the file cannot be
+     * parsed or a value is out of range, the current snapshot stays in place.
+     *
+     * @return true if the new snapshot was published
+     */
+    public boolean reload() {
+        // Parse the file first; reloadConfig alone would fall back to the defaults on a syntax error
+        File file = new File(plugin.getDataFolder(), "config.yml");
+        if (file.exists()) {
+            try {
+                new YamlConfiguration().load(file);
+            } catch (IOException | InvalidConfigurationException e) {
+                plugin.getLogger().log(Level.SEVERE, "Could not read config.yml; keeping the current settings", e);
+                return false;
+            }
+        }
+        
+        plugin.reloadConfig();
+        PluginSettings fresh;
+        try {
+            fresh = PluginSettings.read(plugin.getConfig());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().log(Level.SEVERE, "Invalid setting in config.yml; keeping the current settings: " +
+                e.getMessage());
+            return false;
+        }
+        
+        settings = fresh;
+        for (Consumer<PluginSettings> listener : listeners) {
+            listener.accept(fresh);
+        }
+        return true;
+    }
+}
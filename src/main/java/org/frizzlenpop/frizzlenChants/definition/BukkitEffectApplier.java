@@ -0,0 +1,193 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.bukkit.util.Vector;
+import org.frizzlenpop.frizzlenChants.FrizzlenChants;
+import org.frizzlenpop.frizzlenChants.effect.AreaEffect;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.schedule.EffectTask;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies pipeline effects to the world. Area effects go through the shared
+ * {@link org.frizzlenpop.frizzlenChants.effect.AreaEffectResolver} of their region, so they are
+ * batched with the area effects of hand-written enchantments. Particle rings and lines are
+ * profiled as the visual phase of the enchantment whose pipeline draws them.
+ */
+public class BukkitEffectApplier implements EffectApplier {
+
+    private final FrizzlenChants plugin;
+    private final EnchantProfiler profiler;
+    private final LongAdder particles;
+    
+    /**
+     * Creates a new effect applier.
+     *
+     * @param plugin The plugin instance
+     */
+    public BukkitEffectApplier(FrizzlenChants plugin) {
+        this.plugin = plugin;
+        this.profiler = plugin.getProfiler();
+        this.particles = plugin.getMetrics().particles();
+    }
+    
+    @Override
+    public void potion(TriggerContext context, EffectTarget target, PotionEffectType type, int duration, int amplifier,
+                       double radius) {
+        PotionEffect effect = new PotionEffect(type, duration, amplifier, false, true, true);
+        if (target == EffectTarget.AREA) {
+            Location center = context.other.getLocation();
+            plugin.getAreaEffectResolvers().at(center).submit(new AreaEffect(center, radius, context.self).potion(effect));
+        } else {
+            entity(context, target).addPotionEffect(effect);
+        }
+    }
+    
+    @Override
+    public void damage(TriggerContext context, EffectTarget target, double amount, double radius) {
+        if (target == EffectTarget.AREA) {
+            Location center = context.other.getLocation();
+            plugin.getAreaEffectResolvers().at(center).submit(
+                new AreaEffect(center, radius, context.self).damage(amount, 1.0));
+        } else if (target == EffectTarget.SELF) {
+            context.self.damage(amount);
+        } else {
+            context.other.damage(amount, context.self);
+        }
+    }
+    
+    @Override
+    public void heal(TriggerContext context, EffectTarget target, double amount) {
+        LivingEntity entity = entity(context, target);
+        AttributeInstance maxHealth = entity.getAttribute(Attribute.MAX_HEALTH);
+        double max = maxHealth != null ? maxHealth.getValue() : entity.getHealth();
+        entity.setHealth(Math.min(max, entity.getHealth() + amount));
+    }
+    
+    @Override
+    public void ignite(TriggerContext context, EffectTarget target, int ticks) {
+        LivingEntity entity = entity(context, target);
+        entity.setFireTicks(Math.max(entity.getFireTicks(), ticks));
+    }
+    
+    @Override
+    public void freeze(TriggerContext context, EffectTarget target, int ticks) {
+        LivingEntity entity = entity(context, target);
+        entity.setVelocity(new Vector(0, 0, 0));
+        
+        // Hold the entity in place, with a slight downward force to keep it on the ground
+        new EffectTask() {
+            private int elapsed = 0;
+            
+            @Override
+            public void run() {
+                if (!entity.isValid() || entity.isDead() || elapsed++ >= ticks) {
+                    this.cancel();
+                    return;
+                }
+                entity.setVelocity(new Vector(0, -0.05, 0));
+            }
+        }.runTimer(plugin, entity, 1L, 1L);
+    }
+    
+    @Override
+    public void knockback(TriggerContext context, double strength, double lift) {
+        Vector push = context.other.getLocation().toVector().subtract(context.self.getLocation().toVector()).setY(0);
+        if (push.lengthSquared() < 1.0E-6) {
+            return;
+        }
+        context.other.setVelocity(push.normalize().multiply(strength).setY(lift));
+    }
+    
+    @Override
+    public void sound(TriggerContext context, EffectTarget at, Sound sound, float volume, float pitch) {
+        Location location = entity(context, at).getLocation();
+        location.getWorld().playSound(location, sound, volume, pitch);
+    }
+    
+    @Override
+    public void particle(TriggerContext context, EffectTarget at, Particle particle, Color color, float size, int count,
+                         double spread, double speed) {
+        Location location = entity(context, at).getLocation().add(0, 1, 0);
+        Object data = color != null ? new Particle.DustOptions(color, size) : null;
+        plugin.getVisualEffectManager().spawnParticles(location, particle, count, spread, spread, spread, speed, data);
+    }
+    
+    @Override
+    public void particleRing(TriggerContext context, EffectTarget at, Particle particle, Color color, float size,
+                             double radius, int points) {
+        Location center = entity(context, at).getLocation();
+        World world = center.getWorld();
+        Object data = color != null ? new Particle.DustOptions(color, size) : null;
+        Location point = center.clone();
+        
+        long token = profiler.start(ProfilePhase.VISUAL);
+        try {
+            for (int i = 0; i < points; i++) {
+                double angle = 2 * Math.PI * i / points;
+                point.setX(center.getX() + radius * Math.cos(angle));
+                point.setY(center.getY() + 0.5);
+                point.setZ(center.getZ() + radius * Math.sin(angle));
+                world.spawnParticle(particle, point, 1, 0, 0, 0, 0, data);
+            }
+            particles.add(points);
+        } finally {
+            profiler.stop(token);
+        }
+    }
+    
+    @Override
+    public void particleLine(TriggerContext context, Particle particle, Color color, float size, double density) {
+        Location start = context.self.getLocation().add(0, 1, 0);
+        Location end = context.other.getLocation().add(0, 1, 0);
+        World world = start.getWorld();
+        if (world != end.getWorld()) {
+            return;
+        }
+        
+        Object data = color != null ? new Particle.DustOptions(color, size) : null;
+        double dx = end.getX() - start.getX();
+        double dy = end.getY() - start.getY();
+        double dz = end.getZ() - start.getZ();
+        int points = (int) (Math.sqrt(dx * dx + dy * dy + dz * dz) * density) + 1;
+        Location point = start.clone();
+        
+        long token = profiler.start(ProfilePhase.VISUAL);
+        try {
+            for (int i = 0; i <= points; i++) {
+                double t = (double) i / points;
+                point.setX(start.getX() + dx * t);
+                point.setY(start.getY() + dy * t);
+                point.setZ(start.getZ() + dz * t);
+                world.spawnParticle(particle, point, 1, 0, 0, 0, 0, data);
+            }
+            particles.add(points + 1);
+        } finally {
+            profiler.stop(token);
+        }
+    }
+    
+    @Override
+    public void message(TriggerContext context, EffectTarget to, String text) {
+        LivingEntity entity = entity(context, to);
+        if (entity instanceof Player) {
+            ((Player) entity).sendActionBar(net.kyori.adventure.text.Component.text(text));
+        }
+    }
+    
+    private static LivingEntity entity(TriggerContext context, EffectTarget target) {
+        return target == EffectTarget.SELF ? context.self : context.other;
+    }
+}
@@ -0,0 +1,91 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+import java.util.Locale;
+
+/**
+ * A check a trigger must pass before a pipeline can proc. In a definition a condition is
+ * written as its name, followed by a number for the health checks, for example
+ * {@code critical-hit} or {@code other-health-below 0.5}.
+ */
+public final class Condition {
+
+    /**
+     * The kinds of condition.
+     */
+    public enum Type {
+        CRITICAL_HIT,
+        SNEAKING,
+        OTHER_IS_PLAYER,
+        OTHER_IS_MOB,
+        SELF_HEALTH_BELOW,
+        OTHER_HEALTH_BELOW
+    }
+    
+    private final Type type;
+    private final double value;
+    
+    private Condition(Type type, double value) {
+        this.type = type;
+        this.value = value;
+    }
+    
+    /**
+     * Parses a condition as written in a definition.
+     *
+     * @param text The condition text
+     * @return The condition
+     * @throws IllegalArgumentException If the condition is unknown or its value is missing
+     */
+    public static Condition parse(String text) {
+        String[] parts = text.trim().split("\\s+");
+        Type type;
+        try {
+            type = Type.valueOf(parts[0].toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown condition: " + text);
+        }
+        
+        if (type == Type.SELF_HEALTH_BELOW || type == Type.OTHER_HEALTH_BELOW) {
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Condition " + parts[0] + " needs a health fraction, such as 0.5");
+            }
+            return new Condition(type, Double.parseDouble(parts[1]));
+        }
+        
+        return new Condition(type, 0);
+    }
+    
+    /**
+     * Returns the kind of this condition.
+     *
+     * @return The condition type
+     */
+    public Type getType() {
+        return type;
+    }
+    
+    /**
+     * Checks this condition against a trigger.
+     *
+     * @param context The trigger
+     * @return true if the condition holds
+     */
+    public boolean test(TriggerContext context) {
+        switch (type) {
+            case CRITICAL_HIT:
+                return context.critical;
+            case SNEAKING:
+                return context.sneaking;
+            case OTHER_IS_PLAYER:
+                return context.otherIsPlayer;
+            case OTHER_IS_MOB:
+                return !context.otherIsPlayer;
+            case SELF_HEALTH_BELOW:
+                return context.selfHealth < value;
+            case OTHER_HEALTH_BELOW:
+                return context.otherHealth < value;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last proc time per entity for one data-driven enchantment. Expired entries are swept
+ * every {@value #SWEEP_INTERVAL} procs so the map does not grow over a session.
+ * Entities in different regions may proc at the same time on Folia, so the map is
+ * concurrent; a sweep count lost to a race only delays the next sweep.
+ */
+public final class Cooldowns {
+
+    private static final int SWEEP_INTERVAL = 64;
+    
+    private final Map<UUID, Long> lastProc = new ConcurrentHashMap<>();
+    private int procsSinceSweep;
+    
+    /**
+     * Checks whether an entity is off cooldown.
+     *
+     * @param id The entity the cooldown is tracked for
+     * @param now The current time in milliseconds
+     * @param cooldownMillis The cooldown length
+     * @return true if the entity may proc again
+     */
+    public boolean isReady(UUID id, long now, long cooldownMillis) {
+        Long last = lastProc.get(id);
+        return last == null || now - last >= cooldownMillis;
+    }
+    
+    /**
+     * Starts the cooldown of an entity.
+     *
+     * @param id The entity the cooldown is tracked for
+     * @param now The current time in milliseconds
+     * @param cooldownMillis The cooldown length
+     */
+    public void start(UUID id, long now, long cooldownMillis) {
+        lastProc.put(id, now);
+        
+        if (++procsSinceSweep >= SWEEP_INTERVAL) {
+            procsSinceSweep = 0;
+            lastProc.values().removeIf(last -> now - last >= cooldownMillis);
+        }
+    }
+    
+    /**
+     * Returns the number of entities with a tracked cooldown.
+     *
+     * @return The number of entries
+     */
+    public int size() {
+        return lastProc.size();
+    }
+}
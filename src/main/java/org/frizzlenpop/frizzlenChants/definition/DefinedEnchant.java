@@ -0,0 +1,105 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.random.ThreadRandom;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * An enchantment defined in YAML and compiled into an {@link EnchantPipeline}. It has no
+ * event handlers of its own; {@link DefinitionListener} decodes each item once and fires
+ * the pipelines of every defined enchantment on it.
+ */
+public class DefinedEnchant extends CustomEnchant {
+
+    private final EnchantPipeline pipeline;
+    private final Set<String> conflicts;
+    private final Cooldowns cooldowns = new Cooldowns();
+    private final ThreadRandom random;
+    
+    /**
+     * Creates a new data-driven enchantment.
+     *
+     * @param name The name of the enchantment
+     * @param maxLevel The maximum level
+     * @param applicableItems The materials it can be applied to
+     * @param pipeline The compiled pipeline
+     * @param conflicts Lower-case names of the enchantments it conflicts with
+     * @param random The generator of its proc rolls
+     */
+    DefinedEnchant(String name, int maxLevel, Set<Material> applicableItems, EnchantPipeline pipeline,
+                   Set<String> conflicts, ThreadRandom random) {
+        super(name, maxLevel, applicableItems);
+        this.pipeline = pipeline;
+        this.conflicts = conflicts;
+        this.random = random;
+    }
+    
+    @Override
+    public void applyEffect(Player player, ItemStack item, int level) {
+        // Implementation handled by the pipeline
+    }
+    
+    /**
+     * Fires the pipeline of this enchantment for a trigger.
+     *
+     * @param context The trigger
+     * @param level The enchantment level
+     * @param applier The applier that performs the effects
+     * @return true if the enchantment procced
+     */
+    public boolean fire(TriggerContext context, int level, EffectApplier applier) {
+        return fire(context, level, random, applier);
+    }
+    
+    /**
+     * Fires the pipeline of this enchantment for a trigger, rolling the proc with the given
+     * generator instead of the enchantment's own.
+     *
+     * @param context The trigger
+     * @param level The enchantment level
+     * @param rolls The generator of the proc roll
+     * @param applier The applier that performs the effects
+     * @return true if the enchantment procced
+     */
+    boolean fire(TriggerContext context, int level, RandomGenerator rolls, EffectApplier applier) {
+        return pipeline.fire(context, level, cooldowns, rolls, applier);
+    }
+    
+    /**
+     * Returns the generator of this enchantment's proc rolls on the calling thread.
+     *
+     * @return The generator
+     */
+    SplittableRandom getRandom() {
+        return random.current();
+    }
+    
+    /**
+     * Returns the number of entities with a tracked cooldown.
+     *
+     * @return The number of entries
+     */
+    public int getCooldownEntries() {
+        return cooldowns.size();
+    }
+    
+    /**
+     * Returns the compiled pipeline of this enchantment.
+     *
+     * @return The pipeline
+     */
+    public EnchantPipeline getPipeline() {
+        return pipeline;
+    }
+    
+    @Override
+    public boolean conflictsWith(CustomEnchant other) {
+        return conflicts.contains(other.getName().toLowerCase());
+    }
+}
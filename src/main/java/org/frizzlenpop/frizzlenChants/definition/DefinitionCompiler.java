@@ -0,0 +1,193 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Particle;
+import org.bukkit.Registry;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.potion.PotionEffectType;
+import org.frizzlenpop.frizzlenChants.random.RandomService;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles enchantment definitions into {@link DefinedEnchant}s. All names in a definition
+ * are resolved and all level-dependent values are precomputed here, so a malformed
+ * definition fails when it is loaded rather than when it procs.
+ */
+public class DefinitionCompiler {
+
+    // Names must fit the lore format read by EnchantmentUtils
+    private static final Pattern NAME_PATTERN = Pattern.compile("[\\w ]+");
+    
+    private final RandomService randoms;
+    
+    /**
+     * Creates a new definition compiler.
+     *
+     * @param randoms The service the compiled enchantments get their generators from
+     */
+    public DefinitionCompiler(RandomService randoms) {
+        this.randoms = randoms;
+    }
+    
+    /**
+     * Compiles one enchantment definition.
+     *
+     * @param name The enchantment name
+     * @param section The definition
+     * @return The enchantment
+     * @throws IllegalArgumentException If the definition is malformed
+     */
+    public DefinedEnchant compile(String name, ConfigurationSection section) {
+        if (!NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("Enchantment names may only contain letters, digits and spaces: " + name);
+        }
+        
+        int maxLevel = section.getInt("max-level", 1);
+        if (maxLevel < 1 || maxLevel > 10) {
+            throw new IllegalArgumentException(name + ".max-level must be between 1 and 10");
+        }
+        
+        Set<Material> items = parseItems(section.getStringList("items"));
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException(name + ".items must list at least one material");
+        }
+        
+        Trigger trigger = Trigger.parse(section.getString("trigger", "attack"));
+        
+        List<Condition> conditions = new ArrayList<>();
+        for (String condition : section.getStringList("conditions")) {
+            conditions.add(Condition.parse(condition));
+        }
+        
+        LevelTable chance = LevelTable.read(section, "chance", 100, maxLevel);
+        long cooldownMillis = section.getLong("cooldown.millis", 0);
+        EnchantPipeline.CooldownScope cooldownScope;
+        try {
+            cooldownScope = EnchantPipeline.CooldownScope.valueOf(
+                section.getString("cooldown.per", "other").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + ".cooldown.per must be self or other");
+        }
+        
+        List<EffectStep> steps = new ArrayList<>();
+        List<Map<?, ?>> effects = section.getMapList("effects");
+        for (int i = 0; i < effects.size(); i++) {
+            // Wrap each list entry in a section so steps can use the normal config accessors
+            ConfigurationSection step = new MemoryConfiguration()
+                .createSection(section.getCurrentPath() + ".effects." + i, effects.get(i));
+            steps.add(EffectStep.compile(step, maxLevel, this));
+        }
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException(name + ".effects must list at least one effect");
+        }
+        
+        Set<String> conflicts = new HashSet<>();
+        for (String conflict : section.getStringList("conflicts")) {
+            conflicts.add(conflict.toLowerCase(Locale.ROOT));
+        }
+        
+        EnchantPipeline pipeline = new EnchantPipeline(name, trigger, conditions, chance, cooldownMillis, cooldownScope, steps);
+        return new DefinedEnchant(name, maxLevel, items, pipeline, conflicts, randoms.forEnchant(name));
+    }
+    
+    /**
+     * Resolves a potion effect type by its name, such as {@code slowness}.
+     *
+     * @param name The potion effect name
+     * @return The potion effect type
+     * @throws IllegalArgumentException If no such potion effect exists
+     */
+    protected PotionEffectType resolvePotion(String name) {
+        PotionEffectType type = Registry.EFFECT.match(name);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown potion effect: " + name);
+        }
+        return type;
+    }
+    
+    /**
+     * Resolves a sound by its constant name, such as {@code BLOCK_CHAIN_PLACE}, or by its
+     * key, such as {@code block.chain.place}.
+     *
+     * @param name The sound name
+     * @return The sound
+     * @throws IllegalArgumentException If no such sound exists
+     */
+    @SuppressWarnings("deprecation")
+    protected Sound resolveSound(String name) {
+        if (name.indexOf('.') >= 0) {
+            NamespacedKey key = NamespacedKey.fromString(name.toLowerCase(Locale.ROOT));
+            Sound sound = key != null ? Registry.SOUNDS.get(key) : null;
+            if (sound == null) {
+                throw new IllegalArgumentException("Unknown sound: " + name);
+            }
+            return sound;
+        }
+        return Sound.valueOf(name.toUpperCase(Locale.ROOT));
+    }
+    
+    /**
+     * Resolves a particle by its name, such as {@code END_ROD}.
+     *
+     * @param name The particle name
+     * @return The particle
+     * @throws IllegalArgumentException If no such particle exists
+     */
+    protected Particle resolveParticle(String name) {
+        try {
+            return Particle.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown particle: " + name);
+        }
+    }
+    
+    /**
+     * Parses the applicable items of a definition. An entry starting with {@code *} matches
+     * every material ending with the rest of the entry, so {@code *_SWORD} matches all swords.
+     *
+     * @param entries The item entries
+     * @return The matched materials
+     * @throws IllegalArgumentException If an entry matches nothing
+     */
+    private static Set<Material> parseItems(List<String> entries) {
+        Set<Material> items = EnumSet.noneOf(Material.class);
+        
+        for (String entry : entries) {
+            String upper = entry.toUpperCase(Locale.ROOT);
+            boolean matched = false;
+            
+            if (upper.startsWith("*")) {
+                String suffix = upper.substring(1);
+                for (Material material : Material.values()) {
+                    if (!material.isLegacy() && material.name().endsWith(suffix)) {
+                        items.add(material);
+                        matched = true;
+                    }
+                }
+            } else {
+                Material material = Material.matchMaterial(upper);
+                if (material != null) {
+                    items.add(material);
+                    matched = true;
+                }
+            }
+            
+            if (!matched) {
+                throw new IllegalArgumentException("Unknown material: " + entry);
+            }
+        }
+        
+        return items;
+    }
+}
@@ -0,0 +1,210 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.ProjectileHitEvent;
+import org.bukkit.inventory.ItemStack;
+import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentRegistry;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.enchant.LaunchSnapshot;
+import org.frizzlenpop.frizzlenChants.jfr.JfrTrigger;
+import org.frizzlenpop.frizzlenChants.metrics.EnchantMetrics;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.trace.TraceRecorder;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Listener that fires the pipelines of data-driven enchantments. Each item is decoded once
+ * per event, no matter how many defined enchantments it carries, and the trigger context
+ * is filled at most once per event. Effects that deal damage themselves do not trigger
+ * pipelines again. Events of different regions fire concurrently on Folia, so the context
+ * and the re-entry guard are kept per thread.
+ */
+public class DefinitionListener implements Listener {
+
+    private final EnchantmentRegistry registry;
+    private final EffectApplier applier;
+    private final EnchantProfiler profiler;
+    private final EnchantMetrics metrics;
+    private final TraceRecorder recorder;
+    private final ThreadLocal<Firing> threads = ThreadLocal.withInitial(Firing::new);
+    
+    /**
+     * Creates a new definition listener.
+     *
+     * @param registry The enchantment registry
+     * @param applier The applier that performs pipeline effects
+     * @param metrics The metrics that count procs
+     * @param recorder The trace recorder the proc rolls are drawn through
+     */
+    public DefinitionListener(EnchantmentRegistry registry, EffectApplier applier, EnchantMetrics metrics,
+                              TraceRecorder recorder) {
+        this.registry = registry;
+        this.applier = applier;
+        this.profiler = registry.getProfiler();
+        this.metrics = metrics;
+        this.recorder = recorder;
+    }
+    
+    /**
+     * Handles entity damage events to fire attack and defend pipelines.
+     *
+     * @param event The entity damage event
+     */
+    @EventHandler(ignoreCancelled = true)
+    public void onEntityDamage(EntityDamageByEntityEvent event) {
+        if (threads.get().active || !(event.getEntity() instanceof LivingEntity)) {
+            return;
+        }
+        
+        LivingEntity victim = (LivingEntity) event.getEntity();
+        
+        if (event.getDamager() instanceof Player) {
+            Player player = (Player) event.getDamager();
+            ItemStack weapon = player.getInventory().getItemInMainHand();
+            if (weapon.hasItemMeta()) {
+                fire(event, Trigger.ATTACK, player, victim, EnchantmentUtils.getEnchantments(weapon, registry, event),
+                    isCriticalHit(player));
+            }
+        }
+        
+        if (victim instanceof Player) {
+            LivingEntity attacker = attackerOf(event);
+            if (attacker == null) {
+                return;
+            }
+            
+            for (ItemStack armor : ((Player) victim).getInventory().getArmorContents()) {
+                if (armor != null && armor.hasItemMeta()) {
+                    fire(event, Trigger.DEFEND, victim, attacker,
+                        EnchantmentUtils.getEnchantments(armor, registry, event), false);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Handles projectile hits to fire projectile pipelines from the launch snapshot.
+     *
+     * @param event The projectile hit event
+     */
+    @EventHandler
+    public void onProjectileHit(ProjectileHitEvent event) {
+        if (threads.get().active || !(event.getHitEntity() instanceof LivingEntity) ||
+            !(event.getEntity().getShooter() instanceof Player)) {
+            return;
+        }
+        
+        LaunchSnapshot snapshot = LaunchSnapshot.of(event.getEntity());
+        if (snapshot == null || snapshot.isEmpty()) {
+            return;
+        }
+        
+        fire(event, Trigger.PROJECTILE_HIT, (Player) event.getEntity().getShooter(),
+            (LivingEntity) event.getHitEntity(), snapshot.getEnchantments(), false);
+    }
+    
+    /**
+     * Fires the pipelines with the given trigger among the decoded enchantments of an item.
+     * Each pipeline is timed as its enchantment's trigger phase.
+     *
+     * @param event The event that triggered the pipelines
+     * @param trigger The trigger
+     * @param self The holder of the item
+     * @param other The other entity
+     * @param enchantments The decoded enchantments of the item
+     * @param critical Whether the hit is a critical hit
+     */
+    private void fire(Event event, Trigger trigger, LivingEntity self, LivingEntity other,
+                      Map<CustomEnchant, Integer> enchantments, boolean critical) {
+        Firing firing = threads.get();
+        TriggerContext context = firing.context;
+        boolean prepared = false;
+        boolean healthSet = false;
+        
+        for (Map.Entry<CustomEnchant, Integer> entry : enchantments.entrySet()) {
+            if (!(entry.getKey() instanceof DefinedEnchant)) {
+                continue;
+            }
+            
+            DefinedEnchant enchant = (DefinedEnchant) entry.getKey();
+            if (enchant.getPipeline().getTrigger() != trigger) {
+                continue;
+            }
+            
+            if (!prepared) {
+                context.set(self, self.getUniqueId(), other, other.getUniqueId(), System.currentTimeMillis())
+                    .selfState(critical, self instanceof Player && ((Player) self).isSneaking())
+                    .otherIsPlayer(other instanceof Player);
+                prepared = true;
+            }
+            if (enchant.getPipeline().usesHealth() && !healthSet) {
+                context.health(healthFraction(self), healthFraction(other));
+                healthSet = true;
+            }
+            
+            firing.active = true;
+            long token = profiler.start(enchant.getName(), ProfilePhase.TRIGGER);
+            JfrTrigger flight = JfrTrigger.start();
+            try {
+                // Procs roll from the event's seed while a trace is recorded
+                SplittableRandom rolls = recorder.rolls(event, enchant.getName(), enchant.getRandom());
+                if (enchant.fire(context, entry.getValue(), rolls, applier)) {
+                    metrics.procs(enchant.getName()).increment();
+                }
+            } finally {
+                flight.end(enchant.getName(), entry.getValue(), self, trigger.name());
+                profiler.stop(token);
+                firing.active = false;
+            }
+        }
+    }
+    
+    /**
+     * Checks if the attack is a critical hit.
+     * In Minecraft, critical hits occur when a player is falling and not on ground.
+     *
+     * @param player The attacking player
+     * @return true if the attack is a critical hit, false otherwise
+     */
+    @SuppressWarnings("deprecation")
+    private static boolean isCriticalHit(Player player) {
+        return player.getFallDistance() > 0.0F && !player.isOnGround() &&
+               !player.isInWater() && !player.isInsideVehicle();
+    }
+    
+    private static LivingEntity attackerOf(EntityDamageByEntityEvent event) {
+        if (event.getDamager() instanceof LivingEntity) {
+            return (LivingEntity) event.getDamager();
+        }
+        if (event.getDamager() instanceof Projectile &&
+            ((Projectile) event.getDamager()).getShooter() instanceof LivingEntity) {
+            return (LivingEntity) ((Projectile) event.getDamager()).getShooter();
+        }
+        return null;
+    }
+    
+    private static double healthFraction(LivingEntity entity) {
+        AttributeInstance maxHealth = entity.getAttribute(Attribute.MAX_HEALTH);
+        return maxHealth != null && maxHealth.getValue() > 0 ? entity.getHealth() / maxHealth.getValue() : 1.0;
+    }
+    
+    /**
+     * The trigger context of one thread, and whether that thread is firing a pipeline.
+     */
+    private static final class Firing {
+        private final TriggerContext context = new TriggerContext();
+        private boolean active;
+    }
+}
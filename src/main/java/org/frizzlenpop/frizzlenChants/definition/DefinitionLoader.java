@@ -0,0 +1,115 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.frizzlenpop.frizzlenChants.FrizzlenChants;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentRegistry;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.logging.Level;
+
+/**
+ * Loads data-driven enchantments from the YAML files in the plugin's {@code enchants}
+ * directory. Every top-level key of a file defines one enchantment, which is compiled
+ * into an {@link EnchantPipeline} and registered like any built-in enchantment. A
+ * definition that does not compile is reported and skipped; the others still load.
+ */
+public class DefinitionLoader {
+
+    private static final String EXAMPLES = "enchants/examples.yml";
+    
+    private final FrizzlenChants plugin;
+    private final EnchantmentRegistry registry;
+    private final File directory;
+    private final DefinitionCompiler compiler;
+    private DefinitionListener listener;
+    
+    /**
+     * Creates a new definition loader.
+     *
+     * @param plugin The plugin instance
+     * @param registry The enchantment registry to register definitions in
+     * @param directory The directory to read definition files from
+     */
+    public DefinitionLoader(FrizzlenChants plugin, EnchantmentRegistry registry, File directory) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.directory = directory;
+        this.compiler = new DefinitionCompiler(plugin.getRandomService());
+    }
+    
+    /**
+     * Compiles and registers every enabled definition. On the first start the directory is
+     * created with a file of disabled examples.
+     *
+     * @return The number of enchantments registered
+     */
+    public int loadAll() {
+        if (!directory.exists()) {
+            plugin.saveResource(EXAMPLES, false);
+        }
+        
+        File[] files = directory.listFiles((dir, fileName) -> fileName.endsWith(".yml"));
+        if (files == null) {
+            return 0;
+        }
+        Arrays.sort(files);
+        
+        int count = 0;
+        for (File file : files) {
+            count += load(file);
+        }
+        
+        // One listener serves every definition; without definitions there is nothing to dispatch
+        if (count > 0 && listener == null) {
+            listener = new DefinitionListener(registry, new BukkitEffectApplier(plugin), plugin.getMetrics(),
+                plugin.getTraceRecorder());
+            plugin.getServer().getPluginManager().registerEvents(listener, plugin);
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Compiles and registers the enabled definitions of one file.
+     *
+     * @param file The definition file
+     * @return The number of enchantments registered
+     */
+    private int load(File file) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        try {
+            yaml.load(file);
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not read enchantment definitions from " + file.getName(), e);
+            return 0;
+        }
+        
+        int count = 0;
+        for (String name : yaml.getKeys(false)) {
+            ConfigurationSection section = yaml.getConfigurationSection(name);
+            if (section == null) {
+                plugin.getLogger().log(Level.WARNING, file.getName() + ": " + name + " is not a definition");
+                continue;
+            }
+            if (!section.getBoolean("enabled", true)) {
+                continue;
+            }
+            
+            try {
+                DefinedEnchant enchant = compiler.compile(name, section);
+                if (registry.register(enchant)) {
+                    plugin.getMetrics().trackCooldowns(enchant.getName(), enchant::getCooldownEntries);
+                    count++;
+                }
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().log(Level.SEVERE, "Invalid enchantment definition in " + file.getName() + ": " +
+                    e.getMessage());
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,133 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+import org.bukkit.Color;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * Carries out the effect primitives of a pipeline. Every value has already been resolved
+ * for the level that procced, so an applier only performs the effect.
+ * {@link BukkitEffectApplier} applies effects to the world.
+ */
+public interface EffectApplier {
+
+    /**
+     * Applies a potion effect.
+     *
+     * @param context The trigger
+     * @param target Who receives the effect
+     * @param type The potion effect type
+     * @param duration The duration in ticks
+     * @param amplifier The amplifier
+     * @param radius The radius when the target is {@link EffectTarget#AREA}
+     */
+    void potion(TriggerContext context, EffectTarget target, PotionEffectType type, int duration, int amplifier,
+                double radius);
+    
+    /**
+     * Deals damage on behalf of the holder.
+     *
+     * @param context The trigger
+     * @param target Who takes the damage
+     * @param amount The damage
+     * @param radius The radius when the target is {@link EffectTarget#AREA}
+     */
+    void damage(TriggerContext context, EffectTarget target, double amount, double radius);
+    
+    /**
+     * Restores health.
+     *
+     * @param context The trigger
+     * @param target Who is healed
+     * @param amount The health to restore
+     */
+    void heal(TriggerContext context, EffectTarget target, double amount);
+    
+    /**
+     * Sets an entity on fire.
+     *
+     * @param context The trigger
+     * @param target Who is set on fire
+     * @param ticks The fire duration in ticks
+     */
+    void ignite(TriggerContext context, EffectTarget target, int ticks);
+    
+    /**
+     * Holds an entity in place.
+     *
+     * @param context The trigger
+     * @param target Who is frozen
+     * @param ticks The freeze duration in ticks
+     */
+    void freeze(TriggerContext context, EffectTarget target, int ticks);
+    
+    /**
+     * Pushes the other entity away from the holder.
+     *
+     * @param context The trigger
+     * @param strength The horizontal strength
+     * @param lift The vertical velocity
+     */
+    void knockback(TriggerContext context, double strength, double lift);
+    
+    /**
+     * Plays a sound.
+     *
+     * @param context The trigger
+     * @param at Where the sound is played
+     * @param sound The sound
+     * @param volume The volume
+     * @param pitch The pitch
+     */
+    void sound(TriggerContext context, EffectTarget at, Sound sound, float volume, float pitch);
+    
+    /**
+     * Spawns a burst of particles.
+     *
+     * @param context The trigger
+     * @param at Where the particles are spawned
+     * @param particle The particle
+     * @param color The dust color, or null for particles without color
+     * @param size The dust size
+     * @param count The number of particles
+     * @param spread The random offset on each axis
+     * @param speed The particle speed
+     */
+    void particle(TriggerContext context, EffectTarget at, Particle particle, Color color, float size, int count,
+                  double spread, double speed);
+    
+    /**
+     * Spawns a horizontal ring of particles.
+     *
+     * @param context The trigger
+     * @param at The center of the ring
+     * @param particle The particle
+     * @param color The dust color, or null for particles without color
+     * @param size The dust size
+     * @param radius The ring radius
+     * @param points The number of particles in the ring
+     */
+    void particleRing(TriggerContext context, EffectTarget at, Particle particle, Color color, float size,
+                      double radius, int points);
+    
+    /**
+     * Spawns a line of particles from the holder to the other entity.
+     *
+     * @param context The trigger
+     * @param particle The particle
+     * @param color The dust color, or null for particles without color
+     * @param size The dust size
+     * @param density The number of particles per block
+     */
+    void particleLine(TriggerContext context, Particle particle, Color color, float size, double density);
+    
+    /**
+     * Shows an action bar message.
+     *
+     * @param context The trigger
+     * @param to Who sees the message; only players do
+     * @param text The message, with color codes already translated
+     */
+    void message(TriggerContext context, EffectTarget to, String text);
+}
@@ -0,0 +1,246 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Color;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One effect primitive of a pipeline, with its potion type, sound, particle and colors
+ * resolved and every numeric value precomputed per level when the definition is compiled.
+ * Running a step is a switch on its type followed by one call to the {@link EffectApplier}.
+ */
+public final class EffectStep {
+
+    /**
+     * The effect primitives. Each lists the keys it reads besides {@code type},
+     * {@code target} and {@code min-level}.
+     */
+    public enum Type {
+        /** {@code effect}, {@code duration}, {@code amplifier}, {@code radius} */
+        POTION,
+        /** {@code amount}, {@code radius} */
+        DAMAGE,
+        /** {@code amount} */
+        HEAL,
+        /** {@code duration} */
+        IGNITE,
+        /** {@code duration} */
+        FREEZE,
+        /** {@code amount}, {@code lift} */
+        KNOCKBACK,
+        /** {@code sound}, {@code volume}, {@code pitch} */
+        SOUND,
+        /** {@code particle}, {@code color}, {@code size}, {@code count}, {@code spread}, {@code speed} */
+        PARTICLE,
+        /** {@code particle}, {@code color}, {@code size}, {@code radius}, {@code count} */
+        PARTICLE_RING,
+        /** {@code particle}, {@code color}, {@code size}, {@code density} */
+        PARTICLE_LINE,
+        /** {@code text} */
+        MESSAGE
+    }
+    
+    private final Type type;
+    private final EffectTarget target;
+    private final int minLevel;
+    private final PotionEffectType potionType;
+    private final Sound sound;
+    private final Particle particle;
+    private final Color[] colors;
+    private final String text;
+    private final LevelTable duration;
+    private final LevelTable amplifier;
+    private final LevelTable amount;
+    private final LevelTable radius;
+    private final LevelTable lift;
+    private final LevelTable volume;
+    private final LevelTable pitch;
+    private final LevelTable count;
+    private final LevelTable spread;
+    private final LevelTable speed;
+    private final LevelTable size;
+    private final LevelTable density;
+    
+    private EffectStep(ConfigurationSection section, int maxLevel, DefinitionCompiler compiler) {
+        this.type = parseEnum(Type.class, section.getString("type"), "effect type");
+        this.target = parseEnum(EffectTarget.class, section.getString("target", "other"), "target");
+        this.minLevel = section.getInt("min-level", 1);
+        
+        this.potionType = type == Type.POTION ? compiler.resolvePotion(require(section, "effect")) : null;
+        this.sound = type == Type.SOUND ? compiler.resolveSound(require(section, "sound")) : null;
+        this.particle = isParticle(type) ? compiler.resolveParticle(require(section, "particle")) : null;
+        Color[] parsedColors = isParticle(type) ? parseColors(section, maxLevel) : null;
+        if (particle != null && particle.getDataType() == Void.class) {
+            // Colors only apply to dust; other particles are spawned without data
+            parsedColors = new Color[maxLevel + 1];
+        } else if (particle != null) {
+            // Dust is the only particle with data a definition can describe
+            if (particle.getDataType() != Particle.DustOptions.class) {
+                throw new IllegalArgumentException(section.getCurrentPath() + ": particle " + particle +
+                    " needs data that definitions cannot provide");
+            }
+            if (parsedColors[1] == null) {
+                throw new IllegalArgumentException(section.getCurrentPath() + ": particle " + particle + " needs a color");
+            }
+        }
+        this.colors = parsedColors;
+        this.text = type == Type.MESSAGE
+            ? ChatColor.translateAlternateColorCodes('&', require(section, "text"))
+            : null;
+        
+        this.duration = LevelTable.read(section, "duration", 60, maxLevel);
+        this.amplifier = LevelTable.read(section, "amplifier", 0, maxLevel);
+        this.amount = LevelTable.read(section, "amount", 1, maxLevel);
+        this.radius = LevelTable.read(section, "radius", 3, maxLevel);
+        this.lift = LevelTable.read(section, "lift", 0.2, maxLevel);
+        this.volume = LevelTable.read(section, "volume", 1, maxLevel);
+        this.pitch = LevelTable.read(section, "pitch", 1, maxLevel);
+        this.count = LevelTable.read(section, "count", 10, maxLevel);
+        this.spread = LevelTable.read(section, "spread", 0.3, maxLevel);
+        this.speed = LevelTable.read(section, "speed", 0, maxLevel);
+        this.size = LevelTable.read(section, "size", 1, maxLevel);
+        this.density = LevelTable.read(section, "density", 2, maxLevel);
+    }
+    
+    /**
+     * Compiles one effect step of a definition.
+     *
+     * @param section The step section
+     * @param maxLevel The maximum level of the enchantment
+     * @param compiler The compiler that resolves potion types, sounds and particles
+     * @return The step
+     * @throws IllegalArgumentException If the step is malformed
+     */
+    static EffectStep compile(ConfigurationSection section, int maxLevel, DefinitionCompiler compiler) {
+        return new EffectStep(section, maxLevel, compiler);
+    }
+    
+    /**
+     * Returns the primitive of this step.
+     *
+     * @return The step type
+     */
+    public Type getType() {
+        return type;
+    }
+    
+    /**
+     * Runs this step if the level is high enough.
+     *
+     * @param context The trigger
+     * @param level The enchantment level
+     * @param applier The applier that performs the effect
+     */
+    void run(TriggerContext context, int level, EffectApplier applier) {
+        if (level < minLevel) {
+            return;
+        }
+        
+        switch (type) {
+            case POTION:
+                applier.potion(context, target, potionType, duration.getInt(level), amplifier.getInt(level),
+                    radius.get(level));
+                break;
+            case DAMAGE:
+                applier.damage(context, target, amount.get(level), radius.get(level));
+                break;
+            case HEAL:
+                applier.heal(context, target, amount.get(level));
+                break;
+            case IGNITE:
+                applier.ignite(context, target, duration.getInt(level));
+                break;
+            case FREEZE:
+                applier.freeze(context, target, duration.getInt(level));
+                break;
+            case KNOCKBACK:
+                applier.knockback(context, amount.get(level), lift.get(level));
+                break;
+            case SOUND:
+                applier.sound(context, target, sound, (float) volume.get(level), (float) pitch.get(level));
+                break;
+            case PARTICLE:
+                applier.particle(context, target, particle, color(level), (float) size.get(level),
+                    count.getInt(level), spread.get(level), speed.get(level));
+                break;
+            case PARTICLE_RING:
+                applier.particleRing(context, target, particle, color(level), (float) size.get(level),
+                    radius.get(level), count.getInt(level));
+                break;
+            case PARTICLE_LINE:
+                applier.particleLine(context, particle, color(level), (float) size.get(level), density.get(level));
+                break;
+            case MESSAGE:
+                applier.message(context, target, text);
+                break;
+        }
+    }
+    
+    private Color color(int level) {
+        return colors[Math.max(1, Math.min(level, colors.length - 1))];
+    }
+    
+    private static boolean isParticle(Type type) {
+        return type == Type.PARTICLE || type == Type.PARTICLE_RING || type == Type.PARTICLE_LINE;
+    }
+    
+    /**
+     * Reads the dust color of a particle step, either one color or one per level, written as {@code #RRGGBB}.
+     *
+     * @param section The step section
+     * @param maxLevel The maximum level of the enchantment
+     * @return The color per level, with nulls if the step has no color
+     */
+    private static Color[] parseColors(ConfigurationSection section, int maxLevel) {
+        Color[] colors = new Color[maxLevel + 1];
+        if (section.isList("color")) {
+            List<String> values = section.getStringList("color");
+            if (values.isEmpty()) {
+                throw new IllegalArgumentException(section.getCurrentPath() + ".color must not be empty");
+            }
+            for (int level = 1; level <= maxLevel; level++) {
+                colors[level] = parseColor(values.get(Math.min(level, values.size()) - 1));
+            }
+        } else if (section.isString("color")) {
+            Color color = parseColor(section.getString("color"));
+            for (int level = 1; level <= maxLevel; level++) {
+                colors[level] = color;
+            }
+        }
+        return colors;
+    }
+    
+    private static Color parseColor(String value) {
+        String hex = value.startsWith("#") ? value.substring(1) : value;
+        try {
+            return Color.fromRGB(Integer.parseInt(hex, 16));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid color, expected #RRGGBB: " + value);
+        }
+    }
+    
+    private static String require(ConfigurationSection section, String key) {
+        String value = section.getString(key);
+        if (value == null) {
+            throw new IllegalArgumentException(section.getCurrentPath() + " is missing " + key);
+        }
+        return value;
+    }
+    
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String description) {
+        if (name == null) {
+            throw new IllegalArgumentException("Missing " + description);
+        }
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + description + ": " + name);
+        }
+    }
+}
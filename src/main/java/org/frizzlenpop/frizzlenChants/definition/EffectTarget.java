@@ -0,0 +1,23 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+/**
+ * Who or where an effect step acts on.
+ */
+public enum EffectTarget {
+    
+    /**
+     * The holder of the enchanted item.
+     */
+    SELF,
+    
+    /**
+     * The other entity of the trigger.
+     */
+    OTHER,
+    
+    /**
+     * Every living entity within the step's radius of the other entity, except the holder.
+     * Steps that act on a single location use the other entity's location.
+     */
+    AREA
+}
@@ -0,0 +1,121 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+import org.frizzlenpop.frizzlenChants.jfr.JfrProcRoll;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * The compiled, immutable form of a data-driven enchantment: its trigger, conditions,
+ * proc chance and cooldown per level, and the effect steps to run when it procs.
+ * Cooldown state lives outside the pipeline, in a {@link Cooldowns} per enchantment.
+ */
+public final class EnchantPipeline {
+
+    /**
+     * Whose cooldown a proc starts.
+     */
+    public enum CooldownScope {
+        SELF,
+        OTHER
+    }
+    
+    private final String name;
+    private final Trigger trigger;
+    private final Condition[] conditions;
+    private final LevelTable chance;
+    private final long cooldownMillis;
+    private final CooldownScope cooldownScope;
+    private final EffectStep[] steps;
+    private final boolean usesHealth;
+    
+    EnchantPipeline(String name, Trigger trigger, List<Condition> conditions, LevelTable chance,
+                    long cooldownMillis, CooldownScope cooldownScope, List<EffectStep> steps) {
+        this.name = name;
+        this.trigger = trigger;
+        this.conditions = conditions.toArray(new Condition[0]);
+        this.chance = chance;
+        this.cooldownMillis = cooldownMillis;
+        this.cooldownScope = cooldownScope;
+        this.steps = steps.toArray(new EffectStep[0]);
+        
+        boolean health = false;
+        for (Condition condition : this.conditions) {
+            health |= condition.getType() == Condition.Type.SELF_HEALTH_BELOW ||
+                      condition.getType() == Condition.Type.OTHER_HEALTH_BELOW;
+        }
+        this.usesHealth = health;
+    }
+    
+    /**
+     * Checks the conditions, cooldown and proc chance of a trigger and, if they all pass,
+     * runs every effect step.
+     *
+     * @param context The trigger
+     * @param level The enchantment level
+     * @param cooldowns The cooldown state of the enchantment
+     * @param random The random source for the proc roll
+     * @param applier The applier that performs the effects
+     * @return true if the pipeline procced
+     */
+    public boolean fire(TriggerContext context, int level, Cooldowns cooldowns, RandomGenerator random, EffectApplier applier) {
+        for (Condition condition : conditions) {
+            if (!condition.test(context)) {
+                return false;
+            }
+        }
+        
+        UUID cooldownId = cooldownScope == CooldownScope.OTHER ? context.otherId : context.selfId;
+        if (cooldownMillis > 0 && !cooldowns.isReady(cooldownId, context.now, cooldownMillis)) {
+            return false;
+        }
+        
+        // A chance of 100 or more always procs and skips the roll
+        double procChance = chance.get(level);
+        if (procChance < 100) {
+            boolean procced = random.nextDouble() * 100 < procChance;
+            JfrProcRoll.record(name, level, context.self, procChance / 100, procced);
+            if (!procced) {
+                return false;
+            }
+        }
+        
+        if (cooldownMillis > 0) {
+            cooldowns.start(cooldownId, context.now, cooldownMillis);
+        }
+        
+        for (EffectStep step : steps) {
+            step.run(context, level, applier);
+        }
+        return true;
+    }
+    
+    /**
+     * Returns the trigger of this pipeline.
+     *
+     * @return The trigger
+     */
+    public Trigger getTrigger() {
+        return trigger;
+    }
+    
+    /**
+     * Checks whether any condition reads the health of the entities, so listeners only
+     * compute health fractions when needed.
+     *
+     * @return true if the trigger context needs health values
+     */
+    public boolean usesHealth() {
+        return usesHealth;
+    }
+    
+    /**
+     * Returns the number of effect steps.
+     *
+     * @return The number of steps
+     */
+    public int getStepCount() {
+        return steps.length;
+    }
+}
@@ -0,0 +1,100 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A number that depends on the enchantment level, precomputed for every level when a
+ * definition is compiled. In YAML it is written as a plain number, as a list with one
+ * value per level, or as a section with {@code base} and {@code per-level} keys, which
+ * gives {@code base + per-level * level}. Levels outside the defined range are clamped.
+ */
+public final class LevelTable {
+
+    private final double[] values;
+    
+    private LevelTable(double[] values) {
+        this.values = values;
+    }
+    
+    /**
+     * Creates a table with the same value at every level.
+     *
+     * @param value The value
+     * @param maxLevel The maximum level
+     * @return The table
+     */
+    public static LevelTable constant(double value, int maxLevel) {
+        double[] values = new double[maxLevel + 1];
+        Arrays.fill(values, value);
+        return new LevelTable(values);
+    }
+    
+    /**
+     * Reads a level-dependent value from a definition.
+     *
+     * @param section The section holding the value
+     * @param key The key of the value
+     * @param fallback The value to use if the key is missing
+     * @param maxLevel The maximum level
+     * @return The table
+     * @throws IllegalArgumentException If the value is malformed
+     */
+    public static LevelTable read(ConfigurationSection section, String key, double fallback, int maxLevel) {
+        Object raw = section.get(key);
+        if (raw == null) {
+            return constant(fallback, maxLevel);
+        }
+        
+        double[] values = new double[maxLevel + 1];
+        if (raw instanceof Number) {
+            Arrays.fill(values, ((Number) raw).doubleValue());
+        } else if (raw instanceof List) {
+            List<?> list = (List<?>) raw;
+            if (list.isEmpty()) {
+                throw new IllegalArgumentException(section.getCurrentPath() + "." + key + " must not be empty");
+            }
+            for (int level = 1; level <= maxLevel; level++) {
+                Object value = list.get(Math.min(level, list.size()) - 1);
+                if (!(value instanceof Number)) {
+                    throw new IllegalArgumentException(section.getCurrentPath() + "." + key + " must only contain numbers");
+                }
+                values[level] = ((Number) value).doubleValue();
+            }
+        } else if (raw instanceof ConfigurationSection) {
+            ConfigurationSection scaled = (ConfigurationSection) raw;
+            double base = scaled.getDouble("base");
+            double perLevel = scaled.getDouble("per-level");
+            for (int level = 1; level <= maxLevel; level++) {
+                values[level] = base + perLevel * level;
+            }
+        } else {
+            throw new IllegalArgumentException(section.getCurrentPath() + "." + key +
+                " must be a number, a list or a section with base and per-level");
+        }
+        
+        return new LevelTable(values);
+    }
+    
+    /**
+     * Returns the value at a level.
+     *
+     * @param level The enchantment level
+     * @return The value
+     */
+    public double get(int level) {
+        return values[Math.max(1, Math.min(level, values.length - 1))];
+    }
+    
+    /**
+     * Returns the value at a level, truncated to an integer.
+     *
+     * @param level The enchantment level
+     * @return The value
+     */
+    public int getInt(int level) {
+        return (int) get(level);
+    }
+}
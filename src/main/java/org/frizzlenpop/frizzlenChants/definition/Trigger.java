@@ -0,0 +1,41 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+import java.util.Locale;
+
+/**
+ * The situations a data-driven enchantment can react to. In every trigger the "self"
+ * entity is the holder of the enchanted item and "other" is the entity on the other side
+ * of the hit.
+ */
+public enum Trigger {
+    
+    /**
+     * A player hits a living entity in melee; the level is read from the main hand.
+     */
+    ATTACK,
+    
+    /**
+     * A player is hit by a living entity or its projectile; levels are read from the armor.
+     */
+    DEFEND,
+    
+    /**
+     * A projectile fired by a player hits a living entity; the level is read from the launch snapshot.
+     */
+    PROJECTILE_HIT;
+    
+    /**
+     * Parses a trigger name as written in a definition, such as {@code projectile-hit}.
+     *
+     * @param name The trigger name
+     * @return The trigger
+     * @throws IllegalArgumentException If the name is unknown
+     */
+    public static Trigger parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown trigger: " + name);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.frizzlenpop.frizzlenChants.definition;
+
+import org.bukkit.entity.LivingEntity;
+
+import java.util.UUID;
+
+/**
+ * The facts a pipeline needs about one trigger. The listener fills a context from the
+ * event before running the pipelines of the item, so conditions are plain field reads.
+ * Contexts are reused and confined to the thread that fills them.
+ */
+public final class TriggerContext {
+
+    LivingEntity self;
+    LivingEntity other;
+    UUID selfId;
+    UUID otherId;
+    boolean critical;
+    boolean sneaking;
+    boolean otherIsPlayer;
+    double selfHealth;
+    double otherHealth;
+    long now;
+    
+    /**
+     * Fills this context for a new trigger.
+     *
+     * @param self The holder of the enchanted item, may be null outside a server
+     * @param selfId The UUID of the holder
+     * @param other The other entity, may be null outside a server
+     * @param otherId The UUID of the other entity
+     * @param now The current time in milliseconds
+     * @return This context
+     */
+    public TriggerContext set(LivingEntity self, UUID selfId, LivingEntity other, UUID otherId, long now) {
+        this.self = self;
+        this.selfId = selfId;
+        this.other = other;
+        this.otherId = otherId;
+        this.now = now;
+        this.critical = false;
+        this.sneaking = false;
+        this.otherIsPlayer = false;
+        this.selfHealth = 1.0;
+        this.otherHealth = 1.0;
+        return this;
+    }
+    
+    /**
+     * Sets the state of the holder.
+     *
+     * @param critical Whether the hit is a critical hit
+     * @param sneaking Whether the holder is sneaking
+     * @return This context
+     */
+    public TriggerContext selfState(boolean critical, boolean sneaking) {
+        this.critical = critical;
+        this.sneaking = sneaking;
+        return this;
+    }
+    
+    /**
+     * Sets whether the other entity is a player.
+     *
+     * @param otherIsPlayer Whether the other entity is a player
+     * @return This context
+     */
+    public TriggerContext otherIsPlayer(boolean otherIsPlayer) {
+        this.otherIsPlayer = otherIsPlayer;
+        return this;
+    }
+    
+    /**
+     * Sets the health of both entities as fractions of their maximum health.
+     *
+     * @param selfHealth The holder's health fraction
+     * @param otherHealth The other entity's health fraction
+     * @return This context
+     */
+    public TriggerContext health(double selfHealth, double otherHealth) {
+        this.selfHealth = selfHealth;
+        this.otherHealth = otherHealth;
+        return this;
+    }
+    
+    /**
+     * Returns the holder of the enchanted item.
+     *
+     * @return The holder
+     */
+    public LivingEntity getSelf() {
+        return self;
+    }
+    
+    /**
+     * Returns the other entity.
+     *
+     * @return The other entity
+     */
+    public LivingEntity getOther() {
+        return other;
+    }
+    
+    /**
+     * Returns whether the other entity is a player.
+     *
+     * @return true if the other entity is a player
+     */
+    public boolean isOtherPlayer() {
+        return otherIsPlayer;
+    }
+}
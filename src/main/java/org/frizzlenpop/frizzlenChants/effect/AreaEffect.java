@@ -0,0 +1,236 @@
+package org.frizzlenpop.frizzlenChants.effect;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.potion.PotionEffect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * One area effect request: damage, knockback and potion effects applied to the entities
+ * around a point. Requests are handed to {@link AreaEffectResolver}, which merges every
+ * request of a tick into shared entity lookups. The area is the cube of the given radius
+ * around the center, matching {@code World#getNearbyEntities(Location, double, double, double)}.
+ */
+public final class AreaEffect {
+
+    private final World world;
+    private final double x, y, z;
+    private final double radius;
+    private final Entity attacker;
+    
+    private double damage;
+    private double minDamageFactor = 1.0;
+    private double knockback;
+    private boolean knockbackFalloff;
+    private double knockbackLift = Double.NaN;
+    private double knockbackMinY = Double.NaN;
+    private boolean livingOnly = true;
+    private List<PotionEffect> potions = Collections.emptyList();
+    private Predicate<Entity> filter;
+    private Consumer<Entity> onHit;
+    private String enchant;
+    private int level;
+    
+    /**
+     * Creates a new area effect. The attacker is never affected by its own effect.
+     *
+     * @param center The center of the area
+     * @param radius The radius of the area
+     * @param attacker The entity credited with the effect, or null
+     */
+    public AreaEffect(Location center, double radius, Entity attacker) {
+        this.world = center.getWorld();
+        this.x = center.getX();
+        this.y = center.getY();
+        this.z = center.getZ();
+        this.radius = radius;
+        this.attacker = attacker;
+    }
+    
+    /**
+     * Deals damage that falls off linearly from the center toward the edge of the area.
+     *
+     * @param amount The damage at the center
+     * @param minFactor The smallest fraction of the damage dealt, 1.0 for no falloff
+     * @return This effect
+     */
+    public AreaEffect damage(double amount, double minFactor) {
+        this.damage = amount;
+        this.minDamageFactor = minFactor;
+        return this;
+    }
+    
+    /**
+     * Pushes entities away from the center.
+     *
+     * @param strength The knockback strength
+     * @param falloff Whether the strength falls off toward the edge of the area
+     * @return This effect
+     */
+    public AreaEffect knockback(double strength, boolean falloff) {
+        this.knockback = strength;
+        this.knockbackFalloff = falloff;
+        return this;
+    }
+    
+    /**
+     * Replaces the vertical part of the knockback direction before it is scaled, tilting the
+     * push upward.
+     *
+     * @param lift The vertical component of the unnormalized direction
+     * @return This effect
+     */
+    public AreaEffect knockbackLift(double lift) {
+        this.knockbackLift = lift;
+        return this;
+    }
+    
+    /**
+     * Raises the vertical part of the knockback to at least the given value after it is scaled.
+     *
+     * @param minY The minimum vertical knockback
+     * @return This effect
+     */
+    public AreaEffect knockbackMinY(double minY) {
+        this.knockbackMinY = minY;
+        return this;
+    }
+    
+    /**
+     * Applies a potion effect to every living entity in the area.
+     *
+     * @param potion The potion effect
+     * @return This effect
+     */
+    public AreaEffect potion(PotionEffect potion) {
+        if (potions.isEmpty()) {
+            potions = new ArrayList<>(2);
+        }
+        potions.add(potion);
+        return this;
+    }
+    
+    /**
+     * Lets the effect reach non-living entities such as projectiles. Only knockback applies to them.
+     *
+     * @return This effect
+     */
+    public AreaEffect includeNonLiving() {
+        this.livingOnly = false;
+        return this;
+    }
+    
+    /**
+     * Restricts the effect to entities accepted by a filter.
+     *
+     * @param filter The filter
+     * @return This effect
+     */
+    public AreaEffect filter(Predicate<Entity> filter) {
+        this.filter = filter;
+        return this;
+    }
+    
+    /**
+     * Sets a callback run for every entity reached, after the tick's effects have been applied.
+     *
+     * @param onHit The callback
+     * @return This effect
+     */
+    public AreaEffect onHit(Consumer<Entity> onHit) {
+        this.onHit = onHit;
+        return this;
+    }
+    
+    /**
+     * Names the enchantment the effect comes from, for diagnostics such as Flight Recorder
+     * events.
+     *
+     * @param enchant The enchantment name
+     * @param level The enchantment level
+     * @return This effect
+     */
+    public AreaEffect source(String enchant, int level) {
+        this.enchant = enchant;
+        this.level = level;
+        return this;
+    }
+    
+    World getWorld() {
+        return world;
+    }
+    
+    double getX() {
+        return x;
+    }
+    
+    double getY() {
+        return y;
+    }
+    
+    double getZ() {
+        return z;
+    }
+    
+    double getRadius() {
+        return radius;
+    }
+    
+    Entity getAttacker() {
+        return attacker;
+    }
+    
+    double getDamage() {
+        return damage;
+    }
+    
+    double getMinDamageFactor() {
+        return minDamageFactor;
+    }
+    
+    double getKnockback() {
+        return knockback;
+    }
+    
+    boolean hasKnockbackFalloff() {
+        return knockbackFalloff;
+    }
+    
+    double getKnockbackLift() {
+        return knockbackLift;
+    }
+    
+    double getKnockbackMinY() {
+        return knockbackMinY;
+    }
+    
+    boolean isLivingOnly() {
+        return livingOnly;
+    }
+    
+    List<PotionEffect> getPotions() {
+        return potions;
+    }
+    
+    Predicate<Entity> getFilter() {
+        return filter;
+    }
+    
+    Consumer<Entity> getOnHit() {
+        return onHit;
+    }
+    
+    String getEnchant() {
+        return enchant;
+    }
+    
+    int getLevel() {
+        return level;
+    }
+}
@@ -0,0 +1,336 @@
+package org.frizzlenpop.frizzlenChants.effect;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.Vector;
+import org.frizzlenpop.frizzlenChants.jfr.JfrAreaResolve;
+import org.frizzlenpop.frizzlenChants.schedule.RegionShards;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Resolves every {@link AreaEffect} requested during a tick in one pass.
+ * Overlapping areas are merged so each cluster needs a single entity lookup, and every
+ * victim is then updated once: it takes the strongest hit aimed at it this tick (credited to
+ * that hit's attacker), the sum of all knockback and the strongest effect of each potion type.
+ * Requests are resolved on the tick after they are submitted. Each {@link RegionShards} shard
+ * has its own resolver, confined to the thread that owns the shard.
+ */
+public class AreaEffectResolver implements RegionShards.Shard {
+
+    private static final double EPSILON = 1.0E-6;
+    
+    private List<AreaEffect> pending = new ArrayList<>();
+    private List<AreaEffect> resolving = new ArrayList<>();
+    
+    /**
+     * Queues an area effect for the next resolve pass.
+     *
+     * @param effect The area effect
+     */
+    public void submit(AreaEffect effect) {
+        pending.add(effect);
+    }
+    
+    /**
+     * Returns the number of area effects waiting to be resolved.
+     *
+     * @return The number of pending effects
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+    
+    /**
+     * Drops every pending area effect.
+     */
+    @Override
+    public void shutdown() {
+        pending.clear();
+    }
+    
+    /**
+     * Resolves every pending area effect.
+     *
+     * @return false if there was nothing to resolve
+     */
+    @Override
+    public boolean tick() {
+        if (pending.isEmpty()) {
+            return false;
+        }
+        
+        // Swap the queues so effects submitted by hit callbacks land in the next pass
+        List<AreaEffect> effects = pending;
+        pending = resolving;
+        resolving = effects;
+        
+        Map<Entity, Hit> hits = new LinkedHashMap<>();
+        
+        for (Cluster cluster : cluster(effects)) {
+            JfrAreaResolve flight = JfrAreaResolve.start();
+            int entities = 0;
+            int reached = 0;
+            
+            for (Entity entity : cluster.world.getNearbyEntities(cluster.area)) {
+                BoundingBox bounds = null;
+                entities++;
+                
+                for (AreaEffect effect : cluster.effects) {
+                    if (entity.equals(effect.getAttacker()) ||
+                        (effect.isLivingOnly() && !(entity instanceof LivingEntity))) {
+                        continue;
+                    }
+                    
+                    if (bounds == null) {
+                        bounds = entity.getBoundingBox();
+                    }
+                    
+                    if (!reaches(effect, bounds) ||
+                        (effect.getFilter() != null && !effect.getFilter().test(entity))) {
+                        continue;
+                    }
+                    
+                    hits.computeIfAbsent(entity, Hit::new).add(effect);
+                    reached++;
+                }
+            }
+            
+            if (flight.wanted()) {
+                commit(flight, cluster, entities, reached);
+            }
+        }
+        
+        effects.clear();
+        
+        for (Hit hit : hits.values()) {
+            hit.apply();
+        }
+        return true;
+    }
+    
+    /**
+     * Groups effects whose areas overlap, so each group can share one entity lookup.
+     *
+     * @param effects The effects to group
+     * @return The clusters
+     */
+    private List<Cluster> cluster(List<AreaEffect> effects) {
+        List<Cluster> clusters = new ArrayList<>();
+        
+        for (AreaEffect effect : effects) {
+            BoundingBox area = areaOf(effect);
+            Cluster target = null;
+            
+            for (Cluster cluster : clusters) {
+                if (cluster.world == effect.getWorld() && cluster.area.overlaps(area)) {
+                    target = cluster;
+                    break;
+                }
+            }
+            
+            if (target == null) {
+                clusters.add(new Cluster(effect.getWorld(), area, effect));
+            } else {
+                target.area.union(area);
+                target.effects.add(effect);
+            }
+        }
+        
+        return clusters;
+    }
+    
+    /**
+     * Describes a resolved cluster in its Flight Recorder event.
+     *
+     * @param flight The event
+     * @param cluster The cluster
+     * @param entities The entities the lookup returned
+     * @param reached The effect and entity pairs that hit
+     */
+    private static void commit(JfrAreaResolve flight, Cluster cluster, int entities, int reached) {
+        Set<String> enchants = new LinkedHashSet<>();
+        int level = 0;
+        for (AreaEffect effect : cluster.effects) {
+            enchants.add(effect.getEnchant() != null ? effect.getEnchant() : "unknown");
+            level = Math.max(level, effect.getLevel());
+        }
+        
+        AreaEffect first = cluster.effects.get(0);
+        Location center = new Location(first.getWorld(), first.getX(), first.getY(), first.getZ());
+        flight.commit(String.join(",", enchants), level, center, cluster.effects.size(), entities, reached);
+    }
+    
+    /**
+     * Returns the cube an effect covers.
+     *
+     * @param effect The effect
+     * @return The area of the effect
+     */
+    private static BoundingBox areaOf(AreaEffect effect) {
+        double r = effect.getRadius();
+        return new BoundingBox(effect.getX() - r, effect.getY() - r, effect.getZ() - r,
+            effect.getX() + r, effect.getY() + r, effect.getZ() + r);
+    }
+    
+    /**
+     * Checks if an entity's bounding box overlaps the cube an effect covers.
+     *
+     * @param effect The effect
+     * @param bounds The entity's bounding box
+     * @return true if the effect reaches the entity
+     */
+    private static boolean reaches(AreaEffect effect, BoundingBox bounds) {
+        double r = effect.getRadius();
+        return bounds.getMaxX() >= effect.getX() - r && bounds.getMinX() <= effect.getX() + r &&
+               bounds.getMaxY() >= effect.getY() - r && bounds.getMinY() <= effect.getY() + r &&
+               bounds.getMaxZ() >= effect.getZ() - r && bounds.getMinZ() <= effect.getZ() + r;
+    }
+    
+    /**
+     * Effects whose areas overlap, sharing one entity lookup.
+     */
+    private static final class Cluster {
+        private final World world;
+        private final BoundingBox area;
+        private final List<AreaEffect> effects = new ArrayList<>(4);
+        
+        private Cluster(World world, BoundingBox area, AreaEffect first) {
+            this.world = world;
+            this.area = area;
+            this.effects.add(first);
+        }
+    }
+    
+    /**
+     * Everything that reaches one entity in a resolve pass.
+     */
+    private static final class Hit {
+        private final Entity entity;
+        private final List<AreaEffect> effects = new ArrayList<>(2);
+        private double damage;
+        private Entity damager;
+        private double knockbackX, knockbackY, knockbackZ;
+        private Map<PotionEffectType, PotionEffect> potions;
+        
+        private Hit(Entity entity) {
+            this.entity = entity;
+        }
+        
+        /**
+         * Merges the contribution of one effect into this hit.
+         *
+         * @param effect The effect reaching the entity
+         */
+        private void add(AreaEffect effect) {
+            effects.add(effect);
+            
+            Location location = entity.getLocation();
+            double dx = location.getX() - effect.getX();
+            double dy = location.getY() - effect.getY();
+            double dz = location.getZ() - effect.getZ();
+            double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            double distanceFactor = 1.0 - (distance / effect.getRadius());
+            
+            // Keep only the strongest hit, credited to its attacker
+            if (effect.getDamage() > 0) {
+                double amount = effect.getDamage() * Math.max(effect.getMinDamageFactor(), distanceFactor);
+                if (amount > damage) {
+                    damage = amount;
+                    damager = effect.getAttacker();
+                }
+            }
+            
+            // Knockback away from the center adds up across effects
+            if (effect.getKnockback() != 0 && distance > EPSILON) {
+                dx /= distance;
+                dy /= distance;
+                dz /= distance;
+                
+                if (!Double.isNaN(effect.getKnockbackLift())) {
+                    dy = effect.getKnockbackLift();
+                    double length = Math.sqrt(dx * dx + dy * dy + dz * dz);
+                    dx /= length;
+                    dy /= length;
+                    dz /= length;
+                }
+                
+                double strength = effect.getKnockback() * (effect.hasKnockbackFalloff() ? distanceFactor : 1.0);
+                dx *= strength;
+                dy *= strength;
+                dz *= strength;
+                
+                if (!Double.isNaN(effect.getKnockbackMinY())) {
+                    dy = Math.max(effect.getKnockbackMinY(), dy);
+                }
+                
+                knockbackX += dx;
+                knockbackY += dy;
+                knockbackZ += dz;
+            }
+            
+            // Keep the strongest effect of each potion type
+            for (PotionEffect potion : effect.getPotions()) {
+                if (potions == null) {
+                    potions = new HashMap<>();
+                }
+                
+                PotionEffect current = potions.get(potion.getType());
+                if (current == null || potion.getAmplifier() > current.getAmplifier() ||
+                    (potion.getAmplifier() == current.getAmplifier() && potion.getDuration() > current.getDuration())) {
+                    potions.put(potion.getType(), potion);
+                }
+            }
+        }
+        
+        /**
+         * Applies the merged damage, knockback and potion effects, then runs the hit callbacks.
+         */
+        private void apply() {
+            if (!entity.isValid()) {
+                return;
+            }
+            
+            if (entity instanceof LivingEntity) {
+                LivingEntity living = (LivingEntity) entity;
+                
+                if (damage > 0) {
+                    if (damager != null) {
+                        living.damage(damage, damager);
+                    } else {
+                        living.damage(damage);
+                    }
+                }
+                
+                if (potions != null) {
+                    for (PotionEffect potion : potions.values()) {
+                        living.addPotionEffect(potion);
+                    }
+                }
+            }
+            
+            if (knockbackX != 0 || knockbackY != 0 || knockbackZ != 0) {
+                entity.setVelocity(entity.getVelocity().add(new Vector(knockbackX, knockbackY, knockbackZ)));
+            }
+            
+            for (AreaEffect effect : effects) {
+                Consumer<Entity> onHit = effect.getOnHit();
+                if (onHit != null) {
+                    onHit.accept(entity);
+                }
+            }
+        }
+    }
+}
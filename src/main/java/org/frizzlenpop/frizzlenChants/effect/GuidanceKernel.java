@@ -0,0 +1,443 @@
+package org.frizzlenpop.frizzlenChants.effect;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays state and integrator for homing projectiles.
+ * All projectiles are stepped together in a single loop over primitive arrays, so the
+ * per-tick cost is a handful of floating point operations per projectile with no allocation.
+ * This class has no Bukkit dependencies; {@link HomingGuidanceEngine} feeds it world state
+ * and applies its results.
+ */
+public final class GuidanceKernel {
+
+    // Flight phases
+    public static final byte PHASE_ARMING = 0; // Waiting for the initial turn delay
+    public static final byte PHASE_SEEKING = 1; // Homing enabled but no target
+    public static final byte PHASE_ASCEND = 2; // Javelin climb after a target lock
+    public static final byte PHASE_DESCEND = 3; // Steep dive toward the target
+    public static final byte PHASE_TRACK = 4; // Direct pursuit
+    
+    // Per-step event flags
+    public static final int EVENT_STEERED = 1; // Velocity was changed and must be written back
+    public static final int EVENT_DIVE = 1 << 1; // Switched from ascent to descent
+    public static final int EVENT_IMPACT = 1 << 2; // Reached the target
+    public static final int EVENT_EXPIRED = 1 << 3; // Tracking time ran out
+    
+    public static final int NO_TARGET = -1;
+    
+    private static final int ASCEND_TICKS = 10;
+    private static final int DESCEND_TICKS = 15;
+    private static final double AIM_HEIGHT = 1.0; // Aim at the body, not the feet
+    private static final double IMPACT_DISTANCE_SQUARED = 3.0;
+    private static final double MIN_DIVE_SPEED = 1.5;
+    private static final double MAX_LEAD_TICKS = 20.0;
+    private static final double EPSILON = 1.0E-6;
+    
+    private int size;
+    
+    // Projectile state
+    private double[] px, py, pz;
+    private double[] vx, vy, vz;
+    private byte[] phase;
+    private int[] ticks;
+    private int[] phaseTicks;
+    private int[] events;
+    
+    // Per-projectile tuning
+    private int[] turnDelay;
+    private int[] maxTicks;
+    private double[] turnStrength;
+    
+    // Target state
+    private int[] targetId;
+    private double[] tx, ty, tz;
+    private double[] tvx, tvy, tvz;
+    
+    /**
+     * Creates a new kernel.
+     *
+     * @param initialCapacity The number of projectiles to size the arrays for
+     */
+    public GuidanceKernel(int initialCapacity) {
+        int capacity = Math.max(4, initialCapacity);
+        px = new double[capacity];
+        py = new double[capacity];
+        pz = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        vz = new double[capacity];
+        phase = new byte[capacity];
+        ticks = new int[capacity];
+        phaseTicks = new int[capacity];
+        events = new int[capacity];
+        turnDelay = new int[capacity];
+        maxTicks = new int[capacity];
+        turnStrength = new double[capacity];
+        targetId = new int[capacity];
+        tx = new double[capacity];
+        ty = new double[capacity];
+        tz = new double[capacity];
+        tvx = new double[capacity];
+        tvy = new double[capacity];
+        tvz = new double[capacity];
+    }
+    
+    /**
+     * Adds a projectile to the kernel.
+     *
+     * @param turnDelay Ticks before homing starts
+     * @param turnStrength Blend factor toward the target during direct tracking
+     * @param maxTicks Ticks after which tracking stops
+     * @return The slot of the new projectile
+     */
+    public int add(int turnDelay, double turnStrength, int maxTicks) {
+        if (size == px.length) {
+            grow(size * 2);
+        }
+        
+        int i = size++;
+        px[i] = py[i] = pz[i] = 0;
+        vx[i] = vy[i] = vz[i] = 0;
+        phase[i] = PHASE_ARMING;
+        ticks[i] = 0;
+        phaseTicks[i] = 0;
+        events[i] = 0;
+        this.turnDelay[i] = turnDelay;
+        this.turnStrength[i] = turnStrength;
+        this.maxTicks[i] = maxTicks;
+        targetId[i] = NO_TARGET;
+        tvx[i] = tvy[i] = tvz[i] = 0;
+        return i;
+    }
+    
+    /**
+     * Removes a projectile by moving the last slot into its place.
+     *
+     * @param i The slot to remove
+     * @return The slot that was moved into {@code i}, or -1 if {@code i} was the last slot
+     */
+    public int remove(int i) {
+        int last = --size;
+        if (i == last) {
+            return -1;
+        }
+        
+        px[i] = px[last];
+        py[i] = py[last];
+        pz[i] = pz[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        vz[i] = vz[last];
+        phase[i] = phase[last];
+        ticks[i] = ticks[last];
+        phaseTicks[i] = phaseTicks[last];
+        events[i] = events[last];
+        turnDelay[i] = turnDelay[last];
+        maxTicks[i] = maxTicks[last];
+        turnStrength[i] = turnStrength[last];
+        targetId[i] = targetId[last];
+        tx[i] = tx[last];
+        ty[i] = ty[last];
+        tz[i] = tz[last];
+        tvx[i] = tvx[last];
+        tvy[i] = tvy[last];
+        tvz[i] = tvz[last];
+        return last;
+    }
+    
+    /**
+     * Removes every projectile.
+     */
+    public void clear() {
+        size = 0;
+    }
+    
+    /**
+     * Updates the observed position and velocity of a projectile.
+     *
+     * @param i The projectile slot
+     * @param x The X position
+     * @param y The Y position
+     * @param z The Z position
+     * @param velX The X velocity
+     * @param velY The Y velocity
+     * @param velZ The Z velocity
+     */
+    public void setMotion(int i, double x, double y, double z, double velX, double velY, double velZ) {
+        px[i] = x;
+        py[i] = y;
+        pz[i] = z;
+        vx[i] = velX;
+        vy[i] = velY;
+        vz[i] = velZ;
+    }
+    
+    /**
+     * Updates the target of a projectile. Target velocity is estimated from the previous
+     * observation of the same target, and a new target restarts the javelin manoeuvre.
+     *
+     * @param i The projectile slot
+     * @param id A stable identifier for the target (e.g. the entity id)
+     * @param x The target X position
+     * @param y The target Y position (feet)
+     * @param z The target Z position
+     */
+    public void setTarget(int i, int id, double x, double y, double z) {
+        if (targetId[i] == id) {
+            tvx[i] = x - tx[i];
+            tvy[i] = y - ty[i];
+            tvz[i] = z - tz[i];
+        } else {
+            targetId[i] = id;
+            tvx[i] = tvy[i] = tvz[i] = 0;
+            phase[i] = PHASE_ASCEND;
+            phaseTicks[i] = 0;
+        }
+        
+        tx[i] = x;
+        ty[i] = y;
+        tz[i] = z;
+    }
+    
+    /**
+     * Drops the target of a projectile, returning it to seeking if homing is active.
+     *
+     * @param i The projectile slot
+     */
+    public void clearTarget(int i) {
+        targetId[i] = NO_TARGET;
+        phase[i] = isArmed(i) ? PHASE_SEEKING : PHASE_ARMING;
+    }
+    
+    /**
+     * Steps every projectile by one tick.
+     */
+    public void step() {
+        final int n = size;
+        
+        for (int i = 0; i < n; i++) {
+            events[i] = 0;
+            
+            if (ticks[i] >= maxTicks[i]) {
+                events[i] = EVENT_EXPIRED;
+                continue;
+            }
+            
+            // No guidance until armed and locked on
+            if (ticks[i]++ < turnDelay[i] || targetId[i] == NO_TARGET) {
+                continue;
+            }
+            
+            byte p = phase[i];
+            
+            double x = px[i], y = py[i], z = pz[i];
+            double velX = vx[i], velY = vy[i], velZ = vz[i];
+            double speed = Math.sqrt(velX * velX + velY * velY + velZ * velZ);
+            
+            // Predictive intercept: lead the target by the time needed to reach it
+            double dx = tx[i] - x;
+            double dy = ty[i] - y;
+            double dz = tz[i] - z;
+            double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            double lead = Math.min(MAX_LEAD_TICKS, distance / Math.max(speed, 0.1));
+            double aimX = tx[i] + tvx[i] * lead;
+            double aimY = ty[i] + tvy[i] * lead;
+            double aimZ = tz[i] + tvz[i] * lead;
+            
+            double nx, ny, nz, len;
+            
+            if (p == PHASE_ASCEND) {
+                // Rising phase with a slight pull toward the target
+                nx = aimX - x;
+                ny = aimY - y;
+                nz = aimZ - z;
+                len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+                if (len > EPSILON) {
+                    nx /= len;
+                    nz /= len;
+                }
+                nx *= 0.2;
+                ny = 0.8;
+                nz *= 0.2;
+                len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+                nx = nx / len * speed;
+                ny = ny / len * speed;
+                nz = nz / len * speed;
+                
+                if (++phaseTicks[i] >= ASCEND_TICKS) {
+                    phase[i] = PHASE_DESCEND;
+                    phaseTicks[i] = 0;
+                    events[i] |= EVENT_DIVE;
+                }
+            } else if (p == PHASE_DESCEND) {
+                // Diving phase with an exaggerated downward component
+                speed = Math.max(speed, MIN_DIVE_SPEED);
+                nx = aimX - x;
+                ny = aimY + AIM_HEIGHT - y;
+                nz = aimZ - z;
+                len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+                if (len > EPSILON) {
+                    nx /= len;
+                    ny /= len;
+                    nz /= len;
+                }
+                ny -= 0.3;
+                len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+                if (len > EPSILON) {
+                    nx = nx / len * speed;
+                    ny = ny / len * speed;
+                    nz = nz / len * speed;
+                }
+                
+                if (++phaseTicks[i] >= DESCEND_TICKS) {
+                    phase[i] = PHASE_TRACK;
+                    phaseTicks[i] = 0;
+                }
+            } else {
+                // Direct tracking: blend the current velocity toward the intercept point
+                double strength = turnStrength[i];
+                nx = aimX - x;
+                ny = aimY + AIM_HEIGHT - y;
+                nz = aimZ - z;
+                len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+                double boost = len > EPSILON ? (speed + 0.1) / len : 0;
+                nx = velX * (1 - strength) + nx * boost * strength;
+                ny = velY * (1 - strength) + ny * boost * strength;
+                nz = velZ * (1 - strength) + nz * boost * strength;
+                len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+                if (len > EPSILON) {
+                    nx = nx / len * speed;
+                    ny = ny / len * speed;
+                    nz = nz / len * speed;
+                }
+            }
+            
+            vx[i] = nx;
+            vy[i] = ny;
+            vz[i] = nz;
+            events[i] |= EVENT_STEERED;
+            
+            if (dx * dx + dy * dy + dz * dz < IMPACT_DISTANCE_SQUARED) {
+                events[i] |= EVENT_IMPACT;
+            }
+        }
+    }
+    
+    /**
+     * Returns the number of active projectiles.
+     *
+     * @return The number of active projectiles
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Checks if the turn delay of a projectile has passed, so it should look for targets.
+     *
+     * @param i The projectile slot
+     * @return true if homing is active
+     */
+    public boolean isArmed(int i) {
+        return ticks[i] >= turnDelay[i];
+    }
+    
+    /**
+     * Returns the identifier of the current target of a projectile.
+     *
+     * @param i The projectile slot
+     * @return The target identifier, or {@link #NO_TARGET}
+     */
+    public int getTargetId(int i) {
+        return targetId[i];
+    }
+    
+    /**
+     * Returns the flight phase of a projectile.
+     *
+     * @param i The projectile slot
+     * @return One of the {@code PHASE_} constants
+     */
+    public byte getPhase(int i) {
+        return phase[i];
+    }
+    
+    /**
+     * Returns the number of ticks a projectile has been guided for.
+     *
+     * @param i The projectile slot
+     * @return The tick count
+     */
+    public int getTicks(int i) {
+        return ticks[i];
+    }
+    
+    /**
+     * Returns the events raised for a projectile during the last step.
+     *
+     * @param i The projectile slot
+     * @return A combination of the {@code EVENT_} flags
+     */
+    public int getEvents(int i) {
+        return events[i];
+    }
+    
+    /**
+     * Returns the X velocity computed for a projectile.
+     *
+     * @param i The projectile slot
+     * @return The X velocity
+     */
+    public double getVelocityX(int i) {
+        return vx[i];
+    }
+    
+    /**
+     * Returns the Y velocity computed for a projectile.
+     *
+     * @param i The projectile slot
+     * @return The Y velocity
+     */
+    public double getVelocityY(int i) {
+        return vy[i];
+    }
+    
+    /**
+     * Returns the Z velocity computed for a projectile.
+     *
+     * @param i The projectile slot
+     * @return The Z velocity
+     */
+    public double getVelocityZ(int i) {
+        return vz[i];
+    }
+    
+    /**
+     * Grows every array to the given capacity.
+     *
+     * @param capacity The new capacity
+     */
+    private void grow(int capacity) {
+        px = Arrays.copyOf(px, capacity);
+        py = Arrays.copyOf(py, capacity);
+        pz = Arrays.copyOf(pz, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        vz = Arrays.copyOf(vz, capacity);
+        phase = Arrays.copyOf(phase, capacity);
+        ticks = Arrays.copyOf(ticks, capacity);
+        phaseTicks = Arrays.copyOf(phaseTicks, capacity);
+        events = Arrays.copyOf(events, capacity);
+        turnDelay = Arrays.copyOf(turnDelay, capacity);
+        maxTicks = Arrays.copyOf(maxTicks, capacity);
+        turnStrength = Arrays.copyOf(turnStrength, capacity);
+        targetId = Arrays.copyOf(targetId, capacity);
+        tx = Arrays.copyOf(tx, capacity);
+        ty = Arrays.copyOf(ty, capacity);
+        tz = Arrays.copyOf(tz, capacity);
+        tvx = Arrays.copyOf(tvx, capacity);
+        tvy = Arrays.copyOf(tvy, capacity);
+        tvz = Arrays.copyOf(tvz, capacity);
+    }
+}
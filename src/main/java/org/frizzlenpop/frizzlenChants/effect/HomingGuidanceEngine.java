@@ -0,0 +1,273 @@
+package org.frizzlenpop.frizzlenChants.effect;
+
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.util.Vector;
+import org.frizzlenpop.frizzlenChants.jfr.JfrEffect;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.schedule.RegionShards;
+
+import java.util.Arrays;
+
+/**
+ * Drives the homing projectiles of one {@link RegionShards} shard from its per-tick task.
+ * Each tick reads projectile and target positions into a {@link GuidanceKernel}, steps all
+ * projectiles in one loop and then writes the resulting velocities back in bulk.
+ * Gameplay and rendering decisions stay with the owning enchantment through {@link Handler}.
+ */
+public class HomingGuidanceEngine implements RegionShards.Shard {
+
+    /**
+     * Callbacks from the guidance engine to the enchantment that owns the projectiles.
+     */
+    public interface Handler {
+        
+        /**
+         * Finds a new target for a projectile.
+         *
+         * @param projectile The projectile seeking a target
+         * @param owner The player who launched the projectile
+         * @param range The detection range
+         * @return The new target, or null if none was found
+         */
+        LivingEntity acquireTarget(Projectile projectile, Player owner, double range);
+        
+        /**
+         * Checks if a target is still worth pursuing.
+         *
+         * @param target The current target
+         * @param projectile The projectile pursuing it
+         * @return true if the target is still valid
+         */
+        boolean isValidTarget(LivingEntity target, Projectile projectile);
+        
+        /**
+         * Called every tick for every tracked projectile, before guidance is applied.
+         *
+         * @param projectile The projectile
+         * @param target The current target, or null
+         * @param level The enchantment level
+         * @param tick The number of ticks the projectile has been tracked
+         */
+        void onFlight(Projectile projectile, LivingEntity target, int level, int tick);
+        
+        /**
+         * Called when a projectile locks on to a new target.
+         *
+         * @param projectile The projectile
+         * @param target The new target
+         */
+        void onTargetLocked(Projectile projectile, LivingEntity target);
+        
+        /**
+         * Called when a projectile switches from its climb to its dive.
+         *
+         * @param projectile The projectile
+         */
+        void onDive(Projectile projectile);
+        
+        /**
+         * Called when a projectile reaches its target. The projectile stops being tracked.
+         *
+         * @param projectile The projectile
+         * @param owner The player who launched the projectile
+         * @param level The enchantment level
+         */
+        void onImpact(Projectile projectile, Player owner, int level);
+    }
+    
+    private final ProfileTimer timer;
+    private final Handler handler;
+    private final GuidanceKernel kernel = new GuidanceKernel(16);
+    
+    // Object state, kept in the same slots as the kernel
+    private Projectile[] projectiles = new Projectile[16];
+    private Player[] owners = new Player[16];
+    private LivingEntity[] targets = new LivingEntity[16];
+    private int[] levels = new int[16];
+    private double[] ranges = new double[16];
+    private JfrEffect[] flights = new JfrEffect[16];
+    
+    // Scratch objects reused every tick
+    private final Location scratchLocation = new Location(null, 0, 0, 0);
+    private final Vector scratchVelocity = new Vector();
+    
+    /**
+     * Creates a new homing guidance engine.
+     *
+     * @param handler The callbacks for the owning enchantment
+     * @param timer The timer whose enchantment the projectiles are reported under
+     */
+    public HomingGuidanceEngine(Handler handler, ProfileTimer timer) {
+        this.timer = timer;
+        this.handler = handler;
+    }
+    
+    /**
+     * Starts guiding a projectile.
+     *
+     * @param projectile The projectile to guide
+     * @param owner The player who launched it
+     * @param level The enchantment level
+     * @param range The target detection range
+     * @param turnDelay Ticks before homing starts
+     * @param turnStrength Blend factor toward the target during direct tracking
+     * @param maxTicks Ticks after which tracking stops
+     */
+    public void track(Projectile projectile, Player owner, int level, double range,
+                      int turnDelay, double turnStrength, int maxTicks) {
+        int slot = kernel.add(turnDelay, turnStrength, maxTicks);
+        
+        if (slot >= projectiles.length) {
+            int capacity = projectiles.length * 2;
+            projectiles = Arrays.copyOf(projectiles, capacity);
+            owners = Arrays.copyOf(owners, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            levels = Arrays.copyOf(levels, capacity);
+            ranges = Arrays.copyOf(ranges, capacity);
+            flights = Arrays.copyOf(flights, capacity);
+        }
+        
+        projectiles[slot] = projectile;
+        owners[slot] = owner;
+        targets[slot] = null;
+        levels[slot] = level;
+        ranges[slot] = range;
+        flights[slot] = JfrEffect.start(timer.getEnchant(), level, projectile.getLocation(), "guided projectile");
+    }
+    
+    /**
+     * Returns the number of projectiles being guided.
+     *
+     * @return The number of active projectiles
+     */
+    public int size() {
+        return kernel.size();
+    }
+    
+    /**
+     * Stops guiding every projectile.
+     */
+    @Override
+    public void shutdown() {
+        Arrays.fill(projectiles, 0, kernel.size(), null);
+        Arrays.fill(owners, 0, kernel.size(), null);
+        Arrays.fill(targets, 0, kernel.size(), null);
+        for (int i = 0; i < kernel.size(); i++) {
+            JfrEffect.end(flights[i]);
+        }
+        Arrays.fill(flights, 0, kernel.size(), null);
+        kernel.clear();
+    }
+    
+    /**
+     * Advances every guided projectile by one tick.
+     *
+     * @return false once no projectile is left
+     */
+    @Override
+    public boolean tick() {
+        // Gather phase: sample the world into the kernel
+        for (int i = 0; i < kernel.size(); i++) {
+            Projectile projectile = projectiles[i];
+            
+            if (!projectile.isValid() || projectile.isDead()) {
+                removeSlot(i--);
+                continue;
+            }
+            
+            projectile.getLocation(scratchLocation);
+            Vector velocity = projectile.getVelocity();
+            kernel.setMotion(i, scratchLocation.getX(), scratchLocation.getY(), scratchLocation.getZ(),
+                velocity.getX(), velocity.getY(), velocity.getZ());
+            
+            handler.onFlight(projectile, targets[i], levels[i], kernel.getTicks(i));
+            
+            if (!kernel.isArmed(i)) {
+                continue;
+            }
+            
+            LivingEntity target = targets[i];
+            if (target == null || !handler.isValidTarget(target, projectile)) {
+                target = handler.acquireTarget(projectile, owners[i], ranges[i]);
+                targets[i] = target;
+                
+                if (target == null) {
+                    kernel.clearTarget(i);
+                    continue;
+                }
+                
+                handler.onTargetLocked(projectile, target);
+            }
+            
+            target.getLocation(scratchLocation);
+            kernel.setTarget(i, target.getEntityId(), scratchLocation.getX(), scratchLocation.getY(), scratchLocation.getZ());
+        }
+        
+        // Step phase: one tight loop over all projectiles
+        kernel.step();
+        
+        // Apply phase: write velocities back and dispatch events
+        for (int i = 0; i < kernel.size(); i++) {
+            int events = kernel.getEvents(i);
+            if (events == 0) {
+                continue;
+            }
+            
+            Projectile projectile = projectiles[i];
+            
+            if ((events & GuidanceKernel.EVENT_EXPIRED) != 0) {
+                removeSlot(i--);
+                continue;
+            }
+            
+            if ((events & GuidanceKernel.EVENT_STEERED) != 0) {
+                scratchVelocity.setX(kernel.getVelocityX(i));
+                scratchVelocity.setY(kernel.getVelocityY(i));
+                scratchVelocity.setZ(kernel.getVelocityZ(i));
+                projectile.setVelocity(scratchVelocity);
+            }
+            
+            if ((events & GuidanceKernel.EVENT_DIVE) != 0) {
+                handler.onDive(projectile);
+            }
+            
+            if ((events & GuidanceKernel.EVENT_IMPACT) != 0) {
+                Player owner = owners[i];
+                int level = levels[i];
+                removeSlot(i--);
+                handler.onImpact(projectile, owner, level);
+            }
+        }
+        
+        return kernel.size() != 0;
+    }
+    
+    /**
+     * Removes a slot, keeping the object arrays in step with the kernel's swap-remove.
+     *
+     * @param i The slot to remove
+     */
+    private void removeSlot(int i) {
+        JfrEffect.end(flights[i]);
+        
+        int moved = kernel.remove(i);
+        int last = moved >= 0 ? moved : i;
+        
+        if (moved >= 0) {
+            projectiles[i] = projectiles[moved];
+            owners[i] = owners[moved];
+            targets[i] = targets[moved];
+            levels[i] = levels[moved];
+            ranges[i] = ranges[moved];
+            flights[i] = flights[moved];
+        }
+        
+        projectiles[last] = null;
+        owners[last] = null;
+        targets[last] = null;
+        flights[last] = null;
+    }
+}
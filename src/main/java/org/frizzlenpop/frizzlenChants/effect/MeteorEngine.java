@@ -0,0 +1,301 @@
+package org.frizzlenpop.frizzlenChants.effect;
+
+import org.bukkit.HeightMap;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+import org.joml.Matrix4f;
+import org.frizzlenpop.frizzlenChants.jfr.JfrEffect;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.schedule.RegionShards;
+import org.frizzlenpop.frizzlenChants.schedule.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Drives the falling meteors of one {@link RegionShards} shard from its per-tick task.
+ * A meteor's impact tick is predicted once when it is launched, using the world heightmap and
+ * a short block walk along the part of its path that reaches the surface, so the per-tick loop
+ * only moves and renders displays. Impact damage is handed to the shared
+ * {@link AreaEffectResolver}, so meteors landing together share one entity lookup.
+ */
+public class MeteorEngine implements RegionShards.Shard {
+
+    /**
+     * Callbacks from the meteor engine to the enchantment that owns the meteors.
+     */
+    public interface Handler {
+        
+        /**
+         * Called every tick for every falling meteor, after it has been moved.
+         *
+         * @param world The world of the meteor
+         * @param x The X coordinate of the meteor
+         * @param y The Y coordinate of the meteor
+         * @param z The Z coordinate of the meteor
+         * @param scale The meteor's scale
+         * @param level The enchantment level
+         */
+        void onFlight(World world, double x, double y, double z, float scale, int level);
+        
+        /**
+         * Called when a meteor reaches its predicted impact point, before damage is resolved.
+         *
+         * @param location The impact location
+         * @param scale The meteor's scale
+         * @param level The enchantment level
+         */
+        void onImpact(Location location, float scale, int level);
+        
+        /**
+         * Called once for every entity damaged by an impact.
+         *
+         * @param victim The damaged entity
+         */
+        void onVictimHit(LivingEntity victim);
+    }
+    
+    private static final double MIN_DAMAGE_FACTOR = 0.3;
+    private static final double KNOCKBACK_LIFT = 0.6;
+    private static final float SPIN_SPEED = 0.1f;
+    
+    // Unit axis the meteors tumble around
+    private static final float SPIN_AXIS_X = (float) (1.0 / Math.sqrt(1.25));
+    private static final float SPIN_AXIS_Y = (float) (0.5 / Math.sqrt(1.25));
+    
+    private final ProfileTimer timer;
+    private final RegionShards<AreaEffectResolver> resolvers;
+    private final Handler handler;
+    private final List<Meteor> meteors = new ArrayList<>();
+    
+    // Scratch objects reused every tick
+    private final Location scratchLocation = new Location(null, 0, 0, 0);
+    private final Matrix4f scratchMatrix = new Matrix4f();
+    
+    /**
+     * Creates a new meteor engine.
+     *
+     * @param resolvers The resolvers that apply impact damage
+     * @param handler The callbacks for the owning enchantment
+     * @param timer The timer whose enchantment the meteors are reported under
+     */
+    public MeteorEngine(RegionShards<AreaEffectResolver> resolvers, Handler handler, ProfileTimer timer) {
+        this.timer = timer;
+        this.resolvers = resolvers;
+        this.handler = handler;
+    }
+    
+    /**
+     * Launches a meteor and predicts where and when it will land.
+     *
+     * @param owner The player who summoned the meteor
+     * @param display The meteor's block display, already spawned at the start location
+     * @param start The start location
+     * @param path How far the meteor moves each tick
+     * @param scale The meteor's scale
+     * @param level The enchantment level
+     * @param maxTicks The tick at which the meteor impacts if it has not reached the ground
+     * @param radius The radius of the impact
+     * @param damage The damage dealt at the center of the impact
+     * @param knockback The knockback strength at the center of the impact
+     * @return The number of ticks until impact
+     */
+    public int launch(Player owner, BlockDisplay display, Location start, Vector path, float scale, int level,
+                      int maxTicks, double radius, double damage, double knockback) {
+        Meteor meteor = new Meteor(owner, display, start, path, scale, level, radius, damage, knockback);
+        meteor.impactTick = predictImpactTick(meteor, maxTicks);
+        meteor.flight = JfrEffect.start(timer.getEnchant(), level, start, "meteor");
+        meteors.add(meteor);
+        return meteor.impactTick;
+    }
+    
+    /**
+     * Returns the number of meteors in the air.
+     *
+     * @return The number of active meteors
+     */
+    public int size() {
+        return meteors.size();
+    }
+    
+    /**
+     * Removes every meteor without resolving its impact.
+     */
+    @Override
+    public void shutdown() {
+        for (Meteor meteor : meteors) {
+            meteor.display.remove();
+            JfrEffect.end(meteor.flight);
+        }
+        meteors.clear();
+    }
+    
+    /**
+     * Finds the first tick at which a meteor is within one block of solid ground. Path samples
+     * above the heightmap surface cannot touch anything solid, so blocks are only read for
+     * samples at or below it.
+     *
+     * @param meteor The meteor
+     * @param maxTicks The tick to return if the meteor never reaches the ground
+     * @return The impact tick
+     */
+    private int predictImpactTick(Meteor meteor, int maxTicks) {
+        World world = meteor.world;
+        int columnX = Integer.MIN_VALUE;
+        int columnZ = Integer.MIN_VALUE;
+        int surface = 0;
+        
+        for (int tick = 0; tick < maxTicks; tick++) {
+            int blockX = (int) Math.floor(meteor.x(tick));
+            int blockY = (int) Math.floor(meteor.y(tick));
+            int blockZ = (int) Math.floor(meteor.z(tick));
+            
+            if (blockX != columnX || blockZ != columnZ) {
+                columnX = blockX;
+                columnZ = blockZ;
+                surface = world.getHighestBlockYAt(blockX, blockZ, HeightMap.MOTION_BLOCKING);
+            }
+            
+            if (blockY - 1 > surface) {
+                continue;
+            }
+            
+            if (world.getBlockAt(blockX, blockY, blockZ).getType().isSolid() ||
+                world.getBlockAt(blockX, blockY - 1, blockZ).getType().isSolid()) {
+                return tick;
+            }
+        }
+        
+        return maxTicks;
+    }
+    
+    /**
+     * Moves every meteor by one tick and submits the impacts due this tick.
+     *
+     * @return false once no meteor is left
+     */
+    @Override
+    public boolean tick() {
+        for (Iterator<Meteor> iterator = meteors.iterator(); iterator.hasNext();) {
+            Meteor meteor = iterator.next();
+            
+            // Impacted meteors linger for one tick before they are removed
+            if (meteor.impacted || !meteor.display.isValid()) {
+                meteor.display.remove();
+                iterator.remove();
+                JfrEffect.end(meteor.flight);
+                continue;
+            }
+            
+            int tick = meteor.tick++;
+            double x = meteor.x(tick);
+            double y = meteor.y(tick);
+            double z = meteor.z(tick);
+            
+            render(meteor, x, y, z, tick);
+            handler.onFlight(meteor.world, x, y, z, meteor.scale, meteor.level);
+            
+            if (tick >= meteor.impactTick) {
+                meteor.impacted = true;
+                Location impact = new Location(meteor.world, x, y, z);
+                handler.onImpact(impact, meteor.scale, meteor.level);
+                
+                resolvers.at(impact).submit(new AreaEffect(impact, meteor.radius, meteor.owner)
+                    .damage(meteor.damage, MIN_DAMAGE_FACTOR)
+                    .knockback(meteor.knockback, true)
+                    .knockbackLift(KNOCKBACK_LIFT)
+                    .onHit(entity -> handler.onVictimHit((LivingEntity) entity))
+                    .source(timer.getEnchant(), meteor.level));
+            }
+        }
+        
+        return !meteors.isEmpty();
+    }
+    
+    /**
+     * Writes a meteor's position and tumble to its display.
+     *
+     * @param meteor The meteor
+     * @param x The X coordinate
+     * @param y The Y coordinate
+     * @param z The Z coordinate
+     * @param tick The number of ticks the meteor has been falling
+     */
+    private void render(Meteor meteor, double x, double y, double z, int tick) {
+        scratchLocation.setWorld(meteor.world);
+        scratchLocation.setX(x);
+        scratchLocation.setY(y);
+        scratchLocation.setZ(z);
+        scratchLocation.setYaw(meteor.yaw);
+        scratchLocation.setPitch(meteor.pitch);
+        Schedulers.move(meteor.display, scratchLocation);
+        
+        float halfAngle = tick * SPIN_SPEED * 0.5f;
+        float sin = (float) Math.sin(halfAngle);
+        float scale = meteor.scale;
+        scratchMatrix.translationRotateScale(
+            0, 0, 0,
+            SPIN_AXIS_X * sin, SPIN_AXIS_Y * sin, 0, (float) Math.cos(halfAngle),
+            scale, scale, scale);
+        meteor.display.setTransformationMatrix(scratchMatrix);
+    }
+    
+    /**
+     * State of one falling meteor.
+     */
+    private static final class Meteor {
+        private final Player owner;
+        private final BlockDisplay display;
+        private final World world;
+        private final double startX, startY, startZ;
+        private final double pathX, pathY, pathZ;
+        private final float yaw, pitch;
+        private final float scale;
+        private final int level;
+        private final double radius;
+        private final double damage;
+        private final double knockback;
+        private int impactTick;
+        private int tick;
+        private boolean impacted;
+        private JfrEffect flight;
+        
+        private Meteor(Player owner, BlockDisplay display, Location start, Vector path, float scale, int level,
+                       double radius, double damage, double knockback) {
+            this.owner = owner;
+            this.display = display;
+            this.world = start.getWorld();
+            this.startX = start.getX();
+            this.startY = start.getY();
+            this.startZ = start.getZ();
+            this.pathX = path.getX();
+            this.pathY = path.getY();
+            this.pathZ = path.getZ();
+            this.yaw = start.getYaw();
+            this.pitch = start.getPitch();
+            this.scale = scale;
+            this.level = level;
+            this.radius = radius;
+            this.damage = damage;
+            this.knockback = knockback;
+        }
+        
+        // Position after the move made on the given tick
+        private double x(int tick) {
+            return startX + pathX * (tick + 1);
+        }
+        
+        private double y(int tick) {
+            return startY + pathY * (tick + 1);
+        }
+        
+        private double z(int tick) {
+            return startZ + pathZ * (tick + 1);
+        }
+    }
+}
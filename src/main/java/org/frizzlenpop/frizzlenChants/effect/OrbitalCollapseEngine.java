@@ -0,0 +1,492 @@
+package org.frizzlenpop.frizzlenChants.effect;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.joml.Matrix4f;
+import org.frizzlenpop.frizzlenChants.jfr.JfrEffect;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.schedule.RegionShards;
+import org.frizzlenpop.frizzlenChants.schedule.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Drives the gravitational collapses of one {@link RegionShards} shard from its per-tick task.
+ * The blocks of all its collapses live in one {@link OrbitalKernel} and are stepped together;
+ * each tick only the resulting render state is written to the block displays, using reused
+ * scratch objects. Collapse timing (orbit, hold, launch, cleanup) is tracked per collapse, and
+ * gameplay and particle effects stay with the owning enchantment through {@link Handler}.
+ */
+public class OrbitalCollapseEngine implements RegionShards.Shard {
+
+    /**
+     * Callbacks from the collapse engine to the enchantment that owns the collapses.
+     */
+    public interface Handler {
+        
+        /**
+         * Finds the entities the blocks of a collapse will be launched at.
+         *
+         * @param center The collapse center
+         * @param owner The player who triggered the collapse
+         * @param level The enchantment level
+         * @return The targets, in the order they should be assigned
+         */
+        List<Entity> findTargets(Location center, Player owner, int level);
+        
+        /**
+         * Called every tick while a collapse holds its blocks in the singularity.
+         *
+         * @param center The collapse center
+         * @param level The enchantment level
+         * @param tick The number of ticks since the collapse started
+         */
+        void onHold(Location center, int level, int tick);
+        
+        /**
+         * Called once when the blocks of a collapse are launched.
+         *
+         * @param center The collapse center
+         * @param level The enchantment level
+         */
+        void onLaunch(Location center, int level);
+        
+        /**
+         * Called every tick for every orbiting block, after it has been moved.
+         *
+         * @param world The world of the collapse
+         * @param x The X coordinate of the block
+         * @param y The Y coordinate of the block
+         * @param z The Z coordinate of the block
+         * @param tick The number of ticks the block has orbited
+         */
+        void onOrbit(World world, double x, double y, double z, int tick);
+        
+        /**
+         * Called every tick for every launched block, after it has been moved.
+         *
+         * @param world The world of the collapse
+         * @param x The X coordinate of the block
+         * @param y The Y coordinate of the block
+         * @param z The Z coordinate of the block
+         * @param directionX The X component of the launch direction
+         * @param directionY The Y component of the launch direction
+         * @param directionZ The Z component of the launch direction
+         * @param tick The number of ticks the block has been in flight
+         */
+        void onFlight(World world, double x, double y, double z,
+                      double directionX, double directionY, double directionZ, int tick);
+        
+        /**
+         * Called when a launched block flies into a solid block. The display is removed afterwards.
+         *
+         * @param world The world of the collapse
+         * @param x The X coordinate of the impact
+         * @param y The Y coordinate of the impact
+         * @param z The Z coordinate of the impact
+         * @param level The enchantment level
+         */
+        void onBlockImpact(World world, double x, double y, double z, int level);
+        
+        /**
+         * Called when a launched block reaches its target. The display is removed afterwards.
+         *
+         * @param target The entity that was hit
+         * @param owner The player who triggered the collapse
+         * @param directionX The X component of the launch direction
+         * @param directionY The Y component of the launch direction
+         * @param directionZ The Z component of the launch direction
+         * @param damage The damage to deal
+         * @param level The enchantment level
+         */
+        void onTargetHit(Entity target, Player owner, double directionX, double directionY, double directionZ,
+                         double damage, int level);
+    }
+    
+    private static final int ORBIT_TICKS = 60; // 3 seconds of collapsing
+    private static final int HOLD_TICKS = 20; // 1 second of holding in the black hole
+    private static final int FLIGHT_TICKS = 100; // 5 seconds max flight time
+    private static final double MIN_ORBIT_RADIUS = 3.0;
+    private static final double ORBIT_RADIUS_SPREAD = 2.0;
+    private static final double MIN_SPIN_SPEED = 0.05;
+    private static final double SPIN_SPEED_SPREAD = 0.1;
+    
+    private final ProfileTimer timer;
+    private final Handler handler;
+    private final RandomGenerator random;
+    private final OrbitalKernel kernel = new OrbitalKernel(32);
+    private final List<Collapse> collapses = new ArrayList<>();
+    
+    // Object state, kept in the same slots as the kernel
+    private BlockDisplay[] displays = new BlockDisplay[32];
+    private Collapse[] owners = new Collapse[32];
+    private Entity[] targets = new Entity[32];
+    
+    // Scratch objects reused every tick
+    private final Location scratchLocation = new Location(null, 0, 0, 0);
+    private final Matrix4f scratchMatrix = new Matrix4f();
+    private int[] scratchSlots = new int[32];
+    
+    /**
+     * Creates a new collapse engine.
+     *
+     * @param handler The callbacks for the owning enchantment
+     * @param random The random source for orbits and untargeted launches
+     * @param timer The timer whose enchantment the collapses are reported under
+     */
+    public OrbitalCollapseEngine(Handler handler, RandomGenerator random, ProfileTimer timer) {
+        this.timer = timer;
+        this.handler = handler;
+        this.random = random;
+    }
+    
+    /**
+     * Starts a collapse. Each display is given a random orbit around the center.
+     *
+     * @param owner The player who triggered the collapse
+     * @param center The collapse center
+     * @param level The enchantment level
+     * @param displays The block displays pulled into the collapse
+     * @param inwardSpeed How far each block falls toward the center per tick
+     * @param launchSpeed The flight speed of launched blocks in blocks per tick
+     * @param damage The damage dealt by each block that reaches its target
+     * @param onFinish Called once the collapse is over and its displays are gone
+     */
+    public void start(Player owner, Location center, int level, List<BlockDisplay> displays,
+                      double inwardSpeed, double launchSpeed, double damage, Runnable onFinish) {
+        Collapse collapse = new Collapse(owner, center, level, launchSpeed, damage, onFinish);
+        collapse.flight = JfrEffect.start(timer.getEnchant(), level, center, "collapse");
+        collapses.add(collapse);
+        
+        for (BlockDisplay display : displays) {
+            double theta = random.nextDouble() * Math.PI * 2;
+            double phi = random.nextDouble() * Math.PI;
+            double radius = MIN_ORBIT_RADIUS + random.nextDouble() * ORBIT_RADIUS_SPREAD;
+            double spinSpeed = MIN_SPIN_SPEED + random.nextDouble() * SPIN_SPEED_SPREAD;
+            
+            int slot = kernel.add(center.getX(), center.getY(), center.getZ(),
+                theta, phi, radius, spinSpeed, inwardSpeed, ORBIT_TICKS);
+            
+            if (slot >= this.displays.length) {
+                int capacity = this.displays.length * 2;
+                this.displays = Arrays.copyOf(this.displays, capacity);
+                this.owners = Arrays.copyOf(this.owners, capacity);
+                this.targets = Arrays.copyOf(this.targets, capacity);
+            }
+            
+            this.displays[slot] = display;
+            this.owners[slot] = collapse;
+            this.targets[slot] = null;
+            collapse.blocks++;
+        }
+    }
+    
+    /**
+     * Returns the number of active collapses.
+     *
+     * @return The number of active collapses
+     */
+    public int getCollapseCount() {
+        return collapses.size();
+    }
+    
+    /**
+     * Returns the number of blocks across all active collapses.
+     *
+     * @return The number of active blocks
+     */
+    public int getBlockCount() {
+        return kernel.size();
+    }
+    
+    /**
+     * Ends every collapse immediately, removing its displays and running its finish callback.
+     */
+    @Override
+    public void shutdown() {
+        for (int i = 0; i < kernel.size(); i++) {
+            displays[i].remove();
+        }
+        
+        Arrays.fill(displays, 0, kernel.size(), null);
+        Arrays.fill(owners, 0, kernel.size(), null);
+        Arrays.fill(targets, 0, kernel.size(), null);
+        kernel.clear();
+        
+        for (Collapse collapse : collapses) {
+            collapse.onFinish.run();
+            JfrEffect.end(collapse.flight);
+        }
+        collapses.clear();
+    }
+    
+    /**
+     * Advances every collapse and every block by one tick.
+     *
+     * @return false once no collapse is left
+     */
+    @Override
+    public boolean tick() {
+        // Collapse phase: per-collapse timeline
+        for (int c = 0; c < collapses.size(); c++) {
+            Collapse collapse = collapses.get(c);
+            int tick = collapse.tick++;
+            
+            if (collapse.blocks == 0 && !collapse.launched) {
+                // Every display vanished before launch, so there is nothing left to show
+                finish(collapse);
+                collapses.remove(c--);
+            } else if (tick >= ORBIT_TICKS && tick < ORBIT_TICKS + HOLD_TICKS) {
+                if (collapse.targets == null) {
+                    collapse.targets = handler.findTargets(collapse.center, collapse.owner, collapse.level);
+                }
+                handler.onHold(collapse.center, collapse.level, tick);
+            } else if (tick == ORBIT_TICKS + HOLD_TICKS) {
+                launch(collapse);
+            } else if (tick > ORBIT_TICKS + HOLD_TICKS + FLIGHT_TICKS) {
+                finish(collapse);
+                collapses.remove(c--);
+            }
+        }
+        
+        // Gather phase: drop vanished displays and sample target positions
+        for (int i = 0; i < kernel.size(); i++) {
+            if (!displays[i].isValid()) {
+                removeSlot(i--);
+                continue;
+            }
+            
+            Entity target = targets[i];
+            if (target == null) {
+                continue;
+            }
+            
+            if (!target.isValid()) {
+                targets[i] = null;
+                kernel.clearTarget(i);
+                continue;
+            }
+            
+            target.getLocation(scratchLocation);
+            kernel.setTarget(i, scratchLocation.getX(), scratchLocation.getY(), scratchLocation.getZ(),
+                target.getHeight() / 2);
+        }
+        
+        // Step phase: one tight loop over all blocks of all collapses
+        kernel.step();
+        
+        // Apply phase: resolve impacts and write render state
+        for (int i = 0; i < kernel.size(); i++) {
+            int events = kernel.getEvents(i);
+            if (events == 0) {
+                continue;
+            }
+            
+            BlockDisplay display = displays[i];
+            Collapse collapse = owners[i];
+            
+            if ((events & OrbitalKernel.EVENT_EXPIRED) != 0) {
+                display.remove();
+                removeSlot(i--);
+                continue;
+            }
+            
+            double x = kernel.getX(i);
+            double y = kernel.getY(i);
+            double z = kernel.getZ(i);
+            
+            if (kernel.getPhase(i) == OrbitalKernel.PHASE_FLIGHT) {
+                if (!collapse.world.getBlockAt((int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z)).isPassable()) {
+                    display.remove();
+                    removeSlot(i--);
+                    handler.onBlockImpact(collapse.world, x, y, z, collapse.level);
+                    continue;
+                }
+                
+                if ((events & OrbitalKernel.EVENT_HIT) != 0) {
+                    Entity target = targets[i];
+                    double dirX = kernel.getDirectionX(i);
+                    double dirY = kernel.getDirectionY(i);
+                    double dirZ = kernel.getDirectionZ(i);
+                    display.remove();
+                    removeSlot(i--);
+                    handler.onTargetHit(target, collapse.owner, dirX, dirY, dirZ, collapse.damage, collapse.level);
+                    continue;
+                }
+                
+                render(display, collapse, i);
+                handler.onFlight(collapse.world, x, y, z,
+                    kernel.getDirectionX(i), kernel.getDirectionY(i), kernel.getDirectionZ(i), kernel.getTicks(i));
+            } else {
+                render(display, collapse, i);
+                handler.onOrbit(collapse.world, x, y, z, kernel.getTicks(i));
+            }
+        }
+        
+        return !collapses.isEmpty() || kernel.size() != 0;
+    }
+    
+    /**
+     * Writes the kernel's render state for a block to its display.
+     *
+     * @param display The block display
+     * @param collapse The collapse the block belongs to
+     * @param i The block slot
+     */
+    private void render(BlockDisplay display, Collapse collapse, int i) {
+        scratchLocation.setWorld(collapse.world);
+        scratchLocation.setX(kernel.getX(i));
+        scratchLocation.setY(kernel.getY(i));
+        scratchLocation.setZ(kernel.getZ(i));
+        scratchLocation.setYaw(collapse.center.getYaw());
+        scratchLocation.setPitch(collapse.center.getPitch());
+        Schedulers.move(display, scratchLocation);
+        
+        float scale = kernel.getScale(i);
+        scratchMatrix.translationRotateScale(
+            kernel.getOffsetX(i), kernel.getOffsetY(i), kernel.getOffsetZ(i),
+            kernel.getRotationX(i), kernel.getRotationY(i), kernel.getRotationZ(i), kernel.getRotationW(i),
+            scale, scale, scale);
+        display.setTransformationMatrix(scratchMatrix);
+    }
+    
+    /**
+     * Launches the blocks of a collapse, in random order, at its targets. Blocks left over once
+     * every target has been assigned fly off in random directions.
+     *
+     * @param collapse The collapse to launch
+     */
+    private void launch(Collapse collapse) {
+        collapse.launched = true;
+        handler.onLaunch(collapse.center, collapse.level);
+        
+        if (scratchSlots.length < kernel.size()) {
+            scratchSlots = new int[kernel.size()];
+        }
+        
+        int count = 0;
+        for (int i = 0; i < kernel.size(); i++) {
+            if (owners[i] == collapse) {
+                scratchSlots[count++] = i;
+            }
+        }
+        
+        // Shuffle the launch order for a more chaotic effect
+        for (int k = count - 1; k > 0; k--) {
+            int j = random.nextInt(k + 1);
+            int swap = scratchSlots[k];
+            scratchSlots[k] = scratchSlots[j];
+            scratchSlots[j] = swap;
+        }
+        
+        List<Entity> available = collapse.targets;
+        int nextTarget = 0;
+        
+        for (int k = 0; k < count; k++) {
+            int i = scratchSlots[k];
+            Entity target = available != null && nextTarget < available.size() ? available.get(nextTarget++) : null;
+            
+            double dirX, dirY, dirZ;
+            double length = 0;
+            
+            if (target != null) {
+                target.getLocation(scratchLocation);
+                dirX = scratchLocation.getX() - kernel.getX(i);
+                dirY = scratchLocation.getY() + target.getHeight() / 2 - kernel.getY(i);
+                dirZ = scratchLocation.getZ() - kernel.getZ(i);
+                length = Math.sqrt(dirX * dirX + dirY * dirY + dirZ * dirZ);
+            } else {
+                dirX = dirY = dirZ = 0;
+            }
+            
+            if (length > 1.0E-6) {
+                dirX /= length;
+                dirY /= length;
+                dirZ /= length;
+            } else {
+                // Random direction if there is no target to aim at
+                double angleXZ = random.nextDouble() * Math.PI * 2;
+                double angleY = random.nextDouble() * Math.PI - (Math.PI / 2);
+                dirX = Math.cos(angleXZ) * Math.cos(angleY);
+                dirY = Math.sin(angleY);
+                dirZ = Math.sin(angleXZ) * Math.cos(angleY);
+            }
+            
+            kernel.launch(i, dirX, dirY, dirZ, collapse.launchSpeed, FLIGHT_TICKS);
+            targets[i] = target;
+        }
+    }
+    
+    /**
+     * Removes the remaining displays of a collapse and runs its finish callback.
+     *
+     * @param collapse The collapse to finish
+     */
+    private void finish(Collapse collapse) {
+        for (int i = 0; i < kernel.size(); i++) {
+            if (owners[i] == collapse) {
+                displays[i].remove();
+                removeSlot(i--);
+            }
+        }
+        
+        collapse.onFinish.run();
+        JfrEffect.end(collapse.flight);
+    }
+    
+    /**
+     * Removes a slot, keeping the object arrays in step with the kernel's swap-remove.
+     *
+     * @param i The slot to remove
+     */
+    private void removeSlot(int i) {
+        owners[i].blocks--;
+        
+        int moved = kernel.remove(i);
+        int last = moved >= 0 ? moved : i;
+        
+        if (moved >= 0) {
+            displays[i] = displays[moved];
+            owners[i] = owners[moved];
+            targets[i] = targets[moved];
+        }
+        
+        displays[last] = null;
+        owners[last] = null;
+        targets[last] = null;
+    }
+    
+    /**
+     * Timeline and shared parameters of one collapse.
+     */
+    private static final class Collapse {
+        private final Player owner;
+        private final World world;
+        private final Location center;
+        private final int level;
+        private final double launchSpeed;
+        private final double damage;
+        private final Runnable onFinish;
+        private int tick;
+        private int blocks;
+        private boolean launched;
+        private List<Entity> targets;
+        private JfrEffect flight;
+        
+        private Collapse(Player owner, Location center, int level, double launchSpeed, double damage, Runnable onFinish) {
+            this.owner = owner;
+            this.world = center.getWorld();
+            this.center = center;
+            this.level = level;
+            this.launchSpeed = launchSpeed;
+            this.damage = damage;
+            this.onFinish = onFinish;
+        }
+    }
+}
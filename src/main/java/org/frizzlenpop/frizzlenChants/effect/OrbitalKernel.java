@@ -0,0 +1,631 @@
+package org.frizzlenpop.frizzlenChants.effect;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays state and integrator for the blocks of a gravitational collapse.
+ * Each block orbits inward toward its collapse center, is held in the singularity and is then
+ * launched as a projectile. Every block of every collapse is stepped in one loop over primitive
+ * arrays, and the step also produces the render state (position, translation, rotation and
+ * scale) so no per-block objects are needed. This class has no Bukkit dependencies;
+ * {@link OrbitalCollapseEngine} feeds it world state and applies its results.
+ */
+public final class OrbitalKernel {
+
+    // Block phases
+    public static final byte PHASE_ORBIT = 0; // Spiralling inward toward the center
+    public static final byte PHASE_HOLD = 1; // Parked in the singularity, waiting for launch
+    public static final byte PHASE_FLIGHT = 2; // Launched as a projectile
+    
+    // Per-step event flags
+    public static final int EVENT_MOVED = 1; // Position and render state changed
+    public static final int EVENT_HIT = 1 << 1; // Reached the target
+    public static final int EVENT_EXPIRED = 1 << 2; // Flight time ran out
+    
+    private static final int HOMING_INTERVAL = 5;
+    private static final double HOMING_BLEND = 0.2;
+    private static final double HIT_DISTANCE = 1.0;
+    private static final double FLIGHT_SPIN = 0.2;
+    private static final float MIN_FLIGHT_SCALE = 0.5f;
+    private static final float MAX_FLIGHT_SCALE = 1.5f;
+    private static final float FLIGHT_GROWTH = 0.01f;
+    private static final double EPSILON = 1.0E-6;
+    
+    private int size;
+    
+    // Block state
+    private byte[] phase;
+    private int[] ticks;
+    private int[] maxTicks;
+    private int[] events;
+    private double[] px, py, pz;
+    
+    // Orbit parameters
+    private double[] cx, cy, cz;
+    private double[] theta;
+    private double[] radius;
+    private double[] spinSpeed;
+    private double[] inwardSpeed;
+    private double[] sinPhi, cosPhi;
+    private float[] sinHalfPhi, cosHalfPhi;
+    
+    // Flight state
+    private double[] vx, vy, vz;
+    private double[] dirX, dirY, dirZ;
+    private double[] speed;
+    private boolean[] targeted;
+    private double[] tx, ty, tz;
+    private double[] targetHalfHeight;
+    
+    // Render state
+    private float[] offsetX, offsetY, offsetZ;
+    private float[] qx, qy, qz, qw;
+    private float[] scale;
+    
+    /**
+     * Creates a new kernel.
+     *
+     * @param initialCapacity The number of blocks to size the arrays for
+     */
+    public OrbitalKernel(int initialCapacity) {
+        allocate(Math.max(4, initialCapacity));
+    }
+    
+    /**
+     * Adds an orbiting block to the kernel.
+     *
+     * @param centerX The X coordinate of the collapse center
+     * @param centerY The Y coordinate of the collapse center
+     * @param centerZ The Z coordinate of the collapse center
+     * @param theta The starting angle in the XZ plane
+     * @param phi The angle from the Y axis
+     * @param radius The starting distance from the center
+     * @param spinSpeed The orbital speed in radians per tick
+     * @param inwardSpeed How far the block falls toward the center per tick
+     * @param orbitTicks How many ticks the block orbits before it is held
+     * @return The slot of the new block
+     */
+    public int add(double centerX, double centerY, double centerZ, double theta, double phi,
+                   double radius, double spinSpeed, double inwardSpeed, int orbitTicks) {
+        if (size == px.length) {
+            grow(size * 2);
+        }
+        
+        int i = size++;
+        phase[i] = PHASE_ORBIT;
+        ticks[i] = 0;
+        maxTicks[i] = orbitTicks;
+        events[i] = 0;
+        cx[i] = centerX;
+        cy[i] = centerY;
+        cz[i] = centerZ;
+        px[i] = centerX;
+        py[i] = centerY;
+        pz[i] = centerZ;
+        this.theta[i] = theta;
+        this.radius[i] = radius;
+        this.spinSpeed[i] = spinSpeed;
+        this.inwardSpeed[i] = inwardSpeed;
+        sinPhi[i] = Math.sin(phi);
+        cosPhi[i] = Math.cos(phi);
+        sinHalfPhi[i] = (float) Math.sin(phi * 0.5);
+        cosHalfPhi[i] = (float) Math.cos(phi * 0.5);
+        vx[i] = vy[i] = vz[i] = 0;
+        dirX[i] = dirY[i] = dirZ[i] = 0;
+        speed[i] = 0;
+        targeted[i] = false;
+        offsetX[i] = offsetY[i] = offsetZ[i] = 0;
+        qx[i] = qy[i] = qz[i] = 0;
+        qw[i] = 1;
+        scale[i] = 1;
+        return i;
+    }
+    
+    /**
+     * Removes a block by moving the last slot into its place.
+     *
+     * @param i The slot to remove
+     * @return The slot that was moved into {@code i}, or -1 if {@code i} was the last slot
+     */
+    public int remove(int i) {
+        int last = --size;
+        if (i == last) {
+            return -1;
+        }
+        
+        phase[i] = phase[last];
+        ticks[i] = ticks[last];
+        maxTicks[i] = maxTicks[last];
+        events[i] = events[last];
+        px[i] = px[last];
+        py[i] = py[last];
+        pz[i] = pz[last];
+        cx[i] = cx[last];
+        cy[i] = cy[last];
+        cz[i] = cz[last];
+        theta[i] = theta[last];
+        radius[i] = radius[last];
+        spinSpeed[i] = spinSpeed[last];
+        inwardSpeed[i] = inwardSpeed[last];
+        sinPhi[i] = sinPhi[last];
+        cosPhi[i] = cosPhi[last];
+        sinHalfPhi[i] = sinHalfPhi[last];
+        cosHalfPhi[i] = cosHalfPhi[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        vz[i] = vz[last];
+        dirX[i] = dirX[last];
+        dirY[i] = dirY[last];
+        dirZ[i] = dirZ[last];
+        speed[i] = speed[last];
+        targeted[i] = targeted[last];
+        tx[i] = tx[last];
+        ty[i] = ty[last];
+        tz[i] = tz[last];
+        targetHalfHeight[i] = targetHalfHeight[last];
+        offsetX[i] = offsetX[last];
+        offsetY[i] = offsetY[last];
+        offsetZ[i] = offsetZ[last];
+        qx[i] = qx[last];
+        qy[i] = qy[last];
+        qz[i] = qz[last];
+        qw[i] = qw[last];
+        scale[i] = scale[last];
+        return last;
+    }
+    
+    /**
+     * Removes every block.
+     */
+    public void clear() {
+        size = 0;
+    }
+    
+    /**
+     * Launches a block as a projectile from its current position.
+     *
+     * @param i The block slot
+     * @param directionX The X component of the unit launch direction
+     * @param directionY The Y component of the unit launch direction
+     * @param directionZ The Z component of the unit launch direction
+     * @param speed The flight speed in blocks per tick
+     * @param flightTicks Ticks after which the flight expires
+     */
+    public void launch(int i, double directionX, double directionY, double directionZ, double speed, int flightTicks) {
+        phase[i] = PHASE_FLIGHT;
+        ticks[i] = 0;
+        maxTicks[i] = flightTicks;
+        dirX[i] = directionX;
+        dirY[i] = directionY;
+        dirZ[i] = directionZ;
+        vx[i] = directionX * speed;
+        vy[i] = directionY * speed;
+        vz[i] = directionZ * speed;
+        this.speed[i] = speed;
+    }
+    
+    /**
+     * Updates the target of a launched block.
+     *
+     * @param i The block slot
+     * @param x The target X position
+     * @param y The target Y position (feet)
+     * @param z The target Z position
+     * @param halfHeight Half the height of the target, used to aim at its body
+     */
+    public void setTarget(int i, double x, double y, double z, double halfHeight) {
+        targeted[i] = true;
+        tx[i] = x;
+        ty[i] = y;
+        tz[i] = z;
+        targetHalfHeight[i] = halfHeight;
+    }
+    
+    /**
+     * Drops the target of a launched block so it keeps flying straight.
+     *
+     * @param i The block slot
+     */
+    public void clearTarget(int i) {
+        targeted[i] = false;
+    }
+    
+    /**
+     * Steps every block by one tick.
+     */
+    public void step() {
+        final int n = size;
+        
+        for (int i = 0; i < n; i++) {
+            byte p = phase[i];
+            
+            if (p == PHASE_ORBIT) {
+                stepOrbit(i);
+            } else if (p == PHASE_FLIGHT) {
+                stepFlight(i);
+            } else {
+                events[i] = 0;
+            }
+        }
+    }
+    
+    /**
+     * Advances an orbiting block along its inward spiral.
+     *
+     * @param i The block slot
+     */
+    private void stepOrbit(int i) {
+        double t = theta[i] += spinSpeed[i];
+        double r = radius[i] -= inwardSpeed[i];
+        
+        double sinTheta = Math.sin(t);
+        double cosTheta = Math.cos(t);
+        double x = sinPhi[i] * cosTheta * r;
+        double y = cosPhi[i] * r;
+        double z = sinPhi[i] * sinTheta * r;
+        
+        px[i] = cx[i] + x;
+        py[i] = cy[i] + y;
+        pz[i] = cz[i] + z;
+        offsetX[i] = (float) x;
+        offsetY[i] = (float) y;
+        offsetZ[i] = (float) z;
+        
+        // Shrink from full size to half size over the orbit
+        scale[i] = 1.0f - 0.5f * ticks[i] / maxTicks[i];
+        
+        // Face the center: rotation about Y by theta followed by rotation about X by phi
+        float sinHalfTheta = (float) Math.sin(t * 0.5);
+        float cosHalfTheta = (float) Math.cos(t * 0.5);
+        qx[i] = cosHalfTheta * sinHalfPhi[i];
+        qy[i] = sinHalfTheta * cosHalfPhi[i];
+        qz[i] = -sinHalfTheta * sinHalfPhi[i];
+        qw[i] = cosHalfTheta * cosHalfPhi[i];
+        
+        events[i] = EVENT_MOVED;
+        
+        if (++ticks[i] >= maxTicks[i]) {
+            phase[i] = PHASE_HOLD;
+        }
+    }
+    
+    /**
+     * Advances a launched block along its flight path, homing in on its target if it has one.
+     *
+     * @param i The block slot
+     */
+    private void stepFlight(int i) {
+        int tick = ticks[i];
+        
+        if (tick >= maxTicks[i]) {
+            events[i] = EVENT_EXPIRED;
+            return;
+        }
+        
+        int event = EVENT_MOVED;
+        double nextX = px[i] + vx[i];
+        double nextY = py[i] + vy[i];
+        double nextZ = pz[i] + vz[i];
+        
+        if (targeted[i]) {
+            double dx = tx[i] - nextX;
+            double dy = ty[i] - nextY;
+            double dz = tz[i] - nextZ;
+            double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            
+            // Periodically bend the velocity toward the target's body
+            if (distance > HIT_DISTANCE && tick % HOMING_INTERVAL == 0) {
+                double s = speed[i];
+                double ax = dx;
+                double ay = dy + targetHalfHeight[i];
+                double az = dz;
+                double len = Math.sqrt(ax * ax + ay * ay + az * az);
+                
+                if (len > EPSILON) {
+                    double k = s * HOMING_BLEND / len;
+                    double nvx = vx[i] * (1 - HOMING_BLEND) + ax * k;
+                    double nvy = vy[i] * (1 - HOMING_BLEND) + ay * k;
+                    double nvz = vz[i] * (1 - HOMING_BLEND) + az * k;
+                    len = Math.sqrt(nvx * nvx + nvy * nvy + nvz * nvz);
+                    
+                    if (len > EPSILON) {
+                        vx[i] = nvx / len * s;
+                        vy[i] = nvy / len * s;
+                        vz[i] = nvz / len * s;
+                    }
+                }
+            }
+            
+            if (distance < HIT_DISTANCE) {
+                event |= EVENT_HIT;
+            }
+        }
+        
+        px[i] = nextX;
+        py[i] = nextY;
+        pz[i] = nextZ;
+        
+        // Tumble around the launch direction while growing
+        double halfAngle = tick * FLIGHT_SPIN * 0.5;
+        float sinHalf = (float) Math.sin(halfAngle);
+        qx[i] = (float) dirX[i] * sinHalf;
+        qy[i] = (float) dirY[i] * sinHalf;
+        qz[i] = (float) dirZ[i] * sinHalf;
+        qw[i] = (float) Math.cos(halfAngle);
+        scale[i] = Math.min(MAX_FLIGHT_SCALE, MIN_FLIGHT_SCALE + tick * FLIGHT_GROWTH);
+        
+        events[i] = event;
+        ticks[i] = tick + 1;
+    }
+    
+    /**
+     * Returns the number of active blocks.
+     *
+     * @return The number of active blocks
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Returns the phase of a block.
+     *
+     * @param i The block slot
+     * @return One of the {@code PHASE_} constants
+     */
+    public byte getPhase(int i) {
+        return phase[i];
+    }
+    
+    /**
+     * Returns the number of ticks a block has spent in its current phase.
+     *
+     * @param i The block slot
+     * @return The tick count
+     */
+    public int getTicks(int i) {
+        return ticks[i];
+    }
+    
+    /**
+     * Returns the events raised for a block during the last step.
+     *
+     * @param i The block slot
+     * @return A combination of the {@code EVENT_} flags
+     */
+    public int getEvents(int i) {
+        return events[i];
+    }
+    
+    /**
+     * Returns the X coordinate of a block.
+     *
+     * @param i The block slot
+     * @return The X coordinate
+     */
+    public double getX(int i) {
+        return px[i];
+    }
+    
+    /**
+     * Returns the Y coordinate of a block.
+     *
+     * @param i The block slot
+     * @return The Y coordinate
+     */
+    public double getY(int i) {
+        return py[i];
+    }
+    
+    /**
+     * Returns the Z coordinate of a block.
+     *
+     * @param i The block slot
+     * @return The Z coordinate
+     */
+    public double getZ(int i) {
+        return pz[i];
+    }
+    
+    /**
+     * Returns the X component of the launch direction of a block.
+     *
+     * @param i The block slot
+     * @return The X component, or 0 if the block has not been launched
+     */
+    public double getDirectionX(int i) {
+        return dirX[i];
+    }
+    
+    /**
+     * Returns the Y component of the launch direction of a block.
+     *
+     * @param i The block slot
+     * @return The Y component, or 0 if the block has not been launched
+     */
+    public double getDirectionY(int i) {
+        return dirY[i];
+    }
+    
+    /**
+     * Returns the Z component of the launch direction of a block.
+     *
+     * @param i The block slot
+     * @return The Z component, or 0 if the block has not been launched
+     */
+    public double getDirectionZ(int i) {
+        return dirZ[i];
+    }
+    
+    /**
+     * Returns the display translation of a block along X.
+     *
+     * @param i The block slot
+     * @return The X translation
+     */
+    public float getOffsetX(int i) {
+        return offsetX[i];
+    }
+    
+    /**
+     * Returns the display translation of a block along Y.
+     *
+     * @param i The block slot
+     * @return The Y translation
+     */
+    public float getOffsetY(int i) {
+        return offsetY[i];
+    }
+    
+    /**
+     * Returns the display translation of a block along Z.
+     *
+     * @param i The block slot
+     * @return The Z translation
+     */
+    public float getOffsetZ(int i) {
+        return offsetZ[i];
+    }
+    
+    /**
+     * Returns the X component of the display rotation quaternion of a block.
+     *
+     * @param i The block slot
+     * @return The X component
+     */
+    public float getRotationX(int i) {
+        return qx[i];
+    }
+    
+    /**
+     * Returns the Y component of the display rotation quaternion of a block.
+     *
+     * @param i The block slot
+     * @return The Y component
+     */
+    public float getRotationY(int i) {
+        return qy[i];
+    }
+    
+    /**
+     * Returns the Z component of the display rotation quaternion of a block.
+     *
+     * @param i The block slot
+     * @return The Z component
+     */
+    public float getRotationZ(int i) {
+        return qz[i];
+    }
+    
+    /**
+     * Returns the W component of the display rotation quaternion of a block.
+     *
+     * @param i The block slot
+     * @return The W component
+     */
+    public float getRotationW(int i) {
+        return qw[i];
+    }
+    
+    /**
+     * Returns the uniform display scale of a block.
+     *
+     * @param i The block slot
+     * @return The scale
+     */
+    public float getScale(int i) {
+        return scale[i];
+    }
+    
+    /**
+     * Allocates every array at the given capacity.
+     *
+     * @param capacity The new capacity
+     */
+    private void allocate(int capacity) {
+        phase = new byte[capacity];
+        ticks = new int[capacity];
+        maxTicks = new int[capacity];
+        events = new int[capacity];
+        px = new double[capacity];
+        py = new double[capacity];
+        pz = new double[capacity];
+        cx = new double[capacity];
+        cy = new double[capacity];
+        cz = new double[capacity];
+        theta = new double[capacity];
+        radius = new double[capacity];
+        spinSpeed = new double[capacity];
+        inwardSpeed = new double[capacity];
+        sinPhi = new double[capacity];
+        cosPhi = new double[capacity];
+        sinHalfPhi = new float[capacity];
+        cosHalfPhi = new float[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        vz = new double[capacity];
+        dirX = new double[capacity];
+        dirY = new double[capacity];
+        dirZ = new double[capacity];
+        speed = new double[capacity];
+        targeted = new boolean[capacity];
+        tx = new double[capacity];
+        ty = new double[capacity];
+        tz = new double[capacity];
+        targetHalfHeight = new double[capacity];
+        offsetX = new float[capacity];
+        offsetY = new float[capacity];
+        offsetZ = new float[capacity];
+        qx = new float[capacity];
+        qy = new float[capacity];
+        qz = new float[capacity];
+        qw = new float[capacity];
+        scale = new float[capacity];
+    }
+    
+    /**
+     * Grows every array to the given capacity.
+     *
+     * @param capacity The new capacity
+     */
+    private void grow(int capacity) {
+        phase = Arrays.copyOf(phase, capacity);
+        ticks = Arrays.copyOf(ticks, capacity);
+        maxTicks = Arrays.copyOf(maxTicks, capacity);
+        events = Arrays.copyOf(events, capacity);
+        px = Arrays.copyOf(px, capacity);
+        py = Arrays.copyOf(py, capacity);
+        pz = Arrays.copyOf(pz, capacity);
+        cx = Arrays.copyOf(cx, capacity);
+        cy = Arrays.copyOf(cy, capacity);
+        cz = Arrays.copyOf(cz, capacity);
+        theta = Arrays.copyOf(theta, capacity);
+        radius = Arrays.copyOf(radius, capacity);
+        spinSpeed = Arrays.copyOf(spinSpeed, capacity);
+        inwardSpeed = Arrays.copyOf(inwardSpeed, capacity);
+        sinPhi = Arrays.copyOf(sinPhi, capacity);
+        cosPhi = Arrays.copyOf(cosPhi, capacity);
+        sinHalfPhi = Arrays.copyOf(sinHalfPhi, capacity);
+        cosHalfPhi = Arrays.copyOf(cosHalfPhi, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        vz = Arrays.copyOf(vz, capacity);
+        dirX = Arrays.copyOf(dirX, capacity);
+        dirY = Arrays.copyOf(dirY, capacity);
+        dirZ = Arrays.copyOf(dirZ, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        targeted = Arrays.copyOf(targeted, capacity);
+        tx = Arrays.copyOf(tx, capacity);
+        ty = Arrays.copyOf(ty, capacity);
+        tz = Arrays.copyOf(tz, capacity);
+        targetHalfHeight = Arrays.copyOf(targetHalfHeight, capacity);
+        offsetX = Arrays.copyOf(offsetX, capacity);
+        offsetY = Arrays.copyOf(offsetY, capacity);
+        offsetZ = Arrays.copyOf(offsetZ, capacity);
+        qx = Arrays.copyOf(qx, capacity);
+        qy = Arrays.copyOf(qy, capacity);
+        qz = Arrays.copyOf(qz, capacity);
+        qw = Arrays.copyOf(qw, capacity);
+        scale = Arrays.copyOf(scale, capacity);
+    }
+}
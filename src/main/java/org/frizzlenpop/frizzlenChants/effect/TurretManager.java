@@ -0,0 +1,642 @@
+package org.frizzlenpop.frizzlenChants.effect;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.util.BoundingBox;
+import org.frizzlenpop.frizzlenChants.jfr.JfrEffect;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.profile.ProfiledTask;
+import org.frizzlenpop.frizzlenChants.random.ThreadRandom;
+import org.frizzlenpop.frizzlenChants.schedule.RegionShards;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * Steps every active turret, with one per-tick task for each {@link RegionShards} shard.
+ * Turrets standing in the same chunk share one entity lookup per tick, and the manager
+ * enforces per-player and per-chunk caps and retires turrets in bulk on chunk unload or
+ * owner logout. The turrets of a shard are confined to the thread that owns it; the
+ * per-player counts and the tick cost figures are shared by every shard and synchronized.
+ */
+public class TurretManager {
+
+    /**
+     * Why a turret stopped.
+     */
+    public enum RetireReason {
+        /** The turret ran out of time or its anchor was removed. */
+        EXPIRED,
+        /** The chunk holding the turret unloaded. */
+        CHUNK_UNLOAD,
+        /** The owner left the server. */
+        OWNER_QUIT,
+        /** The plugin is shutting down. */
+        SHUTDOWN
+    }
+    
+    /**
+     * Callbacks from the turret manager to the enchantment that owns the turrets.
+     */
+    public interface Handler {
+        
+        /**
+         * Checks if an entity is a valid target for a turret, ignoring range.
+         *
+         * @param turret The turret looking for targets
+         * @param entity The candidate entity
+         * @return true if the turret may shoot at the entity
+         */
+        boolean isHostile(Turret turret, LivingEntity entity);
+        
+        /**
+         * Called every tick for every active turret.
+         *
+         * @param turret The turret
+         * @param location The current turret location
+         */
+        void onAmbient(Turret turret, Location location);
+        
+        /**
+         * Called when a turret locks on to a new target.
+         *
+         * @param turret The turret
+         * @param location The current turret location
+         * @param target The new target
+         */
+        void onTargetAcquired(Turret turret, Location location, LivingEntity target);
+        
+        /**
+         * Called when a turret fires.
+         *
+         * @param turret The turret
+         * @param location The current turret location
+         * @param target The target being fired at
+         * @param damage The damage of the shot
+         */
+        void onFire(Turret turret, Location location, LivingEntity target, double damage);
+        
+        /**
+         * Called when a turret is retired.
+         *
+         * @param turret The turret
+         * @param location The last turret location
+         * @param reason Why the turret was retired
+         */
+        void onRetired(Turret turret, Location location, RetireReason reason);
+    }
+    
+    /**
+     * State of one active turret.
+     */
+    public static final class Turret {
+        private final Player owner;
+        private final UUID ownerId;
+        private final Projectile anchor;
+        private final int level;
+        private final double range;
+        private final double damage;
+        private final int firingDelay;
+        private int warmupTicks;
+        private int ticksRemaining;
+        private int ticksUntilNextShot;
+        private LivingEntity target;
+        private JfrEffect flight;
+        
+        // Last known position, refreshed every tick
+        private World world;
+        private int chunkX;
+        private int chunkZ;
+        private final Location location = new Location(null, 0, 0, 0);
+        
+        private Turret(Player owner, Projectile anchor, int level, double range, double damage,
+                       int firingDelay, int warmupTicks, int durationTicks) {
+            this.owner = owner;
+            this.ownerId = owner.getUniqueId();
+            this.anchor = anchor;
+            this.level = level;
+            this.range = range;
+            this.damage = damage;
+            this.firingDelay = firingDelay;
+            this.warmupTicks = warmupTicks;
+            this.ticksRemaining = durationTicks;
+        }
+        
+        /**
+         * Returns the player who owns this turret.
+         *
+         * @return The owner
+         */
+        public Player getOwner() {
+            return owner;
+        }
+        
+        /**
+         * Returns the projectile this turret is attached to.
+         *
+         * @return The anchor projectile
+         */
+        public Projectile getAnchor() {
+            return anchor;
+        }
+        
+        /**
+         * Returns the enchantment level of this turret.
+         *
+         * @return The level
+         */
+        public int getLevel() {
+            return level;
+        }
+        
+        /**
+         * Returns the damage of this turret's primary shots.
+         *
+         * @return The damage per shot
+         */
+        public double getDamage() {
+            return damage;
+        }
+        
+        /**
+         * Refreshes the cached position from the anchor.
+         *
+         * @param heightOffset Height of the turret above its anchor
+         */
+        private void refreshLocation(double heightOffset) {
+            anchor.getLocation(location);
+            location.add(0, heightOffset, 0);
+            world = location.getWorld();
+            chunkX = location.getBlockX() >> 4;
+            chunkZ = location.getBlockZ() >> 4;
+        }
+    }
+    
+    /**
+     * Turrets in one chunk during one tick, sharing a single entity lookup.
+     */
+    private static final class Cell {
+        private World world;
+        private int chunkX;
+        private int chunkZ;
+        private double minX, minY, minZ, maxX, maxY, maxZ;
+        private final List<Turret> turrets = new ArrayList<>();
+        private Collection<Entity> candidates;
+        
+        private void reset(Turret first) {
+            world = first.world;
+            chunkX = first.chunkX;
+            chunkZ = first.chunkZ;
+            minX = minY = minZ = Double.MAX_VALUE;
+            maxX = maxY = maxZ = -Double.MAX_VALUE;
+            turrets.clear();
+            candidates = null;
+        }
+        
+        private void add(Turret turret) {
+            Location l = turret.location;
+            minX = Math.min(minX, l.getX() - turret.range);
+            minY = Math.min(minY, l.getY() - turret.range);
+            minZ = Math.min(minZ, l.getZ() - turret.range);
+            maxX = Math.max(maxX, l.getX() + turret.range);
+            maxY = Math.max(maxY, l.getY() + turret.range);
+            maxZ = Math.max(maxZ, l.getZ() + turret.range);
+            turrets.add(turret);
+        }
+    }
+    
+    /**
+     * The turrets of one {@link RegionShards} shard, stepped together by its task.
+     */
+    private final class TurretShard implements RegionShards.Shard {
+        private final List<Turret> turrets = new ArrayList<>();
+        private final List<Cell> cells = new ArrayList<>();
+        private final RandomGenerator random;
+        private int activeCells;
+        
+        private TurretShard() {
+            this.random = TurretManager.this.random.split();
+        }
+        
+        /**
+         * Steps every turret of the shard by one tick.
+         *
+         * @return false once the shard has no turret left
+         */
+        @Override
+        public boolean tick() {
+            long start = System.nanoTime();
+            
+            // Validate turrets and bucket the live ones by chunk
+            activeCells = 0;
+            Iterator<Turret> iterator = turrets.iterator();
+            while (iterator.hasNext()) {
+                Turret turret = iterator.next();
+                
+                if (!turret.anchor.isValid() || turret.anchor.isDead() || turret.ticksRemaining <= 0) {
+                    iterator.remove();
+                    retire(turret, RetireReason.EXPIRED);
+                    continue;
+                }
+                
+                if (turret.warmupTicks > 0) {
+                    turret.warmupTicks--;
+                    continue;
+                }
+                
+                turret.refreshLocation(TURRET_HEIGHT);
+                cellFor(turret).add(turret);
+            }
+            
+            // Step turrets cell by cell so they share the entity lookup
+            for (int c = 0; c < activeCells; c++) {
+                Cell cell = cells.get(c);
+                for (Turret turret : cell.turrets) {
+                    stepTurret(cell, turret, random);
+                }
+                cell.turrets.clear();
+                cell.candidates = null;
+            }
+            
+            recordTick(System.nanoTime() - start);
+            return !turrets.isEmpty();
+        }
+        
+        /**
+         * Retires every turret of the shard.
+         */
+        @Override
+        public void shutdown() {
+            for (Turret turret : turrets) {
+                retire(turret, RetireReason.SHUTDOWN);
+            }
+            turrets.clear();
+        }
+        
+        /**
+         * Finds or opens the cell for a turret's chunk.
+         *
+         * @param turret The turret
+         * @return The cell for this tick
+         */
+        private Cell cellFor(Turret turret) {
+            for (int c = 0; c < activeCells; c++) {
+                Cell cell = cells.get(c);
+                if (cell.world == turret.world && cell.chunkX == turret.chunkX && cell.chunkZ == turret.chunkZ) {
+                    return cell;
+                }
+            }
+            
+            if (activeCells == cells.size()) {
+                cells.add(new Cell());
+            }
+            
+            Cell cell = cells.get(activeCells++);
+            cell.reset(turret);
+            return cell;
+        }
+    }
+    
+    private static final double TURRET_HEIGHT = 0.5;
+    private static final int SECONDARY_SHOT_DELAY = 3;
+    private static final double SECONDARY_DAMAGE_FACTOR = 0.7;
+    
+    private final Plugin plugin;
+    private final ProfileTimer timer;
+    private final Handler handler;
+    private volatile int maxPerPlayer;
+    private volatile int maxPerChunk;
+    private final ThreadRandom random;
+    private final RegionShards<TurretShard> shards;
+    
+    // Turret counts across every shard, guarded by the map
+    private final Map<UUID, Integer> ownerCounts = new HashMap<>();
+    private int activeTurrets;
+    private int peakTurrets;
+    
+    // Tick cost accounting, over the shard steps of every region
+    private volatile long lastTickNanos;
+    private volatile double averageTickNanos;
+    private volatile long peakTickNanos;
+    
+    /**
+     * Creates a new turret manager.
+     *
+     * @param plugin The plugin instance
+     * @param handler The callbacks for the owning enchantment
+     * @param random The random source for secondary shots, split for every shard on its thread
+     * @param maxPerPlayer Maximum active turrets per player
+     * @param maxPerChunk Maximum active turrets per chunk
+     * @param timer The timer each tick is attributed to
+     */
+    public TurretManager(Plugin plugin, Handler handler, ThreadRandom random, int maxPerPlayer, int maxPerChunk,
+                         ProfileTimer timer) {
+        this.plugin = plugin;
+        this.timer = timer;
+        this.handler = handler;
+        this.random = random;
+        this.maxPerPlayer = maxPerPlayer;
+        this.maxPerChunk = maxPerChunk;
+        this.shards = new RegionShards<>(plugin, timer, TurretShard::new);
+    }
+    
+    /**
+     * Changes the turret caps. Turrets that are already placed stay until they expire.
+     *
+     * @param maxPerPlayer Maximum active turrets per player
+     * @param maxPerChunk Maximum active turrets per chunk
+     */
+    public void setLimits(int maxPerPlayer, int maxPerChunk) {
+        this.maxPerPlayer = maxPerPlayer;
+        this.maxPerChunk = maxPerChunk;
+    }
+    
+    /**
+     * Places a new turret on an anchor projectile, if the owner and chunk caps allow it.
+     *
+     * @param owner The player who owns the turret
+     * @param anchor The projectile the turret is attached to
+     * @param level The enchantment level
+     * @param range The targeting range
+     * @param damage The damage per shot
+     * @param firingDelay Ticks between shots
+     * @param warmupTicks Ticks before the turret starts operating
+     * @param durationTicks Ticks the turret stays active
+     * @return The new turret, or null if a cap was reached
+     */
+    public Turret place(Player owner, Projectile anchor, int level, double range, double damage,
+                        int firingDelay, int warmupTicks, int durationTicks) {
+        Turret turret = new Turret(owner, anchor, level, range, damage, firingDelay, warmupTicks, durationTicks);
+        turret.refreshLocation(TURRET_HEIGHT);
+        
+        TurretShard shard = shards.at(turret.location);
+        int chunkCount = 0;
+        for (Turret other : shard.turrets) {
+            if (other.world == turret.world && other.chunkX == turret.chunkX && other.chunkZ == turret.chunkZ) {
+                chunkCount++;
+            }
+        }
+        
+        if (chunkCount >= maxPerChunk || !reserve(turret.ownerId)) {
+            return null;
+        }
+        
+        shard.turrets.add(turret);
+        turret.flight = JfrEffect.start(timer.getEnchant(), level, turret.location, "turret");
+        return turret;
+    }
+    
+    /**
+     * Retires every turret in a chunk. Must be called from the thread that owns the chunk.
+     *
+     * @param world The world of the chunk
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return The number of turrets retired
+     */
+    public int retireChunk(World world, int chunkX, int chunkZ) {
+        TurretShard shard = shards.get(world, chunkX, chunkZ);
+        if (shard == null) {
+            return 0;
+        }
+        
+        int retired = 0;
+        Iterator<Turret> iterator = shard.turrets.iterator();
+        while (iterator.hasNext()) {
+            Turret turret = iterator.next();
+            if (turret.world == world && turret.chunkX == chunkX && turret.chunkZ == chunkZ) {
+                iterator.remove();
+                retire(turret, RetireReason.CHUNK_UNLOAD);
+                retired++;
+            }
+        }
+        return retired;
+    }
+    
+    /**
+     * Retires every turret owned by a player. Each shard retires its turrets on the thread
+     * that owns it, which on Folia happens on that region's next tick.
+     *
+     * @param ownerId The UUID of the owner
+     */
+    public void retireOwner(UUID ownerId) {
+        shards.forEach(shard -> {
+            Iterator<Turret> iterator = shard.turrets.iterator();
+            while (iterator.hasNext()) {
+                Turret turret = iterator.next();
+                if (turret.ownerId.equals(ownerId)) {
+                    iterator.remove();
+                    retire(turret, RetireReason.OWNER_QUIT);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Retires every turret and stops the tick tasks.
+     */
+    public void shutdown() {
+        shards.shutdown();
+    }
+    
+    /**
+     * Returns the number of active turrets.
+     *
+     * @return The number of active turrets
+     */
+    public int getActiveCount() {
+        synchronized (ownerCounts) {
+            return activeTurrets;
+        }
+    }
+    
+    /**
+     * Returns the highest number of turrets that were active at the same time.
+     *
+     * @return The peak turret count
+     */
+    public int getPeakCount() {
+        synchronized (ownerCounts) {
+            return peakTurrets;
+        }
+    }
+    
+    /**
+     * Returns the wall time of the most recent turret tick.
+     *
+     * @return The last tick time in nanoseconds
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+    
+    /**
+     * Returns the exponentially smoothed turret tick time.
+     *
+     * @return The average tick time in nanoseconds
+     */
+    public double getAverageTickNanos() {
+        return averageTickNanos;
+    }
+    
+    /**
+     * Returns the slowest turret tick seen so far.
+     *
+     * @return The peak tick time in nanoseconds
+     */
+    public long getPeakTickNanos() {
+        return peakTickNanos;
+    }
+    
+    /**
+     * Counts a new turret against its owner's cap.
+     *
+     * @param ownerId The UUID of the owner
+     * @return false if the owner already has the maximum number of turrets
+     */
+    private boolean reserve(UUID ownerId) {
+        synchronized (ownerCounts) {
+            int count = ownerCounts.getOrDefault(ownerId, 0);
+            if (count >= maxPerPlayer) {
+                return false;
+            }
+            ownerCounts.put(ownerId, count + 1);
+            peakTurrets = Math.max(peakTurrets, ++activeTurrets);
+            return true;
+        }
+    }
+    
+    /**
+     * Reports a turret that was removed from its shard and releases its place in the caps.
+     *
+     * @param turret The turret
+     * @param reason Why the turret was retired
+     */
+    private void retire(Turret turret, RetireReason reason) {
+        handler.onRetired(turret, turret.location, reason);
+        JfrEffect.end(turret.flight);
+        
+        synchronized (ownerCounts) {
+            ownerCounts.computeIfPresent(turret.ownerId, (id, count) -> count > 1 ? count - 1 : null);
+            activeTurrets--;
+        }
+    }
+    
+    /**
+     * Folds the wall time of one shard step into the tick cost figures.
+     *
+     * @param nanos The wall time of the step
+     */
+    private synchronized void recordTick(long nanos) {
+        lastTickNanos = nanos;
+        averageTickNanos = averageTickNanos == 0 ? nanos : averageTickNanos * 0.95 + nanos * 0.05;
+        peakTickNanos = Math.max(peakTickNanos, nanos);
+    }
+    
+    /**
+     * Runs one tick of a single turret.
+     *
+     * @param cell The cell the turret belongs to this tick
+     * @param turret The turret to step
+     * @param random The random source of the turret's shard
+     */
+    private void stepTurret(Cell cell, Turret turret, RandomGenerator random) {
+        Location location = turret.location;
+        
+        handler.onAmbient(turret, location);
+        
+        // Check if we need to find a new target
+        if (turret.target == null || !isInRange(turret, turret.target)) {
+            turret.target = findTarget(cell, turret, null);
+            
+            if (turret.target != null) {
+                handler.onTargetAcquired(turret, location, turret.target);
+            }
+        }
+        
+        // Fire at target if we have one and it's time to shoot
+        if (turret.target != null && turret.ticksUntilNextShot <= 0) {
+            handler.onFire(turret, location, turret.target, turret.damage);
+            turret.ticksUntilNextShot = turret.firingDelay;
+            
+            // At level 3, possibly target additional mobs
+            if (turret.level >= 3 && random.nextInt(3) == 0) {
+                LivingEntity secondary = findTarget(cell, turret, turret.target);
+                if (secondary != null) {
+                    Location firedFrom = location.clone();
+                    new ProfiledTask(timer) {
+                        @Override
+                        protected void tick() {
+                            if (turret.anchor.isValid() && !turret.anchor.isDead()) {
+                                handler.onFire(turret, firedFrom, secondary, turret.damage * SECONDARY_DAMAGE_FACTOR);
+                            }
+                        }
+                    }.runLater(plugin, firedFrom, SECONDARY_SHOT_DELAY);
+                }
+            }
+        }
+        
+        // Decrement timers
+        turret.ticksRemaining--;
+        if (turret.ticksUntilNextShot > 0) {
+            turret.ticksUntilNextShot--;
+        }
+    }
+    
+    /**
+     * Finds the closest hostile entity in range of a turret, from the cell's shared lookup.
+     *
+     * @param cell The cell the turret belongs to
+     * @param turret The turret looking for a target
+     * @param exclude An entity to skip, or null
+     * @return The closest valid target, or null if none was found
+     */
+    private LivingEntity findTarget(Cell cell, Turret turret, LivingEntity exclude) {
+        if (cell.candidates == null) {
+            cell.candidates = cell.world.getNearbyEntities(
+                new BoundingBox(cell.minX, cell.minY, cell.minZ, cell.maxX, cell.maxY, cell.maxZ),
+                entity -> entity instanceof LivingEntity);
+        }
+        
+        double closestDistSq = turret.range * turret.range;
+        LivingEntity closest = null;
+        
+        for (Entity entity : cell.candidates) {
+            LivingEntity living = (LivingEntity) entity;
+            if (living == exclude || living.equals(turret.owner) || !living.isValid()) {
+                continue;
+            }
+            
+            double distSq = turret.location.distanceSquared(living.getLocation());
+            if (distSq < closestDistSq && handler.isHostile(turret, living)) {
+                closestDistSq = distSq;
+                closest = living;
+            }
+        }
+        
+        return closest;
+    }
+    
+    /**
+     * Checks if a target is still alive and in range of a turret.
+     *
+     * @param turret The turret
+     * @param target The target to check
+     * @return true if the target is still valid
+     */
+    private boolean isInRange(Turret turret, LivingEntity target) {
+        return target.isValid() && !target.isDead() && target.getWorld() == turret.world &&
+               turret.location.distanceSquared(target.getLocation()) <= turret.range * turret.range;
+    }
+}
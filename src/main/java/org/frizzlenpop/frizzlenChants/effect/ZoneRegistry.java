@@ -0,0 +1,337 @@
+package org.frizzlenpop.frizzlenChants.effect;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
+import org.frizzlenpop.frizzlenChants.schedule.RegionShards;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks lingering ground effects such as Spectral Blade trails.
+ * Zones are registered in a per-world spatial hash keyed by chunk, and one pass every
+ * {@link #CHECK_INTERVAL} ticks reads the entities of each occupied chunk once and tests them
+ * against only the zones in that chunk. Every zone reaches an entity at most once; the
+ * entities it has reached are kept in a bitset over dense entity slots handed out by the
+ * registry. Each {@link RegionShards} shard has its own registry, checked every
+ * {@link #CHECK_INTERVAL} ticks and confined to the thread that owns the shard.
+ */
+public class ZoneRegistry implements RegionShards.Shard {
+
+    /**
+     * Callback for a zone reaching an entity.
+     */
+    public interface Handler {
+        
+        /**
+         * Called the first time the zone reaches an entity.
+         *
+         * @param entity The entity inside the zone
+         */
+        void onEnter(LivingEntity entity);
+    }
+    
+    /**
+     * Ticks between two checks of the active zones.
+     */
+    public static final int CHECK_INTERVAL = 5;
+    
+    // Zones are registered in every chunk their area, grown by this margin, touches, so
+    // entities whose bounding box pokes into a zone from a neighboring chunk are still found
+    private static final double ENTITY_MARGIN = 2.0;
+    
+    private final List<Zone> zones = new ArrayList<>();
+    private final Map<World, Map<Long, List<Zone>>> chunks = new HashMap<>();
+    private final EntitySlots slots = new EntitySlots();
+    
+    // Hits found during a pass, dispatched once the pass is done
+    private final List<Zone> hitZones = new ArrayList<>();
+    private final List<LivingEntity> hitEntities = new ArrayList<>();
+    
+    private long tick;
+    
+    /**
+     * Registers a lingering zone. The zone covers the cube of the given radius around the
+     * center and is first checked on the next pass.
+     *
+     * @param center The center of the zone
+     * @param radius The radius of the zone
+     * @param durationTicks How long the zone lasts
+     * @param owner The entity that created the zone, which it never reaches, or null
+     * @param handler The callback for entities the zone reaches
+     */
+    public void register(Location center, double radius, int durationTicks, Entity owner, Handler handler) {
+        Zone zone = new Zone(center, radius, tick + durationTicks, owner, handler);
+        zones.add(zone);
+        
+        Map<Long, List<Zone>> worldChunks = chunks.computeIfAbsent(zone.world, world -> new HashMap<>());
+        for (long key : zone.chunkKeys) {
+            worldChunks.computeIfAbsent(key, k -> new ArrayList<>(2)).add(zone);
+        }
+    }
+    
+    /**
+     * Returns the number of active zones.
+     *
+     * @return The number of active zones
+     */
+    public int getZoneCount() {
+        return zones.size();
+    }
+    
+    /**
+     * Removes every zone.
+     */
+    @Override
+    public void shutdown() {
+        zones.clear();
+        chunks.clear();
+        slots.clear();
+    }
+    
+    /**
+     * Expires old zones, then tests the entities of every occupied chunk against its zones.
+     *
+     * @return false once no zone is left
+     */
+    @Override
+    public boolean tick() {
+        for (Iterator<Zone> iterator = zones.iterator(); iterator.hasNext();) {
+            Zone zone = iterator.next();
+            if (tick >= zone.expiresAt) {
+                unregister(zone);
+                iterator.remove();
+            }
+        }
+        
+        if (zones.isEmpty()) {
+            chunks.clear();
+            slots.clear();
+            return false;
+        }
+        
+        for (Map.Entry<World, Map<Long, List<Zone>>> worldEntry : chunks.entrySet()) {
+            World world = worldEntry.getKey();
+            
+            for (Map.Entry<Long, List<Zone>> chunkEntry : worldEntry.getValue().entrySet()) {
+                long key = chunkEntry.getKey();
+                int chunkX = (int) (key >> 32);
+                int chunkZ = (int) key;
+                
+                if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                    continue;
+                }
+                
+                for (Entity entity : world.getChunkAt(chunkX, chunkZ).getEntities()) {
+                    if (entity instanceof LivingEntity && !entity.isDead()) {
+                        test((LivingEntity) entity, chunkEntry.getValue());
+                    }
+                }
+            }
+        }
+        
+        tick += CHECK_INTERVAL;
+        
+        // Handlers may register new zones, so they run after the pass
+        for (int i = 0; i < hitZones.size(); i++) {
+            hitZones.get(i).handler.onEnter(hitEntities.get(i));
+        }
+        hitZones.clear();
+        hitEntities.clear();
+        return true;
+    }
+    
+    /**
+     * Tests one entity against the zones of the chunk it stands in.
+     *
+     * @param entity The entity
+     * @param candidates The zones registered in the entity's chunk
+     */
+    private void test(LivingEntity entity, List<Zone> candidates) {
+        BoundingBox bounds = null;
+        int slot = -1;
+        
+        for (int i = 0; i < candidates.size(); i++) {
+            Zone zone = candidates.get(i);
+            if (entity.equals(zone.owner)) {
+                continue;
+            }
+            
+            if (slot < 0) {
+                slot = slots.slotOf(entity.getEntityId());
+            }
+            
+            if (zone.reached.get(slot)) {
+                continue;
+            }
+            
+            if (bounds == null) {
+                bounds = entity.getBoundingBox();
+            }
+            
+            if (zone.reaches(bounds)) {
+                zone.reached.set(slot);
+                hitZones.add(zone);
+                hitEntities.add(entity);
+            }
+        }
+    }
+    
+    /**
+     * Removes a zone from the spatial hash.
+     *
+     * @param zone The zone
+     */
+    private void unregister(Zone zone) {
+        Map<Long, List<Zone>> worldChunks = chunks.get(zone.world);
+        if (worldChunks == null) {
+            return;
+        }
+        
+        for (long key : zone.chunkKeys) {
+            List<Zone> list = worldChunks.get(key);
+            if (list != null && list.remove(zone) && list.isEmpty()) {
+                worldChunks.remove(key);
+            }
+        }
+        
+        if (worldChunks.isEmpty()) {
+            chunks.remove(zone.world);
+        }
+    }
+    
+    /**
+     * Packs chunk coordinates into a spatial hash key.
+     *
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return The key
+     */
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * One lingering zone.
+     */
+    private static final class Zone {
+        private final World world;
+        private final double minX, minY, minZ;
+        private final double maxX, maxY, maxZ;
+        private final long expiresAt;
+        private final Entity owner;
+        private final Handler handler;
+        private final long[] chunkKeys;
+        private final BitSet reached = new BitSet();
+        
+        private Zone(Location center, double radius, long expiresAt, Entity owner, Handler handler) {
+            this.world = center.getWorld();
+            this.minX = center.getX() - radius;
+            this.minY = center.getY() - radius;
+            this.minZ = center.getZ() - radius;
+            this.maxX = center.getX() + radius;
+            this.maxY = center.getY() + radius;
+            this.maxZ = center.getZ() + radius;
+            this.expiresAt = expiresAt;
+            this.owner = owner;
+            this.handler = handler;
+            
+            int fromX = (int) Math.floor(minX - ENTITY_MARGIN) >> 4;
+            int toX = (int) Math.floor(maxX + ENTITY_MARGIN) >> 4;
+            int fromZ = (int) Math.floor(minZ - ENTITY_MARGIN) >> 4;
+            int toZ = (int) Math.floor(maxZ + ENTITY_MARGIN) >> 4;
+            
+            this.chunkKeys = new long[(toX - fromX + 1) * (toZ - fromZ + 1)];
+            int index = 0;
+            for (int x = fromX; x <= toX; x++) {
+                for (int z = fromZ; z <= toZ; z++) {
+                    chunkKeys[index++] = chunkKey(x, z);
+                }
+            }
+        }
+        
+        private boolean reaches(BoundingBox bounds) {
+            return bounds.getMaxX() >= minX && bounds.getMinX() <= maxX &&
+                   bounds.getMaxY() >= minY && bounds.getMinY() <= maxY &&
+                   bounds.getMaxZ() >= minZ && bounds.getMinZ() <= maxZ;
+        }
+    }
+    
+    /**
+     * Hands out dense slots for entity IDs, so zone bitsets stay small no matter how large
+     * the server's entity IDs grow. Slots are reused once the registry runs out of zones.
+     */
+    private static final class EntitySlots {
+        private static final int EMPTY = -1;
+        
+        private int[] keys = newTable(64);
+        private int[] values = new int[64];
+        private int size;
+        
+        private int slotOf(int entityId) {
+            int mask = keys.length - 1;
+            int index = mix(entityId) & mask;
+            
+            while (keys[index] != EMPTY) {
+                if (keys[index] == entityId) {
+                    return values[index];
+                }
+                index = (index + 1) & mask;
+            }
+            
+            keys[index] = entityId;
+            values[index] = size;
+            
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            
+            return size - 1;
+        }
+        
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newTable(oldKeys.length * 2);
+            values = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int index = mix(oldKeys[i]) & mask;
+                    while (keys[index] != EMPTY) {
+                        index = (index + 1) & mask;
+                    }
+                    keys[index] = oldKeys[i];
+                    values[index] = oldValues[i];
+                }
+            }
+        }
+        
+        private void clear() {
+            if (size > 0) {
+                Arrays.fill(keys, EMPTY);
+                size = 0;
+            }
+        }
+        
+        private static int[] newTable(int capacity) {
+            int[] table = new int[capacity];
+            Arrays.fill(table, EMPTY);
+            return table;
+        }
+        
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
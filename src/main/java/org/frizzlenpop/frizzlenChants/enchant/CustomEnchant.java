@@ -2,6 +2,7 @@ package org.frizzlenpop.frizzlenChants.enchant;
 
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
 import org.bukkit.event.Listener;
 import org.bukkit.inventory.ItemStack;
 
@@ -46,6 +47,24 @@ public abstract class CustomEnchant implements Listener {
         this(name, maxLevel, new HashSet<>(Arrays.asList(applicableItems)));
     }
     
+    /**
+     * Constructor for enchantments declared with {@link EnchantInfo}.
+     * The name, maximum level and applicable items are read from the annotation.
+     *
+     * @throws IllegalStateException If the class is not annotated with {@link EnchantInfo}
+     */
+    protected CustomEnchant() {
+        EnchantInfo info = getClass().getAnnotation(EnchantInfo.class);
+        if (info == null) {
+            throw new IllegalStateException(getClass().getName() + " is not annotated with @EnchantInfo");
+        }
+        
+        this.name = info.name();
+        this.maxLevel = info.maxLevel();
+        this.applicableItems = new HashSet<>(Arrays.asList(info.items()));
+        this.uuid = UUID.randomUUID();
+    }
+    
     /**
      * Returns the name of this enchantment.
      *
@@ -113,6 +132,31 @@ public abstract class CustomEnchant implements Listener {
      */
     public abstract void applyEffect(Player player, ItemStack item, int level);
     
+    /**
+     * Called once when a player launches a projectile from an item carrying this enchantment.
+     * The source item has already been resolved and decoded by the launch stage, and the
+     * decoded enchantments are available on the projectile through {@link LaunchSnapshot}.
+     * Override this method to react to bow, crossbow or trident launches.
+     *
+     * @param shooter The player who launched the projectile
+     * @param projectile The launched projectile
+     * @param source The item the projectile was launched from
+     * @param level The level of the enchantment
+     */
+    public void onLaunch(Player shooter, Projectile projectile, ItemStack source, int level) {
+        // Default: no launch behaviour
+    }
+    
+    /**
+     * Called once when this enchantment is unregistered, for example when the enchant pack
+     * it came from is reloaded. Its event handlers have already been unbound. Override this
+     * method to stop running effects and scheduled tasks, so nothing keeps the enchantment
+     * or its class loader alive.
+     */
+    public void onUnload() {
+        // Default: nothing to release
+    }
+    
     /**
      * Returns the display name of the enchantment with its level in Roman numerals.
      *
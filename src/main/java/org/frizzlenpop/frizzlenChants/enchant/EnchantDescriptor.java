@@ -0,0 +1,133 @@
+package org.frizzlenpop.frizzlenChants.enchant;
+
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Metadata of one enchantment, read from the enchantment index generated at compile time.
+ * Each index line holds the class name, enchantment name, maximum level, applicable items
+ * and triggers, separated by tabs; lists are comma separated. Triggers are the event classes
+ * the enchantment handles, plus {@value #TRIGGER_LAUNCH} if it overrides
+ * {@link CustomEnchant#onLaunch}.
+ */
+public final class EnchantDescriptor {
+
+    /**
+     * Location of the enchantment index inside the plugin JAR.
+     */
+    public static final String INDEX_PATH = "META-INF/frizzlenchants/enchants.index";
+    
+    /**
+     * Trigger recorded for enchantments that react to projectile launches.
+     */
+    public static final String TRIGGER_LAUNCH = "launch";
+    
+    private final String className;
+    private final String name;
+    private final int maxLevel;
+    private final Set<Material> applicableItems;
+    private final List<String> triggers;
+    
+    private EnchantDescriptor(String className, String name, int maxLevel, Set<Material> applicableItems,
+                              List<String> triggers) {
+        this.className = className;
+        this.name = name;
+        this.maxLevel = maxLevel;
+        this.applicableItems = applicableItems;
+        this.triggers = triggers;
+    }
+    
+    /**
+     * Parses one line of the enchantment index.
+     *
+     * @param line The index line
+     * @return The descriptor
+     * @throws IllegalArgumentException If the line is malformed
+     */
+    public static EnchantDescriptor parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Malformed enchantment index line: " + line);
+        }
+        
+        Set<Material> items = EnumSet.noneOf(Material.class);
+        for (String item : split(fields[3])) {
+            Material material = Material.matchMaterial(item);
+            if (material != null) {
+                items.add(material);
+            }
+        }
+        
+        return new EnchantDescriptor(fields[0], fields[1], Integer.parseInt(fields[2]), items,
+            Collections.unmodifiableList(split(fields[4])));
+    }
+    
+    /**
+     * Returns the fully qualified name of the enchantment class.
+     *
+     * @return The class name
+     */
+    public String getClassName() {
+        return className;
+    }
+    
+    /**
+     * Returns the name of the enchantment.
+     *
+     * @return The enchantment name
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Returns the maximum level of the enchantment.
+     *
+     * @return The maximum level
+     */
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+    
+    /**
+     * Returns the materials the enchantment can be applied to.
+     *
+     * @return Set of applicable materials
+     */
+    public Set<Material> getApplicableItems() {
+        return applicableItems;
+    }
+    
+    /**
+     * Returns the triggers of the enchantment.
+     *
+     * @return The event class names handled by the enchantment, and possibly {@value #TRIGGER_LAUNCH}
+     */
+    public List<String> getTriggers() {
+        return triggers;
+    }
+    
+    /**
+     * Checks if the enchantment handles events of its own, that is if it has a trigger other
+     * than {@value #TRIGGER_LAUNCH}. An enchantment without one binds no event handlers when it
+     * is instantiated and is only reached through the lookups of the dispatch listeners.
+     *
+     * @return true if the enchantment binds event handlers
+     */
+    public boolean hasEventHandlers() {
+        return triggers.size() > (triggers.contains(TRIGGER_LAUNCH) ? 1 : 0);
+    }
+    
+    private static List<String> split(String field) {
+        List<String> values = new ArrayList<>();
+        if (!field.isEmpty()) {
+            Collections.addAll(values, field.split(","));
+        }
+        return values;
+    }
+}
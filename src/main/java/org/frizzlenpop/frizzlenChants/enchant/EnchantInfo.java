@@ -0,0 +1,42 @@
+package org.frizzlenpop.frizzlenChants.enchant;
+
+import org.bukkit.Material;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a custom enchantment. Annotated classes are written to the enchantment index at
+ * compile time, which the {@link EnchantmentLoader} reads instead of scanning the plugin JAR.
+ * Enchantments using the no-argument {@link CustomEnchant} constructor take their name,
+ * maximum level and applicable items from this annotation.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface EnchantInfo {
+
+    /**
+     * The name of the enchantment.
+     *
+     * @return The enchantment name
+     */
+    String name();
+    
+    /**
+     * The maximum level the enchantment can reach.
+     *
+     * @return The maximum level
+     */
+    int maxLevel();
+    
+    /**
+     * The materials the enchantment can be applied to.
+     *
+     * @return The applicable items
+     */
+    Material[] items();
+}
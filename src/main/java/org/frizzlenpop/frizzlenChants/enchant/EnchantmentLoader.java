@@ -2,20 +2,22 @@ package org.frizzlenpop.frizzlenChants.enchant;
 
 import org.bukkit.plugin.Plugin;
 
-import java.io.File;
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.net.URL;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.logging.Level;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
+import java.util.logging.Logger;
 
 /**
- * Loader for dynamically discovering and loading custom enchantments.
- * Uses reflection to find all classes that extend CustomEnchant in the
- * specified package and registers them in the EnchantmentRegistry.
+ * Loader for custom enchantments.
+ * Reads the enchantment index generated at compile time from {@link EnchantInfo}
+ * annotations and registers every indexed enchantment in the specified package in the
+ * EnchantmentRegistry. Only descriptors are registered; no enchantment class is loaded
+ * until the registry first needs it, and the plugin JAR is never scanned.
  */
 public class EnchantmentLoader {
 
@@ -28,7 +30,7 @@ public class EnchantmentLoader {
      *
      * @param plugin The plugin instance
      * @param registry The enchantment registry to register enchantments in
-     * @param packageName The package to scan for enchantment classes
+     * @param packageName The package to load enchantment classes from
      */
     public EnchantmentLoader(Plugin plugin, EnchantmentRegistry registry, String packageName) {
         this.plugin = plugin;
@@ -37,114 +39,75 @@ public class EnchantmentLoader {
     }
     
     /**
-     * Loads all enchantments from the specified package.
+     * Registers all indexed enchantments from the specified package.
      *
-     * @return The number of enchantments loaded
+     * @return The number of enchantments registered
      */
     public int loadEnchantments() {
-        List<Class<?>> classes = findClasses();
+        ClassLoader classLoader = plugin.getClass().getClassLoader();
         int count = 0;
         
-        for (Class<?> clazz : classes) {
-            try {
-                if (CustomEnchant.class.isAssignableFrom(clazz) && !clazz.equals(CustomEnchant.class)) {
-                    CustomEnchant enchant = (CustomEnchant) clazz.getDeclaredConstructor().newInstance();
-                    if (registry.register(enchant)) {
-                        count++;
-                    }
-                }
-            } catch (Exception e) {
-                plugin.getLogger().log(Level.SEVERE, "Failed to load enchantment class: " + clazz.getName(), e);
+        for (EnchantDescriptor descriptor : readIndex()) {
+            if (!descriptor.getClassName().startsWith(packageName + ".")) {
+                continue;
+            }
+            
+            if (registry.register(descriptor, classLoader)) {
+                count++;
             }
         }
         
-        plugin.getLogger().log(Level.INFO, "Loaded " + count + " enchantments");
+        plugin.getLogger().log(Level.INFO, "Indexed " + count + " enchantments");
         return count;
     }
     
     /**
-     * Finds all classes in the specified package.
+     * Reads the enchantment index from the plugin JAR.
      *
-     * @return List of classes found in the package
+     * @return The indexed enchantments, or an empty list if the index is missing
      */
-    private List<Class<?>> findClasses() {
-        List<Class<?>> classes = new ArrayList<>();
-        String path = packageName.replace('.', '/');
+    private List<EnchantDescriptor> readIndex() {
+        InputStream in = plugin.getResource(EnchantDescriptor.INDEX_PATH);
+        if (in == null) {
+            plugin.getLogger().log(Level.SEVERE, "Enchantment index " + EnchantDescriptor.INDEX_PATH +
+                " is missing; was the plugin built with its annotation processor?");
+            return new ArrayList<>();
+        }
         
         try {
-            // Get the plugin JAR file
-            File jarFile = new File(plugin.getClass().getProtectionDomain().getCodeSource().getLocation().toURI());
-            
-            if (jarFile.isFile()) { // It's a JAR file
-                try (ZipFile zip = new ZipFile(jarFile)) {
-                    // Iterate through all entries in the JAR
-                    Enumeration<? extends ZipEntry> entries = zip.entries();
-                    while (entries.hasMoreElements()) {
-                        ZipEntry entry = entries.nextElement();
-                        String name = entry.getName();
-                        
-                        // Check if the entry is a class file in the target package
-                        if (name.startsWith(path) && name.endsWith(".class")) {
-                            // Convert file path to class name
-                            String className = name.replace('/', '.').substring(0, name.length() - 6);
-                            try {
-                                Class<?> clazz = Class.forName(className, true, plugin.getClass().getClassLoader());
-                                classes.add(clazz);
-                            } catch (ClassNotFoundException | NoClassDefFoundError e) {
-                                plugin.getLogger().log(Level.WARNING, "Could not load class: " + className, e);
-                            }
-                        }
-                    }
-                }
-            } else { // It's a directory (development environment)
-                ClassLoader classLoader = plugin.getClass().getClassLoader();
-                Enumeration<URL> resources = classLoader.getResources(path);
-                
-                while (resources.hasMoreElements()) {
-                    URL resource = resources.nextElement();
-                    File directory = new File(resource.getFile());
-                    
-                    if (directory.exists()) {
-                        findClassesInDirectory(directory, packageName, classes);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.SEVERE, "Error loading classes from package: " + packageName, e);
+            return readIndex(in, plugin.getLogger());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not read the enchantment index", e);
+            return new ArrayList<>();
         }
-        
-        return classes;
     }
     
     /**
-     * Recursively finds classes in a directory.
+     * Reads an enchantment index and closes the stream. Malformed lines are logged and skipped.
      *
-     * @param directory The directory to scan
-     * @param packageName The current package name
-     * @param classes The list to add found classes to
+     * @param in The index contents
+     * @param logger The logger to report malformed lines to
+     * @return The indexed enchantments
+     * @throws IOException If the index cannot be read
      */
-    private void findClassesInDirectory(File directory, String packageName, List<Class<?>> classes) {
-        if (!directory.exists()) {
-            return;
-        }
-        
-        File[] files = directory.listFiles();
-        if (files == null) {
-            return;
-        }
+    public static List<EnchantDescriptor> readIndex(InputStream in, Logger logger) throws IOException {
+        List<EnchantDescriptor> descriptors = new ArrayList<>();
         
-        for (File file : files) {
-            if (file.isDirectory()) {
-                findClassesInDirectory(file, packageName + "." + file.getName(), classes);
-            } else if (file.getName().endsWith(".class")) {
-                String className = packageName + "." + file.getName().substring(0, file.getName().length() - 6);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                
                 try {
-                    Class<?> clazz = Class.forName(className, true, plugin.getClass().getClassLoader());
-                    classes.add(clazz);
-                } catch (ClassNotFoundException | NoClassDefFoundError e) {
-                    plugin.getLogger().log(Level.WARNING, "Could not load class: " + className, e);
+                    descriptors.add(EnchantDescriptor.parse(line));
+                } catch (IllegalArgumentException e) {
+                    logger.log(Level.WARNING, e.getMessage());
                 }
             }
         }
+        
+        return descriptors;
     }
-} 
\ No newline at end of file
+}
@@ -1,36 +1,84 @@
 package org.frizzlenpop.frizzlenChants.enchant;
 
-import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.HandlerList;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.profile.ProfiledEvents;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 /**
  * Registry for all custom enchantments in the FrizzlenChants system.
  * This class manages the registration and retrieval of enchantments.
+ * Enchantments read from the index are registered as descriptors and only instantiated,
+ * and bound as event listeners, the first time they are looked up, which happens when an
+ * item carrying them is seen or they are applied. Lookups may come from any region thread,
+ * and the first lookup of an enchantment instantiates it under a lock. An enchantment first
+ * looked up while an event is dispatched is handed that event through {@link #deliver}.
+ * The triggers and items of the index answer what a pending enchantment handles and where
+ * it applies without instantiating it.
+ * The event handlers of each enchantment are timed as its trigger phase by the profiler.
  */
 public class EnchantmentRegistry {
 
     private final Map<String, CustomEnchant> enchantments;
+    private final Map<String, PendingEnchant> pending;
+    private final AtomicInteger pendingHandlers;
     private final Plugin plugin;
+    private final EnchantProfiler profiler;
     
     /**
      * Creates a new enchantment registry for the specified plugin.
      *
      * @param plugin The plugin that owns this registry
+     * @param profiler The profiler that times the event handlers of each enchantment
      */
-    public EnchantmentRegistry(Plugin plugin) {
-        this.enchantments = new HashMap<>();
+    public EnchantmentRegistry(Plugin plugin, EnchantProfiler profiler) {
+        this.enchantments = new ConcurrentHashMap<>();
+        this.pending = new ConcurrentHashMap<>();
+        this.pendingHandlers = new AtomicInteger();
         this.plugin = plugin;
+        this.profiler = profiler;
+    }
+    
+    /**
+     * Registers an enchantment by its descriptor without creating it. The enchantment class
+     * is loaded, instantiated and registered as an event listener on first lookup.
+     *
+     * @param descriptor The indexed enchantment
+     * @param classLoader The class loader to load the enchantment class from
+     * @return true if registration was successful, false if an enchantment with the same name already exists
+     */
+    public boolean register(EnchantDescriptor descriptor, ClassLoader classLoader) {
+        String name = descriptor.getName().toLowerCase();
+        if (isRegistered(name)) {
+            plugin.getLogger().warning("Attempted to register duplicate enchantment: " + descriptor.getName());
+            return false;
+        }
+        
+        pending.put(name, new PendingEnchant(descriptor, classLoader));
+        if (descriptor.hasEventHandlers()) {
+            pendingHandlers.incrementAndGet();
+        }
+        return true;
     }
     
     /**
      * Registers a custom enchantment in the registry.
-     * Also registers the enchantment as a Bukkit event listener.
+     * Also registers the enchantment as a Bukkit event listener, timed by the profiler.
      *
      * @param enchant The enchantment to register
      * @return true if registration was successful, false if an enchantment with the same name already exists
@@ -42,46 +90,154 @@ public class EnchantmentRegistry {
         }
         
         String name = enchant.getName().toLowerCase();
-        if (enchantments.containsKey(name)) {
+        if (isRegistered(name)) {
             plugin.getLogger().warning("Attempted to register duplicate enchantment: " + enchant.getName());
             return false;
         }
         
         enchantments.put(name, enchant);
-        Bukkit.getPluginManager().registerEvents(enchant, plugin);
+        ProfiledEvents.register(enchant, profiler.timer(enchant.getName(), ProfilePhase.TRIGGER), plugin);
         plugin.getLogger().log(Level.INFO, "Registered enchantment: " + enchant.getName());
         return true;
     }
     
     /**
      * Unregisters an enchantment from the registry.
+     * Also unbinds its event listeners and lets it stop its running effects.
      *
      * @param name The name of the enchantment to unregister
-     * @return The unregistered enchantment, or null if none was found
+     * @return The unregistered enchantment, or null if none was found or it was never instantiated
      */
     public CustomEnchant unregister(String name) {
-        return enchantments.remove(name.toLowerCase());
+        removePending(name.toLowerCase());
+        CustomEnchant enchant = enchantments.remove(name.toLowerCase());
+        if (enchant == null) {
+            return null;
+        }
+        
+        HandlerList.unregisterAll(enchant);
+        try {
+            enchant.onUnload();
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Enchantment " + enchant.getName() + " failed to unload cleanly", e);
+        }
+        return enchant;
     }
     
     /**
-     * Gets an enchantment by its name.
+     * Unregisters every active enchantment through {@link #unregister(String)}, so each one
+     * stops its running effects. Enchantments that were never instantiated have nothing to
+     * stop and are simply forgotten.
+     */
+    public void unregisterAll() {
+        for (CustomEnchant enchant : new ArrayList<>(enchantments.values())) {
+            unregister(enchant.getName());
+        }
+        pending.clear();
+        pendingHandlers.set(0);
+    }
+    
+    /**
+     * Gets an enchantment by its name, instantiating it if this is its first lookup.
      *
      * @param name The name of the enchantment to retrieve
      * @return Optional containing the enchantment if found, or empty if not found
      */
     public Optional<CustomEnchant> getEnchantment(String name) {
+        String key = name.toLowerCase();
+        CustomEnchant enchant = enchantments.get(key);
+        if (enchant == null && !pending.isEmpty()) {
+            enchant = activate(key);
+        }
+        return Optional.ofNullable(enchant);
+    }
+    
+    /**
+     * Hands an event that is being dispatched to the handlers of an enchantment that was
+     * activated during its dispatch. The plugin manager takes the handlers of an event before
+     * calling the first of them, so handlers bound while it runs would otherwise miss the
+     * event that activated them, such as the first hit with an item that arrived by command.
+     *
+     * @param event The event being dispatched
+     * @param enchant The enchantment activated during its dispatch
+     */
+    public void deliver(Event event, CustomEnchant enchant) {
+        for (RegisteredListener listener : event.getHandlers().getRegisteredListeners()) {
+            if (listener.getListener() != enchant) {
+                continue;
+            }
+            
+            try {
+                listener.callEvent(event);
+            } catch (EventException e) {
+                plugin.getLogger().log(Level.SEVERE, "Enchantment " + enchant.getName() + " failed to handle " +
+                    event.getEventName(), e.getCause());
+            }
+        }
+    }
+    
+    /**
+     * Gets an enchantment by its name only if it has already been instantiated.
+     *
+     * @param name The name of the enchantment to retrieve
+     * @return Optional containing the enchantment if it is active, or empty otherwise
+     */
+    public Optional<CustomEnchant> getActiveEnchantment(String name) {
         return Optional.ofNullable(enchantments.get(name.toLowerCase()));
     }
     
     /**
-     * Returns all registered enchantments.
+     * Returns all enchantments that have been instantiated so far.
      *
-     * @return Collection of all enchantments
+     * @return Collection of active enchantments
      */
-    public Collection<CustomEnchant> getAllEnchantments() {
+    public Collection<CustomEnchant> getActiveEnchantments() {
         return enchantments.values();
     }
     
+    /**
+     * Returns the names of all registered enchantments, whether instantiated or not.
+     *
+     * @return The enchantment names
+     */
+    public List<String> getEnchantmentNames() {
+        List<String> names = new ArrayList<>(enchantments.size() + pending.size());
+        for (CustomEnchant enchant : enchantments.values()) {
+            names.add(enchant.getName());
+        }
+        for (PendingEnchant entry : pending.values()) {
+            names.add(entry.descriptor.getName());
+        }
+        Collections.sort(names);
+        return names;
+    }
+    
+    /**
+     * Returns the maximum level of an enchantment without instantiating it.
+     *
+     * @param name The name of the enchantment
+     * @return The maximum level, or 0 if no such enchantment is registered
+     */
+    public int getMaxLevel(String name) {
+        String key = name.toLowerCase();
+        CustomEnchant enchant = enchantments.get(key);
+        if (enchant != null) {
+            return enchant.getMaxLevel();
+        }
+        
+        PendingEnchant entry = pending.get(key);
+        return entry != null ? entry.descriptor.getMaxLevel() : 0;
+    }
+    
+    /**
+     * Returns the profiler that times the enchantments in this registry.
+     *
+     * @return The profiler
+     */
+    public EnchantProfiler getProfiler() {
+        return profiler;
+    }
+    
     /**
      * Checks if an enchantment with the given name is registered.
      *
@@ -89,7 +245,64 @@ public class EnchantmentRegistry {
      * @return true if the enchantment exists, false otherwise
      */
     public boolean isRegistered(String name) {
-        return enchantments.containsKey(name.toLowerCase());
+        String key = name.toLowerCase();
+        return enchantments.containsKey(key) || pending.containsKey(key);
+    }
+    
+    /**
+     * Checks if any registered enchantment has not been instantiated yet.
+     *
+     * @return true if some enchantments are still pending
+     */
+    public boolean hasPendingEnchantments() {
+        return !pending.isEmpty();
+    }
+    
+    /**
+     * Checks if any enchantment that binds event handlers has not been instantiated yet. Until
+     * it is, its handlers miss the events of the items carrying it; enchantments without
+     * handlers lose nothing by waiting for their first lookup.
+     *
+     * @return true if some enchantments with event handlers are still pending
+     */
+    public boolean hasPendingHandlers() {
+        return pendingHandlers.get() > 0;
+    }
+    
+    /**
+     * Checks if an enchantment has not been instantiated yet and will bind event handlers
+     * when it is.
+     *
+     * @param name The name of the enchantment
+     * @return true if the enchantment is pending and has event handlers
+     */
+    public boolean hasPendingHandlers(String name) {
+        if (pendingHandlers.get() == 0) {
+            return false;
+        }
+        
+        PendingEnchant entry = pending.get(name.toLowerCase());
+        return entry != null && entry.descriptor.hasEventHandlers();
+    }
+    
+    /**
+     * Checks if an enchantment can be applied to an item. A pending enchantment is checked
+     * against the items of its index entry, so it is not instantiated for an item it cannot
+     * be applied to.
+     *
+     * @param name The name of the enchantment
+     * @param item The item to check
+     * @return true if the enchantment is registered and can be applied to the item
+     */
+    public boolean canApplyTo(String name, ItemStack item) {
+        String key = name.toLowerCase();
+        CustomEnchant enchant = enchantments.get(key);
+        if (enchant != null) {
+            return enchant.canApplyTo(item);
+        }
+        
+        PendingEnchant entry = pending.get(key);
+        return entry != null && item != null && entry.descriptor.getApplicableItems().contains(item.getType());
     }
     
     /**
@@ -98,6 +311,87 @@ public class EnchantmentRegistry {
      * @return The number of enchantments
      */
     public int size() {
+        return enchantments.size() + pending.size();
+    }
+    
+    /**
+     * Returns the number of enchantments that have been instantiated.
+     *
+     * @return The number of active enchantments
+     */
+    public int getActiveCount() {
         return enchantments.size();
     }
+    
+    /**
+     * Activates a pending enchantment, unless another thread did so while the lock was awaited.
+     *
+     * @param key The lower case name of the enchantment
+     * @return The enchantment, or null if it is not registered or could not be created
+     */
+    private synchronized CustomEnchant activate(String key) {
+        CustomEnchant enchant = enchantments.get(key);
+        if (enchant != null) {
+            return enchant;
+        }
+        
+        PendingEnchant entry = removePending(key);
+        return entry != null ? activate(entry) : null;
+    }
+    
+    /**
+     * Removes a pending enchantment and keeps the count of pending event handlers.
+     *
+     * @param key The lower case name of the enchantment
+     * @return The removed enchantment, or null if it was not pending
+     */
+    private PendingEnchant removePending(String key) {
+        PendingEnchant entry = pending.remove(key);
+        if (entry != null && entry.descriptor.hasEventHandlers()) {
+            pendingHandlers.decrementAndGet();
+        }
+        return entry;
+    }
+    
+    /**
+     * Loads, instantiates and registers a pending enchantment. An enchantment that fails to
+     * load is logged once and dropped, so later lookups do not retry it.
+     *
+     * @param entry The pending enchantment
+     * @return The enchantment, or null if it could not be created
+     */
+    private CustomEnchant activate(PendingEnchant entry) {
+        String className = entry.descriptor.getClassName();
+        
+        try {
+            CustomEnchant enchant = Class.forName(className, true, entry.classLoader)
+                .asSubclass(CustomEnchant.class)
+                .getDeclaredConstructor()
+                .newInstance();
+            
+            if (!enchant.getName().equalsIgnoreCase(entry.descriptor.getName())) {
+                plugin.getLogger().log(Level.SEVERE, "Enchantment class " + className + " is named " +
+                    enchant.getName() + " but was indexed as " + entry.descriptor.getName());
+                return null;
+            }
+            
+            return register(enchant) ? enchant : null;
+        } catch (Exception | LinkageError e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to load enchantment class: " + className, e);
+            return null;
+        }
+    }
+    
+    /**
+     * An indexed enchantment that has not been instantiated yet.
+     */
+    private static final class PendingEnchant {
+        private final EnchantDescriptor descriptor;
+        private final ClassLoader classLoader;
+        
+        private PendingEnchant(EnchantDescriptor descriptor, ClassLoader classLoader) {
+            this.descriptor = descriptor;
+            this.classLoader = classLoader;
+        }
+    }
 } 
\ No newline at end of file
@@ -1,6 +1,7 @@
 package org.frizzlenpop.frizzlenChants.enchant;
 
 import org.bukkit.ChatColor;
+import org.bukkit.event.Event;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
@@ -85,6 +86,21 @@ public class EnchantmentUtils {
      * @return Map of enchantments and their levels
      */
     public static Map<CustomEnchant, Integer> getEnchantments(ItemStack item, EnchantmentRegistry registry) {
+        return getEnchantments(item, registry, null);
+    }
+    
+    /**
+     * Retrieves all custom enchantments applied to an item while an event is dispatched.
+     * Enchantments with event handlers of their own that are activated by this lookup are
+     * handed the event through {@link EnchantmentRegistry#deliver}, so their handlers see it too.
+     *
+     * @param item The item to check
+     * @param registry The enchantment registry
+     * @param event The event being dispatched, or null
+     * @return Map of enchantments and their levels
+     */
+    public static Map<CustomEnchant, Integer> getEnchantments(ItemStack item, EnchantmentRegistry registry,
+                                                              Event event) {
         Map<CustomEnchant, Integer> result = new HashMap<>();
         
         if (item == null || !item.hasItemMeta()) {
@@ -107,10 +123,16 @@ public class EnchantmentUtils {
                 String enchantName = matcher.group(1).trim();
                 String levelStr = matcher.group(2);
                 
+                boolean pending = event != null && registry.hasPendingHandlers(enchantName);
                 Optional<CustomEnchant> enchant = registry.getEnchantment(enchantName);
                 if (enchant.isPresent()) {
                     int level = romanToInt(levelStr);
                     result.put(enchant.get(), level);
+                    
+                    // Activated just now, so its handlers were bound after this event was dispatched
+                    if (pending) {
+                        registry.deliver(event, enchant.get());
+                    }
                 }
             }
         }
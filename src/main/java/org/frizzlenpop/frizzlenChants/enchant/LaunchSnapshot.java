@@ -0,0 +1,95 @@
+package org.frizzlenpop.frizzlenChants.enchant;
+
+import org.bukkit.entity.Projectile;
+import org.bukkit.metadata.FixedMetadataValue;
+import org.bukkit.metadata.MetadataValue;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable record of the custom enchantments carried by the item that fired a projectile.
+ * The snapshot is decoded once at launch and attached to the projectile, so later
+ * handlers (hits, homing, turrets) can look up levels without re-reading the item lore.
+ */
+public final class LaunchSnapshot {
+
+    private static final String METADATA_KEY = "frizzlenchants_launch_snapshot";
+    
+    private final Map<CustomEnchant, Integer> enchantments;
+    
+    /**
+     * Creates a new launch snapshot.
+     *
+     * @param enchantments The decoded enchantments and their levels
+     */
+    public LaunchSnapshot(Map<CustomEnchant, Integer> enchantments) {
+        this.enchantments = Collections.unmodifiableMap(enchantments);
+    }
+    
+    /**
+     * Returns the enchantments recorded in this snapshot.
+     *
+     * @return Unmodifiable map of enchantments and their levels
+     */
+    public Map<CustomEnchant, Integer> getEnchantments() {
+        return enchantments;
+    }
+    
+    /**
+     * Returns the level of an enchantment in this snapshot.
+     *
+     * @param enchant The enchantment to look up
+     * @return The level, or 0 if the enchantment was not on the source item
+     */
+    public int getLevel(CustomEnchant enchant) {
+        return enchantments.getOrDefault(enchant, 0);
+    }
+    
+    /**
+     * Checks if this snapshot carries no custom enchantments.
+     *
+     * @return true if the source item had no custom enchantments
+     */
+    public boolean isEmpty() {
+        return enchantments.isEmpty();
+    }
+    
+    /**
+     * Attaches this snapshot to a projectile.
+     *
+     * @param plugin The plugin owning the metadata
+     * @param projectile The projectile to attach to
+     */
+    public void attachTo(Plugin plugin, Projectile projectile) {
+        projectile.setMetadata(METADATA_KEY, new FixedMetadataValue(plugin, this));
+    }
+    
+    /**
+     * Gets the snapshot attached to a projectile.
+     *
+     * @param projectile The projectile to check
+     * @return The attached snapshot, or null if the projectile was not launched with custom enchantments
+     */
+    public static LaunchSnapshot of(Projectile projectile) {
+        for (MetadataValue value : projectile.getMetadata(METADATA_KEY)) {
+            if (value.value() instanceof LaunchSnapshot) {
+                return (LaunchSnapshot) value.value();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Gets the level of an enchantment recorded on a projectile at launch.
+     *
+     * @param projectile The projectile to check
+     * @param enchant The enchantment to look up
+     * @return The level, or 0 if the projectile carries no such enchantment
+     */
+    public static int levelOf(Projectile projectile, CustomEnchant enchant) {
+        LaunchSnapshot snapshot = of(projectile);
+        return snapshot != null ? snapshot.getLevel(enchant) : 0;
+    }
+}
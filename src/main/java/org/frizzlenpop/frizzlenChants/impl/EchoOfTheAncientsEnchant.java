@@ -16,38 +16,51 @@ import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.profile.ProfiledTask;
+import org.frizzlenpop.frizzlenChants.random.ThreadRandom;
+import org.frizzlenpop.frizzlenChants.schedule.Schedulers;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Echo of the Ancients enchantment that emits an ancient, resonant sound
  * that confuses nearby hostile mobs when the player swings their weapon.
  */
+@EnchantInfo(name = "EchoOfTheAncients", maxLevel = 3, items = {
+    Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD,
+    Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
+    Material.WOODEN_AXE, Material.STONE_AXE, Material.IRON_AXE,
+    Material.GOLDEN_AXE, Material.DIAMOND_AXE, Material.NETHERITE_AXE
+})
 public class EchoOfTheAncientsEnchant extends CustomEnchant {
 
     private final FrizzlenChants plugin;
-    private final Random random = new Random();
-    private final Map<UUID, Long> lastSwingTime = new HashMap<>();
+    private final ProfileTimer gameplayTimer;
+    private final ProfileTimer visualTimer;
+    private final LongAdder procs;
+    private final ThreadRandom random;
+    private final Map<UUID, Long> lastSwingTime = new ConcurrentHashMap<>();
     
     // Constants
-    private static final int COOLDOWN_MILLIS = 1500; // 1.5 seconds between activations
     private static final String[] RUNE_SYMBOLS = {"ᚠ", "ᚢ", "ᚦ", "ᚨ", "ᚱ", "ᚲ", "ᚷ", "ᚹ", "ᚺ", "ᚾ", "ᛁ", "ᛃ", "ᛇ", "ᛈ", "ᛉ", "ᛊ", "ᛏ", "ᛒ", "ᛖ", "ᛗ", "ᛚ", "ᛜ", "ᛞ", "ᛟ"};
     
     public EchoOfTheAncientsEnchant() {
-        super("EchoOfTheAncients", 3, 
-              Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD, 
-              Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
-              Material.WOODEN_AXE, Material.STONE_AXE, Material.IRON_AXE,
-              Material.GOLDEN_AXE, Material.DIAMOND_AXE, Material.NETHERITE_AXE);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
+        this.random = plugin.getRandomService().forEnchant(getName());
+        this.gameplayTimer = plugin.getProfiler().timer(getName(), ProfilePhase.GAMEPLAY);
+        this.visualTimer = plugin.getProfiler().timer(getName(), ProfilePhase.VISUAL);
+        this.procs = plugin.getMetrics().procs(getName());
+        plugin.getMetrics().trackCooldowns(getName(), lastSwingTime::size);
     }
 
     @Override
@@ -82,23 +95,25 @@ public class EchoOfTheAncientsEnchant extends CustomEnchant {
         // Check cooldown
         UUID playerId = player.getUniqueId();
         long currentTime = System.currentTimeMillis();
+        long cooldownMillis = plugin.getSettings().echoOfTheAncients().cooldownMillis();
         
         if (lastSwingTime.containsKey(playerId)) {
             long lastSwing = lastSwingTime.get(playerId);
-            if (currentTime - lastSwing < COOLDOWN_MILLIS) {
+            if (currentTime - lastSwing < cooldownMillis) {
                 return; // Still on cooldown
             }
         }
         
         // Update last swing time
         lastSwingTime.put(playerId, currentTime);
+        procs.increment();
         
         // Create the ancient echo effect
         createAncientEcho(player, level);
         
         // Clean up old entries periodically to prevent memory leaks
         if (random.nextInt(20) == 0) {
-            cleanupOldEntries();
+            cleanupOldEntries(cooldownMillis);
         }
     }
     
@@ -178,9 +193,9 @@ public class EchoOfTheAncientsEnchant extends CustomEnchant {
     private void makeEntityLookRandom(LivingEntity entity) {
         // Schedule a series of random direction changes
         for (int i = 0; i < 5; i++) {
-            new BukkitRunnable() {
+            new ProfiledTask(gameplayTimer) {
                 @Override
-                public void run() {
+                protected void tick() {
                     if (!entity.isValid() || entity.isDead()) {
                         this.cancel();
                         return;
@@ -194,9 +209,9 @@ public class EchoOfTheAncientsEnchant extends CustomEnchant {
                     Location lookLoc = entity.getLocation().clone();
                     lookLoc.setYaw(yaw);
                     lookLoc.setPitch(pitch);
-                    entity.teleport(lookLoc);
+                    Schedulers.move(entity, lookLoc);
                 }
-            }.runTaskLater(plugin, 5L + (5L * i));
+            }.runLater(plugin, entity, 5L + (5L * i));
         }
     }
     
@@ -211,12 +226,12 @@ public class EchoOfTheAncientsEnchant extends CustomEnchant {
         World world = entity.getWorld();
         
         // Spawn spiral particles around the entity's head
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             int ticks = 0;
             final int maxTicks = 20; // 1 second of effect
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (!entity.isValid() || entity.isDead() || ticks >= maxTicks) {
                     this.cancel();
                     return;
@@ -252,7 +267,7 @@ public class EchoOfTheAncientsEnchant extends CustomEnchant {
                 
                 ticks++;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        }.runTimer(plugin, entity, 0L, 1L);
     }
     
     /**
@@ -282,13 +297,13 @@ public class EchoOfTheAncientsEnchant extends CustomEnchant {
         }
         
         // Create expanding rings
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             private double currentRadius = 0.5;
             private final double maxRadius = radius;
             private final double expandPerTick = radius / 10.0; // Complete expansion in 10 ticks
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (currentRadius >= maxRadius) {
                     this.cancel();
                     return;
@@ -330,16 +345,16 @@ public class EchoOfTheAncientsEnchant extends CustomEnchant {
                 // Increment radius for next tick
                 currentRadius += expandPerTick;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        }.runTimer(plugin, center, 0L, 1L);
         
         // For level 3, add a second delayed ripple
         if (level == 3) {
-            new BukkitRunnable() {
+            new ProfiledTask(visualTimer) {
                 @Override
-                public void run() {
+                protected void tick() {
                     createEchoRippleEffect(center, radius * 0.7, 2);
                 }
-            }.runTaskLater(plugin, 10L);
+            }.runLater(plugin, center, 10L);
         }
     }
     
@@ -371,14 +386,14 @@ public class EchoOfTheAncientsEnchant extends CustomEnchant {
             final Location runeLoc = center.clone().add(x, y, z);
             
             // Create floating rune effect
-            new BukkitRunnable() {
+            new ProfiledTask(visualTimer) {
                 int ticks = 0;
                 final int maxTicks = 40 + random.nextInt(20); // 2-3 seconds duration, randomized per rune
                 final double floatRange = 0.2;
                 double initialY = runeLoc.getY();
                 
                 @Override
-                public void run() {
+                protected void tick() {
                     if (ticks >= maxTicks) {
                         this.cancel();
                         return;
@@ -412,17 +427,19 @@ public class EchoOfTheAncientsEnchant extends CustomEnchant {
                     
                     ticks++;
                 }
-            }.runTaskTimer(plugin, random.nextInt(10), 1L);
+            }.runTimer(plugin, runeLoc, random.nextInt(10), 1L);
         }
     }
     
     /**
      * Cleans up old swing time entries to prevent memory leaks.
+     *
+     * @param cooldownMillis The current cooldown in milliseconds
      */
-    private void cleanupOldEntries() {
+    private void cleanupOldEntries(long cooldownMillis) {
         long currentTime = System.currentTimeMillis();
         lastSwingTime.entrySet().removeIf(entry -> 
-            currentTime - entry.getValue() > COOLDOWN_MILLIS * 5);
+            currentTime - entry.getValue() > cooldownMillis * 5);
     }
     
     @Override
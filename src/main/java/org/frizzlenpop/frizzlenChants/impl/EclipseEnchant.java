@@ -5,7 +5,6 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -15,28 +14,31 @@ import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.util.Vector;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
+import org.frizzlenpop.frizzlenChants.effect.AreaEffect;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.random.ThreadRandom;
 
-import java.util.Collection;
-import java.util.Random;
 
 /**
  * Eclipse enchantment that blinds and slows nearby enemies when the
  * player lands a critical hit.
  */
+@EnchantInfo(name = "Eclipse", maxLevel = 3, items = {
+    Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD,
+    Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
+    Material.WOODEN_AXE, Material.STONE_AXE, Material.IRON_AXE,
+    Material.GOLDEN_AXE, Material.DIAMOND_AXE, Material.NETHERITE_AXE
+})
 public class EclipseEnchant extends CustomEnchant {
 
     private final FrizzlenChants plugin;
-    private final Random random = new Random();
+    private final ThreadRandom random;
     
     public EclipseEnchant() {
-        super("Eclipse", 3, 
-              Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD, 
-              Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
-              Material.WOODEN_AXE, Material.STONE_AXE, Material.IRON_AXE,
-              Material.GOLDEN_AXE, Material.DIAMOND_AXE, Material.NETHERITE_AXE);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
+        this.random = plugin.getRandomService().forEnchant(getName());
     }
 
     @Override
@@ -112,40 +114,25 @@ public class EclipseEnchant extends CustomEnchant {
         // Send message to player
         player.sendActionBar(net.kyori.adventure.text.Component.text("§8Eclipse §7triggered!"));
         
-        // Apply effects to nearby entities
-        Collection<Entity> nearbyEntities = location.getWorld().getNearbyEntities(location, radius, radius, radius);
-        
-        for (Entity entity : nearbyEntities) {
-            // Skip the player who caused the effect
-            if (entity.equals(player)) {
-                continue;
-            }
-            
-            // Only affect living entities
-            if (entity instanceof LivingEntity) {
-                LivingEntity livingEntity = (LivingEntity) entity;
-                
-                // Apply blindness
-                livingEntity.addPotionEffect(new PotionEffect(
-                    PotionEffectType.BLINDNESS,
-                    blindnessDuration,
-                    blindnessAmplifier,
-                    false, // Not ambient
-                    true, // Show particles
-                    true // Show icon
-                ));
-                
-                // Apply slowness
-                livingEntity.addPotionEffect(new PotionEffect(
-                    PotionEffectType.SLOWNESS,
-                    slownessDuration,
-                    slownessAmplifier,
-                    false, // Not ambient
-                    true, // Show particles
-                    true // Show icon
-                ));
-            }
-        }
+        // Apply blindness and slowness to nearby living entities, skipping the player who caused the effect
+        plugin.getAreaEffectResolvers().at(location).submit(new AreaEffect(location, radius, player)
+            .source(getName(), level)
+            .potion(new PotionEffect(
+                PotionEffectType.BLINDNESS,
+                blindnessDuration,
+                blindnessAmplifier,
+                false, // Not ambient
+                true, // Show particles
+                true // Show icon
+            ))
+            .potion(new PotionEffect(
+                PotionEffectType.SLOWNESS,
+                slownessDuration,
+                slownessAmplifier,
+                false, // Not ambient
+                true, // Show particles
+                true // Show icon
+            )));
     }
     
     /**
@@ -3,25 +3,24 @@ package org.frizzlenpop.frizzlenChants.impl;
 import org.bukkit.Material;
 import org.bukkit.entity.Arrow;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.entity.EntityShootBowEvent;
 import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.metadata.FixedMetadataValue;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
-import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
+import org.frizzlenpop.frizzlenChants.enchant.LaunchSnapshot;
 
 /**
  * Explosive enchantment for bows that creates explosions when arrows hit.
  */
+@EnchantInfo(name = "Explosive", maxLevel = 3, items = {Material.BOW, Material.CROSSBOW})
 public class ExplosiveEnchant extends CustomEnchant {
 
-    private static final String METADATA_KEY = "explosive_level";
     private final FrizzlenChants plugin;
     
     public ExplosiveEnchant() {
-        super("Explosive", 3, Material.BOW, Material.CROSSBOW);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
     }
 
@@ -31,31 +30,17 @@ public class ExplosiveEnchant extends CustomEnchant {
         // For bow enchantments, we'll use the event handlers below
     }
     
-    @EventHandler
-    public void onBowShoot(EntityShootBowEvent event) {
-        if (!(event.getEntity() instanceof Player) || !(event.getProjectile() instanceof Arrow)) {
-            return;
-        }
-        
-        Player player = (Player) event.getEntity();
-        Arrow arrow = (Arrow) event.getProjectile();
-        ItemStack bow = event.getBow();
-        
-        if (bow == null) {
+    @Override
+    public void onLaunch(Player player, Projectile projectile, ItemStack source, int level) {
+        if (!(projectile instanceof Arrow)) {
             return;
         }
         
-        // Check if the bow has this enchantment
-        int level = EnchantmentUtils.getEnchantmentLevel(bow, this, plugin.getEnchantmentRegistry());
+        Arrow arrow = (Arrow) projectile;
         
-        if (level > 0) {
-            // Mark the arrow with this enchantment's level
-            arrow.setMetadata(METADATA_KEY, new FixedMetadataValue(plugin, level));
-            
-            // Apply visual effects to the arrow
-            arrow.setGlowing(true);
-            arrow.setFireTicks(Integer.MAX_VALUE); // Make the arrow appear on fire
-        }
+        // Apply visual effects to the arrow
+        arrow.setGlowing(true);
+        arrow.setFireTicks(Integer.MAX_VALUE); // Make the arrow appear on fire
     }
     
     @EventHandler
@@ -67,13 +52,11 @@ public class ExplosiveEnchant extends CustomEnchant {
         Arrow arrow = (Arrow) event.getEntity();
         
         // Check if this arrow was shot with the explosive enchantment
-        if (!arrow.hasMetadata(METADATA_KEY)) {
+        int level = LaunchSnapshot.levelOf(arrow, this);
+        if (level <= 0) {
             return;
         }
         
-        // Get the level of the enchantment
-        int level = arrow.getMetadata(METADATA_KEY).get(0).asInt();
-        
         // Create an explosion when the arrow lands
         float power = 0.5f + (level * 0.5f); // Scale from 1.0F to 2.0F based on level
         boolean setFire = level >= 3; // Only set fire at max level
@@ -10,19 +10,18 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.inventory.ItemStack;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
 
 /**
  * Custom Fire Aspect enchantment that sets entities on fire and
  * adds a visual fire effect when attacking.
  */
+@EnchantInfo(name = "Inferno", maxLevel = 3, items = {
+    Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD,
+    Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD
+})
 public class FireAspectEnchant extends CustomEnchant {
 
-    public FireAspectEnchant() {
-        super("Inferno", 3, 
-              Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD, 
-              Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD);
-    }
-
     @Override
     public void applyEffect(Player player, ItemStack item, int level) {
         // This method is called from the global listener
@@ -10,28 +10,25 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Projectile;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.entity.EntityShootBowEvent;
 import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.util.Vector;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
+import org.frizzlenpop.frizzlenChants.effect.AreaEffect;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
-import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
-
-import java.util.Collection;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
+import org.frizzlenpop.frizzlenChants.enchant.LaunchSnapshot;
 
 /**
  * Gale Force enchantment for bows that creates a gust of wind
  * when arrows hit, pushing back nearby entities and projectiles.
  */
+@EnchantInfo(name = "GaleForce", maxLevel = 3, items = {Material.BOW, Material.CROSSBOW})
 public class GaleForceEnchant extends CustomEnchant {
 
-    private static final String METADATA_KEY = "gale_force_level";
     private final FrizzlenChants plugin;
     
     public GaleForceEnchant() {
-        super("GaleForce", 3, Material.BOW, Material.CROSSBOW);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
     }
 
@@ -41,30 +38,16 @@ public class GaleForceEnchant extends CustomEnchant {
         // For bow enchantments, we'll use the event handlers below
     }
     
-    @EventHandler
-    public void onBowShoot(EntityShootBowEvent event) {
-        if (!(event.getEntity() instanceof Player) || !(event.getProjectile() instanceof Arrow)) {
-            return;
-        }
-        
-        Player player = (Player) event.getEntity();
-        Arrow arrow = (Arrow) event.getProjectile();
-        ItemStack bow = event.getBow();
-        
-        if (bow == null) {
+    @Override
+    public void onLaunch(Player player, Projectile projectile, ItemStack source, int level) {
+        if (!(projectile instanceof Arrow)) {
             return;
         }
         
-        // Check if the bow has this enchantment
-        int level = EnchantmentUtils.getEnchantmentLevel(bow, this, plugin.getEnchantmentRegistry());
+        Arrow arrow = (Arrow) projectile;
         
-        if (level > 0) {
-            // Mark the arrow with this enchantment's level
-            arrow.setMetadata(METADATA_KEY, new FixedMetadataValue(plugin, level));
-            
-            // Apply a subtle visual effect to the arrow to indicate it has Gale Force
-            arrow.setGlowing(true);
-        }
+        // Apply a subtle visual effect to the arrow to indicate it has Gale Force
+        arrow.setGlowing(true);
     }
     
     @EventHandler
@@ -76,12 +59,11 @@ public class GaleForceEnchant extends CustomEnchant {
         Arrow arrow = (Arrow) event.getEntity();
         
         // Check if this arrow was shot with the Gale Force enchantment
-        if (!arrow.hasMetadata(METADATA_KEY)) {
+        int level = LaunchSnapshot.levelOf(arrow, this);
+        if (level <= 0) {
             return;
         }
         
-        // Get the level of the enchantment
-        int level = arrow.getMetadata(METADATA_KEY).get(0).asInt();
         Location impactLocation = arrow.getLocation();
         
         // Calculate effect parameters based on enchantment level
@@ -94,37 +76,29 @@ public class GaleForceEnchant extends CustomEnchant {
         // Play wind sound
         impactLocation.getWorld().playSound(impactLocation, Sound.ENTITY_PHANTOM_FLAP, 1.0f, 1.0f);
         
-        // Get all entities in the radius
-        Collection<Entity> nearbyEntities = impactLocation.getWorld().getNearbyEntities(impactLocation, radius, radius, radius);
+        // Skip the shooter to prevent self-knockback
+        Entity shooter = arrow.getShooter() instanceof Entity ? (Entity) arrow.getShooter() : null;
+        Vector arrowDirection = arrow.getVelocity();
         
-        for (Entity entity : nearbyEntities) {
-            // Skip the shooter to prevent self-knockback
-            if (arrow.getShooter() instanceof Entity && entity.equals(arrow.getShooter())) {
-                continue;
-            }
-            
-            // Calculate direction vector from impact point to entity
-            Vector direction = entity.getLocation().toVector().subtract(impactLocation.toVector());
-            
-            // Skip if entity is behind the impact point (based on arrow direction)
-            if (arrow.getVelocity().normalize().dot(direction.normalize()) > 0) {
-                continue;
-            }
-            
-            // Normalize and scale the vector for knockback
-            if (direction.lengthSquared() > 0) { // Avoid division by zero
-                direction.normalize().multiply(knockbackStrength);
-                direction.setY(Math.max(0.2, direction.getY())); // Ensure some upward boost
-                
-                // Apply knockback to entity
-                entity.setVelocity(entity.getVelocity().add(direction));
-            }
-            
-            // If it's a projectile, give it a stronger boost
-            if (entity instanceof Projectile) {
-                entity.setVelocity(entity.getVelocity().multiply(1.5));
-            }
-        }
+        // Push back every entity in the radius that is not behind the impact point
+        // (based on arrow direction), with some upward boost
+        plugin.getAreaEffectResolvers().at(impactLocation).submit(new AreaEffect(impactLocation, radius, shooter)
+            .source(getName(), level)
+            .includeNonLiving()
+            .knockback(knockbackStrength, false)
+            .knockbackMinY(0.2)
+            .filter(entity -> {
+                Location location = entity.getLocation();
+                return arrowDirection.getX() * (location.getX() - impactLocation.getX()) +
+                       arrowDirection.getY() * (location.getY() - impactLocation.getY()) +
+                       arrowDirection.getZ() * (location.getZ() - impactLocation.getZ()) <= 0;
+            })
+            .onHit(entity -> {
+                // If it's a projectile, give it a stronger boost
+                if (entity instanceof Projectile) {
+                    entity.setVelocity(entity.getVelocity().multiply(1.5));
+                }
+            }));
     }
     
     /**
@@ -7,7 +7,6 @@ import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.BlockDisplay;
 import org.bukkit.entity.Display;
 import org.bukkit.entity.Entity;
@@ -17,27 +16,39 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Transformation;
 import org.bukkit.util.Vector;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
+import org.frizzlenpop.frizzlenChants.config.PluginSettings;
+import org.frizzlenpop.frizzlenChants.effect.OrbitalCollapseEngine;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.jfr.JfrBlockMutation;
+import org.frizzlenpop.frizzlenChants.jfr.JfrDisplaySpawn;
+import org.frizzlenpop.frizzlenChants.jfr.JfrProcRoll;
+import org.frizzlenpop.frizzlenChants.log.LogCategory;
+import org.frizzlenpop.frizzlenChants.log.LogChannel;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.profile.ProfiledTask;
+import org.frizzlenpop.frizzlenChants.random.ThreadRandom;
+import org.frizzlenpop.frizzlenChants.schedule.EffectTask;
+import org.frizzlenpop.frizzlenChants.schedule.RegionShards;
+import org.frizzlenpop.frizzlenChants.world.DisplacedBlocks;
 import org.joml.AxisAngle4f;
 import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
@@ -46,32 +57,43 @@ import java.util.stream.Collectors;
  * Triggers a powerful gravitational singularity that collapses nearby blocks into a black hole,
  * then launches them as projectiles toward nearby enemies.
  */
+@EnchantInfo(name = "GravitationalCollapse", maxLevel = 3, items = {
+    Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD,
+    Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD
+})
 public class GravitationalCollapseEnchant extends CustomEnchant {
 
     private final FrizzlenChants plugin;
-    private final Random random = new Random();
-    private final Map<UUID, Long> lastProcTime = new HashMap<>();
+    private final ProfileTimer gameplayTimer;
+    private final ProfileTimer visualTimer;
+    private final LongAdder procs;
+    private final LongAdder displays;
+    private final ThreadRandom random;
+    private final Map<UUID, Long> lastProcTime = new ConcurrentHashMap<>();
+    private final RegionShards<OrbitalCollapseEngine> collapseEngines;
+    private final LogChannel log;
     
     // Configuration constants
     private static final int MAX_LEVEL = 3;
     private static final int MIN_ENTITY_DISTANCE = 3;
-    private static final int BLOCK_RADIUS = 3; 
-    private static final int MAX_BLOCKS = 12;
-    private static final double BLACK_HOLE_OFFSET_Y = 1.5;
-    private static final double PROC_CHANCE_BASE = 0.15;
-    private static final double PROC_CHANCE_PER_LEVEL = 0.05;
-    private static final double BASE_DAMAGE = 8.0;
-    private static final double DAMAGE_PER_LEVEL = 4.0;
-    private static final int COOLDOWN_SECONDS = 20;
     
     /**
      * Creates a new Gravitational Collapse enchantment.
      */
     public GravitationalCollapseEnchant() {
-        super("GravitationalCollapse", 3, 
-              Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD, 
-              Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
+        this.random = plugin.getRandomService().forEnchant(getName());
+        this.gameplayTimer = plugin.getProfiler().timer(getName(), ProfilePhase.GAMEPLAY);
+        this.visualTimer = plugin.getProfiler().timer(getName(), ProfilePhase.VISUAL);
+        this.procs = plugin.getMetrics().procs(getName());
+        this.displays = plugin.getMetrics().displays();
+        plugin.getMetrics().trackCooldowns(getName(), lastProcTime::size);
+        // Orbits draw from a generator of their own, so they never shift the proc rolls
+        ThreadRandom orbits = new ThreadRandom(random.split());
+        CollapseHandler handler = new CollapseHandler();
+        this.collapseEngines = new RegionShards<>(plugin, gameplayTimer,
+            () -> new OrbitalCollapseEngine(handler, orbits.split(), gameplayTimer));
+        this.log = plugin.getPluginLog().channel(LogCategory.EFFECTS);
     }
 
     @Override
@@ -108,6 +130,7 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
         }
         
         LivingEntity target = (LivingEntity) event.getEntity();
+        PluginSettings.GravitationalCollapse settings = plugin.getSettings().gravitationalCollapse();
         
         // Check cooldown
         UUID playerId = player.getUniqueId();
@@ -115,21 +138,25 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
         
         if (lastProcTime.containsKey(playerId)) {
             long lastProc = lastProcTime.get(playerId);
-            if (currentTime - lastProc < COOLDOWN_SECONDS * 1000) {
+            if (currentTime - lastProc < settings.cooldownSeconds() * 1000L) {
                 return; // Still on cooldown
             }
         }
         
         // Calculate proc chance (20% + 10% per level)
-        double procChance = PROC_CHANCE_BASE + (level * PROC_CHANCE_PER_LEVEL);
+        double procChance = settings.procChanceBase() + (level * settings.procChancePerLevel());
         
-        // Roll for proc
-        if (random.nextDouble() < procChance) {
+        // Roll for proc, from the event's seed while a trace is recorded
+        SplittableRandom rolls = plugin.getTraceRecorder().rolls(event, getName(), random.current());
+        boolean procced = rolls.nextDouble() < procChance;
+        JfrProcRoll.record(getName(), level, player, procChance, procced);
+        if (procced) {
             // Update last proc time
             lastProcTime.put(playerId, currentTime);
+            procs.increment();
             
             // Trigger the gravitational collapse
-            triggerGravitationalCollapse(player, target, level);
+            triggerGravitationalCollapse(player, target, level, settings);
             
             // Notify the player
             player.sendActionBar(net.kyori.adventure.text.Component.text(
@@ -138,7 +165,7 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
             
             // Occasionally clean up old entries
             if (random.nextInt(10) == 0) {
-                cleanupOldEntries();
+                cleanupOldEntries(settings.cooldownSeconds() * 1000L);
             }
         }
     }
@@ -149,8 +176,10 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
      * @param player The player who triggered the enchantment
      * @param target The target entity
      * @param level The enchantment level
+     * @param settings The settings to use for this collapse
      */
-    private void triggerGravitationalCollapse(Player player, LivingEntity target, int level) {
+    private void triggerGravitationalCollapse(Player player, LivingEntity target, int level,
+                                              PluginSettings.GravitationalCollapse settings) {
         World world = target.getWorld();
         Location targetLoc = target.getLocation();
         
@@ -158,10 +187,10 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
         world.playSound(targetLoc, Sound.BLOCK_BEACON_ACTIVATE, 1.0f, 0.5f);
         
         // Calculate the center of the effect (offset upward for better visibility)
-        Location centerLoc = targetLoc.clone().add(0, BLACK_HOLE_OFFSET_Y, 0);
+        Location centerLoc = targetLoc.clone().add(0, settings.blackHoleOffsetY(), 0);
         
         // Find blocks using ray-tracing
-        List<Block> affectedBlocks = scanForBlocks(centerLoc, BLOCK_RADIUS, MAX_BLOCKS, level);
+        List<Block> affectedBlocks = scanForBlocks(centerLoc, settings.blockRadius(), settings.maxBlocks(), level);
         
         // Start the collapse sequence if we found enough blocks
         if (!affectedBlocks.isEmpty()) {
@@ -169,12 +198,12 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
             highlightBlocks(affectedBlocks, centerLoc);
             
             // Then, after a short delay, start the gravitational collapse
-            new BukkitRunnable() {
+            new ProfiledTask(gameplayTimer) {
                 @Override
-                public void run() {
-                    startGravitationalCollapse(player, target, centerLoc, affectedBlocks, level);
+                protected void tick() {
+                    startGravitationalCollapse(player, target, centerLoc, affectedBlocks, level, settings);
                 }
-            }.runTaskLater(plugin, 20L); // 1-second delay
+            }.runLater(plugin, centerLoc, 20L); // 1-second delay
         }
     }
     
@@ -262,12 +291,12 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
         World world = center.getWorld();
         
         // Create initial highlighting effect
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             int tick = 0;
             final int duration = 20; // 1 second of highlighting
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (tick >= duration) {
                     this.cancel();
                     return;
@@ -331,7 +360,7 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
                 
                 tick++;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        }.runTimer(plugin, center, 0L, 1L);
     }
     
     /**
@@ -342,9 +371,11 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
      * @param center The center location of the effect
      * @param blocks The blocks to use in the effect
      * @param level The enchantment level
+     * @param settings The settings to use for this collapse
      */
     private void startGravitationalCollapse(Player player, LivingEntity target, Location center, 
-                                            List<Block> blocks, int level) {
+                                            List<Block> blocks, int level,
+                                            PluginSettings.GravitationalCollapse settings) {
         World world = center.getWorld();
         
         // Play sound effect for collapse start
@@ -353,40 +384,55 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
         // Create the black hole particle effect at the center
         BlackHole blackHole = createBlackHole(center, level);
         
-        // Transform blocks into displays
-        List<BlockData> blockDataList = new ArrayList<>();
+        // Transform blocks into displays; the cleared blocks are journaled so a crash cannot delete terrain
+        DisplacedBlocks displacedBlocks = new DisplacedBlocks(world, plugin.getBlockJournal());
         List<BlockDisplay> blockDisplays = new ArrayList<>();
         
+        JfrBlockMutation clearing = JfrBlockMutation.start();
         for (Block block : blocks) {
-            // Store original block data for respawning later
-            blockDataList.add(block.getBlockData().clone());
-            
             // Create block display entity
-            BlockDisplay display = createBlockDisplay(block);
+            BlockDisplay display = createBlockDisplay(block, level);
             if (display != null) {
                 blockDisplays.add(display);
                 
-                // Set block to air (temporarily)
-                block.setType(Material.AIR);
+                // Store the original block and set it to air (temporarily)
+                displacedBlocks.displace(block);
             }
         }
-        
-        // Now start the animation sequence
-        startOrbitalAnimation(player, target, center, blockDisplays, blockDataList, blocks, blackHole, level);
+        clearing.end(getName(), level, center, "clear", displacedBlocks.size());
+        
+        // Hand the blocks to the collapse engine of the region; restore the world once it is done
+        double inwardSpeed = 0.03 + ((level - 1) * 0.01);
+        double launchSpeed = 0.3 + (level * 0.1); // 0.4 - 0.6 blocks per tick
+        double damage = settings.baseDamage() + ((level - 1) * settings.damagePerLevel());
+        
+        OrbitalCollapseEngine collapseEngine = collapseEngines.at(center);
+        collapseEngine.start(player, center, level, blockDisplays, inwardSpeed, launchSpeed, damage, () -> {
+            // Stop the black hole effect
+            blackHole.stop();
+            
+            // Restore original blocks that are still air
+            JfrBlockMutation restoring = JfrBlockMutation.start();
+            int restored = displacedBlocks.restore();
+            restoring.end(getName(), level, center, "restore", restored);
+        });
     }
     
     /**
      * Creates a BlockDisplay entity for a given block.
      *
      * @param block The block to create a display for
+     * @param level The enchantment level
      * @return The created BlockDisplay entity
      */
-    private BlockDisplay createBlockDisplay(Block block) {
+    private BlockDisplay createBlockDisplay(Block block, int level) {
         try {
             Location blockCenter = block.getLocation().add(0.5, 0.5, 0.5);
             
             // Create the block display
+            JfrDisplaySpawn flight = JfrDisplaySpawn.start();
             BlockDisplay display = block.getWorld().spawn(blockCenter, BlockDisplay.class);
+            displays.increment();
             display.setBlock(block.getBlockData());
             
             // Initial scaling (start at full size)
@@ -403,10 +449,11 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
             display.setShadowRadius(0); // No shadow
             display.setShadowStrength(0); // No shadow
             display.setPersistent(false); // Will despawn when chunk unloads
+            flight.end(getName(), level, blockCenter, "block_display");
             
             return display;
         } catch (Exception e) {
-            plugin.getLogger().warning("Failed to create block display: " + e.getMessage());
+            log.warning(() -> "Failed to create block display for " + block.getType() + ": " + e.getMessage());
             return null;
         }
     }
@@ -424,197 +471,6 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
         return blackHole;
     }
     
-    /**
-     * Starts the orbital animation for block displays.
-     *
-     * @param player The player who triggered the enchantment
-     * @param target The target entity
-     * @param center The center location
-     * @param displays The block displays
-     * @param blockDataList The original block data
-     * @param originalBlocks The original blocks
-     * @param blackHole The black hole effect
-     * @param level The enchantment level
-     */
-    private void startOrbitalAnimation(Player player, LivingEntity target, Location center,
-                                      List<BlockDisplay> displays, List<BlockData> blockDataList, 
-                                      List<Block> originalBlocks, BlackHole blackHole, int level) {
-        World world = center.getWorld();
-        
-        // Initial orbital parameters
-        Map<BlockDisplay, OrbitalData> orbitalDataMap = new HashMap<>();
-        
-        // Assign random orbital parameters to each display
-        for (BlockDisplay display : displays) {
-            OrbitalData orbitalData = new OrbitalData();
-            
-            // Random initial position on a sphere
-            double theta = random.nextDouble() * Math.PI * 2;
-            double phi = random.nextDouble() * Math.PI;
-            double radius = 3.0 + random.nextDouble() * 2.0;
-            
-            orbitalData.theta = theta;
-            orbitalData.phi = phi;
-            orbitalData.radius = radius;
-            orbitalData.spinSpeed = 0.05 + (random.nextDouble() * 0.1);
-            orbitalData.inwardSpeed = 0.03 + ((level - 1) * 0.01);
-            
-            orbitalDataMap.put(display, orbitalData);
-        }
-        
-        // Start the orbital animation
-        new BukkitRunnable() {
-            int tick = 0;
-            final int collapseDuration = 60; // 3 seconds of collapsing
-            final int holdDuration = 20; // 1 second of holding in the black hole
-            List<Entity> nearbyEntities = null;
-            boolean projectilesLaunched = false;
-            
-            @Override
-            public void run() {
-                // Cancel if all displays are removed
-                if (displays.isEmpty()) {
-                    this.cancel();
-                    return;
-                }
-                
-                // Phase 1: Orbit and collapse into black hole
-                if (tick < collapseDuration) {
-                    updateOrbitalPhase(displays, orbitalDataMap, center, tick, collapseDuration);
-                }
-                // Phase 2: Hold in black hole
-                else if (tick < collapseDuration + holdDuration) {
-                    // Get nearby entities for targeting
-                    if (nearbyEntities == null) {
-                        nearbyEntities = getNearbyTargets(center, player, level);
-                    }
-                    
-                    // Particles swirling intensely
-                    for (int i = 0; i < 20; i++) {
-                        double angle = random.nextDouble() * Math.PI * 2;
-                        double radius = 0.2 + (random.nextDouble() * 0.3);
-                        Location particleLoc = center.clone().add(
-                            Math.cos(angle) * radius,
-                            random.nextDouble() * 0.5 - 0.25,
-                            Math.sin(angle) * radius
-                        );
-                        
-                        world.spawnParticle(
-                            Particle.SQUID_INK, 
-                            particleLoc,
-                            1, 
-                            0, 0, 0, 
-                            0
-                        );
-                    }
-                }
-                // Phase 3: Launch projectiles
-                else if (!projectilesLaunched) {
-                    launchBlockProjectiles(displays, center, nearbyEntities, level);
-                    projectilesLaunched = true;
-                }
-                // Phase 4: Wait for projectiles to finish and clean up
-                else if (tick > collapseDuration + holdDuration + 100) { // 5 seconds after launch
-                    // Remove any remaining displays
-                    for (BlockDisplay display : new ArrayList<>(displays)) {
-                        display.remove();
-                    }
-                    displays.clear();
-                    
-                    // Stop the black hole effect
-                    blackHole.stop();
-                    
-                    // Restore original blocks
-                    for (int i = 0; i < originalBlocks.size() && i < blockDataList.size(); i++) {
-                        // Only restore if the block is still air
-                        if (originalBlocks.get(i).getType() == Material.AIR) {
-                            originalBlocks.get(i).setBlockData(blockDataList.get(i));
-                        }
-                    }
-                    
-                    this.cancel();
-                }
-                
-                tick++;
-            }
-        }.runTaskTimer(plugin, 0L, 1L);
-    }
-    
-    /**
-     * Updates the orbital phase of the animation.
-     *
-     * @param displays The block displays
-     * @param orbitalDataMap The orbital data for each display
-     * @param center The center location
-     * @param tick The current tick
-     * @param duration The total duration of this phase
-     */
-    private void updateOrbitalPhase(List<BlockDisplay> displays, Map<BlockDisplay, OrbitalData> orbitalDataMap,
-                                   Location center, int tick, int duration) {
-        World world = center.getWorld();
-        
-        // Phase progress from 0.0 to 1.0
-        double progress = (double) tick / duration;
-        
-        // Process each display
-        for (Iterator<BlockDisplay> iterator = displays.iterator(); iterator.hasNext();) {
-            BlockDisplay display = iterator.next();
-            
-            // Skip if display was removed
-            if (display == null || display.isDead()) {
-                iterator.remove();
-                continue;
-            }
-            
-            OrbitalData data = orbitalDataMap.get(display);
-            
-            // Update orbital parameters
-            data.theta += data.spinSpeed;
-            data.radius -= data.inwardSpeed;
-            
-            // Calculate new position
-            double x = Math.sin(data.phi) * Math.cos(data.theta) * data.radius;
-            double y = Math.cos(data.phi) * data.radius;
-            double z = Math.sin(data.phi) * Math.sin(data.theta) * data.radius;
-            
-            // Calculate rotation based on movement
-            Vector3f position = new Vector3f((float) x, (float) y, (float) z);
-            
-            // Create transformation with decreasing scale
-            float scale = 1.0f - (0.5f * (float) progress); // Scale from 1.0 to 0.5
-            
-            // Update display position and scale
-            try {
-                Transformation transformation = new Transformation(
-                    position,
-                    new Quaternionf().rotateY((float) data.theta).rotateX((float) data.phi), // Rotation to face center
-                    new Vector3f(scale, scale, scale), // Shrinking scale
-                    new Quaternionf()
-                );
-                
-                display.setTransformation(transformation);
-                
-                // Update display position
-                Location newLoc = center.clone().add(x, y, z);
-                display.teleport(newLoc);
-                
-                // Add particle trail
-                if (tick % 2 == 0) {
-                    world.spawnParticle(
-                        Particle.END_ROD,
-                        newLoc,
-                        1,
-                        0, 0, 0,
-                        0.02
-                    );
-                }
-            } catch (Exception e) {
-                plugin.getLogger().warning("Error updating display: " + e.getMessage());
-                iterator.remove();
-            }
-        }
-    }
-    
     /**
      * Gets nearby entities that can be targeted by the effect.
      *
@@ -635,246 +491,6 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
             .collect(Collectors.toList());
     }
     
-    /**
-     * Launches blocks as projectiles toward nearby entities.
-     *
-     * @param displays The block displays to launch
-     * @param center The center location
-     * @param targets The potential targets
-     * @param level The enchantment level
-     */
-    private void launchBlockProjectiles(List<BlockDisplay> displays, Location center, 
-                                       List<Entity> targets, int level) {
-        World world = center.getWorld();
-        
-        // Play launch sound
-        world.playSound(center, Sound.ENTITY_WITHER_SHOOT, 1.0f, 0.5f);
-        
-        // Get displays and targets
-        List<BlockDisplay> availableDisplays = new ArrayList<>(displays);
-        List<Entity> availableTargets = new ArrayList<>(targets);
-        
-        // Randomize the order for more chaotic effect
-        Collections.shuffle(availableDisplays);
-        
-        // Launch each block as a projectile
-        for (BlockDisplay display : availableDisplays) {
-            if (display == null || display.isDead()) {
-                continue;
-            }
-            
-            // Find a target or create random trajectory if no targets available
-            Entity target = null;
-            if (!availableTargets.isEmpty()) {
-                target = availableTargets.remove(0); // Use each target once
-            }
-            
-            // Start the projectile animation
-            startProjectileAnimation(display, center, target, level);
-        }
-    }
-    
-    /**
-     * Starts the projectile animation for a single block display.
-     *
-     * @param display The block display
-     * @param center The center location
-     * @param target The target entity (can be null)
-     * @param level The enchantment level
-     */
-    private void startProjectileAnimation(BlockDisplay display, Location center, Entity target, int level) {
-        World world = center.getWorld();
-        
-        // Initial position
-        Location startLoc = display.getLocation();
-        Vector direction;
-        
-        // Calculate direction - either toward target or random if no target
-        if (target != null) {
-            direction = target.getLocation().add(0, target.getHeight() / 2, 0)
-                .subtract(startLoc).toVector().normalize();
-        } else {
-            // Random direction if no target
-            double angleXZ = random.nextDouble() * Math.PI * 2;
-            double angleY = random.nextDouble() * Math.PI - (Math.PI / 2); // -90 to +90 degrees
-            
-            direction = new Vector(
-                Math.cos(angleXZ) * Math.cos(angleY),
-                Math.sin(angleY),
-                Math.sin(angleXZ) * Math.cos(angleY)
-            ).normalize();
-        }
-        
-        // Calculate speed based on level
-        double speed = 0.3 + (level * 0.1); // 0.4 - 0.6 blocks per tick
-        
-        // Set additional info
-        final Entity finalTarget = target;
-        final double damage = BASE_DAMAGE + ((level - 1) * DAMAGE_PER_LEVEL);
-        
-        // Start animation
-        new BukkitRunnable() {
-            int tick = 0;
-            final int maxTicks = 100; // 5 seconds max flight time
-            boolean hitTarget = false;
-            Vector currentVelocity = direction.clone().multiply(speed);
-            
-            @Override
-            public void run() {
-                // Cancel if display was removed or max time reached
-                if (display == null || display.isDead() || tick >= maxTicks) {
-                    this.cancel();
-                    return;
-                }
-                
-                // Update position based on velocity
-                Location currentLoc = display.getLocation();
-                Location nextLoc = currentLoc.clone().add(currentVelocity);
-                
-                // Check for collision with world
-                if (!nextLoc.getBlock().isPassable()) {
-                    // Hit a block - create impact
-                    createImpactEffect(nextLoc, level);
-                    display.remove();
-                    this.cancel();
-                    return;
-                }
-                
-                // Check for target hit
-                if (finalTarget != null && !hitTarget) {
-                    // As projectile gets closer to target, increase its size for dramatic effect
-                    double distanceToTarget = nextLoc.distance(finalTarget.getLocation());
-                    
-                    // Adjust trajectory slightly to home in on target
-                    if (distanceToTarget > 1.0 && tick % 5 == 0) {
-                        // Home in on target
-                        Vector targetDir = finalTarget.getLocation().add(0, finalTarget.getHeight() / 2, 0)
-                            .subtract(nextLoc).toVector().normalize().multiply(speed);
-                        
-                        // Blend current velocity with target direction
-                        currentVelocity = currentVelocity.multiply(0.8).add(targetDir.multiply(0.2));
-                        currentVelocity.normalize().multiply(speed);
-                    }
-                    
-                    // Check if we hit the target
-                    if (distanceToTarget < 1.0) {
-                        hitTarget = true;
-                        
-                        // Create impact effect
-                        createImpactEffect(finalTarget.getLocation(), level);
-                        
-                        // Apply effect
-                        if (finalTarget instanceof LivingEntity) {
-                            LivingEntity livingTarget = (LivingEntity) finalTarget;
-                            
-                            // Apply damage
-                            livingTarget.damage(damage);
-                            
-                            // Apply knockback
-                            livingTarget.setVelocity(direction.clone().multiply(0.5));
-                            
-                            // Apply visual effect
-                            world.spawnParticle(
-                                Particle.DRAGON_BREATH,
-                                livingTarget.getLocation().add(0, livingTarget.getHeight() / 2, 0),
-                                30,
-                                0.5, 0.5, 0.5,
-                                0.05
-                            );
-                            
-                            // Play sound
-                            world.playSound(livingTarget.getLocation(), Sound.ENTITY_WITHER_BREAK_BLOCK, 1.0f, 1.2f);
-                        }
-                        
-                        // Remove the display
-                        display.remove();
-                        this.cancel();
-                        return;
-                    }
-                }
-                
-                // Update display position
-                display.teleport(nextLoc);
-                
-                // Create transformation for rotation effect
-                float rotationSpeed = 0.2f;
-                
-                try {
-                    Transformation transformation = display.getTransformation();
-                    
-                    // Create rotation based on direction
-                    Quaternionf rotation = new Quaternionf();
-                    rotation.rotateAxis(tick * rotationSpeed, 
-                                        (float)direction.getX(), 
-                                        (float)direction.getY(), 
-                                        (float)direction.getZ());
-                    
-                    // Calculate scale that increases over time
-                    float scale = 0.5f + (tick * 0.01f); // Starts at 0.5, grows slowly
-                    if (scale > 1.5f) scale = 1.5f; // Cap at 1.5
-                    
-                    // Create new transformation
-                    Transformation newTransformation = new Transformation(
-                        transformation.getTranslation(),
-                        rotation,
-                        new Vector3f(scale, scale, scale),
-                        transformation.getRightRotation()
-                    );
-                    
-                    display.setTransformation(newTransformation);
-                } catch (Exception e) {
-                    plugin.getLogger().warning("Error updating display transformation: " + e.getMessage());
-                }
-                
-                // Create trailing particles
-                createProjectileTrail(nextLoc);
-                
-                tick++;
-            }
-            
-            /**
-             * Creates a trail of particles behind the projectile.
-             *
-             * @param location The current location of the projectile
-             */
-            private void createProjectileTrail(Location location) {
-                // Main trail particles
-                world.spawnParticle(
-                    Particle.DRAGON_BREATH,
-                    location,
-                    3,
-                    0.1, 0.1, 0.1,
-                    0.01
-                );
-                
-                // Additional ring effect
-                if (tick % 3 == 0) {
-                    double radius = 0.3;
-                    int points = 8;
-                    
-                    for (int i = 0; i < points; i++) {
-                        double angle = (2 * Math.PI * i) / points;
-                        Vector offset = new Vector(
-                            Math.cos(angle) * radius,
-                            Math.sin(angle) * radius,
-                            0
-                        ).rotateAroundAxis(direction, tick * 0.2);
-                        
-                        Location particleLoc = location.clone().add(offset);
-                        
-                        world.spawnParticle(
-                            Particle.END_ROD,
-                            particleLoc,
-                            1,
-                            0, 0, 0,
-                            0
-                        );
-                    }
-                }
-            }
-        }.runTaskTimer(plugin, 0L, 1L);
-    }
-    
     /**
      * Creates an impact effect at the specified location.
      *
@@ -930,14 +546,123 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
     }
     
     /**
-     * Inner class representing orbital data for a block.
+     * Particle, sound and damage callbacks for the shared collapse engine.
      */
-    private class OrbitalData {
-        double theta;      // Angle in XZ plane
-        double phi;        // Angle from Y axis
-        double radius;     // Distance from center
-        double spinSpeed;  // How fast it orbits
-        double inwardSpeed; // How fast it moves inward
+    private class CollapseHandler implements OrbitalCollapseEngine.Handler {
+        
+        @Override
+        public List<Entity> findTargets(Location center, Player owner, int level) {
+            return getNearbyTargets(center, owner, level);
+        }
+        
+        @Override
+        public void onHold(Location center, int level, int tick) {
+            World world = center.getWorld();
+            
+            // Particles swirling intensely
+            for (int i = 0; i < 20; i++) {
+                double angle = random.nextDouble() * Math.PI * 2;
+                double radius = 0.2 + (random.nextDouble() * 0.3);
+                
+                world.spawnParticle(
+                    Particle.SQUID_INK,
+                    center.getX() + Math.cos(angle) * radius,
+                    center.getY() + random.nextDouble() * 0.5 - 0.25,
+                    center.getZ() + Math.sin(angle) * radius,
+                    1,
+                    0, 0, 0,
+                    0
+                );
+            }
+        }
+        
+        @Override
+        public void onLaunch(Location center, int level) {
+            // Play launch sound
+            center.getWorld().playSound(center, Sound.ENTITY_WITHER_SHOOT, 1.0f, 0.5f);
+        }
+        
+        @Override
+        public void onOrbit(World world, double x, double y, double z, int tick) {
+            // Add particle trail
+            if (tick % 2 == 0) {
+                world.spawnParticle(Particle.END_ROD, x, y, z, 1, 0, 0, 0, 0.02);
+            }
+        }
+        
+        @Override
+        public void onFlight(World world, double x, double y, double z,
+                             double directionX, double directionY, double directionZ, int tick) {
+            // Main trail particles
+            world.spawnParticle(Particle.DRAGON_BREATH, x, y, z, 3, 0.1, 0.1, 0.1, 0.01);
+            
+            // Additional ring effect, rotated around the launch direction
+            if (tick % 3 == 0) {
+                double radius = 0.3;
+                int points = 8;
+                double spin = tick * 0.2;
+                double cos = Math.cos(spin);
+                double sin = Math.sin(spin);
+                
+                for (int i = 0; i < points; i++) {
+                    double angle = (2 * Math.PI * i) / points;
+                    double ox = Math.cos(angle) * radius;
+                    double oy = Math.sin(angle) * radius;
+                    
+                    // Rodrigues' rotation of (ox, oy, 0) around the direction
+                    double dot = directionX * ox + directionY * oy;
+                    double crossX = -directionZ * oy;
+                    double crossY = directionZ * ox;
+                    double crossZ = directionX * oy - directionY * ox;
+                    
+                    world.spawnParticle(
+                        Particle.END_ROD,
+                        x + ox * cos + crossX * sin + directionX * dot * (1 - cos),
+                        y + oy * cos + crossY * sin + directionY * dot * (1 - cos),
+                        z + crossZ * sin + directionZ * dot * (1 - cos),
+                        1,
+                        0, 0, 0,
+                        0
+                    );
+                }
+            }
+        }
+        
+        @Override
+        public void onBlockImpact(World world, double x, double y, double z, int level) {
+            createImpactEffect(new Location(world, x, y, z), level);
+        }
+        
+        @Override
+        public void onTargetHit(Entity target, Player owner, double directionX, double directionY, double directionZ,
+                                double damage, int level) {
+            // Create impact effect
+            createImpactEffect(target.getLocation(), level);
+            
+            if (!(target instanceof LivingEntity)) {
+                return;
+            }
+            
+            LivingEntity livingTarget = (LivingEntity) target;
+            
+            // Apply damage
+            livingTarget.damage(damage);
+            
+            // Apply knockback
+            livingTarget.setVelocity(new Vector(directionX, directionY, directionZ).multiply(0.5));
+            
+            // Apply visual effect
+            livingTarget.getWorld().spawnParticle(
+                Particle.DRAGON_BREATH,
+                livingTarget.getLocation().add(0, livingTarget.getHeight() / 2, 0),
+                30,
+                0.5, 0.5, 0.5,
+                0.05
+            );
+            
+            // Play sound
+            livingTarget.getWorld().playSound(livingTarget.getLocation(), Sound.ENTITY_WITHER_BREAK_BLOCK, 1.0f, 1.2f);
+        }
     }
     
     /**
@@ -946,7 +671,7 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
     private class BlackHole {
         private final Location center;
         private final int level;
-        private BukkitTask task;
+        private EffectTask task;
         
         public BlackHole(Location center, int level) {
             this.center = center;
@@ -957,11 +682,11 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
          * Starts the black hole particle effect.
          */
         public void start() {
-            task = new BukkitRunnable() {
+            task = new ProfiledTask(visualTimer) {
                 int tick = 0;
                 
                 @Override
-                public void run() {
+                protected void tick() {
                     World world = center.getWorld();
                     
                     // Calculate size based on level and time
@@ -981,12 +706,10 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
                         double y = Math.cos(phi) * radius;
                         double z = Math.sin(phi) * Math.sin(theta) * radius;
                         
-                        Location particleLoc = center.clone().add(x, y, z);
-                        
                         // Black particles
                         world.spawnParticle(
                             Particle.SQUID_INK, 
-                            particleLoc,
+                            center.getX() + x, center.getY() + y, center.getZ() + z,
                             1, 
                             0, 0, 0, 
                             0
@@ -998,15 +721,12 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
                         for (int i = 0; i < 10; i++) {
                             double angle = random.nextDouble() * Math.PI * 2;
                             double radius = pulseSize * 1.2;
-                            Location particleLoc = center.clone().add(
-                                Math.cos(angle) * radius,
-                                (random.nextDouble() * 2 - 1) * radius,
-                                Math.sin(angle) * radius
-                            );
                             
                             world.spawnParticle(
                                 Particle.DRAGON_BREATH,
-                                particleLoc,
+                                center.getX() + Math.cos(angle) * radius,
+                                center.getY() + (random.nextDouble() * 2 - 1) * radius,
+                                center.getZ() + Math.sin(angle) * radius,
                                 1,
                                 0, 0, 0,
                                 0.02
@@ -1021,7 +741,7 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
                     
                     tick++;
                 }
-            }.runTaskTimer(plugin, 0L, 1L);
+            }.runTimer(plugin, center, 0L, 1L);
         }
         
         /**
@@ -1048,11 +768,13 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
     
     /**
      * Cleans up old cooldown entries.
+     *
+     * @param cooldownMillis The current cooldown in milliseconds
      */
-    private void cleanupOldEntries() {
+    private void cleanupOldEntries(long cooldownMillis) {
         long currentTime = System.currentTimeMillis();
         lastProcTime.entrySet().removeIf(entry -> 
-            currentTime - entry.getValue() > COOLDOWN_SECONDS * 1000);
+            currentTime - entry.getValue() > cooldownMillis);
     }
     
     @Override
@@ -1061,4 +783,10 @@ public class GravitationalCollapseEnchant extends CustomEnchant {
                other.getName().equalsIgnoreCase("DimensionalRift") ||
                other.getName().equalsIgnoreCase("GravityWell");
     }
+    
+    @Override
+    public void onUnload() {
+        // Finish every collapse, which puts its blocks back
+        collapseEngines.shutdown();
+    }
 } 
\ No newline at end of file
@@ -16,14 +16,22 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
+import org.frizzlenpop.frizzlenChants.config.PluginSettings;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
+import org.frizzlenpop.frizzlenChants.log.LogCategory;
+import org.frizzlenpop.frizzlenChants.log.LogChannel;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.profile.ProfiledTask;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Magic Mirror Enchantment
@@ -48,16 +56,16 @@ import java.util.UUID;
  * in the specific ender pearl item's persistent data container, so each enchanted pearl
  * can have its own unique home location.
  */
+@EnchantInfo(name = "MagicMirror", maxLevel = MagicMirrorEnchant.MAX_LEVEL, items = {Material.ENDER_PEARL})
 public class MagicMirrorEnchant extends CustomEnchant {
 
     private final FrizzlenChants plugin;
+    private final ProfileTimer visualTimer;
+    private final LongAdder procs;
+    private final LogChannel log;
     
     // Constants
-    private static final int MAX_LEVEL = 3;
-    private static final long COOLDOWN_SECONDS = 300; // 5 minutes cooldown
-    private static final int LEVEL_1_DISTANCE = 1000; // 1000 blocks
-    private static final int LEVEL_2_DISTANCE = 5000; // 5000 blocks
-    private static final boolean DEBUG_MODE = true; // Set to true for additional debug output
+    static final int MAX_LEVEL = 3;
     
     // Keys for storing location data
     private final NamespacedKey homeWorldKey;
@@ -68,14 +76,17 @@ public class MagicMirrorEnchant extends CustomEnchant {
     private final NamespacedKey homeYawKey;
     
     // Track player cooldowns
-    private final Map<UUID, Long> lastUseTimes = new HashMap<>();
+    private final Map<UUID, Long> lastUseTimes = new ConcurrentHashMap<>();
     
     /**
      * Constructor for Magic Mirror enchantment.
      */
     public MagicMirrorEnchant() {
-        super("MagicMirror", MAX_LEVEL, Material.ENDER_PEARL);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
+        this.visualTimer = plugin.getProfiler().timer(getName(), ProfilePhase.VISUAL);
+        this.procs = plugin.getMetrics().procs(getName());
+        plugin.getMetrics().trackCooldowns(getName(), lastUseTimes::size);
+        this.log = plugin.getPluginLog().channel(LogCategory.ENCHANTS);
         
         // Initialize keys for persistent data
         this.homeWorldKey = new NamespacedKey(plugin, "magic_mirror_world");
@@ -104,35 +115,20 @@ public class MagicMirrorEnchant extends CustomEnchant {
             return;
         }
         
-        if (DEBUG_MODE) {
-            plugin.getLogger().info("Player " + player.getName() + " interacted with ender pearl. Action: " + event.getAction());
-        }
-        
         // Check if the item has the Magic Mirror enchantment
         int level = getEnchantmentLevel(item);
         if (level <= 0) {
-            if (DEBUG_MODE) {
-                plugin.getLogger().info("Ender pearl does not have Magic Mirror enchantment");
-            }
             return;
         }
         
-        if (DEBUG_MODE) {
-            plugin.getLogger().info("Found Magic Mirror enchantment level " + level + " on ender pearl");
-        }
+        log.debug(() -> "MagicMirror level " + level + " used by " + player.getName() + ": " + event.getAction());
         
         // Process based on the action
         if (event.getAction() == Action.LEFT_CLICK_AIR || event.getAction() == Action.LEFT_CLICK_BLOCK) {
-            if (DEBUG_MODE) {
-                plugin.getLogger().info("Player left-clicked with enchanted pearl");
-            }
             // Set home location
             setHomeLocation(player, item);
             event.setCancelled(true);
         } else if (event.getAction() == Action.RIGHT_CLICK_AIR || event.getAction() == Action.RIGHT_CLICK_BLOCK) {
-            if (DEBUG_MODE) {
-                plugin.getLogger().info("Player right-clicked with enchanted pearl");
-            }
             // Teleport to home location
             teleportToHome(player, item, level);
             event.setCancelled(true);
@@ -157,12 +153,10 @@ public class MagicMirrorEnchant extends CustomEnchant {
             NamespacedKey key = new NamespacedKey(plugin, enchantKey);
             
             if (container.has(key, PersistentDataType.INTEGER)) {
-                int level = container.get(key, PersistentDataType.INTEGER);
-                plugin.getLogger().info("Found enchantment " + getName() + " level " + level + " on item using PDC");
-                return level;
+                return container.get(key, PersistentDataType.INTEGER);
             }
         } catch (Exception e) {
-            plugin.getLogger().warning("Error checking enchantment level via PDC: " + e.getMessage());
+            log.warning(() -> "Error checking enchantment level via PDC: " + e.getMessage());
         }
         
         // Fallback method - check lore
@@ -174,9 +168,7 @@ public class MagicMirrorEnchant extends CustomEnchant {
                 if (line.startsWith(enchantPrefix)) {
                     // Extract Roman numeral
                     String roman = line.substring(enchantPrefix.length());
-                    int level = romanToInt(roman.trim());
-                    plugin.getLogger().info("Found enchantment " + getName() + " level " + level + " on item using lore");
-                    return level;
+                    return romanToInt(roman.trim());
                 }
             }
         }
@@ -273,18 +265,15 @@ public class MagicMirrorEnchant extends CustomEnchant {
                     )
                 );
                 
-                if (DEBUG_MODE) {
-                    plugin.getLogger().info("Successfully set home location for " + player.getName() + 
-                            " at " + location.getWorld().getName() + ": " + 
-                            location.getX() + ", " + location.getY() + ", " + location.getZ());
-                }
+                log.debug(() -> "Set MagicMirror home of " + player.getName() + " to " +
+                        location.getWorld().getName() + " " + location.getX() + ", " + location.getY() + ", " +
+                        location.getZ());
             } else {
                 player.sendMessage(ChatColor.RED + "Failed to set home location: Item metadata is missing.");
             }
         } catch (Exception e) {
             player.sendMessage(ChatColor.RED + "Failed to set home location: " + e.getMessage());
-            plugin.getLogger().warning("Error setting home location: " + e.getMessage());
-            e.printStackTrace();
+            log.warning(() -> "Error setting home location for " + player.getName(), e);
         }
     }
     
@@ -297,13 +286,13 @@ public class MagicMirrorEnchant extends CustomEnchant {
         World world = location.getWorld();
         
         // Create a spiral effect rising from the ground
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             double angle = 0;
             double y = 0;
             final double yMax = 2.5;
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (y >= yMax) {
                     cancel();
                     return;
@@ -323,7 +312,7 @@ public class MagicMirrorEnchant extends CustomEnchant {
                 angle += Math.PI / 8;
                 y += 0.1;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        }.runTimer(plugin, location, 0L, 1L);
         
         // Create a burst of particles at the center
         world.spawnParticle(Particle.PORTAL, location.clone().add(0, 1, 0), 50, 0.5, 0.5, 0.5, 0.1);
@@ -362,8 +351,10 @@ public class MagicMirrorEnchant extends CustomEnchant {
      * @param level The enchantment level
      */
     private void teleportToHome(Player player, ItemStack item, int level) {
+        PluginSettings.MagicMirror settings = plugin.getSettings().magicMirror();
+        
         // Check cooldown
-        if (!checkCooldown(player)) {
+        if (!checkCooldown(player, settings.cooldownSeconds())) {
             return;
         }
         
@@ -390,11 +381,6 @@ public class MagicMirrorEnchant extends CustomEnchant {
             float pitch = container.get(homePitchKey, PersistentDataType.FLOAT);
             float yaw = container.get(homeYawKey, PersistentDataType.FLOAT);
             
-            if (DEBUG_MODE) {
-                plugin.getLogger().info("Attempting to teleport player " + player.getName() + 
-                        " to: " + worldName + " at " + x + ", " + y + ", " + z);
-            }
-            
             // Get the home world
             World homeWorld = plugin.getServer().getWorld(worldName);
             if (homeWorld == null) {
@@ -403,7 +389,7 @@ public class MagicMirrorEnchant extends CustomEnchant {
             }
             
             // Check if the current location is valid for teleportation based on level
-            if (!isValidTeleportDistance(player, homeWorld, x, y, z, level)) {
+            if (!isValidTeleportDistance(player, homeWorld, x, y, z, level, settings)) {
                 return;
             }
             
@@ -412,22 +398,25 @@ public class MagicMirrorEnchant extends CustomEnchant {
             
             // Set cooldown
             lastUseTimes.put(player.getUniqueId(), System.currentTimeMillis());
+            procs.increment();
             
             // Visual and sound effects before teleport
             player.getWorld().playSound(player.getLocation(), Sound.BLOCK_PORTAL_TRIGGER, 0.5f, 1.5f);
             createTeleportEffects(player.getLocation(), true);
             
-            // Teleport player
-            player.teleport(homeLocation);
-            
-            // Visual and sound effects after teleport
-            homeWorld.playSound(homeLocation, Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
-            homeWorld.playSound(homeLocation, Sound.BLOCK_AMETHYST_BLOCK_CHIME, 1.0f, 0.5f);
-            createTeleportEffects(homeLocation, false);
+            // Teleport player; the home may be in another region or world, so the effects after
+            // the teleport run once it has landed, on the thread that owns the home
+            player.teleportAsync(homeLocation).thenAccept(teleported -> {
+                if (teleported) {
+                    homeWorld.playSound(homeLocation, Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
+                    homeWorld.playSound(homeLocation, Sound.BLOCK_AMETHYST_BLOCK_CHIME, 1.0f, 0.5f);
+                    createTeleportEffects(homeLocation, false);
+                }
+            });
             
             // Display cooldown message
             player.sendMessage(ChatColor.LIGHT_PURPLE + "Teleported to home location! Cooldown: " 
-                    + ChatColor.GOLD + COOLDOWN_SECONDS + ChatColor.LIGHT_PURPLE + " seconds.");
+                    + ChatColor.GOLD + settings.cooldownSeconds() + ChatColor.LIGHT_PURPLE + " seconds.");
                     
             // Show action bar message for better visibility
             player.spigot().sendMessage(
@@ -437,19 +426,16 @@ public class MagicMirrorEnchant extends CustomEnchant {
                 )
             );
             
-            if (DEBUG_MODE) {
-                plugin.getLogger().info("Successfully teleported " + player.getName() + 
-                        " to " + worldName + ": " + x + ", " + y + ", " + z);
-            }
+            log.debug(() -> "Teleported " + player.getName() + " to the MagicMirror home in " + worldName + " " +
+                    x + ", " + y + ", " + z);
             
             // Consume one ender pearl if the server has configured it that way
-            if (plugin.getConfig().getBoolean("magic_mirror.consume_pearl", true)) {
+            if (settings.consumePearl()) {
                 consumeEnderPearl(player, item);
             }
         } catch (Exception e) {
             player.sendMessage(ChatColor.RED + "Failed to teleport: " + e.getMessage());
-            plugin.getLogger().warning("Error teleporting player: " + e.getMessage());
-            e.printStackTrace();
+            log.warning(() -> "Error teleporting " + player.getName() + " home", e);
         }
     }
     
@@ -463,12 +449,12 @@ public class MagicMirrorEnchant extends CustomEnchant {
         World world = location.getWorld();
         
         // Create implosion/explosion effect
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             int tick = 0;
             final int maxTicks = 20;
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (tick >= maxTicks) {
                     cancel();
                     return;
@@ -507,7 +493,7 @@ public class MagicMirrorEnchant extends CustomEnchant {
                 
                 tick++;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        }.runTimer(plugin, location, 0L, 1L);
     }
     
     /**
@@ -519,9 +505,11 @@ public class MagicMirrorEnchant extends CustomEnchant {
      * @param y Y coordinate
      * @param z Z coordinate
      * @param level Enchantment level
+     * @param settings The settings to check against
      * @return True if teleportation is valid
      */
-    private boolean isValidTeleportDistance(Player player, World homeWorld, double x, double y, double z, int level) {
+    private boolean isValidTeleportDistance(Player player, World homeWorld, double x, double y, double z, int level,
+                                            PluginSettings.MagicMirror settings) {
         Location currentLoc = player.getLocation();
         World currentWorld = currentLoc.getWorld();
         
@@ -541,13 +529,13 @@ public class MagicMirrorEnchant extends CustomEnchant {
                 Math.pow(currentLoc.getZ() - z, 2)
             );
             
-            if (level == 1 && distance > LEVEL_1_DISTANCE) {
+            if (level == 1 && distance > settings.level1Distance()) {
                 player.sendMessage(ChatColor.RED + "Your Magic Mirror (Level 1) cannot teleport from distances greater than " 
-                        + LEVEL_1_DISTANCE + " blocks! Current distance: " + (int)distance + " blocks.");
+                        + settings.level1Distance() + " blocks! Current distance: " + (int)distance + " blocks.");
                 return false;
-            } else if (level == 2 && distance > LEVEL_2_DISTANCE) {
+            } else if (level == 2 && distance > settings.level2Distance()) {
                 player.sendMessage(ChatColor.RED + "Your Magic Mirror (Level 2) cannot teleport from distances greater than " 
-                        + LEVEL_2_DISTANCE + " blocks! Current distance: " + (int)distance + " blocks.");
+                        + settings.level2Distance() + " blocks! Current distance: " + (int)distance + " blocks.");
                 return false;
             }
             // Level 3 has no distance limitation
@@ -560,16 +548,17 @@ public class MagicMirrorEnchant extends CustomEnchant {
      * Check if the player is on cooldown.
      * 
      * @param player The player
+     * @param cooldownSeconds The cooldown in seconds
      * @return True if not on cooldown
      */
-    private boolean checkCooldown(Player player) {
+    private boolean checkCooldown(Player player, long cooldownSeconds) {
         UUID playerId = player.getUniqueId();
         long currentTime = System.currentTimeMillis();
         
         // Check if the player has used the enchantment before
         if (lastUseTimes.containsKey(playerId)) {
             long lastUseTime = lastUseTimes.get(playerId);
-            long cooldownMillis = COOLDOWN_SECONDS * 1000;
+            long cooldownMillis = cooldownSeconds * 1000;
             
             if (currentTime - lastUseTime < cooldownMillis) {
                 // Still on cooldown
@@ -607,8 +596,9 @@ public class MagicMirrorEnchant extends CustomEnchant {
      */
     private void cleanupOldEntries() {
         long currentTime = System.currentTimeMillis();
+        long cooldownSeconds = plugin.getSettings().magicMirror().cooldownSeconds();
         lastUseTimes.entrySet().removeIf(entry -> 
-            currentTime - entry.getValue() > COOLDOWN_SECONDS * 1000 * 2); // Remove after double the cooldown time
+            currentTime - entry.getValue() > cooldownSeconds * 1000 * 2); // Remove after double the cooldown time
     }
     
     @Override
@@ -5,48 +5,68 @@ import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Transformation;
 import org.bukkit.util.Vector;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
+import org.frizzlenpop.frizzlenChants.config.PluginSettings;
+import org.frizzlenpop.frizzlenChants.effect.MeteorEngine;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.jfr.JfrDisplaySpawn;
+import org.frizzlenpop.frizzlenChants.jfr.JfrProcRoll;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.profile.ProfiledTask;
+import org.frizzlenpop.frizzlenChants.random.ThreadRandom;
+import org.frizzlenpop.frizzlenChants.schedule.RegionShards;
 import org.joml.AxisAngle4f;
 import org.joml.Vector3f;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Magma Impact enchantment that summons a meteor shower with multiple
  * meteors falling at angles across a wide area, causing explosions and damage.
  */
+@EnchantInfo(name = "MagmaImpact", maxLevel = 3, items = {
+    Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD,
+    Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
+    Material.WOODEN_AXE, Material.STONE_AXE, Material.IRON_AXE,
+    Material.GOLDEN_AXE, Material.DIAMOND_AXE, Material.NETHERITE_AXE
+})
 public class MagmaImpactEnchant extends CustomEnchant {
 
     private final FrizzlenChants plugin;
-    private final Random random = new Random();
-    private final Map<UUID, Long> lastProcTime = new HashMap<>();
+    private final ProfileTimer gameplayTimer;
+    private final ProfileTimer visualTimer;
+    private final LongAdder procs;
+    private final LongAdder displays;
+    private final ThreadRandom random;
+    private final Map<UUID, Long> lastProcTime = new ConcurrentHashMap<>();
+    private final RegionShards<MeteorEngine> meteorEngines;
     
     // Constants
-    private static final int COOLDOWN_MILLIS = 10000; // 10 seconds cooldown
-    private static final double BASE_DAMAGE = 4.0; // Base damage per meteor
-    private static final float KNOCKBACK_STRENGTH = 1.2f; // Knockback strength
     private static final int SUMMON_HEIGHT = 7; // Max height above target
-    private static final int SCATTER_RADIUS = 10; // Area radius for meteor shower
     private static final Material[] METEOR_MATERIALS = {
         Material.MAGMA_BLOCK, Material.NETHERRACK, Material.BLACKSTONE, Material.OBSIDIAN
     };
     
     public MagmaImpactEnchant() {
-        super("MagmaImpact", 3, 
-              Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD, 
-              Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
-              Material.WOODEN_AXE, Material.STONE_AXE, Material.IRON_AXE,
-              Material.GOLDEN_AXE, Material.DIAMOND_AXE, Material.NETHERITE_AXE);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
+        this.random = plugin.getRandomService().forEnchant(getName());
+        this.gameplayTimer = plugin.getProfiler().timer(getName(), ProfilePhase.GAMEPLAY);
+        this.visualTimer = plugin.getProfiler().timer(getName(), ProfilePhase.VISUAL);
+        this.procs = plugin.getMetrics().procs(getName());
+        this.displays = plugin.getMetrics().displays();
+        plugin.getMetrics().trackCooldowns(getName(), lastProcTime::size);
+        MeteorHandler handler = new MeteorHandler();
+        this.meteorEngines = new RegionShards<>(plugin, gameplayTimer,
+            () -> new MeteorEngine(plugin.getAreaEffectResolvers(), handler, gameplayTimer));
     }
 
     @Override
@@ -83,6 +103,7 @@ public class MagmaImpactEnchant extends CustomEnchant {
         }
         
         LivingEntity target = (LivingEntity) event.getEntity();
+        PluginSettings.MagmaImpact settings = plugin.getSettings().magmaImpact();
         
         // Check cooldown
         UUID playerId = player.getUniqueId();
@@ -90,21 +111,25 @@ public class MagmaImpactEnchant extends CustomEnchant {
         
         if (lastProcTime.containsKey(playerId)) {
             long lastProc = lastProcTime.get(playerId);
-            if (currentTime - lastProc < COOLDOWN_MILLIS) {
+            if (currentTime - lastProc < settings.cooldownMillis()) {
                 return; // Still on cooldown
             }
         }
         
         // Calculate proc chance (15% + 5% per level)
-        int procChance = 15 + (level * 5);
+        int procChance = settings.procChanceBase() + (level * settings.procChancePerLevel());
         
-        // Roll for proc
-        if (random.nextInt(100) < procChance) {
+        // Roll for proc, from the event's seed while a trace is recorded
+        SplittableRandom rolls = plugin.getTraceRecorder().rolls(event, getName(), random.current());
+        boolean procced = rolls.nextInt(100) < procChance;
+        JfrProcRoll.record(getName(), level, player, procChance / 100.0, procced);
+        if (procced) {
             // Update last proc time
             lastProcTime.put(playerId, Long.valueOf(currentTime));
+            procs.increment();
             
             // Summon the meteor shower
-            summonMeteorShower(player, target, level);
+            summonMeteorShower(player, target, level, settings);
             
             // Notify the player
             player.sendActionBar(net.kyori.adventure.text.Component.text(
@@ -113,7 +138,7 @@ public class MagmaImpactEnchant extends CustomEnchant {
             
             // Occasionally clean up old entries
             if (random.nextInt(10) == 0) {
-                cleanupOldEntries();
+                cleanupOldEntries(settings.cooldownMillis());
             }
         }
     }
@@ -124,38 +149,43 @@ public class MagmaImpactEnchant extends CustomEnchant {
      * @param player The player who triggered the enchantment
      * @param target The target entity
      * @param level The enchantment level
+     * @param settings The settings to use for this shower
      */
-    private void summonMeteorShower(Player player, LivingEntity target, int level) {
+    private void summonMeteorShower(Player player, LivingEntity target, int level,
+                                    PluginSettings.MagmaImpact settings) {
         World world = target.getWorld();
         Location targetLoc = target.getLocation();
         
+        // The shower draws from its own generator, so it rolls the same whatever else procs meanwhile
+        SplittableRandom shower = random.split();
+        
         // Determine number of meteors based on level
         int baseCount = 3 + (level * 2); // Level 1: 5, Level 2: 7, Level 3: 9
-        int meteorCount = baseCount + random.nextInt(4); // Add 0-3 random meteors
+        int meteorCount = baseCount + shower.nextInt(4); // Add 0-3 random meteors
         
         // Play initial warning sound
         world.playSound(targetLoc, Sound.ENTITY_WITHER_SPAWN, 0.8f, 1.5f);
         
         // Create central warning effect
-        createCentralWarningEffect(targetLoc);
+        createCentralWarningEffect(targetLoc, settings.scatterRadius());
         
         // Summon meteors with a delay between them
-        new BukkitRunnable() {
+        new ProfiledTask(gameplayTimer) {
             int meteorsSummoned = 0;
             int tick = 0;
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (meteorsSummoned >= meteorCount) {
                     this.cancel();
                     return;
                 }
                 
                 // Summon meteors at random intervals
-                if (tick % (random.nextInt(5) + 2) == 0) {
+                if (tick % (shower.nextInt(5) + 2) == 0) {
                     // Determine random position within scatter radius
-                    double angle = random.nextDouble() * Math.PI * 2;
-                    double distance = random.nextDouble() * SCATTER_RADIUS;
+                    double angle = shower.nextDouble() * Math.PI * 2;
+                    double distance = shower.nextDouble() * settings.scatterRadius();
                     double x = Math.cos(angle) * distance;
                     double z = Math.sin(angle) * distance;
                     
@@ -166,7 +196,7 @@ public class MagmaImpactEnchant extends CustomEnchant {
                     createWarningEffect(impactPos);
                     
                     // Summon meteor with random properties
-                    summonSingleMeteor(player, impactPos, level, meteorsSummoned);
+                    summonSingleMeteor(player, impactPos, level, meteorsSummoned, settings, shower);
                     
                     meteorsSummoned++;
                     
@@ -176,7 +206,7 @@ public class MagmaImpactEnchant extends CustomEnchant {
                 
                 tick++;
             }
-        }.runTaskTimer(plugin, 10L, 1L);
+        }.runTimer(plugin, targetLoc, 10L, 1L);
     }
     
     /**
@@ -186,14 +216,17 @@ public class MagmaImpactEnchant extends CustomEnchant {
      * @param targetPos The position where the meteor should impact
      * @param level The enchantment level
      * @param meteorIndex The index of this meteor in the shower
+     * @param settings The settings to use for this shower
+     * @param shower The generator of the shower
      */
-    private void summonSingleMeteor(Player player, Location targetPos, int level, int meteorIndex) {
+    private void summonSingleMeteor(Player player, Location targetPos, int level, int meteorIndex,
+                                    PluginSettings.MagmaImpact settings, SplittableRandom shower) {
         World world = targetPos.getWorld();
         
         // Calculate spawn position (at an angle)
-        double angle = random.nextDouble() * Math.PI * 2;
-        double horizontalDistance = random.nextDouble() * 3;
-        double height = 10 * random.nextDouble();
+        double angle = shower.nextDouble() * Math.PI * 2;
+        double horizontalDistance = shower.nextDouble() * 3;
+        double height = 10 * shower.nextDouble();
         
         // Calculate spawn location for angled approach
         Location spawnLoc = targetPos.clone().add(
@@ -203,7 +236,7 @@ public class MagmaImpactEnchant extends CustomEnchant {
         );
         
         // Randomize meteor size (smaller = faster)
-        float baseScale = 0.8f + (random.nextFloat() * 0.4f) + (level * 0.2f);
+        float baseScale = 0.8f + (shower.nextFloat() * 0.4f) + (level * 0.2f);
         float meteorScale = Math.min(3.0f, baseScale);
         
         // Randomize meteor speed
@@ -213,16 +246,18 @@ public class MagmaImpactEnchant extends CustomEnchant {
         Vector velocity = targetPos.clone().subtract(spawnLoc).toVector().normalize();
         
         // Create the meteor block display
+        JfrDisplaySpawn flight = JfrDisplaySpawn.start();
         BlockDisplay meteor = (BlockDisplay) world.spawnEntity(spawnLoc, EntityType.BLOCK_DISPLAY);
+        displays.increment();
         
         // Set random meteor material
-        Material meteorMaterial = METEOR_MATERIALS[random.nextInt(METEOR_MATERIALS.length)];
+        Material meteorMaterial = METEOR_MATERIALS[shower.nextInt(METEOR_MATERIALS.length)];
         meteor.setBlock(meteorMaterial.createBlockData());
         
         // Set initial transformation
         Transformation initialTransform = new Transformation(
             new Vector3f(0, 0, 0), // translation
-            new AxisAngle4f(random.nextFloat() * 2.0f * (float) Math.PI, random.nextFloat(), random.nextFloat(), random.nextFloat()), // random rotation
+            new AxisAngle4f(shower.nextFloat() * 2.0f * (float) Math.PI, shower.nextFloat(), shower.nextFloat(), shower.nextFloat()), // random rotation
             new Vector3f(meteorScale, meteorScale, meteorScale), // scale
             new AxisAngle4f(0, 0, 0, 0) // right rotation
         );
@@ -231,91 +266,36 @@ public class MagmaImpactEnchant extends CustomEnchant {
         // Set display properties
         meteor.setBrightness(new Display.Brightness(15, 15)); // Full brightness
         meteor.setGlowing(true);
+        flight.end(getName(), level, spawnLoc, "block_display");
         
-        // Fall animation
-        BukkitTask bukkitTask = new BukkitRunnable() {
-            int tick = 0;
-            final Vector path = velocity.clone().multiply(2.0 / fallDuration); // Move per tick
-            boolean hasImpacted = false;
-
-            @Override
-            public void run() {
-                if (!meteor.isValid() || hasImpacted || tick > fallDuration * 1.5) {
-                    meteor.remove();
-                    this.cancel();
-                    return;
-                }
-
-                // Move the meteor
-                Location newLoc = meteor.getLocation().add(path);
-                meteor.teleport(newLoc);
-
-                // Rotate the meteor
-                Transformation currentTransform = meteor.getTransformation();
-                Transformation newTransform = new Transformation(
-                        currentTransform.getTranslation(),
-                        new AxisAngle4f((float) (tick * 0.1), 1.0f, 0.5f, 0.0f), // Continuous rotation
-                        currentTransform.getScale(),
-                        new AxisAngle4f(0, 0, 0, 0)
-                );
-                meteor.setTransformation(newTransform);
-
-                // Create trailing particles
-                createMeteorTrail(meteor.getLocation(), meteorScale, level);
-
-                // Check if close to ground or reached the target
-                if (tick >= fallDuration || isNearGround(meteor.getLocation()) ||
-                        meteor.getLocation().distanceSquared(targetPos) < 0) {
-
-                    // Create explosion effect
-                    createMeteorImpactEffect(meteor.getLocation(), meteorScale, level);
-
-                    // Apply damage to nearby entities
-                    applyMeteorDamage(player, meteor.getLocation(), meteorScale, level);
-
-                    // Set as impacted
-                    hasImpacted = true;
-                }
-
-                tick++;
-            }
-        }.runTaskTimer(plugin, 0L, 1L);
-    }
-    
-    /**
-     * Checks if a location is near the ground.
-     *
-     * @param location The location to check
-     * @return true if the location is near or below ground level
-     */
-    private boolean isNearGround(Location location) {
-        // Check a few blocks down for solid ground
-        for (int i = 0; i < 2; i++) {
-            Location check = location.clone().subtract(0, i, 0);
-            if (check.getBlock().getType().isSolid()) {
-                return true;
-            }
-        }
-        return false;
+        // Impact parameters scale with meteor size and enchant level
+        double radius = 2.0 * meteorScale + (level * 0.5);
+        double damage = settings.baseDamage() * meteorScale + (level * 1.5); // 4-12 damage based on size and level
+        float knockbackMultiplier = settings.knockbackStrength() * meteorScale;
+        
+        // The engine predicts the impact tick now and only renders the fall from here on
+        meteorEngines.at(targetPos).launch(player, meteor, spawnLoc, velocity.multiply(2.0 / fallDuration),
+            meteorScale, level, fallDuration, radius, damage, knockbackMultiplier);
     }
     
     /**
      * Creates trailing particles behind a meteor.
      *
-     * @param location The meteor's current location
+     * @param world The meteor's world
+     * @param x The meteor's X coordinate
+     * @param y The meteor's Y coordinate
+     * @param z The meteor's Z coordinate
      * @param scale The meteor's scale
      * @param level The enchantment level
      */
-    private void createMeteorTrail(Location location, float scale, int level) {
-        World world = location.getWorld();
-        
+    private void createMeteorTrail(World world, double x, double y, double z, float scale, int level) {
         // Number of particles based on size and level
         int particleCount = (int)(5 * scale) + (level * 2);
         
         // Flame trail
         world.spawnParticle(
             Particle.FLAME,
-            location,
+            x, y, z,
             particleCount,
             0.2 * scale, 0.2 * scale, 0.2 * scale,
             0.01
@@ -324,7 +304,7 @@ public class MagmaImpactEnchant extends CustomEnchant {
         // Smoke trail
         world.spawnParticle(
             Particle.CAMPFIRE_COSY_SMOKE,
-            location,
+            x, y, z,
             particleCount / 2,
             0.1 * scale, 0.1 * scale, 0.1 * scale,
             0.01
@@ -334,7 +314,7 @@ public class MagmaImpactEnchant extends CustomEnchant {
         if (level >= 2) {
             world.spawnParticle(
                 Particle.LAVA,
-                location,
+                x, y, z,
                 1 + level,
                 0.1 * scale, 0.1 * scale, 0.1 * scale,
                 0
@@ -346,24 +326,25 @@ public class MagmaImpactEnchant extends CustomEnchant {
      * Creates a central warning effect for the meteor shower.
      *
      * @param location The center of the meteor shower
+     * @param scatterRadius The radius of the meteor shower
      */
-    private void createCentralWarningEffect(Location location) {
+    private void createCentralWarningEffect(Location location, int scatterRadius) {
         World world = location.getWorld();
         
         // Create a pulsing circular warning effect
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             int tick = 0;
             final int duration = 40; // 2 seconds warning
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (tick >= duration) {
                     this.cancel();
                     return;
                 }
                 
                 // Calculate pulsing radius
-                double baseRadius = SCATTER_RADIUS / 2;
+                double baseRadius = scatterRadius / 2;
                 double radiusOffset = Math.sin(tick * 0.2) * 2;
                 double radius = baseRadius + radiusOffset;
                 
@@ -390,9 +371,9 @@ public class MagmaImpactEnchant extends CustomEnchant {
                     // Add some ash particles near ground
                     if (tick % 5 == 0 && random.nextInt(3) == 0) {
                         Location ashLoc = location.clone().add(
-                            random.nextDouble() * SCATTER_RADIUS - (SCATTER_RADIUS / 2),
+                            random.nextDouble() * scatterRadius - (scatterRadius / 2),
                             0.1,
-                            random.nextDouble() * SCATTER_RADIUS - (SCATTER_RADIUS / 2)
+                            random.nextDouble() * scatterRadius - (scatterRadius / 2)
                         );
                         
                         world.spawnParticle(
@@ -412,7 +393,7 @@ public class MagmaImpactEnchant extends CustomEnchant {
                 
                 tick++;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        }.runTimer(plugin, location, 0L, 1L);
     }
     
     /**
@@ -424,12 +405,12 @@ public class MagmaImpactEnchant extends CustomEnchant {
         World world = location.getWorld();
         
         // Create a brief circular warning effect
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             int tick = 0;
             final int duration = 10; // Half-second warning
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (tick >= duration) {
                     this.cancel();
                     return;
@@ -459,7 +440,7 @@ public class MagmaImpactEnchant extends CustomEnchant {
                 
                 tick++;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        }.runTimer(plugin, location, 0L, 1L);
     }
     
     /**
@@ -522,12 +503,12 @@ public class MagmaImpactEnchant extends CustomEnchant {
         }
         
         // Create smoke plume
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             int tick = 0;
             final int duration = (int)(15 * explosionScale); // Duration based on explosion size
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (tick >= duration) {
                     this.cancel();
                     return;
@@ -548,7 +529,7 @@ public class MagmaImpactEnchant extends CustomEnchant {
                 
                 tick++;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        }.runTimer(plugin, location, 0L, 1L);
         
         // Create ground scorching effect
         createGroundScorchEffect(location, explosionScale);
@@ -564,13 +545,13 @@ public class MagmaImpactEnchant extends CustomEnchant {
         World world = location.getWorld();
         
         // Create expanding ring of particles along the ground
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             double currentRadius = 0.5;
             final double maxRadius = radius * 1.5;
             final double expansionRate = 0.2;
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (currentRadius >= maxRadius) {
                     this.cancel();
                     return;
@@ -596,15 +577,15 @@ public class MagmaImpactEnchant extends CustomEnchant {
                 
                 currentRadius += expansionRate;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        }.runTimer(plugin, location, 0L, 1L);
         
         // Create cinder particles
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             int tick = 0;
             final int duration = 20;
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (tick >= duration) {
                     this.cancel();
                     return;
@@ -630,57 +611,30 @@ public class MagmaImpactEnchant extends CustomEnchant {
                 
                 tick++;
             }
-        }.runTaskTimer(plugin, 5L, 2L);
+        }.runTimer(plugin, location, 5L, 2L);
     }
     
     /**
-     * Applies damage and knockback from a meteor impact to nearby entities.
-     *
-     * @param player The player who triggered the enchantment
-     * @param location The location of the impact
-     * @param meteorScale The scale of the meteor
-     * @param level The enchantment level
+     * Particle callbacks for the shared meteor engine.
      */
-    private void applyMeteorDamage(Player player, Location location, float meteorScale, int level) {
-        World world = location.getWorld();
+    private class MeteorHandler implements MeteorEngine.Handler {
         
-        // Calculate effect radius based on meteor size and level
-        double radius = 2.0 * meteorScale + (level * 0.5); // Scale with meteor size and enchant level
-        double damage = BASE_DAMAGE * meteorScale + (level * 1.5); // 4-12 damage based on size and level
-        float knockbackMultiplier = KNOCKBACK_STRENGTH * meteorScale; // Scales with meteor size
+        @Override
+        public void onFlight(World world, double x, double y, double z, float scale, int level) {
+            createMeteorTrail(world, x, y, z, scale, level);
+        }
         
-        // Find entities in explosion radius
-        for (Entity entity : world.getNearbyEntities(location, radius, radius, radius)) {
-            // Skip if not a living entity or is the player
-            if (!(entity instanceof LivingEntity) || entity.equals(player)) {
-                continue;
-            }
-            
-            LivingEntity livingEntity = (LivingEntity) entity;
-            
-            // Calculate damage based on distance (more damage closer to epicenter)
-            double distance = location.distance(livingEntity.getLocation());
-            double distanceFactor = 1.0 - (distance / radius);
-            double finalDamage = damage * Math.max(0.3, distanceFactor);
-            
-            // Apply damage
-            livingEntity.damage(finalDamage, player);
-            
-            // Calculate knockback direction (away from explosion and upward)
-            Vector knockbackDir = livingEntity.getLocation().toVector()
-                .subtract(location.toVector())
-                .normalize()
-                .setY(0.6) // Add upward component
-                .normalize()
-                .multiply(knockbackMultiplier * distanceFactor);
-            
-            // Apply knockback
-            livingEntity.setVelocity(livingEntity.getVelocity().add(knockbackDir));
-            
+        @Override
+        public void onImpact(Location location, float scale, int level) {
+            createMeteorImpactEffect(location, scale, level);
+        }
+        
+        @Override
+        public void onVictimHit(LivingEntity victim) {
             // Create hit effect
-            world.spawnParticle(
+            victim.getWorld().spawnParticle(
                 Particle.FLAME,
-                livingEntity.getLocation().add(0, 1, 0),
+                victim.getLocation().add(0, 1, 0),
                 10,
                 0.3, 0.3, 0.3,
                 0.05
@@ -690,11 +644,13 @@ public class MagmaImpactEnchant extends CustomEnchant {
     
     /**
      * Cleans up old cooldown entries.
+     *
+     * @param cooldownMillis The current cooldown in milliseconds
      */
-    private void cleanupOldEntries() {
+    private void cleanupOldEntries(long cooldownMillis) {
         long currentTime = System.currentTimeMillis();
         lastProcTime.entrySet().removeIf(entry -> 
-            currentTime - entry.getValue() > COOLDOWN_MILLIS * 2);
+            currentTime - entry.getValue() > cooldownMillis * 2);
     }
     
     @Override
@@ -703,4 +659,10 @@ public class MagmaImpactEnchant extends CustomEnchant {
                other.getName().equalsIgnoreCase("InfernoBlast") ||
                other.getName().equalsIgnoreCase("MeteorStrike");
     }
+    
+    @Override
+    public void onUnload() {
+        // Remove every meteor still in flight
+        meteorEngines.shutdown();
+    }
 } 
\ No newline at end of file
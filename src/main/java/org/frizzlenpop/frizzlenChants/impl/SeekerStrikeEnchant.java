@@ -6,57 +6,53 @@ import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.World;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Monster;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Projectile;
 import org.bukkit.entity.Trident;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.entity.ProjectileLaunchEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.metadata.FixedMetadataValue;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
+import org.frizzlenpop.frizzlenChants.config.PluginSettings;
+import org.frizzlenpop.frizzlenChants.effect.AreaEffect;
+import org.frizzlenpop.frizzlenChants.effect.HomingGuidanceEngine;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
-import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.profile.ProfiledTask;
+import org.frizzlenpop.frizzlenChants.schedule.RegionShards;
 
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * Seeker Strike enchantment that turns tridents into homing missiles that seek
  * out nearby enemies, perform a javelin-like trajectory, and explode on impact.
  */
+@EnchantInfo(name = "SeekerStrike", maxLevel = 3, items = {Material.TRIDENT})
 public class SeekerStrikeEnchant extends CustomEnchant {
 
     private final FrizzlenChants plugin;
-    private final Random random = new Random();
-    private final Map<UUID, LivingEntity> trackedTargets = new HashMap<>();
-    
-    // Constants
-    private static final String SEEKER_STRIKE_KEY = "seeker_strike_enchant";
-    private static final double DETECTION_RANGE = 15.0; // Block range to detect enemies
-    private static final double BASE_DAMAGE = 8.0; // Base explosion damage
-    private static final double KNOCKBACK_STRENGTH = 1.2; // Base knockback strength
-    private static final double EXPLOSION_RADIUS = 3.0; // Base explosion radius
-    private static final int TRACKING_TICKS = 200; // Maximum ticks to track (10 seconds)
+    private final ProfileTimer gameplayTimer;
+    private final ProfileTimer visualTimer;
+    private final RegionShards<HomingGuidanceEngine> guidanceEngines;
     
     public SeekerStrikeEnchant() {
-        super("SeekerStrike", 3, Material.TRIDENT);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
+        this.gameplayTimer = plugin.getProfiler().timer(getName(), ProfilePhase.GAMEPLAY);
+        this.visualTimer = plugin.getProfiler().timer(getName(), ProfilePhase.VISUAL);
+        SeekerGuidanceHandler handler = new SeekerGuidanceHandler();
+        this.guidanceEngines = new RegionShards<>(plugin, gameplayTimer,
+            () -> new HomingGuidanceEngine(handler, gameplayTimer));
     }
 
     @Override
     public void applyEffect(Player player, ItemStack item, int level) {
         // This method is normally triggered by the EnchantmentListener
-        // But for the SeekerStrike, we handle the effect in the ProjectileLaunchEvent
+        // But for the SeekerStrike, we handle the effect in the launch hook below
         // So we don't need to do anything here
     }
     
@@ -97,43 +93,15 @@ public class SeekerStrikeEnchant extends CustomEnchant {
         return String.valueOf(num);
     }
     
-    @EventHandler
-    public void onProjectileLaunch(ProjectileLaunchEvent event) {
-        Projectile projectile = event.getEntity();
-        
-        // Check if the projectile is a trident
+    @Override
+    public void onLaunch(Player player, Projectile projectile, ItemStack source, int level) {
+        // Only thrown tridents become seekers
         if (!(projectile instanceof Trident)) {
             return;
         }
         
         Trident trident = (Trident) projectile;
         
-        // Check if the trident has a shooter
-        if (!(trident.getShooter() instanceof Player)) {
-            return;
-        }
-        
-        Player player = (Player) trident.getShooter();
-        
-        // Get the trident item from the player's inventory
-        ItemStack tridentItem = player.getInventory().getItemInMainHand();
-        if (tridentItem.getType() != Material.TRIDENT) {
-            tridentItem = player.getInventory().getItemInOffHand();
-            if (tridentItem.getType() != Material.TRIDENT) {
-                return;
-            }
-        }
-        
-        // Check if the trident has this enchantment
-        int level = EnchantmentUtils.getEnchantmentLevel(tridentItem, this, plugin.getEnchantmentRegistry());
-        
-        if (level <= 0) {
-            return;
-        }
-        
-        // Mark this trident as having the Seeker Strike enchantment
-        trident.setMetadata(SEEKER_STRIKE_KEY, new FixedMetadataValue(plugin, level));
-        
         // Initial particle effect and sound
         createLaunchEffect(trident.getLocation(), level);
         trident.getWorld().playSound(trident.getLocation(), Sound.ENTITY_GHAST_SHOOT, 0.5f, 1.5f);
@@ -156,145 +124,14 @@ public class SeekerStrikeEnchant extends CustomEnchant {
      */
     private void startTrackingNearbyEntities(Trident trident, Player player, int level) {
         // Calculate enhanced tracking values based on level
-        final double trackingRange = DETECTION_RANGE + (level * 2); // 15-21 blocks
+        PluginSettings.SeekerStrike settings = plugin.getSettings().seekerStrike();
+        final double trackingRange = settings.detectionRange() + (level * 2); // 15-21 blocks
         final int turnDelay = Math.max(5, 15 - (level * 5)); // Initial delay before homing: 10-5 ticks
         final double turnStrength = 0.1 + (level * 0.05); // 0.15-0.25 turn strength
         
-        // Start tracking task
-        new BukkitRunnable() {
-            int ticks = 0;
-            boolean hasTarget = false;
-            LivingEntity currentTarget = null;
-            boolean isAscending = false;
-            boolean isDescending = false;
-            int maneuverTicks = 0;
-            final int ascendDuration = 10;
-            final int descendDuration = 15;
-            
-            @Override
-            public void run() {
-                // Stop if the trident is no longer valid or we've tracked too long
-                if (!trident.isValid() || trident.isDead() || ticks >= TRACKING_TICKS) {
-                    if (currentTarget != null) {
-                        trackedTargets.remove(trident.getUniqueId());
-                    }
-                    this.cancel();
-                    return;
-                }
-                
-                // Create trail effect
-                createTrailEffect(trident, level, ticks);
-                
-                // Wait for initial delay before targeting
-                if (ticks < turnDelay) {
-                    ticks++;
-                    return;
-                }
-                
-                // Find or verify target
-                if (!hasTarget || currentTarget == null || !isValidTarget(currentTarget, trident, player)) {
-                    // Try to find a new target
-                    currentTarget = findNearestTarget(trident, player, trackingRange);
-                    
-                    if (currentTarget != null) {
-                        hasTarget = true;
-                        trackedTargets.put(trident.getUniqueId(), currentTarget);
-                        
-                        // Play targeting sound
-                        trident.getWorld().playSound(trident.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 0.5f, 2.0f);
-                        
-                        // Begin ascent phase of javelin trajectory
-                        isAscending = true;
-                        maneuverTicks = 0;
-                        
-                        // Create target-locked effect
-                        createTargetLockEffect(trident.getLocation(), currentTarget.getLocation());
-                    }
-                }
-                
-                // If we have a target, guide the trident
-                if (hasTarget && currentTarget != null) {
-                    // Javelin-like trajectory
-                    if (isAscending) {
-                        // Rising phase
-                        Vector currentVelocity = trident.getVelocity();
-                        double speed = currentVelocity.length();
-                        
-                        // Calculate upward vector with slight movement toward target
-                        Vector targetDirection = currentTarget.getLocation().toVector()
-                            .subtract(trident.getLocation().toVector())
-                            .normalize();
-                        
-                        // Combine upward movement with slight targeting
-                        Vector newDirection = new Vector(
-                            targetDirection.getX() * 0.2,
-                            0.8, // Strong upward component
-                            targetDirection.getZ() * 0.2
-                        ).normalize().multiply(speed);
-                        
-                        trident.setVelocity(newDirection);
-                        
-                        // After ascend duration, switch to descent
-                        maneuverTicks++;
-                        if (maneuverTicks >= ascendDuration) {
-                            isAscending = false;
-                            isDescending = true;
-                            maneuverTicks = 0;
-                            
-                            // Play dive sound
-                            trident.getWorld().playSound(trident.getLocation(), Sound.ENTITY_ENDER_DRAGON_FLAP, 0.8f, 1.2f);
-                        }
-                    } else if (isDescending) {
-                        // Diving phase - strong tracking toward target
-                        Vector currentVelocity = trident.getVelocity();
-                        double speed = Math.max(currentVelocity.length(), 1.5); // Maintain minimum speed
-                        
-                        // Calculate direction to target with downward angle
-                        Vector targetPos = currentTarget.getLocation().add(0, 1, 0).toVector();
-                        Vector tridentPos = trident.getLocation().toVector();
-                        Vector directPath = targetPos.subtract(tridentPos).normalize();
-                        
-                        // Enhance downward component for a steeper dive
-                        directPath.setY(directPath.getY() - 0.3);
-                        directPath.normalize().multiply(speed);
-                        
-                        trident.setVelocity(directPath);
-                        
-                        // After max descent duration, switch to direct tracking
-                        maneuverTicks++;
-                        if (maneuverTicks >= descendDuration) {
-                            isDescending = false;
-                        }
-                    } else {
-                        // Direct tracking phase - precisely follow target
-                        Vector currentVelocity = trident.getVelocity();
-                        double speed = currentVelocity.length();
-                        
-                        // Calculate direction to target
-                        Vector targetDirection = currentTarget.getLocation().add(0, 1, 0).toVector()
-                            .subtract(trident.getLocation().toVector())
-                            .normalize()
-                            .multiply(speed + 0.1); // Slightly increase speed for final approach
-                        
-                        // Gradually adjust velocity toward target
-                        Vector newVelocity = currentVelocity.multiply(1 - turnStrength).add(targetDirection.multiply(turnStrength));
-                        
-                        // Ensure we maintain speed
-                        newVelocity = newVelocity.normalize().multiply(speed);
-                        
-                        trident.setVelocity(newVelocity);
-                    }
-                    
-                    // Check if we've hit the target
-                    if (trident.getLocation().distanceSquared(currentTarget.getLocation()) < 3.0) {
-                        handleExplosion(trident, player, level);
-                        return;
-                    }
-                }
-                
-                ticks++;
-            }
-        }.runTaskTimer(plugin, 1L, 1L);
+        // Hand the trident to a guidance engine that follows it between regions
+        guidanceEngines.on(trident).track(trident, player, level, trackingRange, turnDelay, turnStrength,
+            settings.trackingTicks());
     }
     
     /**
@@ -305,16 +142,16 @@ public class SeekerStrikeEnchant extends CustomEnchant {
      * @param range The detection range
      * @return The nearest valid target, or null if none found
      */
-    private LivingEntity findNearestTarget(Trident trident, Player player, double range) {
+    private LivingEntity findNearestTarget(Projectile trident, Player player, double range) {
         World world = trident.getWorld();
         Location tridentLoc = trident.getLocation();
+        boolean pvpEnabled = plugin.getSettings().pvpEnabled();
         
         // Get all nearby entities and filter them
         List<LivingEntity> nearbyTargets = world.getNearbyEntities(tridentLoc, range, range, range).stream()
             .filter(entity -> entity instanceof LivingEntity)
             .filter(entity -> entity != player) // Not the owner
-            .filter(entity -> entity instanceof Monster || (entity instanceof Player && 
-                             plugin.getConfig().getBoolean("pvp.enabled", false))) // Monsters or players if PvP enabled
+            .filter(entity -> entity instanceof Monster || (entity instanceof Player && pvpEnabled)) // Monsters or players if PvP enabled
             .map(entity -> (LivingEntity) entity)
             .sorted(Comparator.comparingDouble(entity -> entity.getLocation().distanceSquared(tridentLoc)))
             .collect(Collectors.toList());
@@ -328,14 +165,14 @@ public class SeekerStrikeEnchant extends CustomEnchant {
      *
      * @param target The target to check
      * @param trident The trident tracking the target
-     * @param player The player who threw the trident
      * @return true if the target is valid, false otherwise
      */
-    private boolean isValidTarget(LivingEntity target, Trident trident, Player player) {
+    private boolean isValidTarget(LivingEntity target, Projectile trident) {
+        double detectionRange = plugin.getSettings().seekerStrike().detectionRange();
         return target.isValid() && !target.isDead() && 
                target.getWorld().equals(trident.getWorld()) &&
                target.getLocation().distanceSquared(trident.getLocation()) <= 
-                    DETECTION_RANGE * DETECTION_RANGE * 1.5; // 1.5x the detection range
+                    detectionRange * detectionRange * 1.5; // 1.5x the detection range
     }
     
     /**
@@ -345,13 +182,10 @@ public class SeekerStrikeEnchant extends CustomEnchant {
      * @param player The player who threw the trident
      * @param level The enchantment level
      */
-    private void handleExplosion(Trident trident, Player player, int level) {
+    private void handleExplosion(Projectile trident, Player player, int level) {
         Location location = trident.getLocation();
         World world = location.getWorld();
         
-        // Remove from tracking
-        trackedTargets.remove(trident.getUniqueId());
-        
         // Create explosion effect
         createExplosionEffect(location, level);
         
@@ -359,45 +193,23 @@ public class SeekerStrikeEnchant extends CustomEnchant {
         world.playSound(location, Sound.ENTITY_GENERIC_EXPLODE, 1.0f, 1.2f);
         
         // Calculate effect values based on level
-        double radius = EXPLOSION_RADIUS + (level * 0.5); // 3.5-4.5 block radius
-        double damage = BASE_DAMAGE + (level * 2); // 10-14 damage
-        double knockback = KNOCKBACK_STRENGTH + (level * 0.2); // 1.4-1.8 knockback
-        
-        // Apply damage and knockback to nearby entities
-        for (Entity entity : world.getNearbyEntities(location, radius, radius, radius)) {
-            // Skip if not a living entity or is the player
-            if (!(entity instanceof LivingEntity) || entity.equals(player)) {
-                continue;
-            }
-            
-            LivingEntity livingEntity = (LivingEntity) entity;
-            
-            // Calculate damage based on distance (more damage closer to epicenter)
-            double distance = location.distance(livingEntity.getLocation());
-            double distanceFactor = 1.0 - (distance / radius);
-            double finalDamage = damage * Math.max(0.3, distanceFactor);
-            
-            // Apply damage
-            livingEntity.damage(finalDamage, player);
-            
-            // Calculate knockback direction (away from explosion)
-            Vector knockbackDir = livingEntity.getLocation().toVector()
-                .subtract(location.toVector())
-                .normalize()
-                .multiply(knockback * distanceFactor);
-            
-            // Apply knockback
-            livingEntity.setVelocity(livingEntity.getVelocity().add(knockbackDir));
-            
-            // Create hit effect
-            world.spawnParticle(
+        PluginSettings.SeekerStrike settings = plugin.getSettings().seekerStrike();
+        double radius = settings.explosionRadius() + (level * 0.5); // 3.5-4.5 block radius
+        double damage = settings.baseDamage() + (level * 2); // 10-14 damage
+        double knockback = settings.knockbackStrength() + (level * 0.2); // 1.4-1.8 knockback
+        
+        // Apply damage and knockback to nearby entities (more damage closer to epicenter)
+        plugin.getAreaEffectResolvers().at(location).submit(new AreaEffect(location, radius, player)
+            .source(getName(), level)
+            .damage(damage, 0.3)
+            .knockback(knockback, true)
+            .onHit(entity -> world.spawnParticle(
                 Particle.FLAME,
-                livingEntity.getLocation().add(0, 1, 0),
+                entity.getLocation().add(0, 1, 0),
                 10,
                 0.3, 0.3, 0.3,
                 0.05
-            );
-        }
+            )));
         
         // Remove the trident (it's been consumed in the explosion)
         trident.remove();
@@ -437,10 +249,11 @@ public class SeekerStrikeEnchant extends CustomEnchant {
      * Creates a trail effect behind the trident.
      *
      * @param trident The trident to create the trail for
+     * @param target The trident's current target, or null
      * @param level The enchantment level
      * @param tick The current tick count
      */
-    private void createTrailEffect(Trident trident, int level, int tick) {
+    private void createTrailEffect(Projectile trident, LivingEntity target, int level, int tick) {
         World world = trident.getWorld();
         Location location = trident.getLocation();
         
@@ -509,7 +322,6 @@ public class SeekerStrikeEnchant extends CustomEnchant {
         }
         
         // Check if it's in a targeting phase and add targeting particles
-        LivingEntity target = trackedTargets.get(trident.getUniqueId());
         if (target != null && tick % 5 == 0) {
             // Create occasional targeting line
             createTargetingLine(location, target.getLocation().add(0, 1, 0), level);
@@ -620,12 +432,12 @@ public class SeekerStrikeEnchant extends CustomEnchant {
         );
         
         // Smoke trail
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             int tick = 0;
             final int duration = 10; // Half second of smoke
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (tick >= duration) {
                     this.cancel();
                     return;
@@ -641,16 +453,16 @@ public class SeekerStrikeEnchant extends CustomEnchant {
                 
                 tick++;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        }.runTimer(plugin, location, 0L, 1L);
         
         // Create shockwave effect
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             double radius = 0.5;
             final double maxRadius = 3.0 + level;
             final double expansionRate = 0.3;
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (radius >= maxRadius) {
                     this.cancel();
                     return;
@@ -676,7 +488,48 @@ public class SeekerStrikeEnchant extends CustomEnchant {
                 
                 radius += expansionRate;
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        }.runTimer(plugin, location, 0L, 1L);
+    }
+    
+    /**
+     * Connects the guidance engine to this enchantment's targeting rules and effects.
+     */
+    private class SeekerGuidanceHandler implements HomingGuidanceEngine.Handler {
+        
+        @Override
+        public LivingEntity acquireTarget(Projectile projectile, Player owner, double range) {
+            return findNearestTarget(projectile, owner, range);
+        }
+        
+        @Override
+        public boolean isValidTarget(LivingEntity target, Projectile projectile) {
+            return SeekerStrikeEnchant.this.isValidTarget(target, projectile);
+        }
+        
+        @Override
+        public void onFlight(Projectile projectile, LivingEntity target, int level, int tick) {
+            createTrailEffect(projectile, target, level, tick);
+        }
+        
+        @Override
+        public void onTargetLocked(Projectile projectile, LivingEntity target) {
+            // Play targeting sound
+            projectile.getWorld().playSound(projectile.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 0.5f, 2.0f);
+            
+            // Create target-locked effect
+            createTargetLockEffect(projectile.getLocation(), target.getLocation());
+        }
+        
+        @Override
+        public void onDive(Projectile projectile) {
+            // Play dive sound
+            projectile.getWorld().playSound(projectile.getLocation(), Sound.ENTITY_ENDER_DRAGON_FLAP, 0.8f, 1.2f);
+        }
+        
+        @Override
+        public void onImpact(Projectile projectile, Player owner, int level) {
+            handleExplosion(projectile, owner, level);
+        }
     }
     
     @Override
@@ -688,4 +541,10 @@ public class SeekerStrikeEnchant extends CustomEnchant {
                other.getName().toLowerCase().contains("tracking") ||
                other instanceof SentinelTurretEnchant;
     }
+    
+    @Override
+    public void onUnload() {
+        // Drop the guidance of every trident still in flight
+        guidanceEngines.shutdown();
+    }
 } 
\ No newline at end of file
@@ -6,46 +6,51 @@ import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.World;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Monster;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Projectile;
 import org.bukkit.entity.Trident;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.entity.ProjectileLaunchEvent;
 import org.bukkit.event.entity.ProjectileHitEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.metadata.FixedMetadataValue;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
+import org.frizzlenpop.frizzlenChants.config.PluginSettings;
+import org.frizzlenpop.frizzlenChants.effect.TurretManager;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
-import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
+import org.frizzlenpop.frizzlenChants.enchant.LaunchSnapshot;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.profile.ProfiledTask;
+import org.frizzlenpop.frizzlenChants.random.ThreadRandom;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Random;
-import java.util.UUID;
 
 /**
  * Sentinel Turret enchantment that creates a magical turret on thrown tridents
  * which automatically targets and fires at nearby enemies.
  */
+@EnchantInfo(name = "SentinelTurret", maxLevel = 3, items = {Material.TRIDENT})
 public class SentinelTurretEnchant extends CustomEnchant {
 
     private final FrizzlenChants plugin;
-    private final Random random = new Random();
-    private final Map<UUID, TurretData> activeTurrets = new HashMap<>();
-    
-    // Constants
-    private static final String SENTINEL_TURRET_KEY = "sentinel_turret_enchant";
-    private static final double PROJECTILE_SPEED = 1.5; // Speed of turret projectiles
-    private static final double BASE_DAMAGE = 2.0; // Base damage for turret projectiles
+    private final ProfileTimer gameplayTimer;
+    private final ProfileTimer visualTimer;
+    private final ThreadRandom random;
+    private final TurretManager turretManager;
     
     public SentinelTurretEnchant() {
-        super("SentinelTurret", 3, Material.TRIDENT);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
+        this.random = plugin.getRandomService().forEnchant(getName());
+        this.gameplayTimer = plugin.getProfiler().timer(getName(), ProfilePhase.GAMEPLAY);
+        this.visualTimer = plugin.getProfiler().timer(getName(), ProfilePhase.VISUAL);
+        PluginSettings.SentinelTurret settings = plugin.getSettings().sentinelTurret();
+        ThreadRandom shots = new ThreadRandom(random.split());
+        this.turretManager = new TurretManager(plugin, new SentinelTurretHandler(), shots,
+            settings.maxPerPlayer(), settings.maxPerChunk(), gameplayTimer);
     }
 
     @Override
@@ -53,43 +58,15 @@ public class SentinelTurretEnchant extends CustomEnchant {
         // Implementation handled in event handlers
     }
     
-    @EventHandler
-    public void onProjectileLaunch(ProjectileLaunchEvent event) {
-        Projectile projectile = event.getEntity();
-        
-        // Check if the projectile is a trident
+    @Override
+    public void onLaunch(Player player, Projectile projectile, ItemStack source, int level) {
+        // Only thrown tridents can become turrets
         if (!(projectile instanceof Trident)) {
             return;
         }
         
         Trident trident = (Trident) projectile;
         
-        // Check if the trident has a shooter
-        if (!(trident.getShooter() instanceof Player)) {
-            return;
-        }
-        
-        Player player = (Player) trident.getShooter();
-        
-        // Get the trident item from the player's inventory
-        ItemStack tridentItem = player.getInventory().getItemInMainHand();
-        if (tridentItem.getType() != Material.TRIDENT) {
-            tridentItem = player.getInventory().getItemInOffHand();
-            if (tridentItem.getType() != Material.TRIDENT) {
-                return;
-            }
-        }
-        
-        // Check if the trident has this enchantment
-        int level = EnchantmentUtils.getEnchantmentLevel(tridentItem, this, plugin.getEnchantmentRegistry());
-        
-        if (level <= 0) {
-            return;
-        }
-        
-        // Mark this trident as having the Sentinel Turret enchantment
-        trident.setMetadata(SENTINEL_TURRET_KEY, new FixedMetadataValue(plugin, level));
-        
         // Notify the player
         player.sendActionBar(net.kyori.adventure.text.Component.text(
             "§3Sentinel Turret §7armed and ready!"
@@ -100,15 +77,18 @@ public class SentinelTurretEnchant extends CustomEnchant {
     public void onProjectileHit(ProjectileHitEvent event) {
         Projectile projectile = event.getEntity();
         
-        // Check if the projectile is a trident with our enchantment
-        if (!(projectile instanceof Trident) || !projectile.hasMetadata(SENTINEL_TURRET_KEY)) {
+        // Check if the projectile is a trident
+        if (!(projectile instanceof Trident)) {
             return;
         }
         
         Trident trident = (Trident) projectile;
         
-        // Get the enchantment level
-        int level = trident.getMetadata(SENTINEL_TURRET_KEY).get(0).asInt();
+        // Get the enchantment level recorded at launch
+        int level = LaunchSnapshot.levelOf(trident, this);
+        if (level <= 0) {
+            return;
+        }
         
         // Create a turret if the trident has hit something or landed
         if (trident.isValid() && !trident.isDead()) {
@@ -133,16 +113,21 @@ public class SentinelTurretEnchant extends CustomEnchant {
         Location turretLoc = trident.getLocation().clone().add(0, 0.5, 0);
         
         // Calculate turret parameters based on level
+        PluginSettings.SentinelTurret settings = plugin.getSettings().sentinelTurret();
         int durationTicks = 100 + (level * 50); // 5-10 seconds
         double range = 8.0 + (level * 2.0); // 10-14 block targeting range
         int firingDelay = Math.max(10, 20 - (level * 5)); // 15-5 ticks between shots
-        double damage = BASE_DAMAGE + (level * 1.0); // 3-5 damage per shot
-        
-        // Generate a unique ID for this turret
-        UUID turretId = UUID.randomUUID();
-        
-        // Store turret data
-        activeTurrets.put(turretId, new TurretData(player, trident, level, damage));
+        double damage = settings.baseDamage() + (level * 1.0); // 3-5 damage per shot
+        
+        // Register with the shared turret manager, which enforces the turret caps
+        turretManager.setLimits(settings.maxPerPlayer(), settings.maxPerChunk());
+        TurretManager.Turret turret = turretManager.place(player, trident, level, range, damage, firingDelay, 5, durationTicks);
+        if (turret == null) {
+            player.sendActionBar(net.kyori.adventure.text.Component.text(
+                "§3Sentinel Turret §7limit reached"
+            ));
+            return;
+        }
         
         // Initial turret formation effect
         createTurretFormationEffect(turretLoc, level);
@@ -155,157 +140,58 @@ public class SentinelTurretEnchant extends CustomEnchant {
         if (trident.hasGravity()) {
             trident.setGravity(false); // Keep the trident from falling
         }
-        
-        // Schedule turret operation
-        new BukkitRunnable() {
-            int ticksRemaining = durationTicks;
-            int ticksUntilNextShot = 0;
-            LivingEntity currentTarget = null;
-            
-            @Override
-            public void run() {
-                // Check if the trident is still valid
-                if (!trident.isValid() || trident.isDead() || ticksRemaining <= 0) {
-                    // Clean up
-                    removeActiveTurret(turretId, turretLoc);
-                    this.cancel();
-                    return;
-                }
-                
-                // Update turret location in case the trident moved
-                Location updatedLoc = trident.getLocation().clone().add(0, 0.5, 0);
-                
-                // Create ambient particles
-                createTurretAmbientEffect(updatedLoc, level);
-                
-                // Check if we need to find a new target
-                if (currentTarget == null || !isValidTarget(currentTarget, updatedLoc, range)) {
-                    currentTarget = findNewTarget(player, updatedLoc, range);
-                    
-                    if (currentTarget != null) {
-                        // Target acquired sound
-                        world.playSound(updatedLoc, Sound.BLOCK_NOTE_BLOCK_BIT, 0.8f, 1.8f);
-                        
-                        // Target lock-on effect
-                        createTargetLockEffect(updatedLoc, currentTarget.getLocation().add(0, 1, 0));
-                    }
-                }
-                
-                // Fire at target if we have one and it's time to shoot
-                if (currentTarget != null && ticksUntilNextShot <= 0) {
-                    fireTurretProjectile(updatedLoc, currentTarget, damage, level);
-                    ticksUntilNextShot = firingDelay;
-                    
-                    // At level 3, possibly target additional mobs
-                    if (level >= 3 && random.nextInt(3) == 0) {
-                        LivingEntity secondaryTarget = findNewTarget(player, updatedLoc, range, currentTarget);
-                        if (secondaryTarget != null) {
-                            // Fire with slight delay
-                            new BukkitRunnable() {
-                                @Override
-                                public void run() {
-                                    if (trident.isValid() && !trident.isDead()) {
-                                        fireTurretProjectile(updatedLoc, secondaryTarget, damage * 0.7, level);
-                                    }
-                                }
-                            }.runTaskLater(plugin, 3L);
-                        }
-                    }
-                }
-                
-                // Decrement timers
-                ticksRemaining--;
-                if (ticksUntilNextShot > 0) {
-                    ticksUntilNextShot--;
-                }
-            }
-        }.runTaskTimer(plugin, 5L, 1L);
     }
     
     /**
-     * Finds a new target for the turret.
+     * Retires the turrets in a chunk when it unloads.
      *
-     * @param player The owner of the turret
-     * @param turretLoc The location of the turret
-     * @param range The targeting range
-     * @return The new target, or null if none found
+     * @param event The chunk unload event
      */
-    private LivingEntity findNewTarget(Player player, Location turretLoc, double range) {
-        return findNewTarget(player, turretLoc, range, null);
+    @EventHandler
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        turretManager.retireChunk(event.getWorld(), event.getChunk().getX(), event.getChunk().getZ());
     }
     
     /**
-     * Finds a new target for the turret, optionally excluding a specific entity.
+     * Retires a player's turrets when they leave.
      *
-     * @param player The owner of the turret
-     * @param turretLoc The location of the turret
-     * @param range The targeting range
-     * @param exclude An entity to exclude from targeting
-     * @return The new target, or null if none found
+     * @param event The player quit event
      */
-    private LivingEntity findNewTarget(Player player, Location turretLoc, double range, LivingEntity exclude) {
-        double closestDistSq = range * range;
-        LivingEntity closestEntity = null;
-        
-        for (Entity entity : turretLoc.getWorld().getNearbyEntities(turretLoc, range, range, range)) {
-            // Skip if not a living entity, is the player, or is the excluded entity
-            if (!(entity instanceof LivingEntity) || entity.equals(player) || entity.equals(exclude)) {
-                continue;
-            }
-            
-            LivingEntity livingEntity = (LivingEntity) entity;
-            
-            // Only target monsters or players in PvP (if configured)
-            if (!(livingEntity instanceof Monster) && 
-                !(livingEntity instanceof Player && plugin.getConfig().getBoolean("pvp.enabled", false))) {
-                continue;
-            }
-            
-            // Skip players in same team
-            if (livingEntity instanceof Player && player.getScoreboard().getTeam(player.getName()) != null && 
-                player.getScoreboard().getTeam(player.getName()).hasEntry(livingEntity.getName())) {
-                continue;
-            }
-            
-            // Check line of sight
-            if (!hasLineOfSight(turretLoc, livingEntity.getLocation().add(0, 1, 0))) {
-                continue;
-            }
-            
-            double distSq = turretLoc.distanceSquared(livingEntity.getLocation());
-            if (distSq < closestDistSq) {
-                closestDistSq = distSq;
-                closestEntity = livingEntity;
-            }
-        }
-        
-        return closestEntity;
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        turretManager.retireOwner(event.getPlayer().getUniqueId());
     }
     
     /**
-     * Checks if there is a clear line of sight between two locations.
+     * Returns the manager that runs every active turret.
      *
-     * @param from The starting location
-     * @param to The ending location
-     * @return true if there is a clear line of sight, false otherwise
+     * @return The turret manager
      */
-    private boolean hasLineOfSight(Location from, Location to) {
-        // Simple ray cast - in a real implementation we'd use a more sophisticated approach
-        return true;
+    public TurretManager getTurretManager() {
+        return turretManager;
     }
     
     /**
-     * Checks if a target is still valid.
+     * Checks if an entity is something the turret should shoot at.
      *
-     * @param target The target to check
-     * @param turretLoc The location of the turret
-     * @param range The maximum range
-     * @return true if the target is valid, false otherwise
+     * @param player The owner of the turret
+     * @param livingEntity The candidate entity
+     * @return true if the entity is a valid target
      */
-    private boolean isValidTarget(LivingEntity target, Location turretLoc, double range) {
-        return target.isValid() && !target.isDead() && 
-               turretLoc.distanceSquared(target.getLocation()) <= range * range &&
-               hasLineOfSight(turretLoc, target.getLocation().add(0, 1, 0));
+    private boolean isHostile(Player player, LivingEntity livingEntity) {
+        // Only target monsters or players in PvP (if configured)
+        if (!(livingEntity instanceof Monster) && 
+            !(livingEntity instanceof Player && plugin.getSettings().pvpEnabled())) {
+            return false;
+        }
+        
+        // Skip players in same team
+        if (livingEntity instanceof Player && player.getScoreboard().getTeam(player.getName()) != null && 
+            player.getScoreboard().getTeam(player.getName()).hasEntry(livingEntity.getName())) {
+            return false;
+        }
+        
+        return true;
     }
     
     /**
@@ -326,14 +212,15 @@ public class SentinelTurretEnchant extends CustomEnchant {
         world.playSound(turretLoc, Sound.ENTITY_DRAGON_FIREBALL_EXPLODE, 0.3f, 2.0f);
         
         // Create projectile effect
-        new BukkitRunnable() {
+        double projectileSpeed = plugin.getSettings().sentinelTurret().projectileSpeed();
+        new ProfiledTask(gameplayTimer) {
             Location currentLoc = turretLoc.clone();
-            Vector trajectory = direction.clone().multiply(PROJECTILE_SPEED);
+            Vector trajectory = direction.clone().multiply(projectileSpeed);
             int distance = 0;
             final int maxDistance = 30; // Maximum distance in blocks
             
             @Override
-            public void run() {
+            protected void tick() {
                 // Check if we've hit something or gone too far
                 if (distance >= maxDistance || 
                     !currentLoc.getBlock().isPassable() || 
@@ -361,7 +248,7 @@ public class SentinelTurretEnchant extends CustomEnchant {
                 // Create projectile trail
                 createProjectileTrailEffect(currentLoc, level);
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        }.runTimer(plugin, turretLoc, 0L, 1L);
     }
     
     /**
@@ -376,9 +263,9 @@ public class SentinelTurretEnchant extends CustomEnchant {
         // Circle of ascending particles
         for (int i = 0; i < 3; i++) {
             final int layer = i;
-            new BukkitRunnable() {
+            new ProfiledTask(visualTimer) {
                 @Override
-                public void run() {
+                protected void tick() {
                     double radius = 0.5;
                     int particles = 12;
                     double angleIncrement = 2 * Math.PI / particles;
@@ -400,13 +287,13 @@ public class SentinelTurretEnchant extends CustomEnchant {
                         );
                     }
                 }
-            }.runTaskLater(plugin, i * 5L);
+            }.runLater(plugin, location, i * 5L);
         }
         
         // Central core formation
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             @Override
-            public void run() {
+            protected void tick() {
                 // Central energy core
                 world.spawnParticle(
                     Particle.SOUL_FIRE_FLAME,
@@ -428,7 +315,7 @@ public class SentinelTurretEnchant extends CustomEnchant {
                 // Play activation sound
                 world.playSound(location, Sound.BLOCK_BEACON_POWER_SELECT, 1.0f, 1.8f);
             }
-        }.runTaskLater(plugin, 15L);
+        }.runLater(plugin, location, 15L);
     }
     
     /**
@@ -619,16 +506,19 @@ public class SentinelTurretEnchant extends CustomEnchant {
     }
     
     /**
-     * Removes an active turret and performs cleanup.
+     * Plays the deactivation effect for a retired turret.
      *
-     * @param turretId The ID of the turret to remove
+     * @param turret The retired turret
      * @param location The location of the turret
+     * @param reason Why the turret was retired
      */
-    private void removeActiveTurret(UUID turretId, Location location) {
-        World world = location.getWorld();
+    private void removeActiveTurret(TurretManager.Turret turret, Location location, TurretManager.RetireReason reason) {
+        // Nobody is around to see turrets in unloading chunks
+        if (reason == TurretManager.RetireReason.CHUNK_UNLOAD || location.getWorld() == null) {
+            return;
+        }
         
-        // Get turret data if available
-        TurretData data = activeTurrets.remove(turretId);
+        World world = location.getWorld();
         
         // Play deactivation sound
         world.playSound(location, Sound.BLOCK_BEACON_DEACTIVATE, 0.8f, 1.5f);
@@ -642,44 +532,46 @@ public class SentinelTurretEnchant extends CustomEnchant {
             0.1
         );
         
-        // If we still have turret data, notify the player
-        if (data != null && data.getOwner() != null && data.getOwner().isOnline()) {
-            data.getOwner().sendActionBar(net.kyori.adventure.text.Component.text(
+        // Notify the player if they are still around
+        if (reason == TurretManager.RetireReason.EXPIRED && turret.getOwner().isOnline()) {
+            turret.getOwner().sendActionBar(net.kyori.adventure.text.Component.text(
                 "§3Sentinel Turret §7deactivated"
             ));
         }
     }
     
     /**
-     * Inner class to store turret data.
+     * Connects the turret manager to this enchantment's targeting rules and effects.
      */
-    private class TurretData {
-        private final Player owner;
-        private final Trident trident;
-        private final int level;
-        private final double damage;
-        
-        public TurretData(Player owner, Trident trident, int level, double damage) {
-            this.owner = owner;
-            this.trident = trident;
-            this.level = level;
-            this.damage = damage;
+    private class SentinelTurretHandler implements TurretManager.Handler {
+        
+        @Override
+        public boolean isHostile(TurretManager.Turret turret, LivingEntity entity) {
+            return SentinelTurretEnchant.this.isHostile(turret.getOwner(), entity);
         }
         
-        public Player getOwner() {
-            return owner;
+        @Override
+        public void onAmbient(TurretManager.Turret turret, Location location) {
+            createTurretAmbientEffect(location, turret.getLevel());
         }
         
-        public Trident getTrident() {
-            return trident;
+        @Override
+        public void onTargetAcquired(TurretManager.Turret turret, Location location, LivingEntity target) {
+            // Target acquired sound
+            location.getWorld().playSound(location, Sound.BLOCK_NOTE_BLOCK_BIT, 0.8f, 1.8f);
+            
+            // Target lock-on effect
+            createTargetLockEffect(location, target.getLocation().add(0, 1, 0));
         }
         
-        public int getLevel() {
-            return level;
+        @Override
+        public void onFire(TurretManager.Turret turret, Location location, LivingEntity target, double damage) {
+            fireTurretProjectile(location.clone(), target, damage, turret.getLevel());
         }
         
-        public double getDamage() {
-            return damage;
+        @Override
+        public void onRetired(TurretManager.Turret turret, Location location, TurretManager.RetireReason reason) {
+            removeActiveTurret(turret, location, reason);
         }
     }
     
@@ -690,4 +582,10 @@ public class SentinelTurretEnchant extends CustomEnchant {
                other.getName().toLowerCase().contains("turret") ||
                other.getName().toLowerCase().contains("artillery");
     }
+    
+    @Override
+    public void onUnload() {
+        // Retire every turret and stop the manager's tick tasks
+        turretManager.shutdown();
+    }
 } 
\ No newline at end of file
@@ -15,23 +15,25 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
 
 /**
  * Soul Siphon enchantment for weapons that heals the player for a percentage
  * of the damage they deal to enemies.
  */
+@EnchantInfo(name = "SoulSiphon", maxLevel = 3, items = {
+    Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD,
+    Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
+    Material.TRIDENT, Material.BOW, Material.CROSSBOW,
+    Material.WOODEN_AXE, Material.STONE_AXE, Material.IRON_AXE,
+    Material.GOLDEN_AXE, Material.DIAMOND_AXE, Material.NETHERITE_AXE
+})
 public class SoulSiphonEnchant extends CustomEnchant {
 
     private final FrizzlenChants plugin;
     
     public SoulSiphonEnchant() {
-        super("SoulSiphon", 3, 
-              Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD, 
-              Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
-              Material.TRIDENT, Material.BOW, Material.CROSSBOW, 
-              Material.WOODEN_AXE, Material.STONE_AXE, Material.IRON_AXE,
-              Material.GOLDEN_AXE, Material.DIAMOND_AXE, Material.NETHERITE_AXE);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
     }
 
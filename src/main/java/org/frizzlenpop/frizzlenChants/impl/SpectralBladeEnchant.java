@@ -7,7 +7,6 @@ import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.World;
 import org.bukkit.entity.AreaEffectCloud;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -16,40 +15,40 @@ import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.profile.ProfiledTask;
+import org.frizzlenpop.frizzlenChants.random.ThreadRandom;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Random;
-import java.util.Set;
-import java.util.UUID;
 
 /**
  * Spectral Blade enchantment that creates damaging ghostly trails
  * when hitting enemies.
  */
+@EnchantInfo(name = "SpectralBlade", maxLevel = 3, items = {
+    Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD,
+    Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
+    Material.WOODEN_AXE, Material.STONE_AXE, Material.IRON_AXE,
+    Material.GOLDEN_AXE, Material.DIAMOND_AXE, Material.NETHERITE_AXE
+})
 public class SpectralBladeEnchant extends CustomEnchant {
 
     private final FrizzlenChants plugin;
-    private final Random random = new Random();
-    private final Map<UUID, Set<UUID>> trailAffectedEntities = new HashMap<>();
+    private final ProfileTimer visualTimer;
+    private final ThreadRandom random;
     
     // Constants
     private static final String SPECTRAL_TRAIL_KEY = "spectral_trail";
-    private static final int TRAIL_CHECK_INTERVAL = 5; // Ticks between damage checks
     
     public SpectralBladeEnchant() {
-        super("SpectralBlade", 3, 
-              Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD, 
-              Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
-              Material.WOODEN_AXE, Material.STONE_AXE, Material.IRON_AXE,
-              Material.GOLDEN_AXE, Material.DIAMOND_AXE, Material.NETHERITE_AXE);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
+        this.random = plugin.getRandomService().forEnchant(getName());
+        this.visualTimer = plugin.getProfiler().timer(getName(), ProfilePhase.VISUAL);
     }
 
     @Override
@@ -110,60 +109,23 @@ public class SpectralBladeEnchant extends CustomEnchant {
         // Move trail location to ground level
         trailLoc.setY(findGroundLevel(trailLoc));
         
-        // Generate a unique ID for this trail
-        UUID trailId = UUID.randomUUID();
-        
-        // Create a set to track entities affected by this trail
-        trailAffectedEntities.put(trailId, new HashSet<>());
-        
         // Create visual trail effect
         createTrailVisuals(trailLoc, radius, durationTicks, level);
         
         // Play sound effect
         world.playSound(trailLoc, Sound.BLOCK_AMETHYST_BLOCK_CHIME, 1.0f, 1.5f);
         
-        // Schedule damage checks for entities in the trail
-        new BukkitRunnable() {
-            int ticksRemaining = durationTicks;
+        // Register the trail as a lingering zone that damages each entity once
+        plugin.getZoneRegistries().at(trailLoc).register(trailLoc, radius, durationTicks, player, entity -> {
+            // Apply damage
+            entity.damage(damage, player);
             
-            @Override
-            public void run() {
-                if (ticksRemaining <= 0) {
-                    trailAffectedEntities.remove(trailId);
-                    this.cancel();
-                    return;
-                }
-                
-                // Check for entities in the trail and damage them
-                for (Entity entity : world.getNearbyEntities(trailLoc, radius, radius, radius)) {
-                    if (!(entity instanceof LivingEntity) || entity.equals(player)) {
-                        continue;
-                    }
-                    
-                    LivingEntity livingEntity = (LivingEntity) entity;
-                    
-                    // Check if this entity has already been affected by this trail
-                    if (trailAffectedEntities.get(trailId).contains(entity.getUniqueId())) {
-                        continue;
-                    }
-                    
-                    // Mark entity as affected
-                    trailAffectedEntities.get(trailId).add(entity.getUniqueId());
-                    
-                    // Apply damage
-                    livingEntity.damage(damage, player);
-                    
-                    // Apply visual effect to the damaged entity
-                    createDamageEffect(livingEntity.getLocation(), level);
-                    
-                    // Play sound effect
-                    world.playSound(livingEntity.getLocation(), Sound.ENTITY_VEX_HURT, 0.5f, 1.2f);
-                }
-                
-                // Decrement remaining time
-                ticksRemaining -= TRAIL_CHECK_INTERVAL;
-            }
-        }.runTaskTimer(plugin, 0L, TRAIL_CHECK_INTERVAL);
+            // Apply visual effect to the damaged entity
+            createDamageEffect(entity.getLocation(), level);
+            
+            // Play sound effect
+            world.playSound(entity.getLocation(), Sound.ENTITY_VEX_HURT, 0.5f, 1.2f);
+        });
     }
     
     /**
@@ -195,12 +157,12 @@ public class SpectralBladeEnchant extends CustomEnchant {
         }
         
         // Schedule trail effect task
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             private int tick = 0;
             private final int maxTicks = (int) effectDuration;
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (tick >= maxTicks) {
                     this.cancel();
                     return;
@@ -216,7 +178,7 @@ public class SpectralBladeEnchant extends CustomEnchant {
                 
                 tick += 2; // Update every 2 ticks to reduce particle spam
             }
-        }.runTaskTimer(plugin, 0L, 2L);
+        }.runTimer(plugin, location, 0L, 2L);
     }
     
     /**
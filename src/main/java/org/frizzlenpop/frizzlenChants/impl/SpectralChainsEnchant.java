@@ -14,38 +14,50 @@ import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
+import org.frizzlenpop.frizzlenChants.config.PluginSettings;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.jfr.JfrProcRoll;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.profile.ProfiledTask;
+import org.frizzlenpop.frizzlenChants.random.ThreadRandom;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Spectral Chains enchantment that binds enemies with ghostly chains,
  * slowing their movement and briefly freezing them.
  */
+@EnchantInfo(name = "SpectralChains", maxLevel = 3, items = {
+    Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD,
+    Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
+    Material.WOODEN_AXE, Material.STONE_AXE, Material.IRON_AXE,
+    Material.GOLDEN_AXE, Material.DIAMOND_AXE, Material.NETHERITE_AXE
+})
 public class SpectralChainsEnchant extends CustomEnchant {
 
     private final FrizzlenChants plugin;
-    private final Random random = new Random();
-    private final Map<UUID, Long> entityCooldowns = new HashMap<>();
-    
-    // Constants
-    private static final int COOLDOWN_MILLIS = 5000; // 5 seconds between applications to same entity
-    private static final int FREEZE_TICKS = 5; // Number of ticks to freeze entity (5 ticks = 0.25s)
+    private final ProfileTimer gameplayTimer;
+    private final ProfileTimer visualTimer;
+    private final LongAdder procs;
+    private final ThreadRandom random;
+    private final Map<UUID, Long> entityCooldowns = new ConcurrentHashMap<>();
     
     public SpectralChainsEnchant() {
-        super("SpectralChains", 3, 
-              Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD, 
-              Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
-              Material.WOODEN_AXE, Material.STONE_AXE, Material.IRON_AXE,
-              Material.GOLDEN_AXE, Material.DIAMOND_AXE, Material.NETHERITE_AXE);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
+        this.random = plugin.getRandomService().forEnchant(getName());
+        this.gameplayTimer = plugin.getProfiler().timer(getName(), ProfilePhase.GAMEPLAY);
+        this.visualTimer = plugin.getProfiler().timer(getName(), ProfilePhase.VISUAL);
+        this.procs = plugin.getMetrics().procs(getName());
+        plugin.getMetrics().trackCooldowns(getName(), entityCooldowns::size);
     }
 
     @Override
@@ -83,29 +95,35 @@ public class SpectralChainsEnchant extends CustomEnchant {
         
         LivingEntity target = (LivingEntity) event.getEntity();
         UUID targetId = target.getUniqueId();
+        PluginSettings.SpectralChains settings = plugin.getSettings().spectralChains();
         
         // Check cooldown
         if (entityCooldowns.containsKey(targetId)) {
             long lastApplied = entityCooldowns.get(targetId);
-            if (System.currentTimeMillis() - lastApplied < COOLDOWN_MILLIS) {
+            if (System.currentTimeMillis() - lastApplied < settings.cooldownMillis()) {
                 return;
             }
         }
         
         // Calculate proc chance (30% + 10% per level)
-        int procChance = 20 + (level * 10);
+        int procChance = settings.procChanceBase() + (level * settings.procChancePerLevel());
         
-        // Roll for effect application
-        if (random.nextInt(100) < procChance) {
+        // Roll for effect application, from the event's seed while a trace is recorded
+        SplittableRandom rolls = plugin.getTraceRecorder().rolls(event, getName(), random.current());
+        boolean procced = rolls.nextInt(100) < procChance;
+        JfrProcRoll.record(getName(), level, player, procChance / 100.0, procced);
+        if (procced) {
+            procs.increment();
+            
             // Apply the chains effect
-            applySpectralChains(player, target, level);
+            applySpectralChains(player, target, level, settings.freezeTicks());
             
             // Update cooldown
             entityCooldowns.put(targetId, System.currentTimeMillis());
             
             // Clean up old cooldowns periodically
             if (random.nextInt(10) == 0) {
-                cleanupCooldowns();
+                cleanupCooldowns(settings.cooldownMillis());
             }
         }
     }
@@ -116,8 +134,9 @@ public class SpectralChainsEnchant extends CustomEnchant {
      * @param player The player who triggered the effect
      * @param target The entity being affected
      * @param level The enchantment level
+     * @param freezeTicks The number of ticks to freeze the target at level 0
      */
-    private void applySpectralChains(Player player, LivingEntity target, int level) {
+    private void applySpectralChains(Player player, LivingEntity target, int level, int freezeTicks) {
         // Calculate effect duration based on level (2-4 seconds)
         int durationTicks = 40 + (level * 20);
         int amplifier = level - 1; // Level 1: 0, Level 2: 1, Level 3: 2
@@ -145,7 +164,7 @@ public class SpectralChainsEnchant extends CustomEnchant {
         }
         
         // Apply brief freeze (immobilization)
-        freezeEntity(target, level);
+        freezeEntity(target, level, freezeTicks);
         
         // Create visual effects
         createChainEffects(player, target, level, durationTicks);
@@ -176,8 +195,9 @@ public class SpectralChainsEnchant extends CustomEnchant {
      *
      * @param entity The entity to freeze
      * @param level The enchantment level
+     * @param freezeTicks The number of ticks to freeze the entity at level 0
      */
-    private void freezeEntity(LivingEntity entity, int level) {
+    private void freezeEntity(LivingEntity entity, int level, int freezeTicks) {
         Vector originalVelocity = entity.getVelocity().clone();
         
         // Store the entity's pre-freeze velocity to restore a portion later
@@ -187,12 +207,12 @@ public class SpectralChainsEnchant extends CustomEnchant {
         entity.setVelocity(new Vector(0, 0, 0));
         
         // Prevent knockback/movement for a brief period
-        new BukkitRunnable() {
+        new ProfiledTask(gameplayTimer) {
             int ticks = 0;
-            final int maxTicks = FREEZE_TICKS + (level * 2); // More freeze ticks at higher levels
+            final int maxTicks = freezeTicks + (level * 2); // More freeze ticks at higher levels
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (!entity.isValid() || entity.isDead()) {
                     this.cancel();
                     return;
@@ -211,7 +231,7 @@ public class SpectralChainsEnchant extends CustomEnchant {
                 
                 ticks++;
             }
-        }.runTaskTimer(plugin, 1L, 1L);
+        }.runTimer(plugin, entity, 1L, 1L);
     }
     
     /**
@@ -243,22 +263,23 @@ public class SpectralChainsEnchant extends CustomEnchant {
         }
         
         // Schedule chain effect task
-        new BukkitRunnable() {
+        new ProfiledTask(visualTimer) {
             private int tick = 0;
             private final int maxTicks = (int) effectDuration;
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (!target.isValid() || target.isDead() || tick >= maxTicks) {
                     this.cancel();
                     return;
                 }
                 
                 // Create chains connecting player to target
-                createChainParticles(player.getLocation(), target.getLocation(), chainColor, level);
+                Location targetLocation = target.getLocation();
+                createChainParticles(player.getLocation(), targetLocation, chainColor, level);
                 
                 // Create circling chains around the target
-                createCirclingChains(target.getLocation(), chainColor, level, tick);
+                createCirclingChains(targetLocation, chainColor, level, tick);
                 
                 // Occasional chain sound
                 if (tick % 10 == 0) {
@@ -272,11 +293,12 @@ public class SpectralChainsEnchant extends CustomEnchant {
                 
                 tick += 2; // Increment by 2 to reduce particle spam
             }
-        }.runTaskTimer(plugin, 0L, 2L);
+        }.runTimer(plugin, target, 0L, 2L);
     }
     
     /**
-     * Creates chain-like particles between two locations.
+     * Creates chain-like particles between two locations. Every particle is spawned at one
+     * reused location, so a frame allocates no location or vector per particle.
      *
      * @param start The starting location
      * @param end The ending location
@@ -287,52 +309,45 @@ public class SpectralChainsEnchant extends CustomEnchant {
         World world = start.getWorld();
         
         // Get vector from start to end
-        Vector direction = end.toVector().subtract(start.toVector());
+        double dirX = end.getX() - start.getX();
+        double dirY = end.getY() - start.getY();
+        double dirZ = end.getZ() - start.getZ();
         
         // Calculate length and number of particles
-        double length = direction.length();
+        double length = Math.sqrt(dirX * dirX + dirY * dirY + dirZ * dirZ);
         int particles = (int) (length * 2) + 1;
         
         // Normalize the direction vector
-        direction.normalize();
+        dirX /= length;
+        dirY /= length;
+        dirZ /= length;
+        
+        Location particleLoc = new Location(world, 0, 0, 0);
         
         // Create the chain segments
         for (int i = 0; i < particles; i++) {
             // Calculate position along the line
             double t = i / (double) particles;
-            Vector pos = start.toVector().add(direction.clone().multiply(length * t));
             
             // Add some noise to create chain-like pattern
             double offset = 0.1 * Math.sin(t * Math.PI * 10);
             double yOffset = 0.1 * Math.cos(t * Math.PI * 10);
             
             // Create a perpendicular vector for the offset
-            Vector perpendicular = new Vector(-direction.getZ(), yOffset, direction.getX()).normalize().multiply(offset);
+            double perpLength = Math.sqrt(dirZ * dirZ + yOffset * yOffset + dirX * dirX);
+            double scale = offset / perpLength;
             
             // Apply the offset
-            pos.add(perpendicular);
-            
-            // Create particle at position
-            Location particleLoc = pos.toLocation(world);
+            particleLoc.setX(start.getX() + dirX * length * t - dirZ * scale);
+            particleLoc.setY(start.getY() + dirY * length * t + yOffset * scale);
+            particleLoc.setZ(start.getZ() + dirZ * length * t + dirX * scale);
             
             // Send colored dust particle
-            plugin.getVisualEffectManager().spawnColoredParticles(
-                particleLoc,
-                Particle.DUST,
-                color,
-                0.8f,
-                1
-            );
+            plugin.getVisualEffectManager().spawnColoredParticles(particleLoc, Particle.DUST, color, 0.8f, 1);
             
             // Add some end rod particles for "spectral" effect on higher levels
             if (level >= 2 && i % 3 == 0) {
-                world.spawnParticle(
-                    Particle.END_ROD,
-                    particleLoc,
-                    1,
-                    0, 0, 0,
-                    0.02
-                );
+                world.spawnParticle(Particle.END_ROD, particleLoc, 1, 0, 0, 0, 0.02);
             }
         }
     }
@@ -353,46 +368,37 @@ public class SpectralChainsEnchant extends CustomEnchant {
         double height = 2.0;
         int points = 10 + (level * 5);
         
+        Location particleLoc = new Location(world, 0, 0, 0);
+        
         // Create helix/spiral pattern
         for (int i = 0; i < points; i++) {
             // Calculate position along the spiral
             double angle = ((double) tick / 10 + (double) i / points) * 2 * Math.PI;
-            double x = Math.cos(angle) * radius;
-            double z = Math.sin(angle) * radius;
-            double y = (double) i / points * height;
             
             // Adjust the center to the entity's feet
-            Location particleLoc = center.clone().add(x, y, z);
+            particleLoc.setX(center.getX() + Math.cos(angle) * radius);
+            particleLoc.setY(center.getY() + (double) i / points * height);
+            particleLoc.setZ(center.getZ() + Math.sin(angle) * radius);
             
             // Send colored dust particle
-            plugin.getVisualEffectManager().spawnColoredParticles(
-                particleLoc, 
-                Particle.DUST,
-                color,
-                0.7f,
-                1
-            );
+            plugin.getVisualEffectManager().spawnColoredParticles(particleLoc, Particle.DUST, color, 0.7f, 1);
             
             // Add extra effects for higher levels
             if (level >= 3 && i % 4 == 0) {
-                world.spawnParticle(
-                    Particle.SCULK_SOUL,
-                    particleLoc,
-                    1,
-                    0, 0, 0,
-                    0.02
-                );
+                world.spawnParticle(Particle.SCULK_SOUL, particleLoc, 1, 0, 0, 0, 0.02);
             }
         }
     }
     
     /**
      * Cleans up old cooldowns to prevent memory leaks.
+     *
+     * @param cooldownMillis The current cooldown in milliseconds
      */
-    private void cleanupCooldowns() {
+    private void cleanupCooldowns(long cooldownMillis) {
         long currentTime = System.currentTimeMillis();
         entityCooldowns.entrySet().removeIf(entry -> 
-            currentTime - entry.getValue() > COOLDOWN_MILLIS * 2);
+            currentTime - entry.getValue() > cooldownMillis * 2);
     }
     
     @Override
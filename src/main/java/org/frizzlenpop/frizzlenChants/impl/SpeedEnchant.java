@@ -11,21 +11,23 @@ import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
 
 /**
  * Speed enchantment that increases the player's movement speed
  * and creates particle trails when moving.
  */
+@EnchantInfo(name = "Swift", maxLevel = 3, items = {
+    Material.LEATHER_BOOTS, Material.CHAINMAIL_BOOTS,
+    Material.IRON_BOOTS, Material.GOLDEN_BOOTS, Material.DIAMOND_BOOTS,
+    Material.NETHERITE_BOOTS
+})
 public class SpeedEnchant extends CustomEnchant {
 
     private final FrizzlenChants plugin;
     
     public SpeedEnchant() {
-        super("Swift", 3, Material.LEATHER_BOOTS, Material.CHAINMAIL_BOOTS, 
-              Material.IRON_BOOTS, Material.GOLDEN_BOOTS, Material.DIAMOND_BOOTS, 
-              Material.NETHERITE_BOOTS);
-        
         // Get the plugin instance for visual effects
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
     }
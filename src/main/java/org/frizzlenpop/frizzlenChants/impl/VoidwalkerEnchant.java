@@ -12,37 +12,50 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
+import org.frizzlenpop.frizzlenChants.config.PluginSettings;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.jfr.JfrProcRoll;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.profile.ProfiledTask;
+import org.frizzlenpop.frizzlenChants.random.ThreadRandom;
 
-import java.util.HashSet;
-import java.util.Random;
 import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Voidwalker enchantment that gives the player a chance to teleport
  * away when hit, granting brief invulnerability.
  */
+@EnchantInfo(name = "Voidwalker", maxLevel = 3, items = {
+    Material.LEATHER_CHESTPLATE, Material.CHAINMAIL_CHESTPLATE,
+    Material.IRON_CHESTPLATE, Material.GOLDEN_CHESTPLATE,
+    Material.DIAMOND_CHESTPLATE, Material.NETHERITE_CHESTPLATE
+})
 public class VoidwalkerEnchant extends CustomEnchant {
 
     private final FrizzlenChants plugin;
-    private final Random random = new Random();
-    private final Set<UUID> recentlyTeleported = new HashSet<>();
+    private final ProfileTimer gameplayTimer;
+    private final LongAdder procs;
+    private final ThreadRandom random;
+    private final Set<UUID> recentlyTeleported = ConcurrentHashMap.newKeySet();
     
     // Constants
     private static final int COOLDOWN_TICKS = 300; // 15 seconds cooldown
-    private static final int INVULNERABILITY_TICKS = 20; // 1 second of invulnerability
     
     public VoidwalkerEnchant() {
-        super("Voidwalker", 3, 
-              Material.LEATHER_CHESTPLATE, Material.CHAINMAIL_CHESTPLATE, 
-              Material.IRON_CHESTPLATE, Material.GOLDEN_CHESTPLATE, 
-              Material.DIAMOND_CHESTPLATE, Material.NETHERITE_CHESTPLATE);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
+        this.random = plugin.getRandomService().forEnchant(getName());
+        this.gameplayTimer = plugin.getProfiler().timer(getName(), ProfilePhase.GAMEPLAY);
+        this.procs = plugin.getMetrics().procs(getName());
+        plugin.getMetrics().trackCooldowns(getName(), recentlyTeleported::size);
     }
 
     @Override
@@ -80,10 +93,16 @@ public class VoidwalkerEnchant extends CustomEnchant {
         }
         
         // Calculate chance to trigger based on level (15%, 20%, 25%)
-        int triggerChance = 10 + (level * 5);
+        PluginSettings.Voidwalker settings = plugin.getSettings().voidwalker();
+        int triggerChance = settings.procChanceBase() + (level * settings.procChancePerLevel());
         
-        // Roll for teleport
-        if (random.nextInt(100) < triggerChance) {
+        // Roll for teleport, from the event's seed while a trace is recorded
+        SplittableRandom rolls = plugin.getTraceRecorder().rolls(event, getName(), random.current());
+        boolean procced = rolls.nextInt(100) < triggerChance;
+        JfrProcRoll.record(getName(), level, player, triggerChance / 100.0, procced);
+        if (procced) {
+            procs.increment();
+            
             // Cancel the current damage event
             event.setCancelled(true);
             
@@ -215,12 +234,13 @@ public class VoidwalkerEnchant extends CustomEnchant {
         createVoidEffect(origin, level, false);
         player.getWorld().playSound(origin, Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 0.5f);
         
-        // Teleport player
-        player.teleport(destination);
-        
-        // Apply post-teleport effects
-        createVoidEffect(destination, level, true);
-        player.getWorld().playSound(destination, Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 0.7f);
+        // Teleport player, then apply post-teleport effects on the thread that owns the destination
+        player.teleportAsync(destination).thenAccept(teleported -> {
+            if (teleported) {
+                createVoidEffect(destination, level, true);
+                destination.getWorld().playSound(destination, Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 0.7f);
+            }
+        });
         
         // Apply brief invulnerability
         UUID playerId = player.getUniqueId();
@@ -230,12 +250,12 @@ public class VoidwalkerEnchant extends CustomEnchant {
         player.sendActionBar(net.kyori.adventure.text.Component.text("§8Voidwalker §7teleport activated!"));
         
         // Remove invulnerability after a delay
-        new BukkitRunnable() {
+        new ProfiledTask(gameplayTimer) {
             @Override
-            public void run() {
+            protected void tick() {
                 recentlyTeleported.remove(playerId);
             }
-        }.runTaskLater(plugin, INVULNERABILITY_TICKS);
+        }.runLater(plugin, player, plugin.getSettings().voidwalker().invulnerabilityTicks());
     }
     
     /**
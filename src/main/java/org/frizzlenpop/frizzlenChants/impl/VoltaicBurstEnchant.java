@@ -5,41 +5,44 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.Arrow;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.event.entity.EntityShootBowEvent;
 import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.metadata.FixedMetadataValue;
 import org.frizzlenpop.frizzlenChants.FrizzlenChants;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantInfo;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.enchant.LaunchSnapshot;
+import org.frizzlenpop.frizzlenChants.random.ThreadRandom;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Voltaic Burst enchantment for weapons that creates electrical discharges
  * when hitting entities, with a chance to chain to nearby entities.
  */
+@EnchantInfo(name = "VoltaicBurst", maxLevel = 3, items = {
+    Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD,
+    Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
+    Material.BOW, Material.CROSSBOW, Material.TRIDENT
+})
 public class VoltaicBurstEnchant extends CustomEnchant {
 
-    private static final String METADATA_KEY = "voltaic_burst_level";
     private final FrizzlenChants plugin;
-    private final Random random = new Random();
+    private final ThreadRandom random;
     
     public VoltaicBurstEnchant() {
-        super("VoltaicBurst", 3, 
-              Material.WOODEN_SWORD, Material.STONE_SWORD, Material.IRON_SWORD, 
-              Material.GOLDEN_SWORD, Material.DIAMOND_SWORD, Material.NETHERITE_SWORD,
-              Material.BOW, Material.CROSSBOW, Material.TRIDENT);
         this.plugin = FrizzlenChants.getPlugin(FrizzlenChants.class);
+        this.random = plugin.getRandomService().forEnchant(getName());
     }
 
     @Override
@@ -72,39 +75,24 @@ public class VoltaicBurstEnchant extends CustomEnchant {
         }
     }
     
-    @EventHandler
-    public void onBowShoot(EntityShootBowEvent event) {
-        // Handle bow/crossbow projectiles
-        if (!(event.getEntity() instanceof Player) || !(event.getProjectile() instanceof Arrow)) {
+    @Override
+    public void onLaunch(Player player, Projectile projectile, ItemStack source, int level) {
+        if (!(projectile instanceof Arrow)) {
             return;
         }
         
-        Player player = (Player) event.getEntity();
-        Arrow arrow = (Arrow) event.getProjectile();
-        ItemStack bow = event.getBow();
-        
-        if (bow == null) {
-            return;
-        }
+        Arrow arrow = (Arrow) projectile;
         
-        // Check if the bow has this enchantment
-        int level = EnchantmentUtils.getEnchantmentLevel(bow, this, plugin.getEnchantmentRegistry());
+        // Apply visual effect to indicate voltaic enchantment
+        arrow.setGlowing(true);
         
-        if (level > 0) {
-            // Mark the arrow with this enchantment's level
-            arrow.setMetadata(METADATA_KEY, new FixedMetadataValue(plugin, level));
-            
-            // Apply visual effect to indicate voltaic enchantment
-            arrow.setGlowing(true);
-            
-            // Use the VisualEffectManager to create a trail effect
-            plugin.getVisualEffectManager().createParticleTrail(
-                arrow, 
-                Particle.ELECTRIC_SPARK, 
-                Color.fromRGB(120, 180, 255), // Light blue color
-                500 // Duration in ticks
-            );
-        }
+        // Use the VisualEffectManager to create a trail effect
+        plugin.getVisualEffectManager().createParticleTrail(
+            arrow, 
+            Particle.ELECTRIC_SPARK, 
+            Color.fromRGB(120, 180, 255), // Light blue color
+            500 // Duration in ticks
+        );
     }
     
     @EventHandler
@@ -117,13 +105,11 @@ public class VoltaicBurstEnchant extends CustomEnchant {
         Arrow arrow = (Arrow) event.getEntity();
         
         // Check if this arrow was shot with the voltaic burst enchantment
-        if (!arrow.hasMetadata(METADATA_KEY)) {
+        int level = LaunchSnapshot.levelOf(arrow, this);
+        if (level <= 0) {
             return;
         }
         
-        // Get the level of the enchantment
-        int level = arrow.getMetadata(METADATA_KEY).get(0).asInt();
-        
         // Check if the arrow hit an entity
         if (event.getHitEntity() instanceof LivingEntity && arrow.getShooter() instanceof Player) {
             Player shooter = (Player) arrow.getShooter();
@@ -146,7 +132,6 @@ public class VoltaicBurstEnchant extends CustomEnchant {
      * @param target The entity being affected
      * @param level The enchantment level
      */
-    
     private void applyVoltaicEffect(Player attacker, LivingEntity target, int level) {
         Location targetLocation = target.getLocation();
         
@@ -166,28 +151,26 @@ public class VoltaicBurstEnchant extends CustomEnchant {
             LivingEntity chainTarget = findNearbyTarget(target, level);
             
             if (chainTarget != null) {
+                Location chainLocation = chainTarget.getLocation();
+                
                 // Create visual arc between entities
-                createLightningArc(target.getLocation().add(0, 1, 0), 
-                                 chainTarget.getLocation().add(0, 1, 0), 
-                                 level);
+                createLightningArc(targetLocation, chainLocation);
                 
                 double chainDamage = baseDamage * 0.6;
                 chainTarget.damage(chainDamage);
                 
-                
                 // Smaller electric effect on chained target
-                createElectricEffect(chainTarget.getLocation(), 2.0, level, false);
+                createElectricEffect(chainLocation, 2.0, level, false);
                 
                 // Play electric sound on chain target
-                chainTarget.getWorld().playSound(chainTarget.getLocation(), 
-                                            Sound.ENTITY_LIGHTNING_BOLT_IMPACT, 
-                                            0.5f, 1.5f);
+                chainTarget.getWorld().playSound(chainLocation, Sound.ENTITY_LIGHTNING_BOLT_IMPACT, 0.5f, 1.5f);
             }
         }
     }
     
     /**
-     * Creates a visual electric effect at the specified location.
+     * Creates a visual electric effect at the specified location. Every particle is spawned
+     * at one reused location, so a cloud allocates no location per particle.
      *
      * @param location The center location of the effect
      * @param radius The radius of the effect
@@ -211,61 +194,53 @@ public class VoltaicBurstEnchant extends CustomEnchant {
                 electricColor = Color.fromRGB(150, 150, 255);
         }
         
+        World world = location.getWorld();
+        double x = location.getX();
+        double y = location.getY();
+        double z = location.getZ();
+        Location point = new Location(world, x, y, z);
+        
         // Create a cloud of electric particles
         for (int i = 0; i < (isFull ? 80 : 40); i++) {
             // Random position within the radius
-            double x = (random.nextDouble() * 2 - 1) * radius;
-            double y = random.nextDouble() * 2 * radius;
-            double z = (random.nextDouble() * 2 - 1) * radius;
-            
-            Location particleLocation = location.clone().add(x, y, z);
+            point.setX(x + (random.nextDouble() * 2 - 1) * radius);
+            point.setY(y + random.nextDouble() * 2 * radius);
+            point.setZ(z + (random.nextDouble() * 2 - 1) * radius);
             
             // Spawn electric spark particles
-            location.getWorld().spawnParticle(
-                Particle.ELECTRIC_SPARK,
-                particleLocation,
-                1,
-                0, 0, 0,
-                0.05
-            );
+            world.spawnParticle(Particle.ELECTRIC_SPARK, point, 1, 0, 0, 0, 0.05);
             
             // Add some dust particles for color effect (less of these)
             if (i % 5 == 0) {
-                plugin.getVisualEffectManager().spawnColoredParticles(
-                    particleLocation,
-                    Particle.DUST,
-                    electricColor,
-                    1.0f,
-                    1
-                );
+                plugin.getVisualEffectManager().spawnColoredParticles(point, Particle.DUST, electricColor, 1.0f, 1);
             }
         }
         
         // Add lightning visual effect for full effect
         if (isFull && level >= 2) {
             // Spawn a visual-only lightning strike at higher levels
-            location.getWorld().strikeLightningEffect(location);
+            world.strikeLightningEffect(location);
         }
     }
     
     /**
-     * Creates a visual arc of lightning between two locations.
+     * Creates a visual arc of lightning between the bodies of two entities.
      *
-     * @param start The starting location
-     * @param end The ending location
-     * @param level The enchantment level
+     * @param start The feet of the entity the arc starts at
+     * @param end The feet of the entity the arc ends at
      */
-    private void createLightningArc(Location start, Location end, int level) {
+    private void createLightningArc(Location start, Location end) {
         // Calculate the direction vector
-        double distance = start.distance(end);
+        double dX = end.getX() - start.getX();
+        double dY = end.getY() - start.getY();
+        double dZ = end.getZ() - start.getZ();
+        double distance = Math.sqrt(dX * dX + dY * dY + dZ * dZ);
         int points = (int) (distance * 5); // More points for longer distances
         
-        // Get direction vector
-        double dX = (end.getX() - start.getX()) / points;
-        double dY = (end.getY() - start.getY()) / points;
-        double dZ = (end.getZ() - start.getZ()) / points;
+        World world = start.getWorld();
+        Location point = new Location(world, 0, 0, 0);
         
-        // Create arc with some randomness
+        // Create arc with some randomness, one block above the feet
         for (int i = 0; i < points; i++) {
             // Add some randomness to create a jagged look
             double offsetX = (random.nextDouble() * 0.5 - 0.25);
@@ -273,20 +248,13 @@ public class VoltaicBurstEnchant extends CustomEnchant {
             double offsetZ = (random.nextDouble() * 0.5 - 0.25);
             
             // Calculate this point along the arc
-            Location point = start.clone().add(
-                (dX * i) + offsetX,
-                (dY * i) + offsetY,
-                (dZ * i) + offsetZ
-            );
+            double t = (double) i / points;
+            point.setX(start.getX() + (dX * t) + offsetX);
+            point.setY(start.getY() + 1 + (dY * t) + offsetY);
+            point.setZ(start.getZ() + (dZ * t) + offsetZ);
             
             // Spawn particle at this point
-            start.getWorld().spawnParticle(
-                Particle.ELECTRIC_SPARK,
-                point,
-                1,
-                0, 0, 0,
-                0
-            );
+            world.spawnParticle(Particle.ELECTRIC_SPARK, point, 1, 0, 0, 0, 0);
         }
     }
     
@@ -305,7 +273,7 @@ public class VoltaicBurstEnchant extends CustomEnchant {
         Collection<Entity> nearbyEntities = source.getNearbyEntities(
             chainDistance, chainDistance, chainDistance);
         
-        // Filter for living entities and sort by distance
+        // Filter for living entities
         List<LivingEntity> validTargets = new ArrayList<>();
         
         for (Entity entity : nearbyEntities) {
@@ -0,0 +1,65 @@
+package org.frizzlenpop.frizzlenChants.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.bukkit.Location;
+
+/**
+ * One cluster of overlapping area effects resolved with a single entity lookup. The
+ * enchantment lists every enchantment with an effect in the cluster.
+ */
+@Name("frizzlenchants.AreaResolve")
+@Label("Area Effect Resolution")
+@Description("A cluster of overlapping area effects resolved in one entity lookup")
+public final class JfrAreaResolve extends JfrEnchantEvent {
+
+    @Label("Effects")
+    int effects;
+    
+    @Label("Entities")
+    int entities;
+    
+    @Label("Hits")
+    int hits;
+    
+    /**
+     * Starts timing a cluster.
+     *
+     * @return The event to end once the cluster is resolved
+     */
+    public static JfrAreaResolve start() {
+        JfrAreaResolve flight = new JfrAreaResolve();
+        flight.begin();
+        return flight;
+    }
+    
+    /**
+     * Checks whether the cluster will be committed, so its description is only built when
+     * it is. Call after the cluster is resolved.
+     *
+     * @return true if a recording wants the event
+     */
+    public boolean wanted() {
+        end();
+        return shouldCommit();
+    }
+    
+    /**
+     * Commits the cluster. Call only after {@link #wanted()} returned true.
+     *
+     * @param enchants The enchantments with an effect in the cluster
+     * @param level The highest level among them
+     * @param center The center of the first effect
+     * @param effects The number of effects in the cluster
+     * @param entities The entities the lookup returned
+     * @param hits The effect and entity pairs that hit
+     */
+    public void commit(String enchants, int level, Location center, int effects, int entities, int hits) {
+        describe(enchants, level, center);
+        this.effects = effects;
+        this.entities = entities;
+        this.hits = hits;
+        commit();
+    }
+}
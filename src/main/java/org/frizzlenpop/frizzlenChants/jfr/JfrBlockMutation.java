@@ -0,0 +1,51 @@
+package org.frizzlenpop.frizzlenChants.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.bukkit.Location;
+
+/**
+ * An effect changing blocks in the world, timed across the whole batch.
+ */
+@Name("frizzlenchants.BlockMutation")
+@Label("Block Mutation")
+@Description("An effect clearing or restoring a batch of blocks")
+public final class JfrBlockMutation extends JfrEnchantEvent {
+
+    @Label("Mutation")
+    String mutation;
+    
+    @Label("Blocks")
+    int blocks;
+    
+    /**
+     * Starts timing a batch.
+     *
+     * @return The event to end once the batch is done
+     */
+    public static JfrBlockMutation start() {
+        JfrBlockMutation flight = new JfrBlockMutation();
+        flight.begin();
+        return flight;
+    }
+    
+    /**
+     * Ends the batch and commits it if a recording wants it.
+     *
+     * @param enchant The enchantment name
+     * @param level The enchantment level
+     * @param location Where the blocks are
+     * @param mutation What happened to the blocks, such as {@code clear} or {@code restore}
+     * @param blocks The number of blocks changed
+     */
+    public void end(String enchant, int level, Location location, String mutation, int blocks) {
+        end();
+        if (shouldCommit()) {
+            describe(enchant, level, location);
+            this.mutation = mutation;
+            this.blocks = blocks;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.frizzlenpop.frizzlenChants.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.bukkit.Location;
+
+/**
+ * An effect spawning a display entity, timed across the spawn and its setup.
+ */
+@Name("frizzlenchants.DisplaySpawn")
+@Label("Display Spawn")
+@Description("An effect spawning a display entity")
+public final class JfrDisplaySpawn extends JfrEnchantEvent {
+
+    @Label("Entity Type")
+    String entityType;
+    
+    /**
+     * Starts timing a spawn.
+     *
+     * @return The event to end once the display is set up
+     */
+    public static JfrDisplaySpawn start() {
+        JfrDisplaySpawn flight = new JfrDisplaySpawn();
+        flight.begin();
+        return flight;
+    }
+    
+    /**
+     * Ends the spawn and commits it if a recording wants it.
+     *
+     * @param enchant The enchantment name
+     * @param level The enchantment level, or 0 if it is not known
+     * @param location Where the display spawned
+     * @param entityType The type of display
+     */
+    public void end(String enchant, int level, Location location, String entityType) {
+        end();
+        if (shouldCommit()) {
+            describe(enchant, level, location);
+            this.entityType = entityType;
+            commit();
+        }
+    }
+}
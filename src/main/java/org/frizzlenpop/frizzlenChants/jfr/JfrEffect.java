@@ -0,0 +1,53 @@
+package org.frizzlenpop.frizzlenChants.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.bukkit.Location;
+
+/**
+ * The lifetime of an effect that runs over several ticks, such as a collapse, a meteor, a
+ * guided projectile or a turret, from its start to its end. The effect keeps the event in
+ * its state; {@link #start} returns null while no recording wants it, so the effect holds
+ * nothing then.
+ */
+@Name("frizzlenchants.Effect")
+@Label("Enchantment Effect")
+@Description("An effect running over several ticks, from its start to its end")
+public final class JfrEffect extends JfrEnchantEvent {
+
+    @Label("Effect")
+    String effect;
+    
+    /**
+     * Starts an effect if a recording wants it.
+     *
+     * @param enchant The enchantment name
+     * @param level The enchantment level, or 0 if it is not known
+     * @param location Where the effect starts
+     * @param effect The kind of effect
+     * @return The event to pass to {@link #end(JfrEffect)}, or null if nothing is recorded
+     */
+    public static JfrEffect start(String enchant, int level, Location location, String effect) {
+        JfrEffect flight = new JfrEffect();
+        if (!flight.isEnabled()) {
+            return null;
+        }
+        
+        flight.describe(enchant, level, location);
+        flight.effect = effect;
+        flight.begin();
+        return flight;
+    }
+    
+    /**
+     * Ends an effect and commits it if a recording wants it.
+     *
+     * @param flight The event returned by {@link #start}, or null
+     */
+    public static void end(JfrEffect flight) {
+        if (flight != null) {
+            flight.commit();
+        }
+    }
+}
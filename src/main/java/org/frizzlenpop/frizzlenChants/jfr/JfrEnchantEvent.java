@@ -0,0 +1,65 @@
+package org.frizzlenpop.frizzlenChants.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+/**
+ * Base of the Flight Recorder events of the plugin: every event names the enchantment and
+ * level it belongs to and the world and chunk it happened in, and the recording adds its
+ * start time and duration. Events are only filled in after {@code shouldCommit()} returns
+ * true, so while no recording has them enabled, emitting one costs a single check and its
+ * locations are never read.
+ */
+@Category("FrizzlenChants")
+@StackTrace(false)
+public abstract class JfrEnchantEvent extends Event {
+
+    @Label("Enchantment")
+    String enchant;
+    
+    @Label("Level")
+    int level;
+    
+    @Label("World")
+    String world;
+    
+    @Label("Chunk X")
+    int chunkX;
+    
+    @Label("Chunk Z")
+    int chunkZ;
+    
+    /**
+     * Fills in the common fields.
+     *
+     * @param enchant The enchantment name
+     * @param level The enchantment level, or 0 if it is not known
+     * @param location Where the event happened, or null if it is not known
+     */
+    void describe(String enchant, int level, Location location) {
+        this.enchant = enchant;
+        this.level = level;
+        if (location != null) {
+            World world = location.getWorld();
+            this.world = world != null ? world.getName() : null;
+            this.chunkX = location.getBlockX() >> 4;
+            this.chunkZ = location.getBlockZ() >> 4;
+        }
+    }
+    
+    /**
+     * Fills in the common fields from the location of an entity.
+     *
+     * @param enchant The enchantment name
+     * @param level The enchantment level, or 0 if it is not known
+     * @param entity The entity the event happened at, or null if it is not known
+     */
+    void describe(String enchant, int level, Entity entity) {
+        describe(enchant, level, entity != null ? entity.getLocation() : null);
+    }
+}
@@ -0,0 +1,38 @@
+package org.frizzlenpop.frizzlenChants.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+
+import java.util.List;
+
+/**
+ * Registers the Flight Recorder events of the plugin, so a recording started before an
+ * event first fires already lists it, and unregisters them when the plugin disables.
+ */
+public final class JfrEvents {
+
+    private static final List<Class<? extends Event>> EVENTS = List.of(
+        JfrTrigger.class, JfrProcRoll.class, JfrEffect.class, JfrAreaResolve.class,
+        JfrBlockMutation.class, JfrDisplaySpawn.class);
+    
+    private JfrEvents() {
+    }
+    
+    /**
+     * Registers every event.
+     */
+    public static void register() {
+        for (Class<? extends Event> event : EVENTS) {
+            FlightRecorder.register(event);
+        }
+    }
+    
+    /**
+     * Unregisters every event.
+     */
+    public static void unregister() {
+        for (Class<? extends Event> event : EVENTS) {
+            FlightRecorder.unregister(event);
+        }
+    }
+}
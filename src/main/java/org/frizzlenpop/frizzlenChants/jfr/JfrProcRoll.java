@@ -0,0 +1,42 @@
+package org.frizzlenpop.frizzlenChants.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import org.bukkit.entity.Entity;
+
+/**
+ * The result of an enchantment's chance roll.
+ */
+@Name("frizzlenchants.ProcRoll")
+@Label("Enchantment Proc Roll")
+@Description("An enchantment rolling its proc chance")
+public final class JfrProcRoll extends JfrEnchantEvent {
+
+    @Label("Chance")
+    @Percentage
+    double chance;
+    
+    @Label("Procced")
+    boolean procced;
+    
+    /**
+     * Records a roll if a recording wants it.
+     *
+     * @param enchant The enchantment name
+     * @param level The enchantment level
+     * @param entity The entity the roll was made for
+     * @param chance The chance to proc, from 0 to 1
+     * @param procced Whether the roll succeeded
+     */
+    public static void record(String enchant, int level, Entity entity, double chance, boolean procced) {
+        JfrProcRoll flight = new JfrProcRoll();
+        if (flight.shouldCommit()) {
+            flight.describe(enchant, level, entity);
+            flight.chance = chance;
+            flight.procced = procced;
+            flight.commit();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.frizzlenpop.frizzlenChants.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.BlockEvent;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.player.PlayerEvent;
+
+/**
+ * An enchantment handling a server event or one of its hooks, timed from the start of the
+ * handler to its end. Wrap the handler like a profiler section:
+ *
+ * <pre>
+ * JfrTrigger flight = JfrTrigger.start();
+ * try {
+ *     ...
+ * } finally {
+ *     flight.end(enchant.getName(), level, player, "applyEffect");
+ * }
+ * </pre>
+ */
+@Name("frizzlenchants.Trigger")
+@Label("Enchantment Trigger")
+@Description("An enchantment handling an event or hook")
+public final class JfrTrigger extends JfrEnchantEvent {
+
+    @Label("Event")
+    String event;
+    
+    /**
+     * Starts timing a trigger.
+     *
+     * @return The event to end once the handler returns
+     */
+    public static JfrTrigger start() {
+        JfrTrigger flight = new JfrTrigger();
+        flight.begin();
+        return flight;
+    }
+    
+    /**
+     * Ends the trigger and commits it if a recording wants it.
+     *
+     * @param enchant The enchantment name
+     * @param level The enchantment level, or 0 if the handler decodes it itself
+     * @param entity The entity that triggered the enchantment, or null if it is not known
+     * @param event The name of the server event or hook
+     */
+    public void end(String enchant, int level, Entity entity, String event) {
+        end();
+        if (shouldCommit()) {
+            describe(enchant, level, entity);
+            this.event = event;
+            commit();
+        }
+    }
+    
+    /**
+     * Ends the trigger of an event handler and commits it if a recording wants it. The
+     * handler decodes the level itself, so it is left at 0; the location is that of the
+     * event's entity, player or block.
+     *
+     * @param enchant The enchantment name
+     * @param event The server event
+     */
+    public void end(String enchant, Event event) {
+        end();
+        if (shouldCommit()) {
+            describe(enchant, 0, locationOf(event));
+            this.event = event.getEventName();
+            commit();
+        }
+    }
+    
+    private static Location locationOf(Event event) {
+        if (event instanceof EntityEvent) {
+            return ((EntityEvent) event).getEntity().getLocation();
+        }
+        if (event instanceof PlayerEvent) {
+            return ((PlayerEvent) event).getPlayer().getLocation();
+        }
+        if (event instanceof BlockEvent) {
+            return ((BlockEvent) event).getBlock().getLocation();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,121 @@
+package org.frizzlenpop.frizzlenChants.listeners;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.inventory.ItemStack;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentRegistry;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+
+/**
+ * Listener that instantiates enchantments as soon as an item carrying them reaches a
+ * player's inventory. Enchantments bind their own event handlers when they are created,
+ * so creating them before the item is used means their handlers already see its first use.
+ * Enchantments indexed without event handlers are left to their first lookup, and once every
+ * enchantment with handlers is active, each handler returns immediately.
+ */
+public class EnchantmentActivationListener implements Listener {
+
+    private final EnchantmentRegistry registry;
+    
+    /**
+     * Creates a new enchantment activation listener.
+     *
+     * @param registry The enchantment registry
+     */
+    public EnchantmentActivationListener(EnchantmentRegistry registry) {
+        this.registry = registry;
+    }
+    
+    /**
+     * Activates the enchantments on every item a player carries.
+     *
+     * @param player The player to check
+     */
+    public void activateInventory(Player player) {
+        if (!registry.hasPendingHandlers()) {
+            return;
+        }
+        
+        for (ItemStack item : player.getInventory().getContents()) {
+            activate(item);
+        }
+    }
+    
+    /**
+     * Activates the enchantments on every item carried by an online player.
+     */
+    public void activateOnlinePlayers() {
+        if (!registry.hasPendingHandlers()) {
+            return;
+        }
+        
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            activateInventory(player);
+        }
+    }
+    
+    /**
+     * Handles player joins to activate the enchantments in their inventory.
+     *
+     * @param event The player join event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        activateInventory(event.getPlayer());
+    }
+    
+    /**
+     * Handles hotbar slot changes to activate the enchantments on the newly held item.
+     *
+     * @param event The item held event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemHeld(PlayerItemHeldEvent event) {
+        if (registry.hasPendingHandlers()) {
+            activate(event.getPlayer().getInventory().getItem(event.getNewSlot()));
+        }
+    }
+    
+    /**
+     * Handles item pickups to activate the enchantments on the picked up item.
+     *
+     * @param event The pickup event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemPickup(EntityPickupItemEvent event) {
+        if (registry.hasPendingHandlers() && event.getEntity() instanceof Player) {
+            activate(event.getItem().getItemStack());
+        }
+    }
+    
+    /**
+     * Handles closed inventories to activate the enchantments on items taken from containers.
+     *
+     * @param event The inventory close event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        if (event.getPlayer() instanceof Player) {
+            activateInventory((Player) event.getPlayer());
+        }
+    }
+    
+    /**
+     * Activates the enchantments on one item. Decoding the item looks every enchantment up
+     * in the registry, which instantiates the ones that are still pending.
+     *
+     * @param item The item to check, may be null
+     */
+    private void activate(ItemStack item) {
+        if (item != null && item.hasItemMeta()) {
+            EnchantmentUtils.getEnchantments(item, registry);
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package org.frizzlenpop.frizzlenChants.listeners;
 
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.event.entity.EntityShootBowEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.inventory.ItemStack;
 import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentRegistry;
 import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.jfr.JfrTrigger;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.trace.TraceEventType;
+import org.frizzlenpop.frizzlenChants.trace.TraceRecorder;
 
 import java.util.Map;
 
@@ -23,14 +29,28 @@ import java.util.Map;
 public class EnchantmentListener implements Listener {
 
     private final EnchantmentRegistry registry;
+    private final EnchantProfiler profiler;
+    private final TraceRecorder recorder;
     
     /**
-     * Creates a new enchantment listener.
+     * Creates a new enchantment listener that records nothing.
      *
      * @param registry The enchantment registry
      */
     public EnchantmentListener(EnchantmentRegistry registry) {
+        this(registry, null);
+    }
+    
+    /**
+     * Creates a new enchantment listener.
+     *
+     * @param registry The enchantment registry
+     * @param recorder The recorder the triggering events are traced to, or null
+     */
+    public EnchantmentListener(EnchantmentRegistry registry, TraceRecorder recorder) {
         this.registry = registry;
+        this.profiler = registry.getProfiler();
+        this.recorder = recorder;
     }
     
     /**
@@ -52,42 +72,14 @@ public class EnchantmentListener implements Listener {
         }
         
         // Get enchantments on the weapon
-        Map<CustomEnchant, Integer> enchantments = EnchantmentUtils.getEnchantments(item, registry);
+        Map<CustomEnchant, Integer> enchantments = EnchantmentUtils.getEnchantments(item, registry, event);
+        trace(event, TraceEventType.HIT, player, event.getEntity(), item, enchantments);
         for (Map.Entry<CustomEnchant, Integer> entry : enchantments.entrySet()) {
             CustomEnchant enchant = entry.getKey();
             int level = entry.getValue();
             
             // Apply the enchantment effect
-            enchant.applyEffect(player, item, level);
-        }
-    }
-    
-    /**
-     * Handles bow shooting events to apply bow enchantments.
-     *
-     * @param event The bow shooting event
-     */
-    @EventHandler
-    public void onBowShoot(EntityShootBowEvent event) {
-        if (!(event.getEntity() instanceof Player)) {
-            return;
-        }
-        
-        Player player = (Player) event.getEntity();
-        ItemStack bow = event.getBow();
-        
-        if (bow == null || !bow.hasItemMeta()) {
-            return;
-        }
-        
-        // Get enchantments on the bow
-        Map<CustomEnchant, Integer> enchantments = EnchantmentUtils.getEnchantments(bow, registry);
-        for (Map.Entry<CustomEnchant, Integer> entry : enchantments.entrySet()) {
-            CustomEnchant enchant = entry.getKey();
-            int level = entry.getValue();
-            
-            // Apply the enchantment effect
-            enchant.applyEffect(player, bow, level);
+            apply(enchant, player, item, level);
         }
     }
     
@@ -106,13 +98,14 @@ public class EnchantmentListener implements Listener {
         }
         
         // Get enchantments on the tool
-        Map<CustomEnchant, Integer> enchantments = EnchantmentUtils.getEnchantments(item, registry);
+        Map<CustomEnchant, Integer> enchantments = EnchantmentUtils.getEnchantments(item, registry, event);
+        trace(event, TraceEventType.BLOCK_BREAK, player, null, item, enchantments);
         for (Map.Entry<CustomEnchant, Integer> entry : enchantments.entrySet()) {
             CustomEnchant enchant = entry.getKey();
             int level = entry.getValue();
             
             // Apply the enchantment effect
-            enchant.applyEffect(player, item, level);
+            apply(enchant, player, item, level);
         }
     }
     
@@ -131,13 +124,14 @@ public class EnchantmentListener implements Listener {
         }
         
         // Get enchantments on the item
-        Map<CustomEnchant, Integer> enchantments = EnchantmentUtils.getEnchantments(item, registry);
+        Map<CustomEnchant, Integer> enchantments = EnchantmentUtils.getEnchantments(item, registry, event);
+        trace(event, TraceEventType.INTERACT, player, null, item, enchantments);
         for (Map.Entry<CustomEnchant, Integer> entry : enchantments.entrySet()) {
             CustomEnchant enchant = entry.getKey();
             int level = entry.getValue();
             
             // Apply the enchantment effect
-            enchant.applyEffect(player, item, level);
+            apply(enchant, player, item, level);
         }
     }
     
@@ -164,14 +158,51 @@ public class EnchantmentListener implements Listener {
             }
             
             // Get enchantments on the armor
-            Map<CustomEnchant, Integer> enchantments = EnchantmentUtils.getEnchantments(armorPiece, registry);
+            Map<CustomEnchant, Integer> enchantments = EnchantmentUtils.getEnchantments(armorPiece, registry, event);
+            trace(event, TraceEventType.MOVE, player, null, armorPiece, enchantments);
             for (Map.Entry<CustomEnchant, Integer> entry : enchantments.entrySet()) {
                 CustomEnchant enchant = entry.getKey();
                 int level = entry.getValue();
                 
                 // Apply the enchantment effect
-                enchant.applyEffect(player, armorPiece, level);
+                apply(enchant, player, armorPiece, level);
             }
         }
     }
+    
+    /**
+     * Records a triggering event while a trace is being recorded.
+     *
+     * @param event The Bukkit event
+     * @param type The kind of event
+     * @param player The player using the enchanted item
+     * @param target The entity the event is aimed at, or null
+     * @param item The enchanted item
+     * @param enchantments The decoded enchantments of the item
+     */
+    private void trace(Event event, TraceEventType type, Player player, Entity target, ItemStack item,
+                       Map<CustomEnchant, Integer> enchantments) {
+        if (recorder != null && recorder.isRecording()) {
+            recorder.record(event, type, player, target, item, enchantments);
+        }
+    }
+    
+    /**
+     * Applies one enchantment's effect, timed as the enchantment's trigger phase.
+     *
+     * @param enchant The enchantment
+     * @param player The player using the enchanted item
+     * @param item The enchanted item
+     * @param level The level of the enchantment
+     */
+    private void apply(CustomEnchant enchant, Player player, ItemStack item, int level) {
+        long token = profiler.start(enchant.getName(), ProfilePhase.TRIGGER);
+        JfrTrigger flight = JfrTrigger.start();
+        try {
+            enchant.applyEffect(player, item, level);
+        } finally {
+            flight.end(enchant.getName(), level, player, "applyEffect");
+            profiler.stop(token);
+        }
+    }
 } 
\ No newline at end of file
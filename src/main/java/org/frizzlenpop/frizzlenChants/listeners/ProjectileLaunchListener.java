@@ -0,0 +1,211 @@
+package org.frizzlenpop.frizzlenChants.listeners;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.entity.Trident;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityShootBowEvent;
+import org.bukkit.event.entity.ProjectileLaunchEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentRegistry;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentUtils;
+import org.frizzlenpop.frizzlenChants.enchant.LaunchSnapshot;
+import org.frizzlenpop.frizzlenChants.jfr.JfrTrigger;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.trace.TraceEventType;
+import org.frizzlenpop.frizzlenChants.trace.TraceRecorder;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Single launch stage for bow, crossbow and trident projectiles.
+ * Resolves the firing item once, decodes its custom enchantments once, records them on the
+ * projectile as a {@link LaunchSnapshot} and then fans out to each enchantment's launch hook.
+ */
+public class ProjectileLaunchListener implements Listener {
+
+    private final Plugin plugin;
+    private final EnchantmentRegistry registry;
+    private final EnchantProfiler profiler;
+    private final TraceRecorder recorder;
+    
+    // Last decoded shot, reused for the extra projectiles of a multishot crossbow. Replaced as
+    // a whole, as regions on Folia may fire at the same time
+    private volatile LastShot lastShot;
+    
+    /**
+     * Creates a new projectile launch listener that records nothing.
+     *
+     * @param plugin The plugin instance
+     * @param registry The enchantment registry
+     */
+    public ProjectileLaunchListener(Plugin plugin, EnchantmentRegistry registry) {
+        this(plugin, registry, null);
+    }
+    
+    /**
+     * Creates a new projectile launch listener.
+     *
+     * @param plugin The plugin instance
+     * @param registry The enchantment registry
+     * @param recorder The recorder shots are traced to, or null
+     */
+    public ProjectileLaunchListener(Plugin plugin, EnchantmentRegistry registry, TraceRecorder recorder) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.profiler = registry.getProfiler();
+        this.recorder = recorder;
+    }
+    
+    /**
+     * Handles bow and crossbow shots.
+     *
+     * @param event The bow shooting event
+     */
+    @EventHandler(ignoreCancelled = true)
+    public void onBowShoot(EntityShootBowEvent event) {
+        if (!(event.getEntity() instanceof Player) || !(event.getProjectile() instanceof Projectile)) {
+            return;
+        }
+        
+        Player player = (Player) event.getEntity();
+        ItemStack bow = event.getBow();
+        
+        if (bow == null || !bow.hasItemMeta()) {
+            return;
+        }
+        
+        LaunchSnapshot snapshot = snapshotFor(event, player, bow);
+        if (recorder != null && recorder.isRecording()) {
+            recorder.record(event, TraceEventType.SHOOT_BOW, player, null, bow, snapshot.getEnchantments());
+        }
+        
+        // Bow shots also drive the generic applyEffect trigger
+        for (Map.Entry<CustomEnchant, Integer> entry : snapshot.getEnchantments().entrySet()) {
+            long token = profiler.start(entry.getKey().getName(), ProfilePhase.TRIGGER);
+            JfrTrigger flight = JfrTrigger.start();
+            try {
+                entry.getKey().applyEffect(player, bow, entry.getValue());
+            } finally {
+                flight.end(entry.getKey().getName(), entry.getValue(), player, "applyEffect");
+                profiler.stop(token);
+            }
+        }
+        
+        launch(player, (Projectile) event.getProjectile(), bow, snapshot);
+    }
+    
+    /**
+     * Handles trident throws, which do not go through the bow shooting event.
+     *
+     * @param event The projectile launch event
+     */
+    @EventHandler(ignoreCancelled = true)
+    public void onProjectileLaunch(ProjectileLaunchEvent event) {
+        if (!(event.getEntity() instanceof Trident)) {
+            return;
+        }
+        
+        Trident trident = (Trident) event.getEntity();
+        
+        if (!(trident.getShooter() instanceof Player)) {
+            return;
+        }
+        
+        Player player = (Player) trident.getShooter();
+        ItemStack tridentItem = resolveTridentItem(player);
+        
+        if (tridentItem == null || !tridentItem.hasItemMeta()) {
+            return;
+        }
+        
+        LaunchSnapshot snapshot = snapshotFor(event, player, tridentItem);
+        if (recorder != null && recorder.isRecording()) {
+            recorder.record(event, TraceEventType.THROW_TRIDENT, player, null, tridentItem,
+                snapshot.getEnchantments());
+        }
+        
+        launch(player, trident, tridentItem, snapshot);
+    }
+    
+    /**
+     * Records the snapshot on the projectile and invokes the launch hooks, each timed as its
+     * enchantment's trigger phase.
+     *
+     * @param player The shooter
+     * @param projectile The launched projectile
+     * @param source The item the projectile was launched from
+     * @param snapshot The decoded enchantments of the source item
+     */
+    private void launch(Player player, Projectile projectile, ItemStack source, LaunchSnapshot snapshot) {
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        
+        snapshot.attachTo(plugin, projectile);
+        
+        for (Map.Entry<CustomEnchant, Integer> entry : snapshot.getEnchantments().entrySet()) {
+            long token = profiler.start(entry.getKey().getName(), ProfilePhase.TRIGGER);
+            JfrTrigger flight = JfrTrigger.start();
+            try {
+                entry.getKey().onLaunch(player, projectile, source, entry.getValue());
+            } finally {
+                flight.end(entry.getKey().getName(), entry.getValue(), player, "onLaunch");
+                profiler.stop(token);
+            }
+        }
+    }
+    
+    /**
+     * Decodes the enchantments of the source item, reusing the previous result when the same
+     * player fires several projectiles from the same kind of item in the same tick.
+     *
+     * @param event The launch event
+     * @param player The shooter
+     * @param source The item the projectile was launched from
+     * @return The decoded enchantments
+     */
+    private LaunchSnapshot snapshotFor(Event event, Player player, ItemStack source) {
+        int tick = Bukkit.getCurrentTick();
+        
+        LastShot last = lastShot;
+        if (last != null && tick == last.tick() && source.getType() == last.sourceType() &&
+            player.getUniqueId().equals(last.shooter())) {
+            return last.snapshot();
+        }
+        
+        LaunchSnapshot snapshot = new LaunchSnapshot(EnchantmentUtils.getEnchantments(source, registry, event));
+        lastShot = new LastShot(player.getUniqueId(), tick, source.getType(), snapshot);
+        return snapshot;
+    }
+    
+    /**
+     * Finds the trident a player has just thrown.
+     *
+     * @param player The player who threw the trident
+     * @return The trident item, or null if neither hand holds one
+     */
+    private ItemStack resolveTridentItem(Player player) {
+        ItemStack item = player.getInventory().getItemInMainHand();
+        if (item.getType() == Material.TRIDENT) {
+            return item;
+        }
+        
+        item = player.getInventory().getItemInOffHand();
+        return item.getType() == Material.TRIDENT ? item : null;
+    }
+    
+    /**
+     * A decoded shot and what it was fired with.
+     */
+    private record LastShot(UUID shooter, int tick, Material sourceType, LaunchSnapshot snapshot) {
+    }
+}
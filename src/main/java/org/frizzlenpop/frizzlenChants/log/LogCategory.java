@@ -0,0 +1,25 @@
+package org.frizzlenpop.frizzlenChants.log;
+
+import java.util.Locale;
+
+/**
+ * The areas of the plugin that log through a {@link LogChannel}. Each category has its own
+ * level in the {@code logging.levels} section of {@code config.yml}.
+ */
+public enum LogCategory {
+    /** Enchantment triggers, item lookups and enchantment-specific diagnostics */
+    ENCHANTS,
+    /** Effects that run over several ticks, such as moving blocks and displays */
+    EFFECTS,
+    /** Particles, glowing and other client-side visuals */
+    VISUALS;
+    
+    /**
+     * Returns the key of this category in the configuration and in log records.
+     *
+     * @return The lower case name of the category
+     */
+    public String getKey() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
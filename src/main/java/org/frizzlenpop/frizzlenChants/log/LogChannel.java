@@ -0,0 +1,194 @@
+package org.frizzlenpop.frizzlenChants.log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Logs the records of one {@link LogCategory}. A record below the category's level costs a
+ * single comparison against a volatile field: the message supplier is never called, so the
+ * message is not built. Records that pass the level are then sampled and rate limited before
+ * the message is built:
+ * <ul>
+ *   <li>Debug records are sampled: only one in every {@code debug-sample-rate} is kept.</li>
+ *   <li>At most {@code max-per-second} records are written per second. The rest are dropped
+ *       and counted, and the count is written before the first record of a later second.</li>
+ * </ul>
+ * Code that runs every tick or for every event should log through a channel rather than
+ * through the plugin logger, so that a repeating failure cannot flood the console.
+ * A channel may be used from any thread.
+ */
+public final class LogChannel {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int DEBUG = Level.FINE.intValue();
+    
+    private final Logger logger;
+    private final LogCategory category;
+    private final String prefix;
+    
+    // Read without locking on every call
+    private volatile int threshold = Level.WARNING.intValue();
+    
+    // Guarded by this
+    private int maxPerSecond = 10;
+    private int sampleRate = 1;
+    private long sampleCount;
+    private long windowStart = System.nanoTime();
+    private int windowCount;
+    private long suppressed;
+    
+    LogChannel(Logger logger, LogCategory category) {
+        this.logger = logger;
+        this.category = category;
+        this.prefix = "[" + category.getKey() + "] ";
+    }
+    
+    /**
+     * Returns the category of this channel.
+     *
+     * @return The category
+     */
+    public LogCategory getCategory() {
+        return category;
+    }
+    
+    /**
+     * Checks whether records of a level would pass this channel's level. Use it to skip
+     * work that only serves a log record, such as collecting values to report.
+     *
+     * @param level The level
+     * @return true if the level is enabled
+     */
+    public boolean isEnabled(Level level) {
+        return level.intValue() >= threshold;
+    }
+    
+    /**
+     * Checks whether debug records are enabled.
+     *
+     * @return true if debug records pass this channel's level
+     */
+    public boolean isDebugEnabled() {
+        return DEBUG >= threshold;
+    }
+    
+    /**
+     * Logs a debug record.
+     *
+     * @param message Builds the message; only called if the record is written
+     */
+    public void debug(Supplier<String> message) {
+        if (DEBUG >= threshold) {
+            write(Level.FINE, message, null);
+        }
+    }
+    
+    /**
+     * Logs an info record.
+     *
+     * @param message Builds the message; only called if the record is written
+     */
+    public void info(Supplier<String> message) {
+        log(Level.INFO, message, null);
+    }
+    
+    /**
+     * Logs a warning.
+     *
+     * @param message Builds the message; only called if the record is written
+     */
+    public void warning(Supplier<String> message) {
+        log(Level.WARNING, message, null);
+    }
+    
+    /**
+     * Logs a warning with the exception that caused it.
+     *
+     * @param message Builds the message; only called if the record is written
+     * @param thrown The exception
+     */
+    public void warning(Supplier<String> message, Throwable thrown) {
+        log(Level.WARNING, message, thrown);
+    }
+    
+    /**
+     * Logs a record.
+     *
+     * @param level The level
+     * @param message Builds the message; only called if the record is written
+     * @param thrown The exception, or null
+     */
+    public void log(Level level, Supplier<String> message, Throwable thrown) {
+        if (level.intValue() >= threshold) {
+            write(level, message, thrown);
+        }
+    }
+    
+    /**
+     * Applies new settings. Records already counted in the current second stay counted.
+     *
+     * @param level The lowest level written; {@link Level#OFF} disables the channel
+     * @param maxPerSecond The number of records written per second before the rest are dropped
+     * @param sampleRate Keep one in this many debug records
+     */
+    synchronized void configure(Level level, int maxPerSecond, int sampleRate) {
+        this.maxPerSecond = maxPerSecond;
+        this.sampleRate = sampleRate;
+        this.threshold = level == Level.OFF ? Integer.MAX_VALUE : level.intValue();
+    }
+    
+    private void write(Level level, Supplier<String> message, Throwable thrown) {
+        long dropped;
+        int limit;
+        synchronized (this) {
+            dropped = admit(level.intValue() < Level.INFO.intValue());
+            limit = maxPerSecond;
+        }
+        if (dropped < 0) {
+            return;
+        }
+        
+        if (dropped > 0) {
+            logger.log(Level.WARNING, prefix + dropped + " records were dropped by the rate limit of " +
+                limit + " per second");
+        }
+        
+        // The server console drops records below INFO, so debug records are written as INFO and tagged instead
+        if (level.intValue() < Level.INFO.intValue()) {
+            logger.log(Level.INFO, "[" + category.getKey() + "/debug] " + message.get(), thrown);
+        } else {
+            logger.log(level, prefix + message.get(), thrown);
+        }
+    }
+    
+    /**
+     * Decides whether a record is written. Must be called while holding the lock.
+     *
+     * @param debug Whether the record is a debug record, which is sampled
+     * @return -1 to drop the record, otherwise the number of records dropped since the
+     *         last report, to be reported before this record
+     */
+    private long admit(boolean debug) {
+        if (debug && sampleRate > 1 && sampleCount++ % sampleRate != 0) {
+            return -1;
+        }
+        
+        long now = System.nanoTime();
+        long dropped = 0;
+        if (now - windowStart >= WINDOW_NANOS) {
+            dropped = suppressed;
+            suppressed = 0;
+            windowStart = now;
+            windowCount = 0;
+        }
+        
+        if (windowCount >= maxPerSecond) {
+            suppressed++;
+            return -1;
+        }
+        windowCount++;
+        return dropped;
+    }
+}
@@ -0,0 +1,52 @@
+package org.frizzlenpop.frizzlenChants.log;
+
+import org.frizzlenpop.frizzlenChants.config.PluginSettings;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Owns one {@link LogChannel} per {@link LogCategory} and applies the {@code logging}
+ * settings to them. Components fetch their channel once, when they are created, and
+ * keep it in a field; a reload reconfigures the same channel objects in place.
+ */
+public final class PluginLog {
+
+    private final Map<LogCategory, LogChannel> channels = new EnumMap<>(LogCategory.class);
+    
+    /**
+     * Creates the channels of every category, writing to the given logger. Until the
+     * settings are applied, each channel logs warnings and above.
+     *
+     * @param logger The plugin logger
+     */
+    public PluginLog(Logger logger) {
+        for (LogCategory category : LogCategory.values()) {
+            channels.put(category, new LogChannel(logger, category));
+        }
+    }
+    
+    /**
+     * Returns the channel of a category.
+     *
+     * @param category The category
+     * @return The channel
+     */
+    public LogChannel channel(LogCategory category) {
+        return channels.get(category);
+    }
+    
+    /**
+     * Applies the levels, rate limit and sampling rate of a settings snapshot to every channel.
+     *
+     * @param settings The settings to apply
+     */
+    public void configure(PluginSettings settings) {
+        PluginSettings.Logging logging = settings.logging();
+        for (LogChannel channel : channels.values()) {
+            channel.configure(logging.level(channel.getCategory()), logging.maxPerSecond(),
+                logging.debugSampleRate());
+        }
+    }
+}
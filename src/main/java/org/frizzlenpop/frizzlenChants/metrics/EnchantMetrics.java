@@ -0,0 +1,207 @@
+package org.frizzlenpop.frizzlenChants.metrics;
+
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.profile.LatencyHistogram;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Counters and gauges of the enchantments, written out together with the latency
+ * histograms of the {@link EnchantProfiler} in the Prometheus text format.
+ *
+ * <p>Components look their counters up once, when they are created, and keep them in a
+ * field; counting is a {@link LongAdder} increment, which neither locks nor allocates.
+ * Gauges read state owned by the server's tick threads, so {@link #sampleGauges()} copies
+ * them on a tick, the main thread on Paper and the global region on Folia, and
+ * {@link #write(StringBuilder)} only reads the copies, which lets it run on any thread.
+ */
+public final class EnchantMetrics {
+
+    private static final String PREFIX = "frizzlenchants_";
+    
+    /** Upper bounds of the published latency buckets, in nanoseconds */
+    private static final long[] LATENCY_BOUNDS = {
+        1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000,
+        1_000_000, 2_500_000, 5_000_000, 10_000_000, 25_000_000, 50_000_000,
+        100_000_000, 250_000_000, 500_000_000, 1_000_000_000
+    };
+    
+    private static final String[] LATENCY_LABELS = new String[LATENCY_BOUNDS.length];
+    
+    static {
+        for (int i = 0; i < LATENCY_BOUNDS.length; i++) {
+            LATENCY_LABELS[i] = seconds(LATENCY_BOUNDS[i]);
+        }
+    }
+    
+    private final EnchantProfiler profiler;
+    private final Map<String, LongAdder> procs = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> cooldownTables = new ConcurrentHashMap<>();
+    private final LongAdder particles = new LongAdder();
+    private final LongAdder packets = new LongAdder();
+    private final LongAdder displays = new LongAdder();
+    
+    /**
+     * Creates the metrics of the plugin.
+     *
+     * @param profiler The profiler whose timers hold the latency histograms
+     */
+    public EnchantMetrics(EnchantProfiler profiler) {
+        this.profiler = profiler;
+    }
+    
+    /**
+     * Returns the counter of the procs of an enchantment, creating it on first use. A proc is
+     * an activation that passed its chance roll and cooldown and ran its effect.
+     *
+     * @param enchant The enchantment name
+     * @return The counter
+     */
+    public LongAdder procs(String enchant) {
+        return procs.computeIfAbsent(enchant, name -> new LongAdder());
+    }
+    
+    /**
+     * Returns the counter of particles spawned by shared visual code.
+     *
+     * @return The counter
+     */
+    public LongAdder particles() {
+        return particles;
+    }
+    
+    /**
+     * Returns the counter of packets sent directly through ProtocolLib.
+     *
+     * @return The counter
+     */
+    public LongAdder packets() {
+        return packets;
+    }
+    
+    /**
+     * Returns the counter of display entities spawned by effects.
+     *
+     * @return The counter
+     */
+    public LongAdder displays() {
+        return displays;
+    }
+    
+    /**
+     * Publishes the size of an enchantment's cooldown table. The size is read by
+     * {@link #sampleGauges()}, on another thread than the table is written on under Folia,
+     * so the table must be a concurrent map. Tracking the same enchantment again replaces
+     * the earlier table.
+     *
+     * @param enchant The enchantment name
+     * @param size Reads the number of entries in the table
+     */
+    public void trackCooldowns(String enchant, IntSupplier size) {
+        cooldownTables.put(enchant, new Gauge(size));
+    }
+    
+    /**
+     * Copies the current value of every gauge. Must be called on a tick thread.
+     */
+    public void sampleGauges() {
+        for (Gauge gauge : cooldownTables.values()) {
+            gauge.value = gauge.source.getAsInt();
+        }
+    }
+    
+    /**
+     * Writes every metric in the Prometheus text exposition format.
+     *
+     * @param out The buffer to write to
+     */
+    public void write(StringBuilder out) {
+        writeLatencies(out);
+        
+        header(out, "procs_total", "counter", "Enchantment activations that ran their effect");
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(procs).entrySet()) {
+            sample(out, "procs_total", "enchant", entry.getKey(), entry.getValue().sum());
+        }
+        
+        header(out, "particles_total", "counter", "Particles spawned by shared visual code");
+        sample(out, "particles_total", null, null, particles.sum());
+        
+        header(out, "packets_total", "counter", "Packets sent through ProtocolLib");
+        sample(out, "packets_total", null, null, packets.sum());
+        
+        header(out, "displays_spawned_total", "counter", "Display entities spawned by effects");
+        sample(out, "displays_spawned_total", null, null, displays.sum());
+        
+        header(out, "cooldown_entries", "gauge", "Entries in the cooldown table of an enchantment");
+        for (Map.Entry<String, Gauge> entry : new TreeMap<>(cooldownTables).entrySet()) {
+            sample(out, "cooldown_entries", "enchant", entry.getKey(), entry.getValue().value);
+        }
+    }
+    
+    private void writeLatencies(StringBuilder out) {
+        List<ProfileTimer> timers = profiler.getTimers();
+        timers.sort(Comparator.comparing(ProfileTimer::getEnchant).thenComparing(ProfileTimer::getPhase));
+        
+        String name = PREFIX + "section_duration_seconds";
+        header(out, "section_duration_seconds", "histogram",
+            "Main thread time of enchantment sections, including nested sections");
+        for (ProfileTimer timer : timers) {
+            LatencyHistogram.Snapshot snapshot = timer.getLatency().snapshot();
+            long count = snapshot.count();
+            if (count == 0) {
+                continue;
+            }
+            
+            String labels = "enchant=\"" + escape(timer.getEnchant()) + "\",phase=\"" + timer.getPhase().getKey() + "\"";
+            for (int i = 0; i < LATENCY_BOUNDS.length; i++) {
+                out.append(name).append("_bucket{").append(labels).append(",le=\"").append(LATENCY_LABELS[i])
+                    .append("\"} ").append(snapshot.countAtOrBelow(LATENCY_BOUNDS[i])).append('\n');
+            }
+            out.append(name).append("_bucket{").append(labels).append(",le=\"+Inf\"} ").append(count).append('\n');
+            out.append(name).append("_sum{").append(labels).append("} ").append(seconds(snapshot.sumNanos())).append('\n');
+            out.append(name).append("_count{").append(labels).append("} ").append(count).append('\n');
+        }
+    }
+    
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+    
+    private static void sample(StringBuilder out, String name, String label, String value, long count) {
+        out.append(PREFIX).append(name);
+        if (label != null) {
+            out.append('{').append(label).append("=\"").append(escape(value)).append("\"}");
+        }
+        out.append(' ').append(count).append('\n');
+    }
+    
+    private static String seconds(long nanos) {
+        return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString();
+    }
+    
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+    
+    /**
+     * A gauge read on the main server thread and published to the writer.
+     */
+    private static final class Gauge {
+        
+        private final IntSupplier source;
+        private volatile int value;
+        
+        private Gauge(IntSupplier source) {
+            this.source = source;
+        }
+    }
+}
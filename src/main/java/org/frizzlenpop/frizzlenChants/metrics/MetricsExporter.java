@@ -0,0 +1,135 @@
+package org.frizzlenpop.frizzlenChants.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.plugin.Plugin;
+import org.frizzlenpop.frizzlenChants.config.PluginSettings;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.schedule.EffectTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Serves {@link EnchantMetrics} at {@code http://127.0.0.1:<port>/metrics} for a Prometheus
+ * scraper on the same host. The server only listens on the loopback address. Requests are
+ * answered on a single background thread, which reads the counters and histograms and
+ * writes the response; the main server thread only copies the gauges once a second.
+ * While the exporter is off, latency recording is off as well.
+ */
+public final class MetricsExporter {
+
+    private static final long GAUGE_INTERVAL_TICKS = 20;
+    
+    private final Plugin plugin;
+    private final EnchantMetrics metrics;
+    private final EnchantProfiler profiler;
+    private PluginSettings.Metrics current;
+    private HttpServer server;
+    private ExecutorService executor;
+    private EffectTask sampler;
+    
+    /**
+     * Creates a new exporter. It starts once {@link #configure(PluginSettings)} is called with
+     * settings that enable it.
+     *
+     * @param plugin The plugin instance
+     * @param metrics The metrics to serve
+     * @param profiler The profiler whose latency recording follows the exporter
+     */
+    public MetricsExporter(Plugin plugin, EnchantMetrics metrics, EnchantProfiler profiler) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+        this.profiler = profiler;
+    }
+    
+    /**
+     * Applies the {@code metrics} settings, starting, stopping or moving the server when
+     * they changed.
+     *
+     * @param settings The settings to apply
+     */
+    public void configure(PluginSettings settings) {
+        PluginSettings.Metrics wanted = settings.metrics();
+        if (wanted.equals(current)) {
+            return;
+        }
+        
+        shutdown();
+        current = wanted;
+        if (!wanted.enabled()) {
+            return;
+        }
+        
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), wanted.port()), 0);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not serve metrics on port " + wanted.port() + ": " + e.getMessage());
+            // Try again on the next reload
+            current = null;
+            return;
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, plugin.getName() + " metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+        
+        profiler.setLatencyRecording(true);
+        sampler = EffectTask.of(metrics::sampleGauges).runGlobalTimer(plugin, 0, GAUGE_INTERVAL_TICKS);
+        plugin.getLogger().log(Level.INFO, "Serving metrics at http://127.0.0.1:" + wanted.port() + "/metrics");
+    }
+    
+    /**
+     * Stops the server and latency recording.
+     */
+    public void shutdown() {
+        current = null;
+        profiler.setLatencyRecording(false);
+        if (sampler != null) {
+            sampler.cancel();
+            sampler = null;
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            
+            StringBuilder text = new StringBuilder(16 * 1024);
+            metrics.write(text);
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+            
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.frizzlenpop.frizzlenChants.pack;
+
+import org.frizzlenpop.frizzlenChants.enchant.EnchantDescriptor;
+
+import java.io.File;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One loaded version of an enchant pack: a JAR from the packs directory, the class loader
+ * its classes were loaded from and the enchantments it declared in its index.
+ */
+public final class EnchantPack {
+
+    private final String name;
+    private final File file;
+    private final long lastModified;
+    private final URLClassLoader classLoader;
+    private final List<EnchantDescriptor> descriptors;
+    
+    /**
+     * Creates a new loaded pack.
+     *
+     * @param name The pack name
+     * @param file The pack JAR
+     * @param classLoader The class loader that owns the pack's classes
+     * @param descriptors The enchantments declared by the pack
+     */
+    EnchantPack(String name, File file, URLClassLoader classLoader, List<EnchantDescriptor> descriptors) {
+        this.name = name;
+        this.file = file;
+        this.lastModified = file.lastModified();
+        this.classLoader = classLoader;
+        this.descriptors = Collections.unmodifiableList(descriptors);
+    }
+    
+    /**
+     * Returns the name of the pack, which is its file name without the extension.
+     *
+     * @return The pack name
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Returns the pack JAR.
+     *
+     * @return The pack file
+     */
+    public File getFile() {
+        return file;
+    }
+    
+    /**
+     * Returns the modification time of the pack JAR when this version was loaded.
+     *
+     * @return The modification time in milliseconds
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+    
+    /**
+     * Returns the enchantments declared by the pack.
+     *
+     * @return Unmodifiable list of descriptors
+     */
+    public List<EnchantDescriptor> getDescriptors() {
+        return descriptors;
+    }
+    
+    /**
+     * Returns the class loader of this pack version.
+     *
+     * @return The class loader
+     */
+    URLClassLoader getClassLoader() {
+        return classLoader;
+    }
+}
@@ -0,0 +1,361 @@
+package org.frizzlenpop.frizzlenChants.pack;
+
+import org.bukkit.plugin.Plugin;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantDescriptor;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentLoader;
+import org.frizzlenpop.frizzlenChants.enchant.EnchantmentRegistry;
+import org.frizzlenpop.frizzlenChants.listeners.EnchantmentActivationListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Level;
+
+/**
+ * Loads enchant packs from the plugin's {@code packs} directory and swaps them at runtime.
+ * Each pack is a JAR built with the FrizzlenChants annotation processor, so it carries its
+ * own enchantment index, and is loaded in its own class loader with the plugin as parent.
+ * A reload builds the new version completely before touching the old one; the swap then
+ * unregisters the old enchantments, which unbinds their listeners and stops their effects,
+ * and registers the new ones in the same tick. Unloaded versions are tracked weakly so a
+ * class loader that is never collected can be reported. All methods must be called on the
+ * main server thread.
+ */
+public class EnchantPackManager {
+
+    private static final String PLUGIN_PACKAGE = "org.frizzlenpop.frizzlenChants.";
+    
+    private final Plugin plugin;
+    private final EnchantmentRegistry registry;
+    private final EnchantmentActivationListener activation;
+    private final File directory;
+    
+    private final Map<String, EnchantPack> packs = new TreeMap<>();
+    private final List<UnloadedPack> unloaded = new ArrayList<>();
+    
+    /**
+     * Creates a new enchant pack manager.
+     *
+     * @param plugin The plugin instance
+     * @param registry The enchantment registry to register pack enchantments in
+     * @param activation The listener that activates enchantments on items players carry
+     * @param directory The directory to load pack JARs from
+     */
+    public EnchantPackManager(Plugin plugin, EnchantmentRegistry registry,
+                              EnchantmentActivationListener activation, File directory) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.activation = activation;
+        this.directory = directory;
+    }
+    
+    /**
+     * Loads every pack JAR in the packs directory, creating the directory if needed.
+     *
+     * @return The number of packs loaded
+     */
+    public int loadAll() {
+        int count = 0;
+        for (File file : listJars()) {
+            String name = packName(file);
+            if (!packs.containsKey(name.toLowerCase()) && load(file)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Rescans the packs directory: reloads packs whose JAR changed, loads new JARs and
+     * unloads packs whose JAR was removed.
+     *
+     * @return The number of packs loaded or reloaded
+     */
+    public int reloadAll() {
+        Set<String> present = new HashSet<>();
+        int count = 0;
+        
+        for (File file : listJars()) {
+            String key = packName(file).toLowerCase();
+            present.add(key);
+            
+            EnchantPack pack = packs.get(key);
+            if (pack == null) {
+                if (load(file)) {
+                    count++;
+                }
+            } else if (pack.getLastModified() != file.lastModified() && reload(pack.getName())) {
+                count++;
+            }
+        }
+        
+        for (String key : new ArrayList<>(packs.keySet())) {
+            if (!present.contains(key)) {
+                unload(key);
+            }
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Reloads one pack from its JAR. If the new version cannot be loaded, the loaded version
+     * stays in place.
+     *
+     * @param name The pack name
+     * @return true if the pack was reloaded
+     */
+    public boolean reload(String name) {
+        EnchantPack old = packs.get(name.toLowerCase());
+        if (old == null) {
+            return false;
+        }
+        
+        EnchantPack fresh = open(old.getFile(), old);
+        if (fresh == null) {
+            plugin.getLogger().log(Level.WARNING, "Keeping the loaded version of enchant pack " + old.getName());
+            return false;
+        }
+        
+        Set<String> active = uninstall(old);
+        install(fresh, active);
+        plugin.getLogger().log(Level.INFO, "Reloaded enchant pack " + fresh.getName() + " (" +
+            fresh.getDescriptors().size() + " enchantments)");
+        return true;
+    }
+    
+    /**
+     * Unloads one pack and unregisters its enchantments.
+     *
+     * @param name The pack name
+     * @return true if the pack was loaded
+     */
+    public boolean unload(String name) {
+        EnchantPack pack = packs.get(name.toLowerCase());
+        if (pack == null) {
+            return false;
+        }
+        
+        uninstall(pack);
+        plugin.getLogger().log(Level.INFO, "Unloaded enchant pack " + pack.getName());
+        return true;
+    }
+    
+    /**
+     * Returns the loaded packs.
+     *
+     * @return The loaded packs, ordered by name
+     */
+    public Collection<EnchantPack> getPacks() {
+        return packs.values();
+    }
+    
+    /**
+     * Returns the unloaded pack versions whose class loader is still reachable. A version
+     * that is still listed after a full garbage collection is being kept alive by something
+     * that still references one of its classes or objects.
+     *
+     * @return The names of uncollected pack versions, one entry per version
+     */
+    public List<String> getUncollectedPacks() {
+        List<String> names = new ArrayList<>();
+        Iterator<UnloadedPack> iterator = unloaded.iterator();
+        
+        while (iterator.hasNext()) {
+            UnloadedPack pack = iterator.next();
+            if (pack.classLoader.get() == null) {
+                iterator.remove();
+            } else {
+                names.add(pack.name);
+            }
+        }
+        
+        return names;
+    }
+    
+    /**
+     * Unloads every pack.
+     */
+    public void shutdown() {
+        for (EnchantPack pack : new ArrayList<>(packs.values())) {
+            uninstall(pack);
+        }
+        unloaded.clear();
+    }
+    
+    /**
+     * Loads a pack that is not loaded yet.
+     *
+     * @param file The pack JAR
+     * @return true if the pack was loaded
+     */
+    private boolean load(File file) {
+        EnchantPack pack = open(file, null);
+        if (pack == null) {
+            return false;
+        }
+        
+        install(pack, Set.of());
+        plugin.getLogger().log(Level.INFO, "Loaded enchant pack " + pack.getName() + " (" +
+            pack.getDescriptors().size() + " enchantments)");
+        return true;
+    }
+    
+    /**
+     * Opens a pack JAR in a new class loader and reads its index, without registering anything.
+     *
+     * @param file The pack JAR
+     * @param previous The loaded version of the same pack, whose enchantment names may be reused, or null
+     * @return The pack, or null if it could not be opened
+     */
+    private EnchantPack open(File file, EnchantPack previous) {
+        String name = packName(file);
+        Set<String> reusable = new HashSet<>();
+        if (previous != null) {
+            for (EnchantDescriptor descriptor : previous.getDescriptors()) {
+                reusable.add(descriptor.getName().toLowerCase());
+            }
+        }
+        
+        URLClassLoader classLoader;
+        try {
+            classLoader = new URLClassLoader("FrizzlenChants pack " + name,
+                new URL[] {file.toURI().toURL()}, plugin.getClass().getClassLoader());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not open enchant pack " + file.getName(), e);
+            return null;
+        }
+        
+        EnchantPack pack = null;
+        try {
+            // Look only inside the pack; the parent would return the plugin's own index
+            URL index = classLoader.findResource(EnchantDescriptor.INDEX_PATH);
+            if (index == null) {
+                plugin.getLogger().log(Level.SEVERE, "Enchant pack " + file.getName() + " has no enchantment index; " +
+                    "was it built with the FrizzlenChants annotation processor?");
+                return null;
+            }
+            
+            // Skip the JAR cache so the file is released as soon as the class loader is closed
+            URLConnection connection = index.openConnection();
+            connection.setUseCaches(false);
+            List<EnchantDescriptor> descriptors = EnchantmentLoader.readIndex(connection.getInputStream(),
+                plugin.getLogger());
+            
+            for (EnchantDescriptor descriptor : descriptors) {
+                // Classes in the plugin's package would resolve to the plugin's copies
+                if (descriptor.getClassName().startsWith(PLUGIN_PACKAGE)) {
+                    plugin.getLogger().log(Level.SEVERE, "Enchant pack " + file.getName() + " declares " +
+                        descriptor.getClassName() + " in the plugin's own package");
+                    return null;
+                }
+                
+                String key = descriptor.getName().toLowerCase();
+                if (registry.isRegistered(key) && !reusable.contains(key)) {
+                    plugin.getLogger().log(Level.SEVERE, "Enchant pack " + file.getName() +
+                        " declares an enchantment that already exists: " + descriptor.getName());
+                    return null;
+                }
+            }
+            
+            pack = new EnchantPack(name, file, classLoader, descriptors);
+            return pack;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not read enchant pack " + file.getName(), e);
+            return null;
+        } finally {
+            if (pack == null) {
+                closeQuietly(classLoader, name);
+            }
+        }
+    }
+    
+    /**
+     * Registers a pack's enchantments and makes it the loaded version of the pack.
+     *
+     * @param pack The pack to install
+     * @param reactivate Names of enchantments that were in use before a reload
+     */
+    private void install(EnchantPack pack, Set<String> reactivate) {
+        for (EnchantDescriptor descriptor : pack.getDescriptors()) {
+            registry.register(descriptor, pack.getClassLoader());
+        }
+        packs.put(pack.getName().toLowerCase(), pack);
+        
+        // Enchantments that were in use are bound again right away, so their handlers see the next event
+        for (String name : reactivate) {
+            registry.getEnchantment(name);
+        }
+        activation.activateOnlinePlayers();
+    }
+    
+    /**
+     * Unregisters a pack's enchantments, closes its class loader and starts tracking it
+     * until it is collected.
+     *
+     * @param pack The pack to remove
+     * @return The names of the pack's enchantments that had been instantiated
+     */
+    private Set<String> uninstall(EnchantPack pack) {
+        Set<String> active = new HashSet<>();
+        for (EnchantDescriptor descriptor : pack.getDescriptors()) {
+            if (registry.getActiveEnchantment(descriptor.getName()).isPresent()) {
+                active.add(descriptor.getName());
+            }
+            registry.unregister(descriptor.getName());
+        }
+        
+        packs.remove(pack.getName().toLowerCase());
+        closeQuietly(pack.getClassLoader(), pack.getName());
+        unloaded.add(new UnloadedPack(pack.getName(), pack.getClassLoader()));
+        return active;
+    }
+    
+    private void closeQuietly(URLClassLoader classLoader, String name) {
+        try {
+            classLoader.close();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not close enchant pack " + name, e);
+        }
+    }
+    
+    private File[] listJars() {
+        directory.mkdirs();
+        File[] files = directory.listFiles((dir, fileName) -> fileName.endsWith(".jar"));
+        if (files == null) {
+            return new File[0];
+        }
+        Arrays.sort(files);
+        return files;
+    }
+    
+    private static String packName(File file) {
+        String fileName = file.getName();
+        return fileName.substring(0, fileName.length() - ".jar".length());
+    }
+    
+    /**
+     * An unloaded pack version, held weakly so it can be collected.
+     */
+    private static final class UnloadedPack {
+        private final String name;
+        private final WeakReference<ClassLoader> classLoader;
+        
+        private UnloadedPack(String name, ClassLoader classLoader) {
+            this.name = name;
+            this.classLoader = new WeakReference<>(classLoader);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.frizzlenpop.frizzlenChants.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor that writes the enchantment index. For every class annotated with
+ * {@code @EnchantInfo} it records the class name, the declared name, maximum level and
+ * applicable items, and the triggers found in the class: the event types of its
+ * {@code @EventHandler} methods and {@code launch} if it overrides {@code onLaunch}.
+ * The plugin loader reads the index at startup instead of scanning its JAR.
+ * This class is compiled in a separate pass before the rest of the plugin and is never
+ * loaded by the server.
+ */
+@SupportedAnnotationTypes(EnchantIndexProcessor.ENCHANT_INFO)
+public class EnchantIndexProcessor extends AbstractProcessor {
+
+    static final String ENCHANT_INFO = "org.frizzlenpop.frizzlenChants.enchant.EnchantInfo";
+    
+    private static final String CUSTOM_ENCHANT = "org.frizzlenpop.frizzlenChants.enchant.CustomEnchant";
+    private static final String EVENT_HANDLER = "org.bukkit.event.EventHandler";
+    private static final String INDEX_PATH = "META-INF/frizzlenchants/enchants.index";
+    private static final String TRIGGER_LAUNCH = "launch";
+    
+    // Index lines keyed by class name, so the index is written in a stable order
+    private final Map<String, String> entries = new TreeMap<>();
+    
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+    
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+        
+        TypeElement enchantInfo = processingEnv.getElementUtils().getTypeElement(ENCHANT_INFO);
+        TypeElement customEnchant = processingEnv.getElementUtils().getTypeElement(CUSTOM_ENCHANT);
+        if (enchantInfo == null || customEnchant == null) {
+            return false;
+        }
+        
+        for (Element element : roundEnv.getElementsAnnotatedWith(enchantInfo)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@EnchantInfo can only be placed on classes");
+                continue;
+            }
+            
+            TypeElement type = (TypeElement) element;
+            if (validate(type, customEnchant)) {
+                entries.put(type.getQualifiedName().toString(), indexLine(type, enchantInfo, customEnchant));
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Checks that an annotated class can be created by the loader.
+     *
+     * @param type The annotated class
+     * @param customEnchant The CustomEnchant type
+     * @return true if the class is valid
+     */
+    private boolean validate(TypeElement type, TypeElement customEnchant) {
+        if (!processingEnv.getTypeUtils().isSubtype(type.asType(), customEnchant.asType())) {
+            error(type, "@EnchantInfo classes must extend CustomEnchant");
+            return false;
+        }
+        
+        if (type.getModifiers().contains(Modifier.ABSTRACT) || !type.getModifiers().contains(Modifier.PUBLIC) ||
+            type.getNestingKind().isNested()) {
+            error(type, "@EnchantInfo classes must be public, top-level and not abstract");
+            return false;
+        }
+        
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        
+        error(type, "@EnchantInfo classes need a public no-argument constructor");
+        return false;
+    }
+    
+    /**
+     * Builds the index line of an annotated class.
+     *
+     * @param type The annotated class
+     * @param enchantInfo The EnchantInfo annotation type
+     * @param customEnchant The CustomEnchant type
+     * @return The index line
+     */
+    private String indexLine(TypeElement type, TypeElement enchantInfo, TypeElement customEnchant) {
+        String name = "";
+        int maxLevel = 0;
+        StringJoiner items = new StringJoiner(",");
+        
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().asElement().equals(enchantInfo)) {
+                continue;
+            }
+            
+            Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+                String key = entry.getKey().getSimpleName().toString();
+                Object value = entry.getValue().getValue();
+                
+                if (key.equals("name")) {
+                    name = (String) value;
+                } else if (key.equals("maxLevel")) {
+                    maxLevel = (Integer) value;
+                } else if (key.equals("items")) {
+                    for (Object item : (List<?>) value) {
+                        items.add(((VariableElement) ((AnnotationValue) item).getValue()).getSimpleName());
+                    }
+                }
+            }
+        }
+        
+        if (name.isEmpty() || name.contains("\t") || name.contains(",")) {
+            error(type, "@EnchantInfo name must be non-empty and must not contain tabs or commas");
+        }
+        
+        StringJoiner triggers = new StringJoiner(",");
+        for (String trigger : triggersOf(type, customEnchant)) {
+            triggers.add(trigger);
+        }
+        
+        return type.getQualifiedName() + "\t" + name + "\t" + maxLevel + "\t" + items + "\t" + triggers;
+    }
+    
+    /**
+     * Collects the triggers of a class and its superclasses below CustomEnchant.
+     *
+     * @param type The annotated class
+     * @param customEnchant The CustomEnchant type
+     * @return The triggers, sorted
+     */
+    private Set<String> triggersOf(TypeElement type, TypeElement customEnchant) {
+        Set<String> triggers = new TreeSet<>();
+        TypeElement current = type;
+        
+        while (current != null && !current.equals(customEnchant)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (isEventHandler(method) && method.getParameters().size() == 1) {
+                    TypeMirror event = processingEnv.getTypeUtils().erasure(method.getParameters().get(0).asType());
+                    triggers.add(event.toString());
+                } else if (method.getSimpleName().contentEquals("onLaunch") && method.getParameters().size() == 4) {
+                    triggers.add(TRIGGER_LAUNCH);
+                }
+            }
+            
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                ? (TypeElement) ((DeclaredType) superclass).asElement()
+                : null;
+        }
+        
+        return triggers;
+    }
+    
+    private boolean isEventHandler(ExecutableElement method) {
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotation.getQualifiedName().contentEquals(EVENT_HANDLER)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Writes every collected entry to the index resource.
+     */
+    private void writeIndex() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_PATH);
+            try (Writer writer = index.openWriter()) {
+                writer.write("# Generated by " + getClass().getSimpleName() + ", do not edit\n");
+                for (String line : entries.values()) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Could not write the enchantment index: " + e.getMessage());
+        }
+    }
+    
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,233 @@
+package org.frizzlenpop.frizzlenChants.profile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attributes main thread time to the enchantment and {@link ProfilePhase} that spent it.
+ * Event handlers, effect steps and scheduled callbacks wrap their work in a section:
+ *
+ * <pre>
+ * long token = timer.start();
+ * try {
+ *     ...
+ * } finally {
+ *     timer.stop(token);
+ * }
+ * </pre>
+ *
+ * While no profile is running and latency recording is off, starting a section reads one
+ * field and returns 0, and stopping it returns at once. Otherwise each section reads the
+ * clock twice. Sections nest: the time of a nested section is taken out of the section
+ * around it, so every nanosecond is counted once, towards the innermost section. Sections
+ * started off the main server thread are not timed.
+ *
+ * <p>While latency recording is on, sections are timed whether or not a profile runs, and
+ * the full time of each one goes into the {@link LatencyHistogram} of its timer.
+ */
+public final class EnchantProfiler {
+
+    private static final int MAX_DEPTH = 32;
+    
+    private final Map<String, ProfileTimer[]> timers = new ConcurrentHashMap<>();
+    private final Thread thread;
+    private final ProfileTimer[] open = new ProfileTimer[MAX_DEPTH];
+    private final long[] elapsed = new long[MAX_DEPTH];
+    private final long[] began = new long[MAX_DEPTH];
+    private volatile boolean running;
+    private volatile boolean recordingLatency;
+    private volatile boolean timing;
+    private int depth;
+    private long segmentStart;
+    private long startedAt;
+    private long sections;
+    
+    /**
+     * Creates a profiler that times sections on the calling thread, which is the main
+     * server thread when the plugin enables.
+     */
+    public EnchantProfiler() {
+        this.thread = Thread.currentThread();
+    }
+    
+    /**
+     * Returns the timer of an enchantment and phase, creating it on first use.
+     *
+     * @param enchant The enchantment name, or the name of a shared service
+     * @param phase The phase
+     * @return The timer
+     */
+    public ProfileTimer timer(String enchant, ProfilePhase phase) {
+        ProfileTimer[] byPhase = timers.computeIfAbsent(enchant, name -> {
+            ProfileTimer[] created = new ProfileTimer[ProfilePhase.values().length];
+            for (ProfilePhase each : ProfilePhase.values()) {
+                created[each.ordinal()] = new ProfileTimer(this, name, each);
+            }
+            return created;
+        });
+        return byPhase[phase.ordinal()];
+    }
+    
+    /**
+     * Returns every timer created so far. Safe to call from any thread.
+     *
+     * @return A copy of the timers
+     */
+    public List<ProfileTimer> getTimers() {
+        List<ProfileTimer> all = new ArrayList<>();
+        for (ProfileTimer[] byPhase : timers.values()) {
+            Collections.addAll(all, byPhase);
+        }
+        return all;
+    }
+    
+    /**
+     * Turns recording into the latency histograms of the timers on or off.
+     *
+     * @param enabled Whether to record latencies
+     */
+    public void setLatencyRecording(boolean enabled) {
+        recordingLatency = enabled;
+        timing = running || enabled;
+    }
+    
+    /**
+     * Checks if a profile is running.
+     *
+     * @return true between {@link #begin()} and {@link #finish()}
+     */
+    public boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Starts a profile, discarding the times of the previous one.
+     *
+     * @return true if the profile started, false if one is already running
+     */
+    public boolean begin() {
+        if (running) {
+            return false;
+        }
+        
+        for (ProfileTimer[] byPhase : timers.values()) {
+            for (ProfileTimer timer : byPhase) {
+                timer.reset();
+            }
+        }
+        if (!timing) {
+            depth = 0;
+        }
+        sections = 0;
+        startedAt = System.nanoTime();
+        running = true;
+        timing = true;
+        return true;
+    }
+    
+    /**
+     * Ends the running profile and summarizes it.
+     *
+     * @return The report, with the biggest contributors first
+     */
+    public ProfileReport finish() {
+        running = false;
+        timing = recordingLatency;
+        long duration = System.nanoTime() - startedAt;
+        
+        List<ProfileReport.Entry> entries = new ArrayList<>();
+        for (ProfileTimer[] byPhase : timers.values()) {
+            for (ProfileTimer timer : byPhase) {
+                ProfileReport.Entry entry = timer.summarize();
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        }
+        entries.sort(Comparator.comparingLong(ProfileReport.Entry::totalNanos).reversed());
+        return new ProfileReport(duration, sections, entries);
+    }
+    
+    /**
+     * Starts a section attributed to a timer looked up by name. Use this where the
+     * enchantment is only known at the call, such as a dispatch loop; the lookup only
+     * happens while a profile is running.
+     *
+     * @param enchant The enchantment name
+     * @param phase The phase
+     * @return The token to pass to {@link #stop(long)}
+     */
+    public long start(String enchant, ProfilePhase phase) {
+        if (!timing) {
+            return 0;
+        }
+        return start(timer(enchant, phase));
+    }
+    
+    /**
+     * Starts a section attributed to the enchantment of the section around it, for shared
+     * code such as visuals that does not know which enchantment called it. Nothing is timed
+     * when the call is not nested in a section.
+     *
+     * @param phase The phase
+     * @return The token to pass to {@link #stop(long)}
+     */
+    public long start(ProfilePhase phase) {
+        if (!timing || Thread.currentThread() != thread || depth == 0) {
+            return 0;
+        }
+        return start(timer(open[depth - 1].getEnchant(), phase));
+    }
+    
+    /**
+     * Starts a section attributed to a timer.
+     *
+     * @param timer The timer
+     * @return The token to pass to {@link #stop(long)}
+     */
+    long start(ProfileTimer timer) {
+        if (!timing || Thread.currentThread() != thread || depth == MAX_DEPTH) {
+            return 0;
+        }
+        
+        long now = System.nanoTime();
+        if (depth > 0) {
+            elapsed[depth - 1] += now - segmentStart;
+        }
+        open[depth] = timer;
+        elapsed[depth] = 0;
+        began[depth] = now;
+        depth++;
+        segmentStart = now;
+        return depth;
+    }
+    
+    /**
+     * Stops a section and records its self time, and its full time while latency recording
+     * is on. Sections opened inside it that were never stopped are dropped.
+     *
+     * @param token The token returned when the section started
+     */
+    public void stop(long token) {
+        if (token == 0 || token > depth) {
+            return;
+        }
+        
+        long now = System.nanoTime();
+        depth = (int) token - 1;
+        ProfileTimer timer = open[depth];
+        open[depth] = null;
+        if (running) {
+            timer.record(elapsed[depth] + now - segmentStart);
+            sections++;
+        }
+        if (recordingLatency) {
+            timer.getLatency().record(now - began[depth]);
+        }
+        segmentStart = now;
+    }
+}
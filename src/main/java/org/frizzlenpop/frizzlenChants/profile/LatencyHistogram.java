@@ -0,0 +1,132 @@
+package org.frizzlenpop.frizzlenChants.profile;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of durations in nanoseconds with log-linear buckets: every power of two is
+ * split into {@value #SUB_BUCKETS} buckets of equal width, so a bucket is never wider than
+ * an eighth of the values it holds, from single nanoseconds up to about a minute. The
+ * buckets are allocated up front and recording only updates two array slots, so it never
+ * allocates and never locks.
+ *
+ * <p>Each histogram has a single writer, the thread its {@link ProfileTimer} times
+ * sections on. Any thread may take a {@link #snapshot()} at the same time; a snapshot
+ * taken while a value is being recorded may see its bucket without its sum, or the
+ * other way around.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    
+    /** Highest power of two with buckets of its own; longer durations go into the last bucket */
+    private static final int MAX_EXPONENT = 36;
+    
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong sumNanos = new AtomicLong();
+    
+    /**
+     * Records one duration. Only the writer thread may call this.
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    public void record(long nanos) {
+        int index = index(nanos);
+        counts.setRelease(index, counts.getPlain(index) + 1);
+        sumNanos.setRelease(sumNanos.getPlain() + nanos);
+    }
+    
+    /**
+     * Copies the current counts.
+     *
+     * @return The snapshot
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.getAcquire(i);
+        }
+        return new Snapshot(copy, sumNanos.getAcquire());
+    }
+    
+    private static int index(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(0, nanos);
+        }
+        
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+    
+    private static long highestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        if (index == BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        
+        int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        long subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+    
+    /**
+     * The counts of a histogram at one point in time.
+     */
+    public static final class Snapshot {
+        
+        private final long[] counts;
+        private final long sumNanos;
+        
+        private Snapshot(long[] counts, long sumNanos) {
+            this.counts = counts;
+            this.sumNanos = sumNanos;
+        }
+        
+        /**
+         * Returns the number of recorded durations.
+         *
+         * @return The count
+         */
+        public long count() {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            return total;
+        }
+        
+        /**
+         * Returns every recorded duration added together.
+         *
+         * @return The sum in nanoseconds
+         */
+        public long sumNanos() {
+            return sumNanos;
+        }
+        
+        /**
+         * Counts the durations that are certainly no longer than a bound. Durations in the
+         * bucket the bound falls into are left out, so the result may fall short by up to
+         * one bucket.
+         *
+         * @param nanos The bound in nanoseconds
+         * @return The number of durations at or below the bound
+         */
+        public long countAtOrBelow(long nanos) {
+            long total = 0;
+            for (int i = 0; i < counts.length && highestValue(i) <= nanos; i++) {
+                total += counts[i];
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.frizzlenpop.frizzlenChants.profile;
+
+import java.util.Locale;
+
+/**
+ * The kinds of work an enchantment's time is attributed to in a profile.
+ */
+public enum ProfilePhase {
+    /** Event handlers and the dispatch of enchantment hooks, up to deciding whether to proc */
+    TRIGGER,
+    /** Effects that run over several ticks and change the world, such as engines and scheduled steps */
+    GAMEPLAY,
+    /** Particles, sounds and other visuals */
+    VISUAL;
+    
+    /**
+     * Returns the name of this phase as shown in a profile report.
+     *
+     * @return The lower case name of the phase
+     */
+    public String getKey() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
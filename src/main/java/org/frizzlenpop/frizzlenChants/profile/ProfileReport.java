@@ -0,0 +1,58 @@
+package org.frizzlenpop.frizzlenChants.profile;
+
+import java.util.List;
+
+/**
+ * The result of one profiling run: where enchantment time went, per enchantment and phase,
+ * with the biggest contributors first.
+ *
+ * @param durationNanos How long the profile ran
+ * @param sections How many sections were timed, across every entry
+ * @param entries One entry per enchantment and phase that recorded time, by total time descending
+ */
+public record ProfileReport(long durationNanos, long sections, List<Entry> entries) {
+
+    /** Length of a server tick at 20 ticks per second */
+    private static final double TICK_NANOS = 50_000_000.0;
+    
+    /**
+     * Returns the time of every entry together.
+     *
+     * @return The attributed time in nanoseconds
+     */
+    public long totalNanos() {
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.totalNanos();
+        }
+        return total;
+    }
+    
+    /**
+     * Converts a total time into the average it cost per server tick during the profile.
+     *
+     * @param nanos A total time in nanoseconds
+     * @return The average milliseconds per tick
+     */
+    public double millisPerTick(long nanos) {
+        double ticks = Math.max(1.0, durationNanos / TICK_NANOS);
+        return nanos / ticks / 1_000_000.0;
+    }
+    
+    /**
+     * The time one enchantment spent in one phase. Times are self times: a section nested in
+     * another, such as a particle burst drawn by an effect step, counts only towards its own entry.
+     *
+     * @param enchant The enchantment name
+     * @param phase The phase
+     * @param calls How many sections were timed
+     * @param totalNanos The time of every section together
+     * @param p50Nanos The median section time
+     * @param p95Nanos The 95th percentile section time
+     * @param p99Nanos The 99th percentile section time
+     * @param maxNanos The longest section time
+     */
+    public record Entry(String enchant, ProfilePhase phase, long calls, long totalNanos,
+                        long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+    }
+}
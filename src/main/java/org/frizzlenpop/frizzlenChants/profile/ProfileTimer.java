@@ -0,0 +1,125 @@
+package org.frizzlenpop.frizzlenChants.profile;
+
+import java.util.Arrays;
+
+/**
+ * Accumulates the time one enchantment spends in one {@link ProfilePhase}. Components look
+ * their timers up once, when they are created, and keep them in a field, so timing a
+ * section never needs a map lookup. Timers are only written on the main server thread.
+ * Besides the samples of the running profile, each timer keeps a {@link LatencyHistogram}
+ * of every section since the plugin enabled, which the metrics endpoint publishes.
+ */
+public final class ProfileTimer {
+
+    /** Most samples kept per timer; later samples replace the oldest ones */
+    private static final int MAX_SAMPLES = 1 << 16;
+    
+    private final EnchantProfiler profiler;
+    private final String enchant;
+    private final ProfilePhase phase;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private long[] samples = new long[64];
+    private long calls;
+    private long totalNanos;
+    private long maxNanos;
+    
+    ProfileTimer(EnchantProfiler profiler, String enchant, ProfilePhase phase) {
+        this.profiler = profiler;
+        this.enchant = enchant;
+        this.phase = phase;
+    }
+    
+    /**
+     * Starts timing a section attributed to this timer. When no profile is running this
+     * only reads one field and returns 0.
+     *
+     * @return The token to pass to {@link #stop(long)}
+     */
+    public long start() {
+        return profiler.start(this);
+    }
+    
+    /**
+     * Stops timing the section started with the given token.
+     *
+     * @param token The token returned by {@link #start()}
+     */
+    public void stop(long token) {
+        profiler.stop(token);
+    }
+    
+    /**
+     * Returns the name of the enchantment this timer belongs to.
+     *
+     * @return The enchantment name
+     */
+    public String getEnchant() {
+        return enchant;
+    }
+    
+    /**
+     * Returns the phase this timer measures.
+     *
+     * @return The phase
+     */
+    public ProfilePhase getPhase() {
+        return phase;
+    }
+    
+    /**
+     * Returns the histogram of the full time of this timer's sections, including the time
+     * of sections nested in them. It only fills while latency recording is on; see
+     * {@link EnchantProfiler#setLatencyRecording(boolean)}.
+     *
+     * @return The histogram
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+    
+    /**
+     * Records the self time of one section.
+     *
+     * @param nanos The time spent in the section, excluding nested sections
+     */
+    void record(long nanos) {
+        int index = (int) (calls % MAX_SAMPLES);
+        if (index == samples.length) {
+            samples = Arrays.copyOf(samples, Math.min(MAX_SAMPLES, samples.length * 2));
+        }
+        samples[index] = nanos;
+        calls++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+    
+    /**
+     * Forgets every recorded section.
+     */
+    void reset() {
+        calls = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+    
+    /**
+     * Summarizes the sections recorded since the last reset.
+     *
+     * @return The report entry, or null if nothing was recorded
+     */
+    ProfileReport.Entry summarize() {
+        if (calls == 0) {
+            return null;
+        }
+        
+        long[] sorted = Arrays.copyOf(samples, (int) Math.min(calls, MAX_SAMPLES));
+        Arrays.sort(sorted);
+        return new ProfileReport.Entry(enchant, phase, calls, totalNanos,
+            percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99), maxNanos);
+    }
+    
+    private static long percentile(long[] sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,74 @@
+package org.frizzlenpop.frizzlenChants.profile;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.frizzlenpop.frizzlenChants.jfr.JfrTrigger;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * Binds the event handlers of a listener the way the plugin manager's
+ * {@code registerEvents} does, except that every call is timed as a section of a
+ * {@link ProfileTimer}. The listener is registered under its own identity, so
+ * {@link org.bukkit.event.HandlerList#unregisterAll(Listener)} unbinds it as usual. Each call
+ * is also a {@link JfrTrigger} event for the Flight Recorder.
+ */
+public final class ProfiledEvents {
+
+    private ProfiledEvents() {
+    }
+    
+    /**
+     * Registers every {@link EventHandler} method of a listener.
+     *
+     * @param listener The listener
+     * @param timer The timer each handler call is attributed to
+     * @param plugin The plugin that owns the listener
+     */
+    public static void register(Listener listener, ProfileTimer timer, Plugin plugin) {
+        Set<Method> methods = new HashSet<>();
+        for (Method method : listener.getClass().getMethods()) {
+            methods.add(method);
+        }
+        for (Method method : listener.getClass().getDeclaredMethods()) {
+            methods.add(method);
+        }
+        
+        for (Method method : methods) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            if (handler == null || method.isBridge() || method.isSynthetic()) {
+                continue;
+            }
+            
+            if (method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                plugin.getLogger().log(Level.SEVERE, listener.getClass().getName() + " has an invalid event handler: " +
+                    method.getName());
+                continue;
+            }
+            
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            EventExecutor executor = EventExecutor.create(method, eventClass);
+            Bukkit.getPluginManager().registerEvent(eventClass, listener, handler.priority(), (target, event) -> {
+                if (!eventClass.isInstance(event)) {
+                    return;
+                }
+                
+                long token = timer.start();
+                JfrTrigger flight = JfrTrigger.start();
+                try {
+                    executor.execute(target, event);
+                } finally {
+                    flight.end(timer.getEnchant(), event);
+                    timer.stop(token);
+                }
+            }, plugin, handler.ignoreCancelled());
+        }
+    }
+}
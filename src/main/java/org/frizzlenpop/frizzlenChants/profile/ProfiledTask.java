@@ -0,0 +1,37 @@
+package org.frizzlenpop.frizzlenChants.profile;
+
+import org.frizzlenpop.frizzlenChants.schedule.EffectTask;
+
+/**
+ * An {@link EffectTask} whose runs are timed as sections of a {@link ProfileTimer}.
+ * Enchantments extend it instead of {@link EffectTask} and put the work of each run
+ * in {@link #tick()}.
+ */
+public abstract class ProfiledTask extends EffectTask {
+
+    private final ProfileTimer timer;
+    
+    /**
+     * Creates a task timed by the given timer.
+     *
+     * @param timer The timer each run is attributed to
+     */
+    protected ProfiledTask(ProfileTimer timer) {
+        this.timer = timer;
+    }
+    
+    @Override
+    public final void run() {
+        long token = timer.start();
+        try {
+            tick();
+        } finally {
+            timer.stop(token);
+        }
+    }
+    
+    /**
+     * Performs one run of the task.
+     */
+    protected abstract void tick();
+}
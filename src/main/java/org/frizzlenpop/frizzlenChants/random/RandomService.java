@@ -0,0 +1,92 @@
+package org.frizzlenpop.frizzlenChants.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * Hands out the random generators enchantments and effects draw from. Every enchantment
+ * gets its own {@link ThreadRandom}, derived from the service seed and the enchantment
+ * name, and splits a generator off it for each effect that keeps drawing over several
+ * ticks. A stream therefore does not depend on the order enchantments are created in, and
+ * the draws of a running effect do not shift the proc rolls of the next hit.
+ *
+ * <p>With {@code random.seed} set in the settings, a run that triggers the same
+ * enchantments in the same order rolls the same numbers, which is what makes the load
+ * simulation repeatable. Without it, a new seed is picked at every start. A combat trace
+ * records the service seed, and the proc rolls of a traced event come from
+ * {@link #forEvent}, so the trace replay rolls them the same way.
+ *
+ * <p>On Paper the generator of an enchantment is confined to the main thread, like the
+ * enchantment itself. On Folia an enchantment triggered in two regions at once draws on both
+ * region threads, so each thread gets a generator split off the enchantment's, and the
+ * effects and shards started on a thread are split off that one. The rolls stay random and
+ * never share a stream, but which thread splits first is up to the scheduler, so such a run
+ * is not repeatable; the simulation and replay tools are meant for Paper.
+ */
+public final class RandomService {
+
+    private final long seed;
+    
+    /**
+     * Creates a random service.
+     *
+     * @param seed The seed every generator is derived from, or 0 to pick a new one
+     */
+    public RandomService(long seed) {
+        this.seed = seed != 0 ? seed : new SplittableRandom().nextLong();
+    }
+    
+    /**
+     * Gets the seed every generator is derived from.
+     *
+     * @return The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Creates the generator of an enchantment. Two generators created for the same name
+     * draw the same stream, so an enchantment recreated by a pack reload starts over.
+     *
+     * @param name The name of the enchantment
+     * @return A new generator
+     */
+    public ThreadRandom forEnchant(String name) {
+        return new ThreadRandom(derive(seed, "enchant:" + name));
+    }
+    
+    /**
+     * Creates the generator an enchantment rolls its procs with for one traced event, derived
+     * from the seed the trace recorded for the event and the enchantment name. The live
+     * rolls and the replay of the event both draw from this generator, whatever order the
+     * enchantments of the event roll in.
+     *
+     * @param eventSeed The seed of the event
+     * @param name The name of the enchantment
+     * @return A new generator
+     */
+    public static SplittableRandom forEvent(long eventSeed, String name) {
+        return derive(eventSeed, "event:" + name);
+    }
+    
+    private static SplittableRandom derive(long seed, String key) {
+        long hash = seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash = mix(hash + key.charAt(i));
+        }
+        return new SplittableRandom(hash);
+    }
+    
+    /**
+     * Scrambles the bits of a value with the finalizer {@link SplittableRandom} uses, so
+     * keys that differ in one character give unrelated seeds.
+     *
+     * @param z The value
+     * @return The scrambled value
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,104 @@
+package org.frizzlenpop.frizzlenChants.random;
+
+import org.frizzlenpop.frizzlenChants.schedule.Schedulers;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A generator that several threads may draw from at once. On Paper every draw goes to one
+ * {@link SplittableRandom}, confined to the main thread, so a seeded run draws exactly the
+ * same stream as before. On Folia each thread that draws gets a generator of its own, split
+ * off the root under a lock the first time it draws, so two region threads never share a
+ * stream or split the same one twice.
+ *
+ * <p>Effects and engine shards that keep drawing over several ticks take a generator from
+ * {@link #split()}, which is split off the calling thread's generator. They then draw from it
+ * on their own thread without a lock, and never shift the draws of the next hit.
+ */
+public final class ThreadRandom implements RandomGenerator {
+
+    private final SplittableRandom root;
+    private final ThreadLocal<SplittableRandom> threads;
+    
+    /**
+     * Creates a generator drawing from a root generator, which must not be used elsewhere.
+     *
+     * @param root The root generator
+     */
+    public ThreadRandom(SplittableRandom root) {
+        this.root = root;
+        this.threads = ThreadLocal.withInitial(this::splitRoot);
+    }
+    
+    /**
+     * Returns the generator of the calling thread: the root on Paper, and on Folia the one
+     * split off the root for this thread.
+     *
+     * @return The generator of the calling thread, not to be handed to other threads
+     */
+    public SplittableRandom current() {
+        return Schedulers.isFolia() ? threads.get() : root;
+    }
+    
+    /**
+     * Splits a new generator off the generator of the calling thread, for an effect or an
+     * engine shard that keeps drawing on this thread.
+     *
+     * @return A new generator
+     */
+    public SplittableRandom split() {
+        return current().split();
+    }
+    
+    private SplittableRandom splitRoot() {
+        synchronized (root) {
+            return root.split();
+        }
+    }
+    
+    @Override
+    public long nextLong() {
+        return current().nextLong();
+    }
+    
+    @Override
+    public int nextInt() {
+        return current().nextInt();
+    }
+    
+    @Override
+    public int nextInt(int bound) {
+        return current().nextInt(bound);
+    }
+    
+    @Override
+    public int nextInt(int origin, int bound) {
+        return current().nextInt(origin, bound);
+    }
+    
+    @Override
+    public double nextDouble() {
+        return current().nextDouble();
+    }
+    
+    @Override
+    public double nextDouble(double bound) {
+        return current().nextDouble(bound);
+    }
+    
+    @Override
+    public double nextDouble(double origin, double bound) {
+        return current().nextDouble(origin, bound);
+    }
+    
+    @Override
+    public float nextFloat() {
+        return current().nextFloat();
+    }
+    
+    @Override
+    public boolean nextBoolean() {
+        return current().nextBoolean();
+    }
+}
@@ -0,0 +1,212 @@
+package org.frizzlenpop.frizzlenChants.schedule;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * A task that runs on the thread owning the world state it works on, used in place of a
+ * {@link org.bukkit.scheduler.BukkitRunnable}. It is scheduled at a location, on an entity
+ * or on the global region. On Paper all of these run on the main server thread. On Folia
+ * they run on the region holding the location, on whichever region the entity is in as it
+ * moves, or on the global region; see {@link Schedulers}. Like a BukkitRunnable, a task can
+ * cancel itself from {@link #run()} and can only be scheduled once.
+ *
+ * <p>On Folia, a task scheduled on an entity stops running once the entity is removed. It
+ * then runs one last time on the entity's final region, so it sees the entity as invalid and
+ * can clean up, as it would on its next run on Paper.
+ */
+public abstract class EffectTask implements Runnable {
+
+    private volatile boolean cancelled;
+    private volatile BukkitTask bukkitTask;
+    private volatile ScheduledTask scheduledTask;
+    private boolean scheduled;
+    
+    /**
+     * Wraps an action in a task, for work that needs no state of its own.
+     *
+     * @param action The action to run
+     * @return A task that is not scheduled yet
+     */
+    public static EffectTask of(Runnable action) {
+        return new EffectTask() {
+            @Override
+            public void run() {
+                action.run();
+            }
+        };
+    }
+    
+    /**
+     * Cancels the task. It may be called from any thread, including from {@link #run()}.
+     */
+    public void cancel() {
+        cancelled = true;
+        
+        BukkitTask bukkit = bukkitTask;
+        if (bukkit != null) {
+            bukkit.cancel();
+        }
+        
+        ScheduledTask region = scheduledTask;
+        if (region != null) {
+            region.cancel();
+        }
+    }
+    
+    /**
+     * Checks if the task was cancelled.
+     *
+     * @return true once the task was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    /**
+     * Runs the task repeatedly on the thread that owns a location.
+     *
+     * @param plugin The plugin the task belongs to
+     * @param location The location the task works at
+     * @param delay Ticks before the first run
+     * @param period Ticks between runs
+     * @return This task
+     */
+    public final EffectTask runTimer(Plugin plugin, Location location, long delay, long period) {
+        claim();
+        if (Schedulers.isFolia()) {
+            scheduledTask = Bukkit.getRegionScheduler().runAtFixedRate(plugin, location, this::runOn,
+                Math.max(1L, delay), period);
+        } else {
+            bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, this::runIfActive, delay, period);
+        }
+        return this;
+    }
+    
+    /**
+     * Runs the task once, after a delay, on the thread that owns a location.
+     *
+     * @param plugin The plugin the task belongs to
+     * @param location The location the task works at
+     * @param delay Ticks before the run
+     * @return This task
+     */
+    public final EffectTask runLater(Plugin plugin, Location location, long delay) {
+        claim();
+        if (Schedulers.isFolia()) {
+            scheduledTask = Bukkit.getRegionScheduler().runDelayed(plugin, location, this::runOn, Math.max(1L, delay));
+        } else {
+            bukkitTask = Bukkit.getScheduler().runTaskLater(plugin, this::runIfActive, delay);
+        }
+        return this;
+    }
+    
+    /**
+     * Runs the task repeatedly on the thread that owns an entity, following it between
+     * regions.
+     *
+     * @param plugin The plugin the task belongs to
+     * @param entity The entity the task follows
+     * @param delay Ticks before the first run
+     * @param period Ticks between runs
+     * @return This task
+     */
+    public final EffectTask runTimer(Plugin plugin, Entity entity, long delay, long period) {
+        claim();
+        if (Schedulers.isFolia()) {
+            scheduledTask = entity.getScheduler().runAtFixedRate(plugin, this::runOn, this::retire,
+                Math.max(1L, delay), period);
+            cancelled |= scheduledTask == null;
+        } else {
+            bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, this::runIfActive, delay, period);
+        }
+        return this;
+    }
+    
+    /**
+     * Runs the task once, after a delay, on the thread that owns an entity.
+     *
+     * @param plugin The plugin the task belongs to
+     * @param entity The entity the task works on
+     * @param delay Ticks before the run
+     * @return This task
+     */
+    public final EffectTask runLater(Plugin plugin, Entity entity, long delay) {
+        claim();
+        if (Schedulers.isFolia()) {
+            scheduledTask = entity.getScheduler().runDelayed(plugin, this::runOn, this::retire, Math.max(1L, delay));
+            cancelled |= scheduledTask == null;
+        } else {
+            bukkitTask = Bukkit.getScheduler().runTaskLater(plugin, this::runIfActive, delay);
+        }
+        return this;
+    }
+    
+    /**
+     * Runs the task repeatedly on the global region, for work that touches no world.
+     *
+     * @param plugin The plugin the task belongs to
+     * @param delay Ticks before the first run
+     * @param period Ticks between runs
+     * @return This task
+     */
+    public final EffectTask runGlobalTimer(Plugin plugin, long delay, long period) {
+        claim();
+        if (Schedulers.isFolia()) {
+            scheduledTask = Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, this::runOn,
+                Math.max(1L, delay), period);
+        } else {
+            bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, this::runIfActive, delay, period);
+        }
+        return this;
+    }
+    
+    /**
+     * Runs the task once, after a delay, on the global region.
+     *
+     * @param plugin The plugin the task belongs to
+     * @param delay Ticks before the run
+     * @return This task
+     */
+    public final EffectTask runGlobalLater(Plugin plugin, long delay) {
+        claim();
+        if (Schedulers.isFolia()) {
+            scheduledTask = Bukkit.getGlobalRegionScheduler().runDelayed(plugin, this::runOn, Math.max(1L, delay));
+        } else {
+            bukkitTask = Bukkit.getScheduler().runTaskLater(plugin, this::runIfActive, delay);
+        }
+        return this;
+    }
+    
+    private synchronized void claim() {
+        if (scheduled) {
+            throw new IllegalStateException("Already scheduled");
+        }
+        scheduled = true;
+    }
+    
+    private void runOn(ScheduledTask task) {
+        // The first run can start on another thread before the scheduling call has returned
+        scheduledTask = task;
+        runIfActive();
+    }
+    
+    private void runIfActive() {
+        if (cancelled) {
+            cancel();
+            return;
+        }
+        run();
+    }
+    
+    private void retire() {
+        if (!cancelled) {
+            run();
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package org.frizzlenpop.frizzlenChants.schedule;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.profile.ProfiledTask;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Splits an effect engine into shards that are each stepped by their own task, on the thread
+ * that owns their part of the world. On Paper, which ticks every world on the main thread,
+ * there is a single shard for the whole server, so an engine batches all of its effects
+ * exactly as before. On Folia there is one shard per chunk effects are started in, stepped
+ * on the chunk's region, or per entity for effects that follow a moving entity, stepped on
+ * whichever region the entity is in. Shards in different regions then run in parallel.
+ *
+ * <p>An effect stays in the shard it was started in while it plays out. Folia always keeps a
+ * chunk in the same region as its close neighbours, so an effect that moves a few blocks
+ * away from its start never leaves the thread of its shard. Shards must be reached from the
+ * thread that owns their chunk or entity, as event handlers and effect tasks are.
+ *
+ * <p>A shard is created when it is first reached and dropped once {@link Shard#tick()}
+ * reports it has nothing left to do.
+ *
+ * @param <S> The type of the shards
+ */
+public final class RegionShards<S extends RegionShards.Shard> {
+
+    /**
+     * One part of an effect engine, stepped on a single thread.
+     */
+    public interface Shard {
+        
+        /**
+         * Advances the shard by one run of its task.
+         *
+         * @return false once the shard has nothing left to do, which drops it
+         */
+        boolean tick();
+        
+        /**
+         * Ends everything in the shard immediately.
+         */
+        void shutdown();
+    }
+    
+    // Key of the single shard on Paper
+    private static final Object SERVER = new Object();
+    
+    private final Plugin plugin;
+    private final ProfileTimer timer;
+    private final long period;
+    private final Supplier<S> factory;
+    private final Map<Object, Entry> shards = new ConcurrentHashMap<>();
+    
+    /**
+     * Creates a set of shards stepped every tick.
+     *
+     * @param plugin The plugin the shard tasks belong to
+     * @param timer The timer each step is attributed to
+     * @param factory Creates an empty shard
+     */
+    public RegionShards(Plugin plugin, ProfileTimer timer, Supplier<S> factory) {
+        this(plugin, timer, 1L, factory);
+    }
+    
+    /**
+     * Creates a set of shards.
+     *
+     * @param plugin The plugin the shard tasks belong to
+     * @param timer The timer each step is attributed to
+     * @param period Ticks between two steps of a shard
+     * @param factory Creates an empty shard
+     */
+    public RegionShards(Plugin plugin, ProfileTimer timer, long period, Supplier<S> factory) {
+        this.plugin = plugin;
+        this.timer = timer;
+        this.period = period;
+        this.factory = factory;
+    }
+    
+    /**
+     * Returns the shard of the chunk a location is in, starting it if needed.
+     *
+     * @param location The location
+     * @return The shard
+     */
+    public S at(Location location) {
+        return at(location.getWorld(), location.getX(), location.getZ());
+    }
+    
+    /**
+     * Returns the shard of the chunk a position is in, starting it if needed.
+     *
+     * @param world The world
+     * @param x The X coordinate
+     * @param z The Z coordinate
+     * @return The shard
+     */
+    public S at(World world, double x, double z) {
+        if (!Schedulers.isFolia()) {
+            return shards.computeIfAbsent(SERVER, key -> start(key, null, null)).shard;
+        }
+        
+        ChunkKey chunk = new ChunkKey(world, (int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4);
+        return shards.computeIfAbsent(chunk, key -> start(key,
+            new Location(world, (chunk.x << 4) + 8, 0, (chunk.z << 4) + 8), null)).shard;
+    }
+    
+    /**
+     * Returns the shard that follows an entity, starting it if needed. On Paper this is the
+     * single shard of the server.
+     *
+     * @param entity The entity
+     * @return The shard
+     */
+    public S on(Entity entity) {
+        Object id = Schedulers.isFolia() ? entity.getUniqueId() : SERVER;
+        return shards.computeIfAbsent(id, key -> start(key, null, key instanceof UUID ? entity : null)).shard;
+    }
+    
+    /**
+     * Returns the shard of a chunk if it has one, without starting it. On Paper this is the
+     * single shard of the server.
+     *
+     * @param world The world
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return The shard, or null if there is none
+     */
+    public S get(World world, int chunkX, int chunkZ) {
+        Entry entry = shards.get(Schedulers.isFolia() ? new ChunkKey(world, chunkX, chunkZ) : SERVER);
+        return entry != null ? entry.shard : null;
+    }
+    
+    /**
+     * Adds up a count over every shard. On Folia the shards keep changing on their own
+     * threads while this runs, so the sum is only a snapshot.
+     *
+     * @param count Reads the count of one shard
+     * @return The sum
+     */
+    public int sum(ToIntFunction<? super S> count) {
+        int sum = 0;
+        for (Entry entry : shards.values()) {
+            sum += count.applyAsInt(entry.shard);
+        }
+        return sum;
+    }
+    
+    /**
+     * Runs an action on every shard, each on the thread that owns it. Actions for shards
+     * owned by another thread run on that thread's next tick.
+     *
+     * @param action The action
+     */
+    public void forEach(Consumer<? super S> action) {
+        for (Entry entry : shards.values()) {
+            if (entry.entity != null) {
+                Schedulers.run(plugin, entry.entity, () -> action.accept(entry.shard));
+            } else if (entry.anchor != null) {
+                Schedulers.run(plugin, entry.anchor, () -> action.accept(entry.shard));
+            } else {
+                action.accept(entry.shard);
+            }
+        }
+    }
+    
+    /**
+     * Stops every shard task and ends everything in the shards on the calling thread. Only
+     * for plugin shutdown, when the regions no longer tick.
+     */
+    public void shutdown() {
+        for (Entry entry : shards.values()) {
+            entry.task.cancel();
+            entry.shard.shutdown();
+        }
+        shards.clear();
+    }
+    
+    /**
+     * Creates a shard and schedules its task.
+     *
+     * @param key The key of the shard
+     * @param anchor The location the task runs at, or null
+     * @param entity The entity the task follows, or null
+     * @return The new entry
+     */
+    private Entry start(Object key, Location anchor, Entity entity) {
+        Entry entry = new Entry(factory.get(), anchor, entity);
+        entry.task = new ProfiledTask(timer) {
+            @Override
+            protected void tick() {
+                if (!entry.shard.tick()) {
+                    cancel();
+                    shards.remove(key, entry);
+                }
+            }
+        };
+        
+        if (entity != null) {
+            entry.task.runTimer(plugin, entity, 1L, period);
+        } else if (anchor != null) {
+            entry.task.runTimer(plugin, anchor, 1L, period);
+        } else {
+            entry.task.runGlobalTimer(plugin, 1L, period);
+        }
+        return entry;
+    }
+    
+    /**
+     * A chunk that has a shard on Folia.
+     */
+    private record ChunkKey(World world, int x, int z) {
+    }
+    
+    /**
+     * A shard and the task that steps it.
+     */
+    private final class Entry {
+        private final S shard;
+        private final Location anchor;
+        private final Entity entity;
+        private EffectTask task;
+        
+        private Entry(S shard, Location anchor, Entity entity) {
+            this.shard = shard;
+            this.anchor = anchor;
+            this.entity = entity;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.frizzlenpop.frizzlenChants.schedule;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Runs work on the thread that owns the world state it touches. Paper ticks every world on
+ * the main server thread. Folia ticks each region of a world on a thread of its own and only
+ * lets that thread touch the region's chunks and entities, while server-wide work belongs to
+ * the global region. Every method here works on both: on Paper it uses the
+ * {@link org.bukkit.scheduler.BukkitScheduler}, on Folia the region, entity and global
+ * schedulers, so one build runs unchanged on either server.
+ */
+public final class Schedulers {
+
+    private static final boolean FOLIA = detectFolia();
+    
+    private Schedulers() {
+    }
+    
+    /**
+     * Checks if the server ticks its regions on separate threads.
+     *
+     * @return true on Folia
+     */
+    public static boolean isFolia() {
+        return FOLIA;
+    }
+    
+    /**
+     * Checks if the calling thread may touch the world at a location.
+     *
+     * @param location The location
+     * @return true if the calling thread owns the location
+     */
+    public static boolean owns(Location location) {
+        return FOLIA ? Bukkit.isOwnedByCurrentRegion(location) : Bukkit.isPrimaryThread();
+    }
+    
+    /**
+     * Checks if the calling thread may touch an entity.
+     *
+     * @param entity The entity
+     * @return true if the calling thread owns the entity
+     */
+    public static boolean owns(Entity entity) {
+        return FOLIA ? Bukkit.isOwnedByCurrentRegion(entity) : Bukkit.isPrimaryThread();
+    }
+    
+    /**
+     * Runs a task on the thread that owns a location: right away if that is the calling
+     * thread, otherwise on the next tick of the owning region.
+     *
+     * @param plugin The plugin the task belongs to
+     * @param location The location the task touches
+     * @param task The task
+     */
+    public static void run(Plugin plugin, Location location, Runnable task) {
+        if (owns(location)) {
+            task.run();
+        } else if (FOLIA) {
+            Bukkit.getRegionScheduler().execute(plugin, location, task);
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+    
+    /**
+     * Runs a task on the thread that owns an entity: right away if that is the calling
+     * thread, otherwise on the next tick of the region the entity is in. The task is dropped
+     * if the entity is removed first.
+     *
+     * @param plugin The plugin the task belongs to
+     * @param entity The entity the task touches
+     * @param task The task
+     */
+    public static void run(Plugin plugin, Entity entity, Runnable task) {
+        if (owns(entity)) {
+            task.run();
+        } else if (FOLIA) {
+            entity.getScheduler().execute(plugin, task, null, 1L);
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+    
+    /**
+     * Runs a task that touches no world, or visits worlds through the methods above, on the
+     * next tick of the global region.
+     *
+     * @param plugin The plugin the task belongs to
+     * @param task The task
+     */
+    public static void runGlobal(Plugin plugin, Runnable task) {
+        if (FOLIA) {
+            Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+    
+    /**
+     * Moves an entity within the region that owns it, such as a display that is animated
+     * every tick. Folia only moves entities asynchronously, so there the move is requested
+     * with a copy of the location and lands before the entity is next ticked. Moves that may
+     * cross regions or worlds should call {@link Entity#teleportAsync(Location)} and continue
+     * once it completes.
+     *
+     * @param entity The entity
+     * @param location The location to move it to; not kept, so it may be reused
+     */
+    public static void move(Entity entity, Location location) {
+        if (FOLIA) {
+            entity.teleportAsync(location.clone());
+        } else {
+            entity.teleport(location);
+        }
+    }
+    
+    private static boolean detectFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
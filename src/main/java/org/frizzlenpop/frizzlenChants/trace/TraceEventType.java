@@ -0,0 +1,43 @@
+package org.frizzlenpop.frizzlenChants.trace;
+
+import java.util.Locale;
+
+/**
+ * The kinds of events that trigger enchantments and are written to a trace. A trace stores
+ * the ordinal, so new kinds must be added at the end.
+ */
+public enum TraceEventType {
+    /** A player hit an entity with an enchanted weapon */
+    HIT,
+    /** A player broke a block with an enchanted tool */
+    BLOCK_BREAK,
+    /** A player used an enchanted item */
+    INTERACT,
+    /** A player wearing enchanted armor moved into another block */
+    MOVE,
+    /** A player shot an enchanted bow or crossbow */
+    SHOOT_BOW,
+    /** A player threw an enchanted trident */
+    THROW_TRIDENT;
+    
+    private static final TraceEventType[] VALUES = values();
+    
+    /**
+     * Returns the type stored under an ordinal.
+     *
+     * @param ordinal The ordinal read from a trace
+     * @return The type, or null if this build does not know it
+     */
+    static TraceEventType byOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : null;
+    }
+    
+    /**
+     * Returns the name of this type as shown in reports.
+     *
+     * @return The lower case name of the type
+     */
+    public String getKey() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
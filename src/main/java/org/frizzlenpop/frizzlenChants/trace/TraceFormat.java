@@ -0,0 +1,68 @@
+package org.frizzlenpop.frizzlenChants.trace;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Layout of a trace file. A trace starts with a header: the magic number, the format
+ * version, the session seed and the tick recording started on. Entries follow, each led by
+ * a tag byte:
+ *
+ * <ul>
+ *     <li>{@link #TAG_NAME}: id and text of a name, such as an enchantment, world or material</li>
+ *     <li>{@link #TAG_ENTITY}: id, UUID and type name id of an entity</li>
+ *     <li>{@link #TAG_EVENT}: one {@link TraceRecord}, referring to names and entities by id</li>
+ * </ul>
+ *
+ * A name or entity is defined once, just before the first event that uses it. Ids, counts
+ * and tick deltas are unsigned variable-length integers, so a typical event takes 30 to 50
+ * bytes.
+ */
+final class TraceFormat {
+
+    /** "FCTR" */
+    static final int MAGIC = 0x46435452;
+    static final int VERSION = 1;
+    
+    static final int TAG_NAME = 1;
+    static final int TAG_ENTITY = 2;
+    static final int TAG_EVENT = 3;
+    
+    private TraceFormat() {
+    }
+    
+    /**
+     * Writes an unsigned variable-length integer, seven bits per byte.
+     *
+     * @param out The output
+     * @param value The value, at least 0
+     * @throws IOException If the output fails
+     */
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+    
+    /**
+     * Reads an unsigned variable-length integer.
+     *
+     * @param in The input
+     * @return The value
+     * @throws IOException If the input fails or the value is malformed
+     */
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+}
@@ -0,0 +1,165 @@
+package org.frizzlenpop.frizzlenChants.trace;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads a trace written by a {@link TraceRecorder}, one event at a time. A trace cut short,
+ * for example because the server stopped while recording, reads up to its last complete
+ * event.
+ */
+public final class TraceReader implements Closeable {
+
+    private final DataInputStream in;
+    private final long seed;
+    private final int startTick;
+    private final List<String> names = new ArrayList<>();
+    private final List<TraceRecord.TracedEntity> entities = new ArrayList<>();
+    private int tick;
+    
+    /**
+     * Opens a trace and reads its header.
+     *
+     * @param in The trace; closed with this reader
+     * @throws IOException If the input fails or is not a trace this build can read
+     */
+    public TraceReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        if (this.in.readInt() != TraceFormat.MAGIC) {
+            throw new IOException("Not a FrizzlenChants trace");
+        }
+        int version = this.in.readUnsignedShort();
+        if (version != TraceFormat.VERSION) {
+            throw new IOException("Unsupported trace version " + version);
+        }
+        this.seed = this.in.readLong();
+        this.startTick = this.in.readInt();
+        this.tick = startTick;
+    }
+    
+    /**
+     * Gets the seed the recording session was started with.
+     *
+     * @return The session seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Gets the server tick recording started on.
+     *
+     * @return The start tick
+     */
+    public int getStartTick() {
+        return startTick;
+    }
+    
+    /**
+     * Reads the next event.
+     *
+     * @return The event, or null at the end of the trace
+     * @throws IOException If the input fails or the trace is malformed
+     */
+    public TraceRecord next() throws IOException {
+        try {
+            while (true) {
+                int tag = in.read();
+                if (tag < 0) {
+                    return null;
+                }
+                
+                switch (tag) {
+                    case TraceFormat.TAG_NAME:
+                        expectId(TraceFormat.readVarInt(in), names.size());
+                        names.add(in.readUTF());
+                        break;
+                    case TraceFormat.TAG_ENTITY:
+                        expectId(TraceFormat.readVarInt(in), entities.size());
+                        UUID id = new UUID(in.readLong(), in.readLong());
+                        entities.add(new TraceRecord.TracedEntity(id, name(TraceFormat.readVarInt(in))));
+                        break;
+                    case TraceFormat.TAG_EVENT:
+                        return readEvent();
+                    default:
+                        throw new IOException("Unknown trace entry " + tag);
+                }
+            }
+        } catch (EOFException e) {
+            // The recording stopped in the middle of an entry
+            return null;
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+    
+    private TraceRecord readEvent() throws IOException {
+        int typeOrdinal = in.readUnsignedByte();
+        TraceEventType type = TraceEventType.byOrdinal(typeOrdinal);
+        if (type == null) {
+            throw new IOException("Unknown trace event type " + typeOrdinal);
+        }
+        
+        tick += TraceFormat.readVarInt(in);
+        String world = name(TraceFormat.readVarInt(in));
+        String item = name(TraceFormat.readVarInt(in));
+        TraceRecord.TracedEntity actor = entity(TraceFormat.readVarInt(in));
+        double actorX = in.readFloat();
+        double actorY = in.readFloat();
+        double actorZ = in.readFloat();
+        
+        int targetId = TraceFormat.readVarInt(in);
+        TraceRecord.TracedEntity target = null;
+        double targetX = 0;
+        double targetY = 0;
+        double targetZ = 0;
+        if (targetId != 0) {
+            target = entity(targetId - 1);
+            targetX = in.readFloat();
+            targetY = in.readFloat();
+            targetZ = in.readFloat();
+        }
+        
+        int count = TraceFormat.readVarInt(in);
+        Map<String, Integer> enchants = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String enchant = name(TraceFormat.readVarInt(in));
+            enchants.put(enchant, TraceFormat.readVarInt(in));
+        }
+        
+        return new TraceRecord(tick, type, world, actor, actorX, actorY, actorZ,
+            target, targetX, targetY, targetZ, item, enchants, in.readLong());
+    }
+    
+    private String name(int id) throws IOException {
+        if (id >= names.size()) {
+            throw new IOException("Undefined trace name " + id);
+        }
+        return names.get(id);
+    }
+    
+    private TraceRecord.TracedEntity entity(int id) throws IOException {
+        if (id >= entities.size()) {
+            throw new IOException("Undefined trace entity " + id);
+        }
+        return entities.get(id);
+    }
+    
+    private static void expectId(int id, int expected) throws IOException {
+        if (id != expected) {
+            throw new IOException("Trace entry defines id " + id + " where " + expected + " was expected");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.frizzlenpop.frizzlenChants.trace;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One event of a trace: who triggered which enchantments, on whom, where and when.
+ * Positions are stored as floats, so they are exact to a few millimetres near the origin
+ * and to about a block at the world border.
+ *
+ * @param tick The server tick the event happened on
+ * @param type The kind of event
+ * @param world The name of the world
+ * @param actor The player who triggered the event
+ * @param actorX The X coordinate of the actor
+ * @param actorY The Y coordinate of the actor
+ * @param actorZ The Z coordinate of the actor
+ * @param target The entity the event was aimed at, or null if there was none
+ * @param targetX The X coordinate of the target, or 0 without a target
+ * @param targetY The Y coordinate of the target, or 0 without a target
+ * @param targetZ The Z coordinate of the target, or 0 without a target
+ * @param item The material of the enchanted item
+ * @param enchants The enchantments on the item and their levels, in the order they were decoded
+ * @param seed The seed the event's random rolls are replayed with
+ */
+public record TraceRecord(int tick, TraceEventType type, String world,
+                          TracedEntity actor, double actorX, double actorY, double actorZ,
+                          TracedEntity target, double targetX, double targetY, double targetZ,
+                          String item, Map<String, Integer> enchants, long seed) {
+    
+    /**
+     * An entity that appears in a trace.
+     *
+     * @param id The UUID of the entity
+     * @param type The name of its entity type, such as {@code PLAYER} or {@code ZOMBIE}
+     */
+    public record TracedEntity(UUID id, String type) {
+    }
+}
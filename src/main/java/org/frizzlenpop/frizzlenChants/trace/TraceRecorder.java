@@ -0,0 +1,201 @@
+package org.frizzlenpop.frizzlenChants.trace;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Event;
+import org.bukkit.inventory.ItemStack;
+import org.frizzlenpop.frizzlenChants.enchant.CustomEnchant;
+import org.frizzlenpop.frizzlenChants.random.RandomService;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records the events that trigger enchantments to a trace file during {@code /ce trace}, so
+ * a lag incident can be replayed offline by the benchmark module's {@code TraceReplay}.
+ * Each event gets a seed drawn from the session seed. While recording, enchantments roll
+ * their procs for an event from {@link #rolls}, a generator derived from that seed, and the
+ * replay derives the same generator from the recorded seed, so it rolls the same outcomes.
+ *
+ * <p>Events may be recorded from any region thread on Folia, so writes are synchronized and
+ * events from different regions land in the order they took the lock. While it is not
+ * recording, {@link #isRecording()} is a single volatile read and nothing else is done.
+ */
+public final class TraceRecorder {
+
+    private final Logger logger;
+    private volatile TraceWriter writer;
+    private SplittableRandom seeds;
+    
+    // Seeds of the events seen while recording; an event is dropped once it is collected
+    private final Map<Event, Long> eventSeeds = new WeakHashMap<>();
+    private File file;
+    private int records;
+    
+    /**
+     * Creates a recorder that is not recording.
+     *
+     * @param logger The logger write failures are reported to
+     */
+    public TraceRecorder(Logger logger) {
+        this.logger = logger;
+    }
+    
+    /**
+     * Starts recording to a new file.
+     *
+     * @param file The trace file; its directory is created if needed
+     * @param seed The session seed the event seeds are drawn from
+     * @return false if a trace is already being recorded
+     * @throws IOException If the file cannot be created
+     */
+    public synchronized boolean start(File file, long seed) throws IOException {
+        if (writer != null) {
+            return false;
+        }
+        
+        File directory = file.getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        
+        writer = new TraceWriter(new FileOutputStream(file), seed, Bukkit.getCurrentTick());
+        seeds = new SplittableRandom(seed);
+        this.file = file;
+        records = 0;
+        return true;
+    }
+    
+    /**
+     * Checks if a trace is being recorded. Callers check this before gathering what
+     * {@link #record} needs.
+     *
+     * @return true while recording
+     */
+    public boolean isRecording() {
+        return writer != null;
+    }
+    
+    /**
+     * Returns the generator an enchantment rolls its procs for an event with. While
+     * recording, this is {@link RandomService#forEvent} of the event's seed, which the replay
+     * derives again from the trace. Otherwise it is the enchantment's own generator.
+     *
+     * @param event The event the enchantment was triggered by
+     * @param enchant The name of the enchantment
+     * @param own The enchantment's own generator
+     * @return The generator to roll with
+     */
+    public SplittableRandom rolls(Event event, String enchant, SplittableRandom own) {
+        if (writer == null) {
+            return own;
+        }
+        
+        synchronized (this) {
+            return writer != null ? RandomService.forEvent(seedOf(event), enchant) : own;
+        }
+    }
+    
+    /**
+     * Records one event. Does nothing while not recording.
+     *
+     * @param event The Bukkit event, whose seed is shared with the proc rolls it triggers
+     * @param type The kind of event
+     * @param actor The player who triggered it
+     * @param target The entity it was aimed at, or null
+     * @param item The enchanted item
+     * @param enchants The decoded enchantments of the item
+     */
+    public void record(Event event, TraceEventType type, Entity actor, Entity target, ItemStack item,
+                       Map<CustomEnchant, Integer> enchants) {
+        if (writer == null || enchants.isEmpty()) {
+            return;
+        }
+        
+        Map<String, Integer> names = new LinkedHashMap<>();
+        for (Map.Entry<CustomEnchant, Integer> entry : enchants.entrySet()) {
+            names.put(entry.getKey().getName(), entry.getValue());
+        }
+        
+        Location at = actor.getLocation();
+        Location targetAt = target != null ? target.getLocation() : null;
+        
+        synchronized (this) {
+            // Recording may have stopped while the event was gathered
+            if (writer == null) {
+                return;
+            }
+            
+            TraceRecord record = new TraceRecord(Bukkit.getCurrentTick(), type, at.getWorld().getName(),
+                new TraceRecord.TracedEntity(actor.getUniqueId(), actor.getType().name()), at.getX(), at.getY(),
+                at.getZ(),
+                target != null ? new TraceRecord.TracedEntity(target.getUniqueId(), target.getType().name()) : null,
+                targetAt != null ? targetAt.getX() : 0, targetAt != null ? targetAt.getY() : 0,
+                targetAt != null ? targetAt.getZ() : 0,
+                item.getType().name(), names, seedOf(event));
+            
+            try {
+                writer.write(record);
+                records++;
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Could not write to trace " + file + ", stopping: " + e.getMessage());
+                stop();
+            }
+        }
+    }
+    
+    /**
+     * Stops recording and closes the file.
+     *
+     * @return The number of events recorded, or -1 if no trace was being recorded
+     */
+    public synchronized int stop() {
+        if (writer == null) {
+            return -1;
+        }
+        
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not finish trace " + file + ": " + e.getMessage());
+        }
+        writer = null;
+        seeds = null;
+        eventSeeds.clear();
+        return records;
+    }
+    
+    /**
+     * Gets the file of the current or last trace.
+     *
+     * @return The file, or null if nothing was recorded yet
+     */
+    public synchronized File getFile() {
+        return file;
+    }
+    
+    /**
+     * Returns the seed of an event, drawing it from the session seed the first time the
+     * event is seen. Whichever comes first, the record of the event or a proc roll it
+     * triggers, draws the seed. Must be called while holding the recorder lock.
+     *
+     * @param event The event
+     * @return The seed of the event
+     */
+    private long seedOf(Event event) {
+        Long seed = eventSeeds.get(event);
+        if (seed == null) {
+            seed = seeds.nextLong();
+            eventSeeds.put(event, seed);
+        }
+        return seed;
+    }
+}
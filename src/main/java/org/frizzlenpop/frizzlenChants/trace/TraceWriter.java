@@ -0,0 +1,125 @@
+package org.frizzlenpop.frizzlenChants.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Encodes trace entries in the {@link TraceFormat} layout. Names and entities are given ids
+ * the first time they are written, so later events only refer to them.
+ */
+final class TraceWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final DataOutputStream out;
+    private final Map<String, Integer> names = new HashMap<>();
+    private final Map<UUID, Integer> entities = new HashMap<>();
+    private int lastTick;
+    
+    /**
+     * Writes the header of a new trace.
+     *
+     * @param out The output; closed with this writer
+     * @param seed The session seed
+     * @param startTick The tick recording starts on
+     * @throws IOException If the output fails
+     */
+    TraceWriter(OutputStream out, long seed, int startTick) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        this.lastTick = startTick;
+        this.out.writeInt(TraceFormat.MAGIC);
+        this.out.writeShort(TraceFormat.VERSION);
+        this.out.writeLong(seed);
+        this.out.writeInt(startTick);
+    }
+    
+    /**
+     * Writes one event, preceded by the definitions of the names and entities it
+     * introduces. Ticks are stored as the distance to the previous event, so an event
+     * earlier than the one before it is stored on the same tick.
+     *
+     * @param record The event
+     * @throws IOException If the output fails
+     */
+    void write(TraceRecord record) throws IOException {
+        int worldId = name(record.world());
+        int itemId = name(record.item());
+        int actorId = entity(record.actor());
+        int targetId = record.target() != null ? entity(record.target()) + 1 : 0;
+        
+        int[] enchantIds = new int[record.enchants().size()];
+        int i = 0;
+        for (String enchant : record.enchants().keySet()) {
+            enchantIds[i++] = name(enchant);
+        }
+        
+        out.writeByte(TraceFormat.TAG_EVENT);
+        out.writeByte(record.type().ordinal());
+        TraceFormat.writeVarInt(out, Math.max(0, record.tick() - lastTick));
+        lastTick = Math.max(lastTick, record.tick());
+        TraceFormat.writeVarInt(out, worldId);
+        TraceFormat.writeVarInt(out, itemId);
+        TraceFormat.writeVarInt(out, actorId);
+        writePosition(record.actorX(), record.actorY(), record.actorZ());
+        TraceFormat.writeVarInt(out, targetId);
+        if (targetId != 0) {
+            writePosition(record.targetX(), record.targetY(), record.targetZ());
+        }
+        
+        TraceFormat.writeVarInt(out, enchantIds.length);
+        i = 0;
+        for (int level : record.enchants().values()) {
+            TraceFormat.writeVarInt(out, enchantIds[i++]);
+            TraceFormat.writeVarInt(out, Math.max(0, level));
+        }
+        out.writeLong(record.seed());
+    }
+    
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+    
+    private int name(String name) throws IOException {
+        Integer id = names.get(name);
+        if (id != null) {
+            return id;
+        }
+        
+        id = names.size();
+        names.put(name, id);
+        out.writeByte(TraceFormat.TAG_NAME);
+        TraceFormat.writeVarInt(out, id);
+        out.writeUTF(name);
+        return id;
+    }
+    
+    private int entity(TraceRecord.TracedEntity entity) throws IOException {
+        Integer id = entities.get(entity.id());
+        if (id != null) {
+            return id;
+        }
+        
+        int typeId = name(entity.type());
+        id = entities.size();
+        entities.put(entity.id(), id);
+        out.writeByte(TraceFormat.TAG_ENTITY);
+        TraceFormat.writeVarInt(out, id);
+        out.writeLong(entity.id().getMostSignificantBits());
+        out.writeLong(entity.id().getLeastSignificantBits());
+        TraceFormat.writeVarInt(out, typeId);
+        return id;
+    }
+    
+    private void writePosition(double x, double y, double z) throws IOException {
+        out.writeFloat((float) x);
+        out.writeFloat((float) y);
+        out.writeFloat((float) z);
+    }
+}
@@ -12,34 +12,59 @@ import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
+import org.frizzlenpop.frizzlenChants.log.LogChannel;
+import org.frizzlenpop.frizzlenChants.metrics.EnchantMetrics;
+import org.frizzlenpop.frizzlenChants.profile.EnchantProfiler;
+import org.frizzlenpop.frizzlenChants.profile.ProfilePhase;
+import org.frizzlenpop.frizzlenChants.profile.ProfileTimer;
+import org.frizzlenpop.frizzlenChants.profile.ProfiledTask;
+import org.frizzlenpop.frizzlenChants.schedule.EffectTask;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
 
 /**
  * Manager for handling visual effects using ProtocolLib.
  * Provides methods for creating various visual effects like particles,
  * glowing entities, and custom item models.
+ * Particles spawned for an enchantment are profiled as that enchantment's visual phase;
+ * the trail, spiral and beam effects run as tasks of their own, on the thread that owns the
+ * entity they follow, and are profiled together.
+ * Every particle and packet it sends is counted in the plugin metrics.
  */
 public class VisualEffectManager {
 
     private final Plugin plugin;
+    private final LogChannel log;
+    private final EnchantProfiler profiler;
+    private final ProfileTimer effectTimer;
+    private final LongAdder particles;
+    private final LongAdder packets;
     private final ProtocolManager protocolManager;
-    private final Map<UUID, BukkitRunnable> activeEffects;
+    private final Map<UUID, EffectTask> activeEffects;
     
     /**
      * Creates a new visual effect manager.
      *
      * @param plugin The plugin instance
+     * @param log The channel to report failures to
+     * @param profiler The profiler that times particles and running effects
+     * @param metrics The metrics that count particles and packets
      */
-    public VisualEffectManager(Plugin plugin) {
+    public VisualEffectManager(Plugin plugin, LogChannel log, EnchantProfiler profiler, EnchantMetrics metrics) {
         this.plugin = plugin;
+        this.log = log;
+        this.profiler = profiler;
+        this.effectTimer = profiler.timer("Visual effects", ProfilePhase.VISUAL);
+        this.particles = metrics.particles();
+        this.packets = metrics.packets();
         this.protocolManager = ProtocolLibrary.getProtocolManager();
-        this.activeEffects = new HashMap<>();
+        this.activeEffects = new ConcurrentHashMap<>();
     }
     
     /**
@@ -55,7 +80,13 @@ public class VisualEffectManager {
      * @param data Optional data for certain particles
      */
     public void spawnParticles(Location location, Particle particle, int count, double offsetX, double offsetY, double offsetZ, double speed, Object data) {
-        location.getWorld().spawnParticle(particle, location, count, offsetX, offsetY, offsetZ, speed, data);
+        long token = profiler.start(ProfilePhase.VISUAL);
+        try {
+            location.getWorld().spawnParticle(particle, location, count, offsetX, offsetY, offsetZ, speed, data);
+            particles.add(count);
+        } finally {
+            profiler.stop(token);
+        }
     }
     
     /**
@@ -69,8 +100,14 @@ public class VisualEffectManager {
      */
     public void spawnColoredParticles(Location location, Particle particle, Color color, float size, int count) {
         if (particle == Particle.DUST || particle == Particle.DUST_COLOR_TRANSITION) {
-            Particle.DustOptions dustOptions = new Particle.DustOptions(color, size);
-            location.getWorld().spawnParticle(particle, location, count, 0, 0, 0, 0, dustOptions);
+            long token = profiler.start(ProfilePhase.VISUAL);
+            try {
+                Particle.DustOptions dustOptions = new Particle.DustOptions(color, size);
+                location.getWorld().spawnParticle(particle, location, count, 0, 0, 0, 0, dustOptions);
+                particles.add(count);
+            } finally {
+                profiler.stop(token);
+            }
         }
     }
     
@@ -86,11 +123,11 @@ public class VisualEffectManager {
     public UUID createParticleTrail(Entity entity, Particle particle, Color color, int duration) {
         UUID effectId = UUID.randomUUID();
         
-        BukkitRunnable task = new BukkitRunnable() {
+        EffectTask task = new ProfiledTask(effectTimer) {
             private int ticks = 0;
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (ticks >= duration || entity.isDead()) {
                     this.cancel();
                     activeEffects.remove(effectId);
@@ -105,12 +142,13 @@ public class VisualEffectManager {
                 } else {
                     location.getWorld().spawnParticle(particle, location, 1, 0, 0, 0, 0);
                 }
+                particles.increment();
                 
                 ticks++;
             }
         };
         
-        task.runTaskTimer(plugin, 0, 1);
+        task.runTimer(plugin, entity, 0, 1);
         activeEffects.put(effectId, task);
         
         return effectId;
@@ -143,8 +181,9 @@ public class VisualEffectManager {
         // Send the packet to the player
         try {
             protocolManager.sendServerPacket(player, packet);
+            packets.increment();
         } catch (Exception e) {
-            plugin.getLogger().severe("Failed to set entity glowing: " + e.getMessage());
+            log.log(Level.SEVERE, () -> "Failed to set entity glowing: " + e.getMessage(), null);
         }
     }
     
@@ -161,12 +200,12 @@ public class VisualEffectManager {
     public UUID createSpiralEffect(Entity entity, Particle particle, Color color, double radius, int duration) {
         UUID effectId = UUID.randomUUID();
         
-        BukkitRunnable task = new BukkitRunnable() {
+        EffectTask task = new ProfiledTask(effectTimer) {
             private int ticks = 0;
             private double angle = 0;
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (ticks >= duration || entity.isDead()) {
                     this.cancel();
                     activeEffects.remove(effectId);
@@ -191,6 +230,7 @@ public class VisualEffectManager {
                     } else {
                         world.spawnParticle(particle, particleLocation, 1, 0, 0, 0, 0);
                     }
+                    particles.increment();
                 }
                 
                 angle += Math.PI / 8; // Increment the angle for the next iteration
@@ -198,7 +238,7 @@ public class VisualEffectManager {
             }
         };
         
-        task.runTaskTimer(plugin, 0, 1);
+        task.runTimer(plugin, entity, 0, 1);
         activeEffects.put(effectId, task);
         
         return effectId;
@@ -217,11 +257,11 @@ public class VisualEffectManager {
     public UUID createBeamEffect(Entity entity, Particle particle, Color color, double range, int duration) {
         UUID effectId = UUID.randomUUID();
         
-        BukkitRunnable task = new BukkitRunnable() {
+        EffectTask task = new ProfiledTask(effectTimer) {
             private int ticks = 0;
             
             @Override
-            public void run() {
+            protected void tick() {
                 if (ticks >= duration || entity.isDead()) {
                     this.cancel();
                     activeEffects.remove(effectId);
@@ -242,13 +282,14 @@ public class VisualEffectManager {
                     } else {
                         world.spawnParticle(particle, particleLocation, 1, 0, 0, 0, 0);
                     }
+                    particles.increment();
                 }
                 
                 ticks++;
             }
         };
         
-        task.runTaskTimer(plugin, 0, 1);
+        task.runTimer(plugin, entity, 0, 1);
         activeEffects.put(effectId, task);
         
         return effectId;
@@ -261,7 +302,7 @@ public class VisualEffectManager {
      * @return true if the effect was found and canceled, false otherwise
      */
     public boolean cancelEffect(UUID effectId) {
-        BukkitRunnable task = activeEffects.remove(effectId);
+        EffectTask task = activeEffects.remove(effectId);
         if (task != null) {
             task.cancel();
             return true;
@@ -273,7 +314,7 @@ public class VisualEffectManager {
      * Cancels all active visual effects.
      */
     public void cancelAllEffects() {
-        for (BukkitRunnable task : activeEffects.values()) {
+        for (EffectTask task : activeEffects.values()) {
             task.cancel();
         }
         activeEffects.clear();
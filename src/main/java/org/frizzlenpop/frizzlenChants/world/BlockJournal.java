@@ -0,0 +1,480 @@
+package org.frizzlenpop.frizzlenChants.world;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.plugin.Plugin;
+import org.frizzlenpop.frizzlenChants.schedule.Schedulers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Append-only, memory-mapped journal of blocks that enchantments temporarily clear to air.
+ * The original state of every block is written before the block is changed, and one commit
+ * record is written once an effect has put its blocks back. Writes go straight into the
+ * mapped file, so they survive a server crash without any disk I/O on the main thread.
+ * Uncommitted blocks are restored by {@link #replay(boolean)}, which runs on the first tick
+ * after startup and again on disable, and by {@link #replay(World)} for blocks in a world that
+ * loads later. Effects in different regions journal concurrently on
+ * Folia, so every method is synchronized; the journal lock is only held for a few buffer
+ * writes.
+ */
+public class BlockJournal {
+
+    private static final int MAGIC = 0x46434A31; // "FCJ1"
+    private static final int VERSION = 1;
+    
+    // Header: magic, version, end of the last complete record, next effect ID
+    private static final int HEADER_SIZE = 16;
+    private static final int END_OFFSET = 8;
+    private static final int NEXT_EFFECT_OFFSET = 12;
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    
+    private static final byte RECORD_BEGIN = 1;
+    private static final byte RECORD_STATE = 2;
+    private static final byte RECORD_MUTATION = 3;
+    private static final byte RECORD_COMMIT = 4;
+    
+    private final Plugin plugin;
+    private final File file;
+    private final Map<BlockData, Integer> palette = new HashMap<>();
+    private final Set<Integer> openEffects = new HashSet<>();
+    
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int end;
+    private int nextEffect;
+    private boolean replayPending;
+    
+    /**
+     * Creates a new block journal.
+     *
+     * @param plugin The plugin instance
+     * @param file The journal file
+     */
+    public BlockJournal(Plugin plugin, File file) {
+        this.plugin = plugin;
+        this.file = file;
+    }
+    
+    /**
+     * Opens the journal file, creating it if needed. Records left by a previous run are kept
+     * until the next {@link #replay(boolean)}. If the file cannot be opened the journal stays
+     * disabled and records nothing.
+     */
+    public synchronized void open() {
+        try {
+            file.getParentFile().mkdirs();
+            channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            
+            boolean existing = channel.size() >= HEADER_SIZE;
+            map(Math.max(INITIAL_CAPACITY, (int) channel.size()));
+            
+            if (existing && buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION) {
+                end = buffer.getInt(END_OFFSET);
+                nextEffect = buffer.getInt(NEXT_EFFECT_OFFSET);
+                replayPending = end > HEADER_SIZE;
+            } else {
+                if (existing) {
+                    plugin.getLogger().log(Level.WARNING, "Ignoring unreadable block journal: " + file.getName());
+                }
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                reset();
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not open block journal: " + file.getName(), e);
+            close();
+        }
+    }
+    
+    /**
+     * Starts journaling a new effect.
+     *
+     * @param world The world the effect changes blocks in
+     * @return The effect ID to pass to {@link #record} and {@link #commit}
+     */
+    public synchronized int begin(World world) {
+        int effect = nextEffect++;
+        openEffects.add(effect);
+        
+        if (buffer != null) {
+            buffer.putInt(NEXT_EFFECT_OFFSET, nextEffect);
+            
+            UUID id = world.getUID();
+            int start = reserve(21);
+            buffer.put(start, RECORD_BEGIN);
+            buffer.putInt(start + 1, effect);
+            buffer.putLong(start + 5, id.getMostSignificantBits());
+            buffer.putLong(start + 13, id.getLeastSignificantBits());
+            publish(start + 21);
+        }
+        
+        return effect;
+    }
+    
+    /**
+     * Records a block's current state. Call this before clearing the block.
+     *
+     * @param effect The effect ID
+     * @param block The block about to be cleared
+     */
+    public synchronized void record(int effect, Block block) {
+        if (buffer == null) {
+            return;
+        }
+        
+        int state = stateId(block.getBlockData());
+        int start = reserve(17);
+        buffer.put(start, RECORD_MUTATION);
+        buffer.putInt(start + 1, effect);
+        buffer.putLong(start + 5, BlockPositions.pack(block.getX(), block.getY(), block.getZ()));
+        buffer.putInt(start + 13, state);
+        publish(start + 17);
+    }
+    
+    /**
+     * Marks every block of an effect as restored. Once no effect is open, the journal is
+     * emptied so it does not grow over the session. Committing an effect a replay has
+     * already restored does nothing.
+     *
+     * @param effect The effect ID
+     */
+    public synchronized void commit(int effect) {
+        if (!openEffects.remove(effect) || buffer == null) {
+            return;
+        }
+        
+        // Records left by a previous run are kept until they have been replayed
+        if (openEffects.isEmpty() && !replayPending) {
+            reset();
+            return;
+        }
+        
+        writeCommit(effect);
+    }
+    
+    /**
+     * Returns the number of effects whose blocks have not been restored yet.
+     *
+     * @return The number of open effects
+     */
+    public synchronized int getOpenEffectCount() {
+        return openEffects.size();
+    }
+    
+    /**
+     * Restores every block of every uncommitted effect that is still air. An effect stays
+     * journaled until its blocks are back, so the journal is only emptied once nothing in it
+     * is left to restore. Effects in worlds that are not loaded are kept until
+     * {@link #replay(World)} restores them when the world loads, or for the next startup.
+     *
+     * <p>The blocks of an effect the calling thread does not own are restored on the next
+     * tick of their region if {@code defer} is set, and are not counted. Otherwise, as on
+     * disable when no more tasks run, they are left for the replay at the next startup.
+     *
+     * @param defer Whether to hand effects the calling thread does not own to their region
+     * @return The number of blocks restored right away
+     */
+    public synchronized int replay(boolean defer) {
+        return replay(null, defer);
+    }
+    
+    /**
+     * Restores the blocks a previous run left journaled in a world that has just loaded.
+     * Effects of this run, and those already handed to their region, are left alone, as are
+     * effects in other worlds. Blocks the calling thread does not own are restored on the next
+     * tick of their region.
+     *
+     * @param loaded The world that loaded
+     * @return The number of blocks restored right away
+     */
+    public synchronized int replay(World loaded) {
+        return replay(loaded, true);
+    }
+    
+    /**
+     * Replays the journal.
+     *
+     * @param only The only world to restore blocks in, leaving the effects that are open in
+     *             this run alone, or null to restore every world
+     * @param defer Whether to hand effects the calling thread does not own to their region
+     * @return The number of blocks restored right away
+     */
+    private int replay(World only, boolean defer) {
+        if (buffer == null) {
+            return 0;
+        }
+        
+        Map<Integer, UUID> worlds = new HashMap<>();
+        Map<Integer, String> states = new HashMap<>();
+        Map<Integer, List<Mutation>> mutations = new LinkedHashMap<>();
+        
+        int position = HEADER_SIZE;
+        while (position < end) {
+            byte type = buffer.get(position);
+            
+            if (type == RECORD_BEGIN) {
+                int effect = buffer.getInt(position + 1);
+                worlds.put(effect, new UUID(buffer.getLong(position + 5), buffer.getLong(position + 13)));
+                position += 21;
+            } else if (type == RECORD_STATE) {
+                int id = buffer.getInt(position + 1);
+                int length = buffer.getShort(position + 5) & 0xFFFF;
+                byte[] bytes = new byte[length];
+                buffer.get(position + 7, bytes);
+                states.put(id, new String(bytes, StandardCharsets.UTF_8));
+                position += 7 + length;
+            } else if (type == RECORD_MUTATION) {
+                // Palette IDs restart whenever the journal is emptied, so resolve them right away
+                int effect = buffer.getInt(position + 1);
+                String state = states.get(buffer.getInt(position + 13));
+                mutations.computeIfAbsent(effect, e -> new ArrayList<>())
+                    .add(new Mutation(buffer.getLong(position + 5), state));
+                position += 17;
+            } else if (type == RECORD_COMMIT) {
+                mutations.remove(buffer.getInt(position + 1));
+                position += 5;
+            } else {
+                plugin.getLogger().log(Level.WARNING, "Block journal is corrupt at offset " + position);
+                break;
+            }
+        }
+        
+        int restored = 0;
+        int left = 0;
+        for (Map.Entry<Integer, List<Mutation>> entry : mutations.entrySet()) {
+            int effect = entry.getKey();
+            if (only != null && openEffects.contains(effect)) {
+                continue;
+            }
+            
+            UUID worldId = worlds.get(effect);
+            if (worldId == null) {
+                plugin.getLogger().log(Level.WARNING, "Dropping " + entry.getValue().size() +
+                    " journaled blocks of an effect without a world");
+                openEffects.remove(effect);
+                writeCommit(effect);
+                continue;
+            }
+            
+            World world = Bukkit.getWorld(worldId);
+            
+            // Kept uncommitted until the world loads, at the latest for the next startup
+            if (world == null) {
+                if (only == null) {
+                    plugin.getLogger().log(Level.WARNING, "Keeping " + entry.getValue().size() +
+                        " journaled blocks until their world is loaded: " + worldId);
+                }
+                left++;
+                continue;
+            }
+            
+            if (only != null && !world.equals(only)) {
+                left++;
+                continue;
+            }
+            
+            // The blocks of one effect lie close together, so whoever owns the first owns them all
+            List<Mutation> blocks = entry.getValue();
+            long first = blocks.get(0).position;
+            Location anchor = new Location(world, BlockPositions.unpackX(first), BlockPositions.unpackY(first),
+                BlockPositions.unpackZ(first));
+            
+            if (Schedulers.owns(anchor)) {
+                restored += restore(world, blocks);
+                openEffects.remove(effect);
+                writeCommit(effect);
+            } else if (defer) {
+                // Committed only once the region has put the blocks back
+                openEffects.add(effect);
+                Schedulers.run(plugin, anchor, () -> {
+                    logRestored(restore(world, blocks));
+                    commit(effect);
+                });
+            } else {
+                left++;
+            }
+        }
+        
+        logRestored(restored);
+        
+        replayPending = left > 0;
+        if (openEffects.isEmpty() && !replayPending) {
+            reset();
+        }
+        return restored;
+    }
+    
+    /**
+     * Flushes the journal to disk and closes the file.
+     */
+    public synchronized void close() {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+        
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not close block journal", e);
+            }
+            channel = null;
+        }
+    }
+    
+    /**
+     * Restores the blocks of one effect that are still air.
+     *
+     * @param world The world of the effect
+     * @param blocks The journaled blocks
+     * @return The number of blocks restored
+     */
+    private int restore(World world, List<Mutation> blocks) {
+        int restored = 0;
+        for (Mutation mutation : blocks) {
+            long packed = mutation.position;
+            Block block = world.getBlockAt(BlockPositions.unpackX(packed), BlockPositions.unpackY(packed),
+                BlockPositions.unpackZ(packed));
+            
+            // Only restore if the block is still air
+            if (mutation.state == null || !block.getType().isAir()) {
+                continue;
+            }
+            
+            try {
+                block.setBlockData(Bukkit.createBlockData(mutation.state), false);
+                restored++;
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().log(Level.WARNING, "Skipping unknown journaled block state: " + mutation.state);
+            }
+        }
+        return restored;
+    }
+    
+    /**
+     * Logs how many journaled blocks were restored, if any.
+     *
+     * @param restored The number of blocks restored
+     */
+    private void logRestored(int restored) {
+        if (restored > 0) {
+            plugin.getLogger().log(Level.INFO, "Restored " + restored + " blocks from the block journal");
+        }
+    }
+    
+    /**
+     * Returns the palette ID of a block state, journaling the state the first time it is seen.
+     *
+     * @param data The block state
+     * @return The palette ID
+     */
+    private int stateId(BlockData data) {
+        Integer id = palette.get(data);
+        if (id != null) {
+            return id;
+        }
+        
+        id = palette.size();
+        byte[] bytes = data.getAsString().getBytes(StandardCharsets.UTF_8);
+        int start = reserve(7 + bytes.length);
+        buffer.put(start, RECORD_STATE);
+        buffer.putInt(start + 1, id);
+        buffer.putShort(start + 5, (short) bytes.length);
+        buffer.put(start + 7, bytes);
+        publish(start + 7 + bytes.length);
+        
+        palette.put(data.clone(), id);
+        return id;
+    }
+    
+    /**
+     * Makes room for a record at the end of the journal, growing the file if needed.
+     *
+     * @param length The length of the record
+     * @return The offset to write the record at
+     */
+    private int reserve(int length) {
+        if (end + length > buffer.capacity()) {
+            try {
+                map(Math.max(buffer.capacity() * 2, end + length));
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not grow block journal", e);
+            }
+        }
+        return end;
+    }
+    
+    /**
+     * Moves the end of the journal past a fully written record. The header is only updated
+     * after the record itself, so a record torn by a crash is never read back.
+     *
+     * @param newEnd The new end of the journal
+     */
+    private void publish(int newEnd) {
+        end = newEnd;
+        buffer.putInt(END_OFFSET, end);
+    }
+    
+    /**
+     * Appends the commit record of an effect.
+     *
+     * @param effect The effect ID
+     */
+    private void writeCommit(int effect) {
+        int start = reserve(5);
+        buffer.put(start, RECORD_COMMIT);
+        buffer.putInt(start + 1, effect);
+        publish(start + 5);
+    }
+    
+    /**
+     * Empties the journal and its state palette.
+     */
+    private void reset() {
+        palette.clear();
+        publish(HEADER_SIZE);
+    }
+    
+    /**
+     * Maps the journal file with the given capacity.
+     *
+     * @param capacity The capacity in bytes
+     * @throws IOException If the file cannot be mapped
+     */
+    private void map(int capacity) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+    
+    /**
+     * One journaled block, read back during a replay.
+     */
+    private static final class Mutation {
+        private final long position;
+        private final String state;
+        
+        private Mutation(long position, String state) {
+            this.position = position;
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.frizzlenpop.frizzlenChants.world;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+
+/**
+ * Restores the journaled blocks of a world that was not loaded when the journal was
+ * replayed at startup, as soon as the world loads.
+ */
+public class BlockJournalListener implements Listener {
+
+    private final BlockJournal journal;
+    
+    /**
+     * Creates a new block journal listener.
+     *
+     * @param journal The journal to replay
+     */
+    public BlockJournalListener(BlockJournal journal) {
+        this.journal = journal;
+    }
+    
+    @EventHandler
+    public void onWorldLoad(WorldLoadEvent event) {
+        journal.replay(event.getWorld());
+    }
+}
@@ -0,0 +1,53 @@
+package org.frizzlenpop.frizzlenChants.world;
+
+/**
+ * Packs block positions into a single long, using the same layout as Minecraft's own block
+ * positions: 26 bits of X, 26 bits of Z and 12 bits of Y.
+ */
+public final class BlockPositions {
+
+    private BlockPositions() {
+    }
+    
+    /**
+     * Packs a block position.
+     *
+     * @param x The block X coordinate
+     * @param y The block Y coordinate
+     * @param z The block Z coordinate
+     * @return The packed position
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+    
+    /**
+     * Returns the X coordinate of a packed position.
+     *
+     * @param packed The packed position
+     * @return The block X coordinate
+     */
+    public static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+    
+    /**
+     * Returns the Y coordinate of a packed position.
+     *
+     * @param packed The packed position
+     * @return The block Y coordinate
+     */
+    public static int unpackY(long packed) {
+        return (int) (packed << 52 >> 52);
+    }
+    
+    /**
+     * Returns the Z coordinate of a packed position.
+     *
+     * @param packed The packed position
+     * @return The block Z coordinate
+     */
+    public static int unpackZ(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+}
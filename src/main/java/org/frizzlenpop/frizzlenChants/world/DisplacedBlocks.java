@@ -0,0 +1,185 @@
+package org.frizzlenpop.frizzlenChants.world;
+
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocks one effect has temporarily cleared to air, stored compactly: a packed position
+ * and an interned block state ID per block, about 12 bytes each. Every block is journaled
+ * in the {@link BlockJournal} before it is cleared. Restoring walks the blocks grouped by
+ * chunk section, so each chunk is looked up once, and skips per-block physics: the blocks
+ * go back exactly where they were, so neighbors only need the server's normal lighting pass.
+ * A store is confined to the thread that owns its blocks; the block states shared by every
+ * store are guarded by the class lock.
+ */
+public final class DisplacedBlocks {
+
+    // Block states shared by every store; IDs are never reused, and a server only has a
+    // few thousand distinct states
+    private static final Map<BlockData, Integer> STATE_IDS = new HashMap<>();
+    private static final List<BlockData> STATES = new ArrayList<>();
+    
+    // Section keys take 49 bits, leaving 15 bits for the block index in a sort key
+    private static final int SORT_INDEX_BITS = 15;
+    private static final int SORT_INDEX_MASK = (1 << SORT_INDEX_BITS) - 1;
+    
+    private final World world;
+    private final BlockJournal journal;
+    private final int journalEffect;
+    
+    private long[] positions = new long[16];
+    private int[] states = new int[16];
+    private int size;
+    
+    /**
+     * Creates an empty store and opens a journal effect for it.
+     *
+     * @param world The world the blocks are in
+     * @param journal The journal to record blocks in
+     */
+    public DisplacedBlocks(World world, BlockJournal journal) {
+        this.world = world;
+        this.journal = journal;
+        this.journalEffect = journal.begin(world);
+    }
+    
+    /**
+     * Journals a block, remembers its state and clears it to air.
+     *
+     * @param block The block to clear
+     */
+    public void displace(Block block) {
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            states = Arrays.copyOf(states, size * 2);
+        }
+        
+        journal.record(journalEffect, block);
+        positions[size] = BlockPositions.pack(block.getX(), block.getY(), block.getZ());
+        states[size] = stateId(block.getBlockData());
+        size++;
+        
+        block.setType(Material.AIR);
+    }
+    
+    /**
+     * Returns the number of displaced blocks.
+     *
+     * @return The number of blocks
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Puts back every block that is still air, then commits the journal effect.
+     * Blocks are restored chunk section by chunk section.
+     *
+     * @return The number of blocks restored
+     */
+    public int restore() {
+        int[] order = sortBySection();
+        int restored = 0;
+        Chunk chunk = null;
+        int chunkX = 0;
+        int chunkZ = 0;
+        
+        for (int index : order) {
+            long packed = positions[index];
+            int x = BlockPositions.unpackX(packed);
+            int y = BlockPositions.unpackY(packed);
+            int z = BlockPositions.unpackZ(packed);
+            
+            if (chunk == null || chunkX != x >> 4 || chunkZ != z >> 4) {
+                chunkX = x >> 4;
+                chunkZ = z >> 4;
+                chunk = world.getChunkAt(chunkX, chunkZ);
+            }
+            
+            // Only restore if the block is still air
+            Block block = chunk.getBlock(x & 15, y, z & 15);
+            if (block.getType().isAir()) {
+                block.setBlockData(state(states[index]), false);
+                restored++;
+            }
+        }
+        
+        size = 0;
+        journal.commit(journalEffect);
+        return restored;
+    }
+    
+    /**
+     * Orders the blocks by chunk and then by section, keeping insertion order within a section.
+     *
+     * @return The block indices in restore order
+     */
+    private int[] sortBySection() {
+        long[] sections = new long[size];
+        for (int i = 0; i < size; i++) {
+            long packed = positions[i];
+            sections[i] = ((long) (BlockPositions.unpackX(packed) >> 4) & 0x3FFFFF) << 27 |
+                          ((long) (BlockPositions.unpackZ(packed) >> 4) & 0x3FFFFF) << 5 |
+                          ((BlockPositions.unpackY(packed) >> 4) & 0x1F);
+        }
+        
+        int[] order = new int[size];
+        if (size <= SORT_INDEX_MASK + 1) {
+            // Sort keys hold the section above the index of the block, so no boxing is needed
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = sections[i] << SORT_INDEX_BITS | i;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < size; i++) {
+                order[i] = (int) (keys[i] & SORT_INDEX_MASK);
+            }
+        } else {
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                boxed[i] = i;
+            }
+            Arrays.sort(boxed, (a, b) -> Long.compare(sections[a], sections[b]));
+            for (int i = 0; i < size; i++) {
+                order[i] = boxed[i];
+            }
+        }
+        return order;
+    }
+    
+    /**
+     * Returns the shared ID of a block state, interning it the first time it is seen.
+     *
+     * @param data The block state
+     * @return The state ID
+     */
+    private static synchronized int stateId(BlockData data) {
+        Integer id = STATE_IDS.get(data);
+        if (id == null) {
+            BlockData interned = data.clone();
+            id = STATES.size();
+            STATES.add(interned);
+            STATE_IDS.put(interned, id);
+        }
+        return id;
+    }
+    
+    /**
+     * Returns the block state behind a shared ID.
+     *
+     * @param id The state ID
+     * @return The block state
+     */
+    private static synchronized BlockData state(int id) {
+        return STATES.get(id);
+    }
+}